@@ -20,7 +20,9 @@ package boofcv.alg.descriptor;
 
 import boofcv.misc.PerformerBase;
 import boofcv.misc.ProfileOperation;
+import boofcv.struct.feature.PackedTupleArray_B;
 import boofcv.struct.feature.TupleDesc_B;
+import org.ddogleg.struct.FastQueue;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -38,11 +40,16 @@ public class BenchmarkDescriptorDistance {
 	static List<TupleDesc_B>  binaryA = new ArrayList<>();
 	static List<TupleDesc_B>  binaryB = new ArrayList<>();
 
+	static PackedTupleArray_B packedA = new PackedTupleArray_B();
+	static PackedTupleArray_B packedB = new PackedTupleArray_B();
+
 	static {
 		for (int i = 0; i < NUM_FEATURES; i++) {
 			binaryA.add(randomFeature());
 			binaryB.add(randomFeature());
 		}
+		packedA.setTo(toQueue(binaryA),16);
+		packedB.setTo(toQueue(binaryB),16);
 	}
 
 	public static class HammingTable extends PerformerBase {
@@ -89,6 +96,24 @@ public class BenchmarkDescriptorDistance {
 		}
 	}
 
+	public static class HammingPacked extends PerformerBase {
+		@Override
+		public void process() {
+			int length = packedA.wordsPerDesc;
+			for (int i = 0; i < packedA.size; i++) {
+				DescriptorDistance.hamming(packedA.data,packedA.indexOf(i),packedB.data,packedB.indexOf(i),length);
+			}
+		}
+	}
+
+	private static FastQueue<TupleDesc_B> toQueue( List<TupleDesc_B> list ) {
+		FastQueue<TupleDesc_B> queue = new FastQueue<>(TupleDesc_B.class,false);
+		for (int i = 0; i < list.size(); i++) {
+			queue.add(list.get(i));
+		}
+		return queue;
+	}
+
 	private static TupleDesc_B randomFeature() {
 		TupleDesc_B feat = new TupleDesc_B(512);
 		for (int j = 0; j < feat.data.length; j++) {
@@ -103,6 +128,7 @@ public class BenchmarkDescriptorDistance {
 		ProfileOperation.printOpsPerSec(new HammingTable(),TEST_TIME);
 		ProfileOperation.printOpsPerSec(new HammingEquationOld(),TEST_TIME);
 		ProfileOperation.printOpsPerSec(new HammingEquation(),TEST_TIME);
+		ProfileOperation.printOpsPerSec(new HammingPacked(),TEST_TIME);
 	}
 
 
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.associate;
+
+import boofcv.abst.feature.associate.AssociateDescription;
+import boofcv.abst.feature.associate.ScoreAssociateHamming_B;
+import boofcv.factory.feature.associate.FactoryAssociation;
+import boofcv.misc.Performer;
+import boofcv.misc.ProfileOperation;
+import boofcv.struct.feature.TupleDesc_B;
+import org.ddogleg.struct.FastQueue;
+
+import java.util.Random;
+
+/**
+ * Matches a small set of binary features against a large map.  The map is only set once and the time to
+ * associate each frame is measured.
+ *
+ * @author Peter Abeles
+ */
+public class BenchmarkAssociationBinaryMap {
+
+	static final long TEST_TIME = 1000;
+	static final Random rand = new Random(234234);
+	static final int NUM_BITS = 256;
+	static final int NUM_MAP = 100000;
+	static final int NUM_FRAME = 1000;
+
+	static final FastQueue<TupleDesc_B> map = createSet(NUM_MAP);
+	static final FastQueue<TupleDesc_B> frame = createFrame();
+
+	public static class General implements Performer {
+
+		AssociateDescription<TupleDesc_B> alg;
+		String name;
+
+		public General(String name, AssociateDescription<TupleDesc_B> alg) {
+			this.alg = alg;
+			this.name = name;
+			alg.setSource(map);
+		}
+
+		@Override
+		public void process() {
+			alg.setDestination(frame);
+			alg.associate();
+		}
+
+		@Override
+		public String getName() {
+			return name;
+		}
+	}
+
+	private static FastQueue<TupleDesc_B> createSet( int total ) {
+		FastQueue<TupleDesc_B> ret = new FastQueue<TupleDesc_B>(10,TupleDesc_B.class, true) {
+			@Override
+			protected TupleDesc_B createInstance() {
+				return new TupleDesc_B(NUM_BITS);
+			}
+		};
+
+		for( int i = 0; i < total; i++ ) {
+			TupleDesc_B t = ret.grow();
+			for( int j = 0; j < t.data.length; j++ ) {
+				t.data[j] = rand.nextInt();
+			}
+		}
+		return ret;
+	}
+
+	/**
+	 * Features in the frame are noisy versions of features in the map
+	 */
+	private static FastQueue<TupleDesc_B> createFrame() {
+		FastQueue<TupleDesc_B> ret = createSet(NUM_FRAME);
+		for( int i = 0; i < NUM_FRAME; i++ ) {
+			TupleDesc_B t = ret.get(i);
+			t.setTo(map.get(rand.nextInt(NUM_MAP)));
+			for( int j = 0; j < 20; j++ ) {
+				int bit = rand.nextInt(NUM_BITS);
+				t.data[bit/32] ^= 1 << (bit%32);
+			}
+		}
+		return ret;
+	}
+
+	public static void main( String argsp[ ] ) {
+		System.out.println("=========  Map Size "+NUM_MAP+" ========== Frame Features "+NUM_FRAME);
+		System.out.println();
+
+		ProfileOperation.printOpsPerSec(new General("Greedy", FactoryAssociation.greedy(new ScoreAssociateHamming_B(), 64, false)),TEST_TIME);
+		ProfileOperation.printOpsPerSec(new General("MIH 16 r=0", FactoryAssociation.multiIndexHashing(16,0)),TEST_TIME);
+		ProfileOperation.printOpsPerSec(new General("MIH 16 r=1", FactoryAssociation.multiIndexHashing(16,1)),TEST_TIME);
+	}
+}
@@ -20,9 +20,13 @@ package boofcv.alg.feature.associate;
 
 import boofcv.abst.feature.associate.AssociateDescription;
 import boofcv.abst.feature.associate.ScoreAssociation;
+import boofcv.abst.feature.associate.WrapAssociateGreedy;
+import boofcv.alg.descriptor.DescriptorDistance;
 import boofcv.factory.feature.associate.FactoryAssociation;
 import boofcv.misc.Performer;
 import boofcv.misc.ProfileOperation;
+import boofcv.struct.feature.MatchScoreType;
+import boofcv.struct.feature.TupleDesc_B;
 import boofcv.struct.feature.TupleDesc_F64;
 import org.ddogleg.struct.FastQueue;
 
@@ -38,18 +42,26 @@ public class BenchmarkAssociationSpeedRandom {
 	static final Random rand = new Random(234234);
 	static final int DOF = 50;
 	static final int NUM_FEATURES = 1000;
+	// number of bits in a binary descriptor, same as BRIEF
+	static final int NUM_BITS = 512;
 
 	static final FastQueue<TupleDesc_F64> listA = createSet();
 	static final FastQueue<TupleDesc_F64> listB = createSet();
 
-	public static class General implements Performer {
+	static final FastQueue<TupleDesc_B> listBinaryA = createSetBinary();
+	static final FastQueue<TupleDesc_B> listBinaryB = createSetBinary();
 
-		AssociateDescription<TupleDesc_F64> alg;
+	public static class General<D> implements Performer {
+
+		AssociateDescription<D> alg;
+		FastQueue<D> listA,listB;
 		String name;
 
-		public General(String name, AssociateDescription<TupleDesc_F64> alg) {
+		public General(String name, AssociateDescription<D> alg, FastQueue<D> listA, FastQueue<D> listB) {
 			this.alg = alg;
 			this.name = name;
+			this.listA = listA;
+			this.listB = listB;
 		}
 
 		@Override
@@ -82,15 +94,61 @@ public class BenchmarkAssociationSpeedRandom {
 		return ret;
 	}
 
+	private static FastQueue<TupleDesc_B> createSetBinary() {
+		FastQueue<TupleDesc_B> ret = new FastQueue<TupleDesc_B>(10,TupleDesc_B.class, true) {
+				@Override
+				protected TupleDesc_B createInstance() {
+					return new TupleDesc_B(NUM_BITS);
+				}
+		};
+
+		for( int i = 0; i < NUM_FEATURES; i++ ) {
+			TupleDesc_B t = ret.grow();
+			for( int j = 0; j < t.data.length; j++ ) {
+				t.data[j] = rand.nextInt();
+			}
+		}
+		return ret;
+	}
+
+	/**
+	 * Hamming distance which scores one pair at a time and doesn't pack the descriptors
+	 */
+	public static class HammingPairwise implements ScoreAssociation<TupleDesc_B> {
+		@Override
+		public double score(TupleDesc_B a, TupleDesc_B b) {
+			return DescriptorDistance.hamming(a,b);
+		}
+
+		@Override
+		public MatchScoreType getScoreType() {
+			return MatchScoreType.NORM_ERROR;
+		}
+	}
+
 	public static void main( String argsp[ ] ) {
 		System.out.println("=========  Profile Description Length "+DOF+" ========== Num Features "+NUM_FEATURES);
 		System.out.println();
 
 		ScoreAssociation<TupleDesc_F64> score = FactoryAssociation.scoreEuclidean(TupleDesc_F64.class,true);
 
-		ProfileOperation.printOpsPerSec(new General("Greedy", FactoryAssociation.greedy(score, Double.MAX_VALUE, false)),TEST_TIME);
-		ProfileOperation.printOpsPerSec(new General("Greedy Backwards", FactoryAssociation.greedy(score, Double.MAX_VALUE, true)),TEST_TIME);
-		ProfileOperation.printOpsPerSec(new General("Random Forest", FactoryAssociation.kdRandomForest(DOF,500,15,5,1233445565)),TEST_TIME);
-		
+		ProfileOperation.printOpsPerSec(new General<>("Greedy", FactoryAssociation.greedy(score, Double.MAX_VALUE, false),listA,listB),TEST_TIME);
+		ProfileOperation.printOpsPerSec(new General<>("Greedy Backwards", FactoryAssociation.greedy(score, Double.MAX_VALUE, true),listA,listB),TEST_TIME);
+		ProfileOperation.printOpsPerSec(new General<>("Greedy MT", new WrapAssociateGreedy<>(new AssociateGreedy_MT<>(score, false)),listA,listB),TEST_TIME);
+		ProfileOperation.printOpsPerSec(new General<>("Greedy Backwards MT", new WrapAssociateGreedy<>(new AssociateGreedy_MT<>(score, true)),listA,listB),TEST_TIME);
+		ProfileOperation.printOpsPerSec(new General<>("Random Forest", FactoryAssociation.kdRandomForest(DOF,500,15,5,1233445565),listA,listB),TEST_TIME);
+
+		System.out.println();
+		System.out.println("=========  Binary Descriptor Bits "+NUM_BITS+" ========== Num Features "+NUM_FEATURES);
+		System.out.println();
+
+		ScoreAssociation<TupleDesc_B> hammingPacked = FactoryAssociation.scoreHamming(TupleDesc_B.class);
+		ScoreAssociation<TupleDesc_B> hammingPairwise = new HammingPairwise();
+
+		ProfileOperation.printOpsPerSec(new General<>("Hamming Pairwise", FactoryAssociation.greedy(hammingPairwise, Double.MAX_VALUE, false),listBinaryA,listBinaryB),TEST_TIME);
+		ProfileOperation.printOpsPerSec(new General<>("Hamming Packed", FactoryAssociation.greedy(hammingPacked, Double.MAX_VALUE, false),listBinaryA,listBinaryB),TEST_TIME);
+		ProfileOperation.printOpsPerSec(new General<>("Hamming Packed Backwards", FactoryAssociation.greedy(hammingPacked, Double.MAX_VALUE, true),listBinaryA,listBinaryB),TEST_TIME);
+		ProfileOperation.printOpsPerSec(new General<>("Hamming Packed MT", new WrapAssociateGreedy<>(new AssociateGreedy_MT<>(hammingPacked, false)),listBinaryA,listBinaryB),TEST_TIME);
+		ProfileOperation.printOpsPerSec(new General<>("Multi-Index Hashing", FactoryAssociation.multiIndexHashing(16,1),listBinaryA,listBinaryB),TEST_TIME);
 	}
 }
@@ -19,7 +19,12 @@
 package boofcv.alg.feature.disparity;
 
 import boofcv.alg.feature.disparity.impl.*;
+import boofcv.alg.feature.disparity.sgm.SgmCostAbsoluteDifference_U8;
+import boofcv.alg.feature.disparity.sgm.SgmCostAggregation;
+import boofcv.alg.feature.disparity.sgm.SgmCostAggregation_MT;
+import boofcv.alg.feature.disparity.sgm.SgmStereoDisparity;
 import boofcv.alg.misc.GImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.core.image.GConvertImage;
 import boofcv.misc.PerformerBase;
 import boofcv.misc.ProfileOperation;
@@ -27,6 +32,7 @@ import boofcv.struct.image.GrayF32;
 import boofcv.struct.image.GrayU8;
 
 import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * @author Peter Abeles
@@ -120,6 +126,82 @@ public class BenchmarkDisparityAlgs {
 		}
 	}
 
+	public static class EfficientSad_U8_MT extends PerformerBase {
+
+		DisparitySelect<int[],GrayU8> compDisp =
+				new ImplSelectRectStandard_S32_U8(250,2,0.1);
+		DisparityScoreRowFormat_MT<GrayU8,GrayU8> alg = new DisparityScoreRowFormat_MT<>(
+				new ImplDisparityScoreSadRect_U8<>(min,max,radiusX,radiusY,compDisp));
+
+		@Override
+		public void process() {
+			alg.process(left,right, outU8);
+		}
+	}
+
+	public static class EfficientSadFive_U8_MT extends PerformerBase {
+
+		DisparitySelect<int[],GrayU8> compDisp =
+				new ImplSelectRectStandard_S32_U8(250,2,0.1);
+		DisparityScoreRowFormat_MT<GrayU8,GrayU8> alg = new DisparityScoreRowFormat_MT<>(
+				new ImplDisparityScoreSadRectFive_U8<>(min,max,radiusX,radiusY,compDisp));
+
+		@Override
+		public void process() {
+			alg.process(left,right, outU8);
+		}
+	}
+
+	public static class Sgm_U8 extends PerformerBase {
+
+		SgmStereoDisparity<GrayU8,GrayU8> alg = new SgmStereoDisparity<>(min,max,
+				new SgmCostAbsoluteDifference_U8(), new SgmCostAggregation(10,120,8),
+				new ImplSelectRectStandard_S32_U8(-1,2,-1));
+
+		@Override
+		public void process() {
+			alg.process(left,right, outU8);
+		}
+	}
+
+	public static class Sgm_U8_MT extends PerformerBase {
+
+		SgmStereoDisparity<GrayU8,GrayU8> alg = new SgmStereoDisparity<>(min,max,
+				new SgmCostAbsoluteDifference_U8(), new SgmCostAggregation_MT(10,120,8),
+				new ImplSelectRectStandard_S32_U8(-1,2,-1));
+
+		@Override
+		public void process() {
+			alg.process(left,right, outU8);
+		}
+	}
+
+	/**
+	 * Measures how the concurrent implementations scale as the number of threads is increased
+	 */
+	public static void profileScaling() {
+		int maxThreads = Runtime.getRuntime().availableProcessors();
+
+		ForkJoinPool original = BoofConcurrency.getThreadPool();
+		int threads = 1;
+		while( true ) {
+			System.out.println("Threads = "+threads);
+			ForkJoinPool pool = new ForkJoinPool(threads);
+			BoofConcurrency.setThreadPool(pool);
+
+			ProfileOperation.printOpsPerSec(new EfficientSad_U8_MT(), TEST_TIME);
+			ProfileOperation.printOpsPerSec(new EfficientSadFive_U8_MT(), TEST_TIME);
+			ProfileOperation.printOpsPerSec(new Sgm_U8_MT(), TEST_TIME);
+
+			pool.shutdown();
+
+			if( threads == maxThreads )
+				break;
+			threads = Math.min(maxThreads,threads*2);
+		}
+		BoofConcurrency.setThreadPool(original);
+	}
+
 	public static void main( String argsp[ ] ) {
 		System.out.println("=========  Image Size "+ width +" "+height+"  disparity "+max);
 		System.out.println();
@@ -134,7 +216,11 @@ public class BenchmarkDisparityAlgs {
 		ProfileOperation.printOpsPerSec(new EfficientSadFive_U8(),TEST_TIME);
 		ProfileOperation.printOpsPerSec(new EfficientSad_F32(),TEST_TIME);
 		ProfileOperation.printOpsPerSec(new EfficientSubpixelSad(),TEST_TIME);
+		ProfileOperation.printOpsPerSec(new Sgm_U8(),TEST_TIME);
 		ProfileOperation.printOpsPerSec(new Naive(), TEST_TIME);
 
+		System.out.println();
+		profileScaling();
+
 	}
 }
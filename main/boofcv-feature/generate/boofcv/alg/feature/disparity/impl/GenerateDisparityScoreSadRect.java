@@ -185,6 +185,11 @@ public class GenerateDisparityScoreSadRect extends CodeGeneratorBase {
 
 	private void printTheRest() {
 		out.print("\t@Override\n" +
+				"\tpublic "+className+"<Disparity> concurrentCopy() {\n" +
+				"\t\treturn new "+className+"<>(minDisparity,maxDisparity,radiusX,radiusY,computeDisparity.concurrentCopy());\n" +
+				"\t}\n" +
+				"\n" +
+				"\t@Override\n" +
 				"\tpublic Class<"+typeInput+"> getInputType() {\n" +
 				"\t\treturn "+typeInput+".class;\n" +
 				"\t}\n" +
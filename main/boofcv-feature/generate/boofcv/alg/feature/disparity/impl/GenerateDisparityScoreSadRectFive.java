@@ -246,6 +246,11 @@ public class GenerateDisparityScoreSadRectFive extends CodeGeneratorBase {
 
 	public void printTheRest() {
 		out.print("\t@Override\n" +
+				"\tpublic "+className+"<Disparity> concurrentCopy() {\n" +
+				"\t\treturn new "+className+"<>(minDisparity,maxDisparity,radiusX,radiusY,computeDisparity.concurrentCopy());\n" +
+				"\t}\n" +
+				"\n" +
+				"\t@Override\n" +
 				"\tpublic Class<"+typeInput+"> getInputType() {\n" +
 				"\t\treturn "+typeInput+".class;\n" +
 				"\t}\n" +
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.abst.feature.associate;
+
+import boofcv.alg.feature.associate.FindUnassociated;
+import boofcv.alg.feature.associate.MultiIndexHashing_B;
+import boofcv.struct.feature.AssociatedIndex;
+import boofcv.struct.feature.MatchScoreType;
+import boofcv.struct.feature.TupleDesc_B;
+import org.ddogleg.struct.FastQueue;
+import org.ddogleg.struct.GrowQueue_I32;
+
+/**
+ * Matches binary features using {@link MultiIndexHashing_B}.  The index is built from the source features when
+ * {@link #setSource} is called and destination features are then looked up one at a time.  Building the index
+ * is the expensive step, so a large set of source features, e.g. a map, can be set once and then associated against
+ * many destination lists.  Multiple matches for source features are possible while there will only
+ * be a unique match for each destination feature.
+ *
+ * @author Peter Abeles
+ */
+public class AssociateMultiIndexHashing_B implements AssociateDescription<TupleDesc_B> {
+
+	// nearest neighbor search
+	private MultiIndexHashing_B alg;
+
+	// list of features in destination set that are to be searched for in the source list
+	private FastQueue<TupleDesc_B> listDst;
+
+	// List of final associated points
+	private FastQueue<AssociatedIndex> matches = new FastQueue<>(100, AssociatedIndex.class, true);
+
+	// creates a list of unassociated features from the list of matches
+	private FindUnassociated unassociated = new FindUnassociated();
+
+	// maximum hamming distance away two features can be
+	private int maxDistance = -1;
+
+	public AssociateMultiIndexHashing_B(MultiIndexHashing_B alg) {
+		this.alg = alg;
+	}
+
+	@Override
+	public void setSource(FastQueue<TupleDesc_B> listSrc) {
+		alg.setDescriptors(listSrc);
+	}
+
+	@Override
+	public void setDestination(FastQueue<TupleDesc_B> listDst) {
+		this.listDst = listDst;
+	}
+
+	@Override
+	public void associate() {
+		matches.reset();
+		for( int i = 0; i < listDst.size; i++ ) {
+			if( !alg.findNearest(listDst.data[i], maxDistance) )
+				continue;
+			matches.grow().setAssociation(alg.getBestIndex(),i,alg.getBestDistance());
+		}
+	}
+
+	@Override
+	public FastQueue<AssociatedIndex> getMatches() {
+		return matches;
+	}
+
+	@Override
+	public GrowQueue_I32 getUnassociatedSource() {
+		return unassociated.checkSource(matches,alg.size());
+	}
+
+	@Override
+	public GrowQueue_I32 getUnassociatedDestination() {
+		return unassociated.checkDestination(matches,listDst.size());
+	}
+
+	@Override
+	public void setThreshold(double score) {
+		// hamming distance is an integer.  Values too large to be a distance disable the test
+		if( score < 0 || score >= Integer.MAX_VALUE )
+			this.maxDistance = -1;
+		else
+			this.maxDistance = (int)score;
+	}
+
+	@Override
+	public MatchScoreType getScoreType() {
+		return MatchScoreType.NORM_ERROR;
+	}
+
+	@Override
+	public boolean uniqueSource() {
+		return false;
+	}
+
+	@Override
+	public boolean uniqueDestination() {
+		return true;
+	}
+
+	public MultiIndexHashing_B getAlgorithm() {
+		return alg;
+	}
+}
@@ -20,21 +20,55 @@ package boofcv.abst.feature.associate;
 
 import boofcv.alg.descriptor.DescriptorDistance;
 import boofcv.struct.feature.MatchScoreType;
+import boofcv.struct.feature.PackedTupleArray_B;
 import boofcv.struct.feature.TupleDesc_B;
+import org.ddogleg.struct.FastQueue;
 
 /**
+ * <p>
  * Score association between two BRIEF features.  Scoring is done using the Hamming distance.
  * Hamming distance is the number of bits in the descriptor which do not have the same value.
+ * </p>
+ *
+ * <p>
+ * When scoring lists the descriptors are packed into {@link PackedTupleArray_B}, see
+ * {@link ScoreAssociationBatch}.  Since the packed lists are saved internally, an instance should not be used
+ * by two associations at the same time.
+ * </p>
  *
  * @author Peter Abeles
  */
-public class ScoreAssociateHamming_B implements ScoreAssociation<TupleDesc_B>{
+public class ScoreAssociateHamming_B implements ScoreAssociationBatch<TupleDesc_B> {
+
+	// descriptors packed into arrays
+	PackedTupleArray_B packedSrc = new PackedTupleArray_B();
+	PackedTupleArray_B packedDst = new PackedTupleArray_B();
 
 	@Override
 	public double score(TupleDesc_B a, TupleDesc_B b) {
 		return DescriptorDistance.hamming(a,b);
 	}
 
+	@Override
+	public void setLists(FastQueue<TupleDesc_B> src, FastQueue<TupleDesc_B> dst) {
+		int numInts = Math.max(PackedTupleArray_B.maxInts(src), PackedTupleArray_B.maxInts(dst));
+		packedSrc.setTo(src, numInts);
+		packedDst.setTo(dst, numInts);
+	}
+
+	@Override
+	public void scoreRow(int indexSrc, int j0, int j1, double[] scores) {
+		final long[] dataSrc = packedSrc.data;
+		final long[] dataDst = packedDst.data;
+		final int words = packedSrc.wordsPerDesc;
+		final int indexA = packedSrc.indexOf(indexSrc);
+
+		int indexB = packedDst.indexOf(j0);
+		for( int j = j0; j < j1; j++ , indexB += words ) {
+			scores[j-j0] = DescriptorDistance.hamming(dataSrc, indexA, dataDst, indexB, words);
+		}
+	}
+
 	@Override
 	public MatchScoreType getScoreType() {
 		return MatchScoreType.NORM_ERROR;
@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.abst.feature.associate;
+
+import org.ddogleg.struct.FastQueue;
+
+/**
+ * Extension of {@link ScoreAssociation} which scores a single feature against a range of features at once.  This
+ * allows implementations to convert the lists into a format which is faster to process and avoids a function
+ * call for each pair of features.
+ *
+ * @author Peter Abeles
+ */
+public interface ScoreAssociationBatch<Desc> extends ScoreAssociation<Desc> {
+
+	/**
+	 * Specifies the lists which are going to be scored.  Must be called before {@link #scoreRow}.
+	 *
+	 * @param src Source list
+	 * @param dst Destination list
+	 */
+	void setLists( FastQueue<Desc> src , FastQueue<Desc> dst );
+
+	/**
+	 * Computes the score between a src feature and dst features j0 to j1-1.  The internal state is not modified
+	 * and can be called by multiple threads at once.
+	 *
+	 * @param indexSrc Index of feature in src list
+	 * @param j0 First feature in dst list, inclusive
+	 * @param j1 Last feature in dst list, exclusive
+	 * @param scores (Output) Score for each dst feature, starting at element 0
+	 */
+	void scoreRow( int indexSrc , int j0 , int j1 , double scores[] );
+}
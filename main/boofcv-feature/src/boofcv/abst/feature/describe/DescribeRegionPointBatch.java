@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.abst.feature.describe;
+
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeWorkTask;
+import boofcv.struct.feature.TupleDesc;
+import boofcv.struct.image.ImageBase;
+import georegression.struct.point.Point2D_F64;
+import org.ddogleg.struct.FastQueue;
+import org.ddogleg.struct.GrowQueue_B;
+import org.ddogleg.struct.GrowQueue_F64;
+
+import java.util.List;
+
+/**
+ * <p>
+ * Computes descriptors for a list of points in a single call.  The points are split into contiguous blocks and
+ * each block is described by its own thread using its own {@link DescribeRegionPoint}.  Describers are created on
+ * demand by a {@link Factory} and recycled between calls.  The output is identical to calling
+ * {@link DescribeRegionPoint#process} on each point in order.
+ * </p>
+ *
+ * <p>
+ * Each describer has {@link DescribeRegionPoint#setImage} called on it by the thread which uses it.  Any
+ * preprocessing done in setImage is thus run in parallel, but it is repeated for each thread.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class DescribeRegionPointBatch<T extends ImageBase<T>, Desc extends TupleDesc> {
+
+	// the smallest number of points which will be given to a single thread
+	private int minBlock = 10;
+
+	// one describer for each block of points
+	private FastQueue<DescribeRegionPoint<T,Desc>> describers;
+
+	// references to the input passed into process()
+	private T image;
+	private List<Point2D_F64> locations;
+	private GrowQueue_F64 orientations;
+	private GrowQueue_F64 radii;
+	private FastQueue<Desc> descriptions;
+	private GrowQueue_B success;
+
+	private IntRangeWorkTask<DescribeRegionPoint<T,Desc>> task =
+			new IntRangeWorkTask<DescribeRegionPoint<T,Desc>>() {
+		@Override
+		public void process(DescribeRegionPoint<T,Desc> describe, int idx0, int idx1) {
+			describe.setImage(image);
+			for( int i = idx0; i < idx1; i++ ) {
+				Point2D_F64 p = locations.get(i);
+				success.data[i] = describe.process(p.x,p.y,orientations.get(i),radii.get(i),descriptions.get(i));
+			}
+		}
+	};
+
+	/**
+	 * Configures the batch describer
+	 *
+	 * @param factory Creates a new describer for each thread.
+	 */
+	public DescribeRegionPointBatch( final Factory<T,Desc> factory ) {
+		describers = new FastQueue<DescribeRegionPoint<T,Desc>>(1,(Class)DescribeRegionPoint.class,true) {
+			@Override
+			protected DescribeRegionPoint<T,Desc> createInstance() {
+				return factory.newInstance();
+			}
+		};
+	}
+
+	/**
+	 * Computes the descriptor for every point.  Descriptions which can't be computed are flagged in
+	 * 'success' and their value in 'descriptions' is undefined.
+	 *
+	 * @param image The image which contains the features.
+	 * @param locations Location of each point.
+	 * @param orientations Orientation of each point.
+	 * @param radii Radius of each point.
+	 * @param descriptions (output) Descriptions of each point.  Resized to the number of points.
+	 * @param success (output) true if a description was computed for the point.  Resized to the number of points.
+	 */
+	public void process( T image , List<Point2D_F64> locations ,
+						 GrowQueue_F64 orientations , GrowQueue_F64 radii ,
+						 FastQueue<Desc> descriptions , GrowQueue_B success ) {
+		int N = locations.size();
+		if( orientations.size < N || radii.size < N )
+			throw new IllegalArgumentException("Orientations and radii must have an element for each location");
+
+		descriptions.resize(N);
+		success.resize(N);
+
+		this.image = image;
+		this.locations = locations;
+		this.orientations = orientations;
+		this.radii = radii;
+		this.descriptions = descriptions;
+		this.success = success;
+
+		BoofConcurrency.loopBlocks(0,N,minBlock,describers,task);
+	}
+
+	/**
+	 * Returns a describer which can be used to create descriptions and look up information about them.  It's
+	 * not safe to use it while {@link #process} is running.
+	 */
+	public DescribeRegionPoint<T,Desc> getDescriber() {
+		if( describers.size() == 0 )
+			describers.resize(1);
+		return describers.get(0);
+	}
+
+	public int getMinBlock() {
+		return minBlock;
+	}
+
+	public void setMinBlock(int minBlock) {
+		this.minBlock = minBlock;
+	}
+
+	/**
+	 * Creates a new instance of the describer
+	 */
+	public interface Factory<T extends ImageBase<T>, Desc extends TupleDesc> {
+		DescribeRegionPoint<T,Desc> newInstance();
+	}
+}
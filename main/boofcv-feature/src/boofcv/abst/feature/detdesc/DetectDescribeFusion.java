@@ -19,18 +19,22 @@
 package boofcv.abst.feature.detdesc;
 
 import boofcv.abst.feature.describe.DescribeRegionPoint;
+import boofcv.abst.feature.describe.DescribeRegionPointBatch;
 import boofcv.abst.feature.detect.interest.InterestPointDetector;
 import boofcv.abst.feature.orientation.OrientationImage;
 import boofcv.struct.feature.TupleDesc;
 import boofcv.struct.image.ImageGray;
 import georegression.struct.point.Point2D_F64;
 import org.ddogleg.struct.FastQueue;
+import org.ddogleg.struct.GrowQueue_B;
 import org.ddogleg.struct.GrowQueue_F64;
 
 /**
  * Wrapper class around independent feature detectors, region orientation, and descriptors, that allow
  * them to be used as a single integrated unit. Providing an algorithm for estimating orientation is
- * optional.  If one is provided, any orientation estimate provided by the detector is ignored.
+ * optional.  If one is provided, any orientation estimate provided by the detector is ignored.  If a
+ * {@link DescribeRegionPointBatch} is provided then all the features are described with a single batch call,
+ * which can be done concurrently.
  *
  * @see InterestPointDetector
  * @see OrientationImage
@@ -47,6 +51,8 @@ public class DetectDescribeFusion<T extends ImageGray<T>, TD extends TupleDesc>
 	private OrientationImage<T> orientation;
 	// describes each feature found
 	private DescribeRegionPoint<T, TD> describe;
+	// (Optional) describes all the features at once
+	private DescribeRegionPointBatch<T, TD> batch;
 
 	// list of extracted feature descriptors
 	private FastQueue<TD> descs;
@@ -56,6 +62,9 @@ public class DetectDescribeFusion<T extends ImageGray<T>, TD extends TupleDesc>
 	private GrowQueue_F64 featureAngles = new GrowQueue_F64(10);
 	private FastQueue<Point2D_F64> location = new FastQueue<>(10, Point2D_F64.class, false);
 
+	// indicates which features were successfully described by the batch describer
+	private GrowQueue_B success = new GrowQueue_B();
+
 	/**
 	 * Configures the algorithm.
 	 *
@@ -80,6 +89,21 @@ public class DetectDescribeFusion<T extends ImageGray<T>, TD extends TupleDesc>
 		};
 	}
 
+	/**
+	 * Configures the algorithm so that features are described using a batch describer.
+	 *
+	 * @param detector Feature detector
+	 * @param orientation (Optional) orientation estimation algorithm
+	 * @param batch Describes all the features in a single call
+	 */
+	public DetectDescribeFusion(InterestPointDetector<T> detector,
+								OrientationImage<T> orientation,
+								DescribeRegionPointBatch<T, TD> batch)
+	{
+		this(detector,orientation,batch.getDescriber());
+		this.batch = batch;
+	}
+
 	@Override
 	public TD createDescription() {
 		return describe.createDescription();
@@ -105,10 +129,16 @@ public class DetectDescribeFusion<T extends ImageGray<T>, TD extends TupleDesc>
 		if( orientation != null ) {
 			orientation.setImage(input);
 		}
-		describe.setImage(input);
 
 		detector.detect(input);
 
+		if( batch != null ) {
+			describeBatch(input);
+			return;
+		}
+
+		describe.setImage(input);
+
 		int N = detector.getNumberOfFeatures();
 
 		for( int i = 0; i < N; i++ ) {
@@ -131,6 +161,50 @@ public class DetectDescribeFusion<T extends ImageGray<T>, TD extends TupleDesc>
 		}
 	}
 
+	/**
+	 * Computes the orientation of every feature then describes them all at once.  Features which
+	 * could not be described are then removed while preserving the order.
+	 */
+	private void describeBatch( T input ) {
+		int N = detector.getNumberOfFeatures();
+
+		for( int i = 0; i < N; i++ ) {
+			Point2D_F64 p = detector.getLocation(i);
+			double radius = detector.getRadius(i);
+			double yaw = detector.getOrientation(i);
+
+			if( orientation != null ) {
+				orientation.setObjectRadius(radius);
+				yaw = orientation.compute(p.x,p.y);
+			}
+
+			featureRadiuses.push(radius);
+			featureAngles.push(yaw);
+			location.add(p);
+		}
+
+		batch.process(input,location.toList(),featureAngles,featureRadiuses,descs,success);
+
+		int count = 0;
+		for( int i = 0; i < N; i++ ) {
+			if( !success.data[i] )
+				continue;
+			if( count != i ) {
+				TD tmp = descs.data[count];
+				descs.data[count] = descs.data[i];
+				descs.data[i] = tmp;
+				featureRadiuses.data[count] = featureRadiuses.data[i];
+				featureAngles.data[count] = featureAngles.data[i];
+				location.data[count] = location.data[i];
+			}
+			count++;
+		}
+		descs.size = count;
+		featureRadiuses.size = count;
+		featureAngles.size = count;
+		location.size = count;
+	}
+
 	@Override
 	public int getNumberOfFeatures() {
 		return location.size();
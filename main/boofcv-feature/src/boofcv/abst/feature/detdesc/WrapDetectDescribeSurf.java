@@ -49,19 +49,19 @@ public class WrapDetectDescribeSurf
 	implements DetectDescribePoint<T,BrightFeature>
 {
 	// SURF algorithms
-	private FastHessianFeatureDetector<II> detector;
-	private OrientationIntegral<II> orientation;
-	private DescribePointSurf<II> describe;
+	protected FastHessianFeatureDetector<II> detector;
+	protected OrientationIntegral<II> orientation;
+	protected DescribePointSurf<II> describe;
 
 	// storage for integral image
-	private II ii;
+	protected II ii;
 
 	// storage for computed features
-	private SurfFeatureQueue features;
+	protected SurfFeatureQueue features;
 	// detected scale points
-	private List<ScalePoint> foundPoints;
+	protected List<ScalePoint> foundPoints;
 	// orientation of features
-	private GrowQueue_F64 featureAngles = new GrowQueue_F64(10);
+	protected GrowQueue_F64 featureAngles = new GrowQueue_F64(10);
 
 	public WrapDetectDescribeSurf(FastHessianFeatureDetector<II> detector,
 								  OrientationIntegral<II> orientation,
@@ -98,7 +98,6 @@ public class WrapDetectDescribeSurf
 		// compute integral image
 		ii = GIntegralImageOps.transform(input, ii);
 		orientation.setImage(ii);
-		describe.setImage(ii);
 		features.reset();
 		featureAngles.reset();
 
@@ -113,9 +112,20 @@ public class WrapDetectDescribeSurf
 			double radius = p.scale* BoofDefaults.SURF_SCALE_TO_RADIUS;
 
 			orientation.setObjectRadius(radius);
-			double angle = orientation.compute(p.x,p.y);
-			describe.describe(p.x,p.y, angle, p.scale, features.grow());
-			featureAngles.push(angle);
+			featureAngles.push(orientation.compute(p.x,p.y));
+		}
+
+		describeFeatures();
+	}
+
+	/**
+	 * Computes a description for each of the found points using the previously computed orientations
+	 */
+	protected void describeFeatures() {
+		describe.setImage(ii);
+		for( int i = 0; i < foundPoints.size(); i++ ) {
+			ScalePoint p = foundPoints.get(i);
+			describe.describe(p.x,p.y, featureAngles.get(i), p.scale, features.grow());
 		}
 	}
 
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.abst.feature.detdesc;
+
+import boofcv.abst.feature.orientation.OrientationIntegral;
+import boofcv.alg.feature.describe.DescribePointSurf;
+import boofcv.alg.feature.detect.interest.FastHessianFeatureDetector;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeWorkTask;
+import boofcv.struct.feature.ScalePoint;
+import boofcv.struct.image.ImageGray;
+import org.ddogleg.struct.FastQueue;
+
+/**
+ * Concurrent implementation of {@link WrapDetectDescribeSurf}.  The found points are split into contiguous
+ * blocks and each block is described by its own thread.  All threads share the same integral image but have
+ * their own instance of {@link DescribePointSurf}.  Output is identical to the single threaded version.
+ *
+ * @author Peter Abeles
+ */
+public class WrapDetectDescribeSurf_MT
+		<T extends ImageGray<T>, II extends ImageGray<II>>
+		extends WrapDetectDescribeSurf<T,II>
+{
+	// the smallest number of points which will be given to a single thread
+	private static final int MIN_BLOCK = 10;
+
+	// one describer for each block of points
+	private FastQueue<DescribePointSurf<II>> describers;
+
+	private IntRangeWorkTask<DescribePointSurf<II>> task = new IntRangeWorkTask<DescribePointSurf<II>>() {
+		@Override
+		public void process(DescribePointSurf<II> describe, int idx0, int idx1) {
+			describe.setImage(ii);
+			for( int i = idx0; i < idx1; i++ ) {
+				ScalePoint p = foundPoints.get(i);
+				describe.describe(p.x,p.y, featureAngles.get(i), p.scale, features.get(i));
+			}
+		}
+	};
+
+	/**
+	 * Configures the algorithm
+	 *
+	 * @param detector Feature detector
+	 * @param orientation Orientation estimation
+	 * @param factory Creates a new describer for each thread
+	 */
+	public WrapDetectDescribeSurf_MT(FastHessianFeatureDetector<II> detector,
+									 OrientationIntegral<II> orientation,
+									 final DescribeFactory<II> factory )
+	{
+		super(detector, orientation, factory.newInstance());
+
+		describers = new FastQueue<DescribePointSurf<II>>(1,(Class)DescribePointSurf.class,true) {
+			@Override
+			protected DescribePointSurf<II> createInstance() {
+				return factory.newInstance();
+			}
+		};
+	}
+
+	@Override
+	protected void describeFeatures() {
+		features.resize(foundPoints.size());
+		BoofConcurrency.loopBlocks(0,foundPoints.size(),MIN_BLOCK,describers,task);
+	}
+
+	/**
+	 * Creates a new instance of the SURF describer
+	 */
+	public interface DescribeFactory<II extends ImageGray<II>> {
+		DescribePointSurf<II> newInstance();
+	}
+}
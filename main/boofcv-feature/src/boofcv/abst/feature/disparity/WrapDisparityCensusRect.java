@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.abst.feature.disparity;
+
+import boofcv.abst.filter.FilterImageInterface;
+import boofcv.alg.feature.disparity.DisparityScoreRowFormat;
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.core.image.GeneralizedImageOps;
+import boofcv.struct.image.ImageGray;
+
+/**
+ * Wrapper around a disparity algorithm which operates on census transformed images.  The input images
+ * are first census transformed then the disparity is computed from the transformed images.
+ *
+ * @param <T> Input image type
+ * @param <C> Census transformed image type
+ * @param <D> Disparity image type
+ *
+ * @author Peter Abeles
+ */
+public class WrapDisparityCensusRect<T extends ImageGray<T>, C extends ImageGray<C>, D extends ImageGray<D>>
+		implements StereoDisparity<T,D>
+{
+	FilterImageInterface<T,C> censusTran;
+	DisparityScoreRowFormat<C,D> alg;
+	D disparity;
+
+	// storage for census transformed images
+	C cleft, cright;
+
+	Class<T> inputType;
+
+	public WrapDisparityCensusRect(FilterImageInterface<T, C> censusTran,
+								   DisparityScoreRowFormat<C, D> alg,
+								   Class<T> inputType ) {
+		this.censusTran = censusTran;
+		this.alg = alg;
+		this.inputType = inputType;
+
+		cleft = censusTran.getOutputType().createImage(1,1);
+		cright = censusTran.getOutputType().createImage(1,1);
+	}
+
+	@Override
+	public void process(T imageLeft, T imageRight) {
+		if( disparity == null || disparity.width != imageLeft.width || disparity.height != imageLeft.height )  {
+			// make sure the image borders are marked as invalid
+			disparity = GeneralizedImageOps.createSingleBand(alg.getDisparityType(),imageLeft.width,imageLeft.height);
+			GImageMiscOps.fill(disparity, getMaxDisparity() + 1);
+		}
+		cleft.reshape(imageLeft.width,imageLeft.height);
+		cright.reshape(imageRight.width,imageRight.height);
+
+		censusTran.process(imageLeft,cleft);
+		censusTran.process(imageRight,cright);
+
+		alg.process(cleft,cright,disparity);
+	}
+
+	@Override
+	public D getDisparity() {
+		return disparity;
+	}
+
+	@Override
+	public int getBorderX() {
+		return alg.getBorderX()+censusTran.getHorizontalBorder();
+	}
+
+	@Override
+	public int getBorderY() {
+		return alg.getBorderY()+censusTran.getVerticalBorder();
+	}
+
+	@Override
+	public int getMinDisparity() {
+		return alg.getMinDisparity();
+	}
+
+	@Override
+	public int getMaxDisparity() {
+		return alg.getMaxDisparity();
+	}
+
+	@Override
+	public Class<T> getInputType() {
+		return inputType;
+	}
+
+	@Override
+	public Class<D> getDisparityType() {
+		return alg.getDisparityType();
+	}
+
+	public DisparityScoreRowFormat<C,D> getAlg() {
+		return alg;
+	}
+
+	public FilterImageInterface<T, C> getCensusTransform() {
+		return censusTran;
+	}
+}
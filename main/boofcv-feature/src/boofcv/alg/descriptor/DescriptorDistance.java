@@ -202,6 +202,26 @@ public class DescriptorDistance {
 		return score;
 	}
 
+	/**
+	 * Computes the hamming distance between two descriptors which have been packed into long arrays.
+	 *
+	 * @see boofcv.struct.feature.PackedTupleArray_B
+	 *
+	 * @param a Array containing the first descriptor
+	 * @param indexA Index of the first word in the first descriptor
+	 * @param b Array containing the second descriptor
+	 * @param indexB Index of the first word in the second descriptor
+	 * @param length Number of words in each descriptor
+	 * @return The hamming distance
+	 */
+	public static int hamming( long[] a , int indexA , long[] b , int indexB , int length ) {
+		int score = 0;
+		for( int i = 0; i < length; i++ ) {
+			score += Long.bitCount(a[indexA+i] ^ b[indexB+i]);
+		}
+		return score;
+	}
+
 	/**
 	 * <p>Computes the hamming distance.  A bit = 0 is a match and 1 is not match<p>
 	 *
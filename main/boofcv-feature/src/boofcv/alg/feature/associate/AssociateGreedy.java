@@ -19,11 +19,13 @@
 package boofcv.alg.feature.associate;
 
 import boofcv.abst.feature.associate.ScoreAssociation;
+import boofcv.abst.feature.associate.ScoreAssociationBatch;
 import boofcv.struct.feature.TupleDesc_F64;
 import org.ddogleg.struct.FastQueue;
 import org.ddogleg.struct.GrowQueue_F64;
 import org.ddogleg.struct.GrowQueue_I32;
 
+import java.util.Arrays;
 
 /**
  * <p>
@@ -39,24 +41,42 @@ import org.ddogleg.struct.GrowQueue_I32;
  * associated with feature in src.
  * </p>
  *
+ * <p>
+ * Scores are computed in blocks of src and dst features so that descriptors stay in the CPU cache.  The best and
+ * second best score for each src feature (row) and dst feature (column) are found in the same pass, so the
+ * backwards validation and ratio test don't need to recompute scores or save the full score matrix.
+ * If the score implements {@link ScoreAssociationBatch} then each src feature is scored against a block of
+ * dst features with a single function call.
+ * </p>
+ *
  * @param <D> Feature description type.
  *
  * @author Peter Abeles
  */
 public class AssociateGreedy<D> {
 
+	// number of src and dst features in a block
+	protected static final int BLOCK_SRC = 32;
+	protected static final int BLOCK_DST = 256;
+
 	// computes association score
-	private ScoreAssociation<D> score;
+	protected ScoreAssociation<D> score;
+	// if not null then scores are computed using the batch interface
+	protected ScoreAssociationBatch<D> scoreBatch;
 	// worst allowed fit score to associate
 	private double maxFitError = Double.MAX_VALUE;
+	// a match is rejected if its score is more than this ratio of the second best score
+	private double ratioTest = 1.0;
 	// stores the quality of fit score
-	private GrowQueue_F64 fitQuality = new GrowQueue_F64(100);
+	protected GrowQueue_F64 fitQuality = new GrowQueue_F64(100);
 	// stores indexes of associated
-	private GrowQueue_I32 pairs = new GrowQueue_I32(100);
-	// various
-	private GrowQueue_F64 workBuffer = new GrowQueue_F64(100);
+	protected GrowQueue_I32 pairs = new GrowQueue_I32(100);
+	// second best score for each src feature
+	protected GrowQueue_F64 secondBest = new GrowQueue_F64(100);
+	// best and second best score for each dst feature
+	protected Columns columns = new Columns();
 	// if true backwardsValidation is done
-	private boolean backwardsValidation;
+	protected boolean backwardsValidation;
 
 	/**
 	 * Configure association
@@ -68,6 +88,8 @@ public class AssociateGreedy<D> {
 						   boolean backwardsValidation) {
 		this.score = score;
 		this.backwardsValidation = backwardsValidation;
+		if( score instanceof ScoreAssociationBatch )
+			scoreBatch = (ScoreAssociationBatch<D>)score;
 	}
 
 	/**
@@ -79,47 +101,113 @@ public class AssociateGreedy<D> {
 	public void associate( FastQueue<D> src ,
 						   FastQueue<D> dst )
 	{
-		fitQuality.reset();
-		pairs.reset();
-		workBuffer.reset();
+		fitQuality.resize(src.size);
+		pairs.resize(src.size);
+		secondBest.resize(src.size);
+		if( backwardsValidation )
+			columns.reset(dst.size);
+		if( scoreBatch != null )
+			scoreBatch.setLists(src, dst);
+
+		computeScores(src, dst);
 
-//		System.out.println("Associate: "+src.size+"*"+dst.size+" = "+(src.size*dst.size)+" or "+(src.size*dst.size*8/1024/1024)+"MB");
-		fitQuality.setMaxSize(src.size);
-		workBuffer.setMaxSize(src.size*dst.size);
 		for( int i = 0; i < src.size; i++ ) {
-			D a = src.data[i];
-			double bestScore = maxFitError;
-			int bestIndex = -1;
+			int match = pairs.data[i];
+			if( match == -1 )
+				continue;
 
-			for( int j = 0; j < dst.size; j++ ) {
-				D b = dst.data[j];
+			double best = fitQuality.data[i];
 
-				double fit = score.score(a,b);
-				workBuffer.push(fit);
+			// it's only mutually the best if no other src feature has a score as good or better
+			boolean reject = backwardsValidation &&
+					!(best <= columns.best[match] && columns.second[match] > best);
 
-				if( fit <= bestScore ) {
-					bestIndex = j;
-					bestScore = fit;
-				}
+			if( !reject && ratioTest < 1.0 && best > ratioTest*secondBest.data[i] )
+				reject = true;
+
+			if( reject ) {
+				pairs.data[i] = -1;
+				fitQuality.data[i] = Double.MAX_VALUE;
 			}
-			pairs.push(bestIndex);
-			fitQuality.push(bestScore);
 		}
+	}
+
+	/**
+	 * Computes the score between all the features and finds the best matches
+	 */
+	protected void computeScores( FastQueue<D> src , FastQueue<D> dst ) {
+		scoreBlocks(src, dst, 0, src.size, columns);
+	}
+
+	/**
+	 * Scores src features from index i0 to i1-1 against all the dst features.  The best match for each
+	 * src feature is saved and if backwards validation is on then the best two scores for each dst feature
+	 * are saved in columns.
+	 */
+	protected void scoreBlocks( FastQueue<D> src , FastQueue<D> dst , int i0 , int i1 , Columns columns ) {
+		double[] colBest = columns.best;
+		double[] colSecond = columns.second;
+		double[] scores = columns.scores;
+
+		for( int blockI = i0; blockI < i1; blockI += BLOCK_SRC ) {
+			int endI = Math.min(i1, blockI + BLOCK_SRC);
+
+			// initialize the results for each row
+			for( int i = blockI; i < endI; i++ ) {
+				pairs.data[i] = -1;
+				fitQuality.data[i] = Double.MAX_VALUE;
+				secondBest.data[i] = Double.MAX_VALUE;
+			}
+
+			for( int blockJ = 0; blockJ < dst.size; blockJ += BLOCK_DST ) {
+				int endJ = Math.min(dst.size, blockJ + BLOCK_DST);
+
+				for( int i = blockI; i < endI; i++ ) {
+					if( scoreBatch != null ) {
+						scoreBatch.scoreRow(i, blockJ, endJ, scores);
+					} else {
+						D a = src.data[i];
+						for( int j = blockJ; j < endJ; j++ ) {
+							scores[j-blockJ] = score.score(a,dst.data[j]);
+						}
+					}
+
+					double best = fitQuality.data[i];
+					double second = secondBest.data[i];
+					int bestIndex = pairs.data[i];
 
-		if( backwardsValidation ) {
-			for( int i = 0; i < src.size; i++ ) {
-				int match = pairs.data[i];
-				if( match == -1 )
-					continue;
+					for( int j = blockJ; j < endJ; j++ ) {
+						double fit = scores[j-blockJ];
 
-				double scoreToBeat = workBuffer.data[i*dst.size+match];
+						if( fit <= best ) {
+							second = best;
+							best = fit;
+							bestIndex = j;
+						} else if( fit < second ) {
+							second = fit;
+						}
 
-				for( int j = 0; j < src.size; j++ , match += dst.size ) {
-					if( workBuffer.data[match] <= scoreToBeat && j != i) {
-						pairs.data[i] = -1;
-						fitQuality.data[i] = Double.MAX_VALUE;
-						break;
+						if( backwardsValidation ) {
+							if( fit < colBest[j] ) {
+								colSecond[j] = colBest[j];
+								colBest[j] = fit;
+							} else if( fit < colSecond[j] ) {
+								colSecond[j] = fit;
+							}
+						}
 					}
+
+					pairs.data[i] = bestIndex;
+					fitQuality.data[i] = best;
+					secondBest.data[i] = second;
+				}
+			}
+
+			// apply the maximum error
+			for( int i = blockI; i < endI; i++ ) {
+				if( fitQuality.data[i] > maxFitError ) {
+					pairs.data[i] = -1;
+					fitQuality.data[i] = maxFitError;
 				}
 			}
 		}
@@ -150,6 +238,20 @@ public class AssociateGreedy<D> {
 		this.maxFitError = maxFitError;
 	}
 
+	/**
+	 * Ratio test.  A match is rejected if its score is greater than ratio times the second best score.
+	 * Only makes sense for error scores which are &ge; 0.  For squared errors the ratio should be squared too.
+	 *
+	 * @param ratioTest Ratio from 0 to 1.  Set to 1 to disable.
+	 */
+	public void setRatioTest(double ratioTest) {
+		this.ratioTest = ratioTest;
+	}
+
+	public double getRatioTest() {
+		return ratioTest;
+	}
+
 	public ScoreAssociation<D> getScore() {
 		return score;
 	}
@@ -157,4 +259,37 @@ public class AssociateGreedy<D> {
 	public boolean isBackwardsValidation() {
 		return backwardsValidation;
 	}
+
+	/**
+	 * Best and second best score for each dst feature and storage for the scores in a block
+	 */
+	public static class Columns {
+		public double best[] = new double[0];
+		public double second[] = new double[0];
+		public double scores[] = new double[BLOCK_DST];
+
+		public void reset( int size ) {
+			if( best.length < size ) {
+				best = new double[size];
+				second = new double[size];
+			}
+			Arrays.fill(best, 0, size, Double.MAX_VALUE);
+			Arrays.fill(second, 0, size, Double.MAX_VALUE);
+		}
+
+		/**
+		 * Combines the results from another set of columns into this one
+		 */
+		public void add( Columns o , int size ) {
+			for( int j = 0; j < size; j++ ) {
+				double b = o.best[j];
+				if( b < best[j] ) {
+					second[j] = Math.min(best[j], o.second[j]);
+					best[j] = b;
+				} else {
+					second[j] = Math.min(second[j], b);
+				}
+			}
+		}
+	}
 }
@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.associate;
+
+import boofcv.abst.feature.associate.ScoreAssociation;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeWorkTask;
+import org.ddogleg.struct.FastQueue;
+
+/**
+ * <p>
+ * Concurrent version of {@link AssociateGreedy}.  The src features are split into blocks which are scored against
+ * all the dst features by different threads.  Each thread finds the best two scores for each dst feature
+ * and these are combined after all the threads have finished.  Results are identical to the single threaded
+ * version.
+ * </p>
+ *
+ * <p>
+ * The {@link ScoreAssociation} is shared between threads and must not modify internal state when
+ * computing a score.  See {@link boofcv.abst.feature.associate.ScoreAssociationBatch#scoreRow}.
+ * </p>
+ *
+ * @param <D> Feature description type.
+ *
+ * @author Peter Abeles
+ */
+public class AssociateGreedy_MT<D> extends AssociateGreedy<D> {
+
+	// best scores for dst features found by each thread
+	FastQueue<Columns> threadColumns = new FastQueue<>(Columns.class, true);
+
+	public AssociateGreedy_MT(ScoreAssociation<D> score, boolean backwardsValidation) {
+		super(score, backwardsValidation);
+	}
+
+	@Override
+	protected void computeScores( final FastQueue<D> src , final FastQueue<D> dst ) {
+		BoofConcurrency.loopBlocks(0, src.size, BLOCK_SRC, threadColumns, new IntRangeWorkTask<Columns>() {
+			@Override
+			public void process(Columns work, int idx0, int idx1) {
+				if( backwardsValidation )
+					work.reset(dst.size);
+				scoreBlocks(src, dst, idx0, idx1, work);
+			}
+		});
+
+		if( backwardsValidation ) {
+			for( int i = 0; i < threadColumns.size; i++ ) {
+				columns.add(threadColumns.get(i), dst.size);
+			}
+		}
+	}
+}
@@ -0,0 +1,271 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.associate;
+
+import boofcv.alg.descriptor.DescriptorDistance;
+import boofcv.struct.feature.PackedTupleArray_B;
+import boofcv.struct.feature.TupleDesc_B;
+import org.ddogleg.struct.FastQueue;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * Nearest-neighbor search for binary descriptors in Hamming space using multi-index hashing [1].  Each descriptor
+ * is split into m disjoint substrings and a hash table is created for each substring.  To search, the buckets whose
+ * key is within {@link #getProbeRadius() r} bits of the query's substring are examined in every table and the
+ * Hamming distance to each candidate is computed.  By the pigeonhole principle every descriptor within a distance
+ * of m*(r+1)-1 of the query is guaranteed to be a candidate.  Descriptors further away than that are often found
+ * too, but not always, making the search approximate for larger distances.
+ * </p>
+ *
+ * <p>
+ * Each table is stored as a sorted array of descriptor indexes plus the offset of each bucket in that array.
+ * Building the index is O(m*(N + 2<sup>b</sup>)), where b is the number of bits in a substring.  A query examines
+ * m*sum(i=0..r, C(b,i)) buckets, which is independent of N, plus the candidates inside those buckets.
+ * </p>
+ *
+ * <p>
+ * [1] Norouzi, Mohammad, Ali Punjani, and David J. Fleet. "Fast search in hamming space with multi-index hashing."
+ * CVPR 2012
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class MultiIndexHashing_B {
+	// number of bits in each substring
+	int substringBits;
+	// number of bits which can be different from the query substring when looking up buckets
+	int probeRadius;
+
+	// number of substrings/tables
+	int numTables;
+	// number of bits in the descriptors
+	int numBits;
+
+	// descriptors stored in a format suitable for computing hamming distance quickly
+	PackedTupleArray_B packed = new PackedTupleArray_B();
+
+	// For each table, start of each bucket inside of tableIds.  Bucket k is from bucketStart[k] to bucketStart[k+1]
+	int bucketStart[][] = new int[0][];
+	// For each table, descriptor indexes sorted by bucket
+	int tableIds[][] = new int[0][];
+
+	// the query descriptor after being packed
+	long query[] = new long[0];
+	// used to make sure each descriptor is only examined once per query
+	int marks[] = new int[0];
+	int markValue;
+
+	// results of the most recent search
+	int bestIndex;
+	int bestDistance;
+
+	/**
+	 * Configures the search
+	 *
+	 * @param substringBits Number of bits in each substring.  A table with 2<sup>b</sup> buckets is created for
+	 *                      each substring.  Try 16.
+	 * @param probeRadius Buckets within this hamming distance of the query substring are searched. Typically 0 or 1.
+	 */
+	public MultiIndexHashing_B(int substringBits, int probeRadius) {
+		if( substringBits <= 0 || substringBits > 24 )
+			throw new IllegalArgumentException("substringBits must be from 1 to 24");
+		if( probeRadius < 0 )
+			throw new IllegalArgumentException("probeRadius must be >= 0");
+		this.substringBits = substringBits;
+		this.probeRadius = probeRadius;
+	}
+
+	/**
+	 * Builds the index from the list of descriptors.  All descriptors must have the same number of bits.
+	 * Indexes returned by the search refer to elements in this list.
+	 *
+	 * @param list List of descriptors which are searched.  Not modified or saved internally.
+	 */
+	public void setDescriptors( FastQueue<TupleDesc_B> list ) {
+		numBits = list.size == 0 ? 0 : list.get(0).numBits;
+		for( int i = 1; i < list.size; i++ ) {
+			if( list.get(i).numBits != numBits )
+				throw new IllegalArgumentException("All descriptors must have the same number of bits");
+		}
+
+		packed.setTo(list, (numBits+31)/32);
+		numTables = (numBits+substringBits-1)/substringBits;
+
+		if( query.length < packed.wordsPerDesc )
+			query = new long[packed.wordsPerDesc];
+		if( marks.length < list.size )
+			marks = new int[list.size];
+		else
+			Arrays.fill(marks,0,list.size,0);
+		markValue = 0;
+
+		if( bucketStart.length < numTables ) {
+			bucketStart = new int[numTables][];
+			tableIds = new int[numTables][];
+		}
+
+		for( int table = 0; table < numTables; table++ ) {
+			int numBuckets = 1 << substringLength(table);
+
+			if( bucketStart[table] == null || bucketStart[table].length < numBuckets+1 )
+				bucketStart[table] = new int[numBuckets+1];
+			if( tableIds[table] == null || tableIds[table].length < list.size )
+				tableIds[table] = new int[list.size];
+
+			int start[] = bucketStart[table];
+			int ids[] = tableIds[table];
+
+			// counting sort of the descriptors by key
+			Arrays.fill(start,0,numBuckets+1,0);
+			for( int i = 0; i < packed.size; i++ ) {
+				start[substring(packed.data,packed.indexOf(i),table)+1]++;
+			}
+			for( int k = 0; k < numBuckets; k++ ) {
+				start[k+1] += start[k];
+			}
+			for( int i = 0; i < packed.size; i++ ) {
+				int key = substring(packed.data,packed.indexOf(i),table);
+				ids[start[key]++] = i;
+			}
+			// the previous loop shifted each start to the end of its bucket, shift it back
+			for( int k = numBuckets; k > 0; k-- ) {
+				start[k] = start[k-1];
+			}
+			start[0] = 0;
+		}
+	}
+
+	/**
+	 * Searches for the descriptor which is closest to the query.
+	 *
+	 * @param desc The query descriptor.  Must have the same number of bits as the indexed descriptors.
+	 * @param maxDistance Maximum allowed hamming distance.  If negative then there is no limit.
+	 * @return true if a match was found
+	 */
+	public boolean findNearest( TupleDesc_B desc , int maxDistance ) {
+		bestIndex = -1;
+		bestDistance = maxDistance < 0 ? Integer.MAX_VALUE : maxDistance;
+
+		if( packed.size == 0 )
+			return false;
+		if( desc.numBits != numBits )
+			throw new IllegalArgumentException("Descriptor has a different number of bits");
+
+		PackedTupleArray_B.pack(desc,(numBits+31)/32,query,0);
+
+		// a new mark value so that previous searches don't need to be erased
+		if( ++markValue == Integer.MAX_VALUE ) {
+			Arrays.fill(marks,0,packed.size,0);
+			markValue = 1;
+		}
+
+		for( int table = 0; table < numTables; table++ ) {
+			int key = substring(query,0,table);
+			probe(table,key,0,substringLength(table),probeRadius);
+		}
+
+		return bestIndex >= 0;
+	}
+
+	/**
+	 * Examines the bucket with the specified key and recursively buckets with additional bits flipped
+	 */
+	private void probe( int table , int key , int firstBit , int length , int remaining ) {
+		checkBucket(table,key);
+		if( remaining == 0 )
+			return;
+		for( int bit = firstBit; bit < length; bit++ ) {
+			probe(table, key ^ (1 << bit), bit+1, length, remaining-1);
+		}
+	}
+
+	private void checkBucket( int table , int key ) {
+		int start[] = bucketStart[table];
+		int ids[] = tableIds[table];
+
+		int end = start[key+1];
+		for( int i = start[key]; i < end; i++ ) {
+			int id = ids[i];
+			if( marks[id] == markValue )
+				continue;
+			marks[id] = markValue;
+
+			int distance = DescriptorDistance.hamming(query,0,packed.data,packed.indexOf(id),packed.wordsPerDesc);
+			if( distance < bestDistance || (distance == bestDistance && bestIndex < 0) ) {
+				bestDistance = distance;
+				bestIndex = id;
+			}
+		}
+	}
+
+	/**
+	 * Number of bits in the specified substring.  The last substring can be shorter than the others.
+	 */
+	int substringLength( int table ) {
+		return Math.min(substringBits, numBits - table*substringBits);
+	}
+
+	/**
+	 * Extracts the bits in the specified substring from a packed descriptor
+	 */
+	int substring( long data[] , int index , int table ) {
+		int offset = table*substringBits;
+		int length = substringLength(table);
+
+		int word = index + offset/64;
+		int shift = offset%64;
+
+		long value = data[word] >>> shift;
+		if( shift + length > 64 )
+			value |= data[word+1] << (64-shift);
+
+		return (int)(value & ((1L << length)-1));
+	}
+
+	/**
+	 * Index of the best match found in the most recent search or -1 if none was found
+	 */
+	public int getBestIndex() {
+		return bestIndex;
+	}
+
+	/**
+	 * Hamming distance of the best match found in the most recent search
+	 */
+	public int getBestDistance() {
+		return bestDistance;
+	}
+
+	/**
+	 * Number of descriptors in the index
+	 */
+	public int size() {
+		return packed.size;
+	}
+
+	public int getSubstringBits() {
+		return substringBits;
+	}
+
+	public int getProbeRadius() {
+		return probeRadius;
+	}
+}
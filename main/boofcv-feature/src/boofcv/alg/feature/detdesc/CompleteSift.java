@@ -98,7 +98,7 @@ public class CompleteSift extends SiftDetector
 	protected void detectFeatures(int scaleIndex) {
 
 		// compute image derivative for this scale
-		GrayF32 input = scaleSpace.getImageScale(scaleIndex);
+		GrayF32 input = getImageScale(scaleIndex);
 		derivX.reshape(input.width,input.height);
 		derivY.reshape(input.width,input.height);
 		gradient.process(input,derivX,derivY);
@@ -110,6 +110,13 @@ public class CompleteSift extends SiftDetector
 		super.detectFeatures(scaleIndex);
 	}
 
+	/**
+	 * Returns the blurred image at the specified scale in the current octave
+	 */
+	protected GrayF32 getImageScale( int scaleIndex ) {
+		return scaleSpace.getImageScale(scaleIndex);
+	}
+
 	@Override
 	protected void handleDetection(ScalePoint p) {
 
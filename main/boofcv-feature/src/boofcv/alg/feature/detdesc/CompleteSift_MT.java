@@ -0,0 +1,231 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.detdesc;
+
+import boofcv.abst.feature.describe.ConfigSiftDescribe;
+import boofcv.abst.feature.describe.ConfigSiftScaleSpace;
+import boofcv.abst.feature.detdesc.ConfigCompleteSift;
+import boofcv.abst.feature.detect.extract.NonMaxLimiter;
+import boofcv.abst.feature.orientation.ConfigSiftOrientation;
+import boofcv.alg.feature.describe.DescribePointSift;
+import boofcv.alg.feature.detect.interest.SiftScaleSpace;
+import boofcv.alg.feature.orientation.OrientationHistogramSift;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntTask;
+import boofcv.factory.feature.detect.extract.FactoryFeatureExtractor;
+import boofcv.struct.feature.BrightFeature;
+import boofcv.struct.feature.ScalePoint;
+import boofcv.struct.image.GrayF32;
+import org.ddogleg.struct.FastQueue;
+import org.ddogleg.struct.GrowQueue_F64;
+
+/**
+ * <p>
+ * Concurrent version of {@link CompleteSift}.  Octaves are processed in a pipeline.  While the features in
+ * the current octave are being detected and described, the Gaussian blur for the next octave is computed.  Each
+ * scale in an octave is processed by its own worker, which has its own detector, orientation estimator, describer,
+ * and output storage.  After all the scales in an octave have been processed the results are added in order of
+ * scale, which makes the output identical to the single threaded version.
+ * </p>
+ *
+ * <p>
+ * Since the scale-space reuses its images for the next octave, the images needed for detection are copied
+ * before the next octave is computed.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class CompleteSift_MT extends CompleteSift {
+
+	// copy of the current octave's images which is processed while the next octave is computed
+	OctaveImages octave;
+
+	// detects and describes features inside of a single scale. one for each scale in an octave
+	Worker workers[];
+
+	/**
+	 * Configures SIFT
+	 *
+	 * @param config Configuration for the SIFT detector and descriptor.
+	 */
+	public CompleteSift_MT( ConfigCompleteSift config ) {
+		super(createScaleSpace(config.scaleSpace), config.detector.edgeR,
+				createNonMax(config), createOrientation(config.orientation), createDescribe(config.describe));
+
+		int numScales = scaleSpace.getNumScales();
+		octave = new OctaveImages(numScales);
+		workers = new Worker[numScales];
+		for (int i = 0; i < numScales; i++) {
+			workers[i] = new Worker(config, scaleSpace, octave);
+		}
+	}
+
+	@Override
+	public void process(GrayF32 input) {
+		features.reset();
+		locations.reset();
+		orientations.reset();
+		detections.reset();
+
+		scaleSpace.initialize(input);
+
+		final int numScales = scaleSpace.getNumScales();
+		final boolean nextOctave[] = new boolean[1];
+		do {
+			octave.setTo(scaleSpace);
+
+			// Task 0 computes the next octave.  It's listed first since it's the most expensive task
+			BoofConcurrency.loopEach(0, numScales+1, new IntTask() {
+				@Override
+				public void process(int index) {
+					if( index == 0 )
+						nextOctave[0] = scaleSpace.computeNextOctave();
+					else
+						workers[index-1].processScale(index);
+				}
+			});
+
+			for (int i = 0; i < numScales; i++) {
+				addResults(workers[i]);
+			}
+		} while( nextOctave[0] );
+	}
+
+	/**
+	 * Adds the features found by the worker.  Locations reference detections in the worker and are
+	 * changed to reference the copies of the detections.
+	 */
+	private void addResults( Worker worker ) {
+		FastQueue<ScalePoint> workerDetections = worker.getDetections();
+		FastQueue<ScalePoint> workerLocations = worker.getLocations();
+		FastQueue<BrightFeature> workerFeatures = worker.getDescriptions();
+		GrowQueue_F64 workerOrientations = worker.getOrientations();
+
+		int detectionOffset = detections.size;
+		for (int i = 0; i < workerDetections.size; i++) {
+			detections.grow().set(workerDetections.get(i));
+		}
+
+		// locations are added in the same order as detections, with one for each orientation
+		int indexDetection = 0;
+		for (int i = 0; i < workerLocations.size; i++) {
+			ScalePoint p = workerLocations.get(i);
+			while( workerDetections.get(indexDetection) != p )
+				indexDetection++;
+			locations.add(detections.get(detectionOffset+indexDetection));
+			features.grow().setTo(workerFeatures.get(i));
+			orientations.add(workerOrientations.get(i));
+		}
+	}
+
+	static SiftScaleSpace createScaleSpace( ConfigSiftScaleSpace config ) {
+		return new SiftScaleSpace(config.firstOctave,config.lastOctave,config.numScales,config.sigma0);
+	}
+
+	static NonMaxLimiter createNonMax( ConfigCompleteSift config ) {
+		return new NonMaxLimiter(FactoryFeatureExtractor.nonmax(config.detector.extract),
+				config.detector.maxFeaturesPerScale);
+	}
+
+	static OrientationHistogramSift<GrayF32> createOrientation( ConfigSiftOrientation config ) {
+		return new OrientationHistogramSift<>(config.histogramSize,config.sigmaEnlarge,GrayF32.class);
+	}
+
+	static DescribePointSift<GrayF32> createDescribe( ConfigSiftDescribe config ) {
+		return new DescribePointSift<>(config.widthSubregion,config.widthGrid, config.numHistogramBins,
+				config.sigmaToPixels, config.weightingSigmaFraction,
+				config.maxDescriptorElementValue,GrayF32.class);
+	}
+
+	/**
+	 * Copy of the images and parameters in an octave which are needed to detect and describe features
+	 */
+	static class OctaveImages {
+		// blurred images at each scale
+		GrayF32 scales[];
+		// difference of Gaussian images
+		GrayF32 dog[];
+		// amount of blur at each scale
+		double sigma[];
+		// conversion factor from a pixel in the octave to the input image
+		double pixelScaleToInput;
+
+		OctaveImages( int numScales ) {
+			scales = new GrayF32[numScales+3];
+			dog = new GrayF32[numScales+2];
+			sigma = new double[numScales+3];
+			for (int i = 0; i < scales.length; i++) {
+				scales[i] = new GrayF32(1,1);
+			}
+			for (int i = 0; i < dog.length; i++) {
+				dog[i] = new GrayF32(1,1);
+			}
+		}
+
+		/**
+		 * Copies the current octave in the scale-space.  Only the scales which features are detected in are copied.
+		 */
+		void setTo( SiftScaleSpace ss ) {
+			int numScales = ss.getNumScales();
+			for (int i = 1; i <= numScales; i++) {
+				scales[i].setTo(ss.getImageScale(i));
+			}
+			for (int i = 0; i < dog.length; i++) {
+				dog[i].setTo(ss.getDifferenceOfGaussian(i));
+			}
+			for (int i = 0; i < sigma.length; i++) {
+				sigma[i] = ss.computeSigmaScale(i);
+			}
+			pixelScaleToInput = ss.pixelScaleCurrentToInput();
+		}
+	}
+
+	/**
+	 * Detects and describes features inside a single scale of {@link OctaveImages}
+	 */
+	static class Worker extends CompleteSift {
+		OctaveImages octave;
+
+		Worker( ConfigCompleteSift config , SiftScaleSpace scaleSpace , OctaveImages octave ) {
+			super(scaleSpace, config.detector.edgeR, createNonMax(config),
+					createOrientation(config.orientation), createDescribe(config.describe));
+			this.octave = octave;
+		}
+
+		/**
+		 * Discards previous results and processes the specified scale
+		 */
+		void processScale( int scaleIndex ) {
+			features.reset();
+			locations.reset();
+			orientations.reset();
+			detections.reset();
+
+			pixelScaleToInput = octave.pixelScaleToInput;
+			detectScale(scaleIndex,
+					octave.dog[scaleIndex-1], octave.dog[scaleIndex], octave.dog[scaleIndex+1],
+					octave.sigma[scaleIndex-1], octave.sigma[scaleIndex], octave.sigma[scaleIndex+1]);
+		}
+
+		@Override
+		protected GrayF32 getImageScale(int scaleIndex) {
+			return octave.scales[scaleIndex];
+		}
+	}
+}
@@ -89,7 +89,7 @@ public class FastHessianFeatureDetector<II extends ImageGray<II>> {
 	// sorts feature by their intensity
 	private SelectNBestFeatures sortBest;
 	// the maximum number of returned feature per scale
-	private int maxFeaturesPerScale;
+	protected int maxFeaturesPerScale;
 
 	// local sub-space
 	private GrayF32 intensity[];
@@ -97,21 +97,21 @@ public class FastHessianFeatureDetector<II extends ImageGray<II>> {
 	private QueueCorner foundFeatures = new QueueCorner(100);
 
 	// List of found feature points
-	private FastQueue<ScalePoint> foundPoints = new FastQueue<>(10, ScalePoint.class, true);
+	protected FastQueue<ScalePoint> foundPoints = new FastQueue<>(10, ScalePoint.class, true);
 
 	// size of detected feature at the smallest scale
-	private int initialSize;
+	protected int initialSize;
 	// increment between kernel sizes as it goes up in scale
-	private int scaleStepSize;
+	protected int scaleStepSize;
 	// the number of octaves it examines
-	private int numberOfOctaves;
+	protected int numberOfOctaves;
 
 	// local variables that are predeclared
-	private int sizes[];
+	protected int sizes[];
 
 	// how often the image is sampled in the first octave
 	// a value of 1 would mean every pixel is sampled
-	private int initialSampleRate;
+	protected int initialSampleRate;
 
 	/**
 	 * <p>
@@ -232,22 +232,45 @@ public class FastHessianFeatureDetector<II extends ImageGray<II>> {
 		int index1 = (spaceIndex + 1) % 3;
 		int index2 = (spaceIndex + 2) % 3;
 
-		ImageBorder_F32 inten0 = (ImageBorder_F32)FactoryImageBorderAlgs.value(intensity[index0], 0);
-		GrayF32 inten1 = intensity[index1];
-		ImageBorder_F32 inten2 = (ImageBorder_F32)FactoryImageBorderAlgs.value(intensity[index2], 0);
+		findLocalScaleSpaceMax(intensity[index0],intensity[index1],intensity[index2],size,level,skip,
+				extractor,sortBest,foundFeatures,foundPoints);
+	}
+
+	/**
+	 * Looks for features which are local maximums in the image and scale-space.  All the state which is modified
+	 * is passed in, allowing different levels to be processed at the same time.
+	 *
+	 * @param intensity0 Feature intensity in the level below
+	 * @param intensity1 Feature intensity in the level which features are detected in
+	 * @param intensity2 Feature intensity in the level above
+	 * @param size Size of features in different scale-spaces.
+	 * @param level Which level in the scale-space
+	 * @param skip How many pixels are skipped over.
+	 * @param extractor Finds local maximums in intensity1.  Modified.
+	 * @param sortBest If not null, selects the most intense features.  Modified.
+	 * @param foundFeatures Storage for local maximums.  Modified.
+	 * @param foundPoints Detected features are added to this list.  Modified.
+	 */
+	protected void findLocalScaleSpaceMax( GrayF32 intensity0 , GrayF32 intensity1 , GrayF32 intensity2 ,
+										   int []size, int level, int skip ,
+										   NonMaxSuppression extractor , SelectNBestFeatures sortBest ,
+										   QueueCorner foundFeatures , FastQueue<ScalePoint> foundPoints ) {
+		ImageBorder_F32 inten0 = (ImageBorder_F32)FactoryImageBorderAlgs.value(intensity0, 0);
+		GrayF32 inten1 = intensity1;
+		ImageBorder_F32 inten2 = (ImageBorder_F32)FactoryImageBorderAlgs.value(intensity2, 0);
 
 		// find local maximums in image 2D space.  Borders need to be ignored since
 		// false positives are found around them as an artifact of pixels outside being
 		// treated as being zero.
 		foundFeatures.reset();
 		extractor.setIgnoreBorder(size[level] / (2 * skip));
-		extractor.process(intensity[index1],null,null,null,foundFeatures);
+		extractor.process(intensity1,null,null,null,foundFeatures);
 
 		// Can't consider feature which are right up against the border since they might not be a true local
 		// maximum when you consider the features on the other side of the ignore border
 		int ignoreRadius = extractor.getIgnoreBorder() + extractor.getSearchRadius();
-		int ignoreWidth = intensity[index1].width-ignoreRadius;
-		int ignoreHeight = intensity[index1].height-ignoreRadius;
+		int ignoreWidth = intensity1.width-ignoreRadius;
+		int ignoreHeight = intensity1.height-ignoreRadius;
 
 		// number of features which can be added
 		int numberRemaining;
@@ -255,7 +278,7 @@ public class FastHessianFeatureDetector<II extends ImageGray<II>> {
 		// if configured to do so, only select the features with the highest intensity
 		QueueCorner features;
 		if( sortBest != null ) {
-			sortBest.process(intensity[index1],foundFeatures,true);
+			sortBest.process(intensity1,foundFeatures,true);
 			features = sortBest.getBestCorners();
 			numberRemaining = maxFeaturesPerScale;
 		} else {
@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.detect.interest;
+
+import boofcv.abst.feature.detect.extract.ConfigExtract;
+import boofcv.abst.feature.detect.extract.NonMaxSuppression;
+import boofcv.alg.feature.detect.extract.SelectNBestFeatures;
+import boofcv.alg.feature.detect.intensity.GIntegralImageFeatureIntensity;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntTask;
+import boofcv.factory.feature.detect.extract.FactoryFeatureExtractor;
+import boofcv.struct.QueueCorner;
+import boofcv.struct.feature.ScalePoint;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.ImageGray;
+import org.ddogleg.struct.FastQueue;
+import org.ddogleg.struct.GrowQueue_I32;
+
+/**
+ * <p>
+ * Concurrent version of {@link FastHessianFeatureDetector}.  The intensity of every scale in every octave only
+ * depends on the integral image, so they are all computed concurrently.  Then non-maximum suppression is run
+ * concurrently on each level inside of each octave.  Each level has its own extractor and list of found features,
+ * which are combined in the same order as the single threaded version.  The found features are identical.
+ * </p>
+ *
+ * <p>
+ * Unlike the single threaded version, which only stores three intensity images at a time, the intensity for all
+ * scales is saved.  Because higher octaves are sub-sampled this requires memory for about
+ * 4/3 * numberScalesPerOctave images at the input's resolution.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class FastHessianFeatureDetector_MT<II extends ImageGray<II>> extends FastHessianFeatureDetector<II> {
+
+	// used to create a extractor for each level
+	private ConfigExtract configExtract;
+
+	// intensity image for each scale in each octave
+	private FastQueue<GrayF32> intensities = new FastQueue<GrayF32>(GrayF32.class,true) {
+		@Override
+		protected GrayF32 createInstance() {
+			return new GrayF32(1,1);
+		}
+	};
+	// storage used to find features in each level
+	private FastQueue<LevelWork> levels;
+
+	// pixel skip and size of the first scale in each octave which is processed
+	private GrowQueue_I32 octaveSkip = new GrowQueue_I32();
+	private GrowQueue_I32 octaveSizes = new GrowQueue_I32();
+
+	/**
+	 * Defines the feature detector.  See {@link FastHessianFeatureDetector} for a description of the parameters.
+	 *
+	 * @param configExtract Configuration for the non-maximum suppression.  One extractor is created for each level.
+	 */
+	public FastHessianFeatureDetector_MT(ConfigExtract configExtract, int maxFeaturesPerScale,
+										 int initialSampleRate, int initialSize,
+										 int numberScalesPerOctave,
+										 int numberOfOctaves, int scaleStepSize) {
+		super(FactoryFeatureExtractor.nonmax(configExtract), maxFeaturesPerScale, initialSampleRate, initialSize,
+				numberScalesPerOctave, numberOfOctaves, scaleStepSize);
+		this.configExtract = configExtract;
+
+		// declared here since instances are created inside the FastQueue's constructor
+		levels = new FastQueue<LevelWork>(LevelWork.class,true) {
+			@Override
+			protected LevelWork createInstance() {
+				return new LevelWork(FastHessianFeatureDetector_MT.this.configExtract,maxFeaturesPerScale);
+			}
+		};
+	}
+
+	@Override
+	public void detect( final II integral ) {
+		foundPoints.reset();
+
+		// Find all the octaves which will be processed, using the same rules as the single threaded version
+		octaveSkip.reset();
+		octaveSizes.reset();
+		final int numScales = sizes.length;
+
+		int skip = initialSampleRate;
+		int sizeStep = scaleStepSize;
+		int octaveSize = initialSize;
+		for( int octave = 0; octave < numberOfOctaves; octave++ ) {
+			int maxSize = octaveSize + (numScales-1)*sizeStep;
+			if( maxSize > integral.width || maxSize > integral.height )
+				break;
+			octaveSkip.add(skip);
+			for( int i = 0; i < numScales; i++ ) {
+				octaveSizes.add(octaveSize + i*sizeStep);
+			}
+			skip += skip;
+			octaveSize += sizeStep;
+			sizeStep += sizeStep;
+		}
+		int numOctaves = octaveSkip.size;
+
+		// Compute the intensity of every scale.  Lower octaves are the most expensive and are listed first
+		intensities.resize(numOctaves*numScales);
+		BoofConcurrency.loopEach(0, intensities.size, new IntTask() {
+			@Override
+			public void process(int index) {
+				int skip = octaveSkip.get(index/numScales);
+				GrayF32 intensity = intensities.get(index);
+				intensity.reshape(integral.width/skip,integral.height/skip);
+				GIntegralImageFeatureIntensity.hessian(integral,skip,octaveSizes.get(index),intensity);
+			}
+		});
+
+		// find features in every level which has a level above and below it
+		final int levelsPerOctave = numScales-2;
+		levels.resize(numOctaves*levelsPerOctave);
+		BoofConcurrency.loopEach(0, levels.size, new IntTask() {
+			@Override
+			public void process(int index) {
+				int octave = index/levelsPerOctave;
+				int level = index%levelsPerOctave + 1;
+				int first = octave*numScales;
+
+				LevelWork work = levels.get(index);
+				work.sizes.reset();
+				for( int i = 0; i < numScales; i++ ) {
+					work.sizes.add(octaveSizes.get(first+i));
+				}
+				work.foundPoints.reset();
+
+				findLocalScaleSpaceMax(intensities.get(first+level-1),intensities.get(first+level),
+						intensities.get(first+level+1),work.sizes.data,level,octaveSkip.get(octave),
+						work.extractor,work.sortBest,work.foundFeatures,work.foundPoints);
+			}
+		});
+
+		// combine the results in the same order as the single threaded version
+		for( int i = 0; i < levels.size; i++ ) {
+			FastQueue<ScalePoint> found = levels.get(i).foundPoints;
+			for( int j = 0; j < found.size; j++ ) {
+				foundPoints.grow().set(found.get(j));
+			}
+		}
+	}
+
+	/**
+	 * Storage used to find features in a single level
+	 */
+	private static class LevelWork {
+		NonMaxSuppression extractor;
+		SelectNBestFeatures sortBest;
+		QueueCorner foundFeatures = new QueueCorner(100);
+		FastQueue<ScalePoint> foundPoints = new FastQueue<>(10, ScalePoint.class, true);
+		GrowQueue_I32 sizes = new GrowQueue_I32();
+
+		LevelWork( ConfigExtract configExtract , int maxFeaturesPerScale ) {
+			extractor = FactoryFeatureExtractor.nonmax(configExtract);
+			if( maxFeaturesPerScale > 0 )
+				sortBest = new SelectNBestFeatures(maxFeaturesPerScale);
+		}
+	}
+}
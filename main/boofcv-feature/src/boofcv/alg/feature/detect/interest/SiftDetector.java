@@ -176,20 +176,43 @@ public class SiftDetector {
 
 				// not really sure how to compute the scale for features found at a particular DoG image
 				// using the average resulted in less visually appealing circles in a test image
-				sigmaLower  = scaleSpace.computeSigmaScale( j - 1);
-				sigmaTarget = scaleSpace.computeSigmaScale( j    );
-				sigmaUpper  = scaleSpace.computeSigmaScale( j + 1);
-
-				// grab the local DoG scale space images
-				dogLower  = scaleSpace.getDifferenceOfGaussian(j-1);
-				dogTarget = scaleSpace.getDifferenceOfGaussian(j  );
-				dogUpper  = scaleSpace.getDifferenceOfGaussian(j+1);
-
-				detectFeatures(j);
+				detectScale(j,
+						scaleSpace.getDifferenceOfGaussian(j-1),
+						scaleSpace.getDifferenceOfGaussian(j  ),
+						scaleSpace.getDifferenceOfGaussian(j+1),
+						scaleSpace.computeSigmaScale( j - 1),
+						scaleSpace.computeSigmaScale( j    ),
+						scaleSpace.computeSigmaScale( j + 1));
 			}
 		} while( scaleSpace.computeNextOctave() );
 	}
 
+	/**
+	 * Detects features inside a single scale of the current octave using the local DoG scale space.
+	 * {@link #pixelScaleToInput} must be set first.
+	 *
+	 * @param scaleIndex Index of the target scale in the octave
+	 * @param dogLower DoG image in lower scale
+	 * @param dogTarget DoG image in target scale
+	 * @param dogUpper DoG image in upper scale
+	 * @param sigmaLower Blur in the lower scale
+	 * @param sigmaTarget Blur in the target scale
+	 * @param sigmaUpper Blur in the upper scale
+	 */
+	protected void detectScale( int scaleIndex ,
+								GrayF32 dogLower , GrayF32 dogTarget , GrayF32 dogUpper ,
+								double sigmaLower , double sigmaTarget , double sigmaUpper ) {
+		this.sigmaLower  = sigmaLower;
+		this.sigmaTarget = sigmaTarget;
+		this.sigmaUpper  = sigmaUpper;
+
+		this.dogLower  = dogLower;
+		this.dogTarget = dogTarget;
+		this.dogUpper  = dogUpper;
+
+		detectFeatures(scaleIndex);
+	}
+
 	/**
 	 * Detect features inside the Difference-of-Gaussian image at the current scale
 	 *
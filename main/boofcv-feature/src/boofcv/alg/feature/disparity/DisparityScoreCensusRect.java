@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.disparity;
+
+import boofcv.struct.image.ImageGray;
+
+/**
+ * <p>
+ * Computes the disparity score for a rectangular region using census transformed images.  The score of each
+ * pixel is the Hamming distance between the left and right census descriptors, which is computed by counting
+ * the number of bits which differ.  Since the census transform only encodes the relative ordering of pixels
+ * it is insensitive to differences in gain and bias between the two cameras.  Scores are summed horizontally
+ * and vertically using the same approach as {@link DisparityScoreSadRect}, the output format is the same and
+ * can be processed by any {@link DisparitySelect} for integer scores.
+ * </p>
+ *
+ * <p>
+ * The input images are the output of a census transform, e.g. {@link boofcv.alg.transform.census.CensusTransform},
+ * and not the original gray scale images.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public abstract class DisparityScoreCensusRect<C extends ImageGray<C>, DI extends ImageGray<DI>>
+	extends DisparityScoreRowFormat<C, DI>
+{
+	// Computes disparity from scores
+	protected DisparitySelect<int[], DI> computeDisparity;
+
+	// stores the local scores for the width of the region
+	protected int elementScore[];
+	// scores along horizontal axis for current block
+	protected int horizontalScore[][];
+	// summed scores along vertical axis
+	protected int verticalScore[];
+
+	public DisparityScoreCensusRect(int minDisparity, int maxDisparity,
+									int regionRadiusX, int regionRadiusY,
+									DisparitySelect<int[], DI> computeDisparity) {
+		super(minDisparity, maxDisparity, regionRadiusX, regionRadiusY);
+		this.computeDisparity = computeDisparity;
+	}
+
+	@Override
+	public void _process(C left , C right , DI disparity ) {
+		if( horizontalScore == null || verticalScore.length < lengthHorizontal ) {
+			horizontalScore = new int[regionHeight][lengthHorizontal];
+			verticalScore = new int[lengthHorizontal];
+		}
+		if( elementScore == null || elementScore.length < left.width )
+			elementScore = new int[ left.width ];
+
+		computeDisparity.configure(disparity,minDisparity,maxDisparity,radiusX);
+
+		// compute horizontal scores for first row block
+		for( int row = 0; row < regionHeight; row++ ) {
+			computeScoreRow(left, right, row, horizontalScore[row]);
+		}
+
+		// compute score for the top possible row
+		for( int i = 0; i < lengthHorizontal; i++ ) {
+			int sum = 0;
+			for( int row = 0; row < regionHeight; row++ ) {
+				sum += horizontalScore[row][i];
+			}
+			verticalScore[i] = sum;
+		}
+
+		computeDisparity.process(radiusY, verticalScore);
+
+		// remaining rows are found by removing the oldest row and adding the new one
+		for( int row = regionHeight; row < left.height; row++ ) {
+			int scores[] = horizontalScore[row%regionHeight];
+
+			for( int i = 0; i < lengthHorizontal; i++ ) {
+				verticalScore[i] -= scores[i];
+			}
+
+			computeScoreRow(left, right, row, scores);
+
+			for( int i = 0; i < lengthHorizontal; i++ ) {
+				verticalScore[i] += scores[i];
+			}
+
+			computeDisparity.process(row - regionHeight + 1 + radiusY, verticalScore);
+		}
+	}
+
+	/**
+	 * Computes the horizontally summed Hamming distance for every column and disparity in a row.
+	 *
+	 * @param left census transform of left image
+	 * @param right census transform of right image
+	 * @param row The row being processed
+	 * @param scores (Output) storage for the scores
+	 */
+	protected abstract void computeScoreRow( C left , C right , int row , int scores[] );
+
+	@Override
+	public Class<DI> getDisparityType() {
+		return computeDisparity.getDisparityType();
+	}
+}
@@ -107,6 +107,14 @@ public abstract class DisparityScoreRowFormat
 	 */
 	public abstract void _process( Input left , Input right , Disparity disparity );
 
+	/**
+	 * Creates a new instance with the same configuration.  Used by concurrent algorithms so that each
+	 * thread has its own instance.
+	 *
+	 * @return New instance with the same settings
+	 */
+	public abstract DisparityScoreRowFormat<Input,Disparity> concurrentCopy();
+
 	public abstract Class<Input> getInputType();
 
 	public abstract Class<Disparity> getDisparityType();
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.disparity;
+
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeWorkTask;
+import boofcv.struct.image.ImageGray;
+import org.ddogleg.struct.FastQueue;
+
+/**
+ * <p>
+ * Concurrent version of {@link DisparityScoreRowFormat}.  The image is split into horizontal bands which are
+ * processed by different threads.  Each band is a sub-image with enough extra rows above and below for the
+ * region's border, and is processed by its own copy of the algorithm, see
+ * {@link DisparityScoreRowFormat#concurrentCopy()}.  Each copy has its own {@link DisparitySelect}.
+ * </p>
+ *
+ * <p>
+ * The scores for the extra rows in each band are computed twice.  With integer images the output is identical
+ * to the single threaded algorithm.  With floating point images the running sums start at a different row in each
+ * band, so sub-pixel disparities can differ by round off error.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class DisparityScoreRowFormat_MT<Input extends ImageGray<Input>, Disparity extends ImageGray<Disparity>>
+		extends DisparityScoreRowFormat<Input,Disparity>
+{
+	// the algorithm which is being run concurrently
+	DisparityScoreRowFormat<Input,Disparity> alg;
+
+	// copies of the algorithm. One for each band
+	FastQueue<DisparityScoreRowFormat<Input,Disparity>> bands;
+
+	/**
+	 * Specifies the algorithm which is to be run concurrently
+	 *
+	 * @param alg Disparity algorithm. Copies are created from it.
+	 */
+	public DisparityScoreRowFormat_MT( final DisparityScoreRowFormat<Input,Disparity> alg ) {
+		super(alg.minDisparity, alg.maxDisparity, alg.radiusX, alg.radiusY);
+		this.alg = alg;
+
+		bands = new FastQueue<DisparityScoreRowFormat<Input,Disparity>>(1,(Class)DisparityScoreRowFormat.class,true) {
+			@Override
+			protected DisparityScoreRowFormat<Input,Disparity> createInstance() {
+				return alg.concurrentCopy();
+			}
+		};
+	}
+
+	@Override
+	public void _process( final Input left , final Input right , final Disparity disparity ) {
+		final int borderY = alg.getBorderY();
+
+		// a band should be large enough that the repeated rows don't dominate the computation
+		int minBlock = Math.max(1, 4*borderY);
+
+		BoofConcurrency.loopBlocks(borderY, left.height - borderY, minBlock, bands,
+				new IntRangeWorkTask<DisparityScoreRowFormat<Input,Disparity>>() {
+			@Override
+			public void process(DisparityScoreRowFormat<Input,Disparity> band, int y0, int y1) {
+				int top = y0 - borderY;
+				int bottom = y1 + borderY;
+
+				band.process(left.subimage(0, top, left.width, bottom),
+						right.subimage(0, top, right.width, bottom),
+						disparity.subimage(0, top, disparity.width, bottom));
+			}
+		});
+	}
+
+	@Override
+	public DisparityScoreRowFormat_MT<Input,Disparity> concurrentCopy() {
+		return new DisparityScoreRowFormat_MT<>(alg.concurrentCopy());
+	}
+
+	@Override
+	public Class<Input> getInputType() {
+		return alg.getInputType();
+	}
+
+	@Override
+	public Class<Disparity> getDisparityType() {
+		return alg.getDisparityType();
+	}
+
+	@Override
+	public int getBorderX() {
+		return alg.getBorderX();
+	}
+
+	@Override
+	public int getBorderY() {
+		return alg.getBorderY();
+	}
+
+	public DisparityScoreRowFormat<Input, Disparity> getAlgorithm() {
+		return alg;
+	}
+}
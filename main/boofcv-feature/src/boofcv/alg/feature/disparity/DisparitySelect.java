@@ -58,6 +58,14 @@ public interface DisparitySelect<Array , T extends ImageGray> {
 	 */
 	public void process(int row, Array scoresArray);
 
+	/**
+	 * Creates a new instance with the same configuration.  Used by concurrent algorithms so that each
+	 * thread has its own instance.
+	 *
+	 * @return New instance with the same settings
+	 */
+	public DisparitySelect<Array,T> concurrentCopy();
+
 	/**
 	 * Type of image the disparity is
 	 *
@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.disparity.impl;
+
+import boofcv.alg.feature.disparity.DisparityScoreCensusRect;
+import boofcv.alg.feature.disparity.DisparitySelect;
+import boofcv.struct.image.GrayU8;
+import boofcv.struct.image.ImageGray;
+
+/**
+ * Implementation of {@link DisparityScoreCensusRect} for census images of type {@link GrayU8}, e.g.
+ * 8 bit descriptors from a 3x3 region.
+ *
+ * @author Peter Abeles
+ */
+public class ImplDisparityScoreCensusRect_U8<DI extends ImageGray<DI>>
+	extends DisparityScoreCensusRect<GrayU8, DI>
+{
+	public ImplDisparityScoreCensusRect_U8( int minDisparity , int maxDisparity,
+										   int regionRadiusX, int regionRadiusY,
+										   DisparitySelect<int[], DI> computeDisparity) {
+		super(minDisparity,maxDisparity,regionRadiusX,regionRadiusY,computeDisparity);
+	}
+
+	@Override
+	protected void computeScoreRow(GrayU8 left, GrayU8 right, int row, int[] scores) {
+		UtilDisparityScore.computeScoreRowHamming(left, right, row, scores,
+				minDisparity,maxDisparity,regionWidth,elementScore);
+	}
+
+	@Override
+	public ImplDisparityScoreCensusRect_U8<DI> concurrentCopy() {
+		return new ImplDisparityScoreCensusRect_U8<>(minDisparity,maxDisparity,radiusX,radiusY,computeDisparity.concurrentCopy());
+	}
+
+	@Override
+	public Class<GrayU8> getInputType() {
+		return GrayU8.class;
+	}
+}
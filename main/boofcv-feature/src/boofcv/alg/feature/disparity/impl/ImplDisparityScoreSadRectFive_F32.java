@@ -193,6 +193,11 @@ public class ImplDisparityScoreSadRectFive_F32<DI extends ImageGray<DI>>
 		}
 	}
 
+	@Override
+	public ImplDisparityScoreSadRectFive_F32<DI> concurrentCopy() {
+		return new ImplDisparityScoreSadRectFive_F32<>(minDisparity,maxDisparity,radiusX,radiusY,computeDisparity.concurrentCopy());
+	}
+
 	@Override
 	public Class<GrayF32> getInputType() {
 		return GrayF32.class;
@@ -193,6 +193,11 @@ public class ImplDisparityScoreSadRectFive_S16<DI extends ImageGray<DI>>
 		}
 	}
 
+	@Override
+	public ImplDisparityScoreSadRectFive_S16<DI> concurrentCopy() {
+		return new ImplDisparityScoreSadRectFive_S16<>(minDisparity,maxDisparity,radiusX,radiusY,computeDisparity.concurrentCopy());
+	}
+
 	@Override
 	public Class<GrayS16> getInputType() {
 		return GrayS16.class;
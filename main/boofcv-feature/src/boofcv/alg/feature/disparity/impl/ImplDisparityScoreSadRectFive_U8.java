@@ -193,6 +193,11 @@ public class ImplDisparityScoreSadRectFive_U8<DI extends ImageGray<DI>>
 		}
 	}
 
+	@Override
+	public ImplDisparityScoreSadRectFive_U8<DI> concurrentCopy() {
+		return new ImplDisparityScoreSadRectFive_U8<>(minDisparity,maxDisparity,radiusX,radiusY,computeDisparity.concurrentCopy());
+	}
+
 	@Override
 	public Class<GrayU8> getInputType() {
 		return GrayU8.class;
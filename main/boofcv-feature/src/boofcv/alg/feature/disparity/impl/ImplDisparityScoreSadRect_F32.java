@@ -132,6 +132,11 @@ public class ImplDisparityScoreSadRect_F32<DI extends ImageGray<DI>>
 		}
 	}
 
+	@Override
+	public ImplDisparityScoreSadRect_F32<DI> concurrentCopy() {
+		return new ImplDisparityScoreSadRect_F32<>(minDisparity,maxDisparity,radiusX,radiusY,computeDisparity.concurrentCopy());
+	}
+
 	@Override
 	public Class<GrayF32> getInputType() {
 		return GrayF32.class;
@@ -132,6 +132,11 @@ public class ImplDisparityScoreSadRect_S16<DI extends ImageGray<DI>>
 		}
 	}
 
+	@Override
+	public ImplDisparityScoreSadRect_S16<DI> concurrentCopy() {
+		return new ImplDisparityScoreSadRect_S16<>(minDisparity,maxDisparity,radiusX,radiusY,computeDisparity.concurrentCopy());
+	}
+
 	@Override
 	public Class<GrayS16> getInputType() {
 		return GrayS16.class;
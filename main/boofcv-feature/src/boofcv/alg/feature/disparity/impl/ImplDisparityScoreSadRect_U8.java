@@ -132,6 +132,11 @@ public class ImplDisparityScoreSadRect_U8<DI extends ImageGray<DI>>
 		}
 	}
 
+	@Override
+	public ImplDisparityScoreSadRect_U8<DI> concurrentCopy() {
+		return new ImplDisparityScoreSadRect_U8<>(minDisparity,maxDisparity,radiusX,radiusY,computeDisparity.concurrentCopy());
+	}
+
 	@Override
 	public Class<GrayU8> getInputType() {
 		return GrayU8.class;
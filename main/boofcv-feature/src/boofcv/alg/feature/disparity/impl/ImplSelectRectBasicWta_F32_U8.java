@@ -61,6 +61,11 @@ public class ImplSelectRectBasicWta_F32_U8 extends SelectRectBasicWta<float[],Gr
 		}
 	}
 
+	@Override
+	public ImplSelectRectBasicWta_F32_U8 concurrentCopy() {
+		return new ImplSelectRectBasicWta_F32_U8();
+	}
+
 	@Override
 	public Class<GrayU8> getDisparityType() {
 		return GrayU8.class;
@@ -61,6 +61,11 @@ public class ImplSelectRectBasicWta_S32_U8 extends SelectRectBasicWta<int[],Gray
 		}
 	}
 
+	@Override
+	public ImplSelectRectBasicWta_S32_U8 concurrentCopy() {
+		return new ImplSelectRectBasicWta_S32_U8();
+	}
+
 	@Override
 	public Class<GrayU8> getDisparityType() {
 		return GrayU8.class;
@@ -63,6 +63,13 @@ public class SelectRectSubpixel {
 			}
 		}
 
+		@Override
+		public S32_F32 concurrentCopy() {
+			S32_F32 ret = new S32_F32(maxError,rightToLeftTolerance,0);
+			ret.textureThreshold = textureThreshold;
+			return ret;
+		}
+
 		@Override
 		public Class<GrayF32> getDisparityType() {
 			return GrayF32.class;
@@ -93,6 +100,13 @@ public class SelectRectSubpixel {
 			}
 		}
 
+		@Override
+		public F32_F32 concurrentCopy() {
+			F32_F32 ret = new F32_F32(maxError,rightToLeftTolerance,0);
+			ret.textureThreshold = textureThreshold;
+			return ret;
+		}
+
 		@Override
 		public Class<GrayF32> getDisparityType() {
 			return GrayF32.class;
@@ -20,6 +20,8 @@ package boofcv.alg.feature.disparity.impl;
 
 import boofcv.struct.image.GrayF32;
 import boofcv.struct.image.GrayS16;
+import boofcv.struct.image.GrayS32;
+import boofcv.struct.image.GrayS64;
 import boofcv.struct.image.GrayU8;
 
 /**
@@ -235,4 +237,163 @@ public class UtilDisparityScore {
 			elementScore[rCol] = Math.abs(diff);
 		}
 	}
+
+	/**
+	 * Computes the Hamming distance disparity score for an entire row of census transformed images.
+	 * Scores are stored in the same format as {@link #computeScoreRow(GrayU8, GrayU8, int, int[], int, int, int, int[])}.
+	 *
+	 * @param left census transform of left image
+	 * @param right census transform of right image
+	 * @param row Image row being examined
+	 * @param scores Storage for disparity scores.
+	 * @param minDisparity Minimum disparity to consider
+	 * @param maxDisparity Maximum disparity to consider
+	 * @param regionWidth Size of the sample region's width
+	 * @param elementScore Storage for scores of individual pixels
+	 */
+	public static void computeScoreRowHamming(GrayU8 left, GrayU8 right, int row, int[] scores,
+											  int minDisparity , int maxDisparity , int regionWidth ,
+											  int elementScore[] ) {
+
+		for( int d = minDisparity; d < maxDisparity; d++ ) {
+			int dispFromMin = d - minDisparity;
+
+			final int colMax = left.width-d;
+			final int scoreMax = colMax-regionWidth;
+
+			int indexScore = left.width*dispFromMin + dispFromMin;
+			int indexLeft = left.startIndex + left.stride*row + d;
+			int indexRight = right.startIndex + right.stride*row;
+
+			computeScoreRowHamming(left, right, colMax, indexLeft, indexRight, elementScore);
+
+			int score = 0;
+			for( int i = 0; i < regionWidth; i++ )
+				score += elementScore[i];
+
+			scores[indexScore++] = score;
+
+			for( int col = 0; col < scoreMax; col++ , indexScore++ ) {
+				scores[indexScore] = score += elementScore[col+regionWidth] - elementScore[col];
+			}
+		}
+	}
+
+	/**
+	 * Number of bits which differ between each pair of census descriptors
+	 */
+	public static void computeScoreRowHamming(GrayU8 left, GrayU8 right,
+											  int elementMax, int indexLeft, int indexRight,
+											  int elementScore[])
+	{
+		for( int rCol = 0; rCol < elementMax; rCol++ ) {
+			elementScore[rCol] = Integer.bitCount((left.data[ indexLeft++ ] ^ right.data[ indexRight++ ]) & 0xFF);
+		}
+	}
+
+	/**
+	 * Computes the Hamming distance disparity score for an entire row of census transformed images.
+	 * Scores are stored in the same format as {@link #computeScoreRow(GrayU8, GrayU8, int, int[], int, int, int, int[])}.
+	 *
+	 * @param left census transform of left image
+	 * @param right census transform of right image
+	 * @param row Image row being examined
+	 * @param scores Storage for disparity scores.
+	 * @param minDisparity Minimum disparity to consider
+	 * @param maxDisparity Maximum disparity to consider
+	 * @param regionWidth Size of the sample region's width
+	 * @param elementScore Storage for scores of individual pixels
+	 */
+	public static void computeScoreRowHamming(GrayS32 left, GrayS32 right, int row, int[] scores,
+											  int minDisparity , int maxDisparity , int regionWidth ,
+											  int elementScore[] ) {
+
+		for( int d = minDisparity; d < maxDisparity; d++ ) {
+			int dispFromMin = d - minDisparity;
+
+			final int colMax = left.width-d;
+			final int scoreMax = colMax-regionWidth;
+
+			int indexScore = left.width*dispFromMin + dispFromMin;
+			int indexLeft = left.startIndex + left.stride*row + d;
+			int indexRight = right.startIndex + right.stride*row;
+
+			computeScoreRowHamming(left, right, colMax, indexLeft, indexRight, elementScore);
+
+			int score = 0;
+			for( int i = 0; i < regionWidth; i++ )
+				score += elementScore[i];
+
+			scores[indexScore++] = score;
+
+			for( int col = 0; col < scoreMax; col++ , indexScore++ ) {
+				scores[indexScore] = score += elementScore[col+regionWidth] - elementScore[col];
+			}
+		}
+	}
+
+	/**
+	 * Number of bits which differ between each pair of census descriptors
+	 */
+	public static void computeScoreRowHamming(GrayS32 left, GrayS32 right,
+											  int elementMax, int indexLeft, int indexRight,
+											  int elementScore[])
+	{
+		for( int rCol = 0; rCol < elementMax; rCol++ ) {
+			elementScore[rCol] = Integer.bitCount(left.data[ indexLeft++ ] ^ right.data[ indexRight++ ]);
+		}
+	}
+
+	/**
+	 * Computes the Hamming distance disparity score for an entire row of census transformed images.
+	 * Scores are stored in the same format as {@link #computeScoreRow(GrayU8, GrayU8, int, int[], int, int, int, int[])}.
+	 *
+	 * @param left census transform of left image
+	 * @param right census transform of right image
+	 * @param row Image row being examined
+	 * @param scores Storage for disparity scores.
+	 * @param minDisparity Minimum disparity to consider
+	 * @param maxDisparity Maximum disparity to consider
+	 * @param regionWidth Size of the sample region's width
+	 * @param elementScore Storage for scores of individual pixels
+	 */
+	public static void computeScoreRowHamming(GrayS64 left, GrayS64 right, int row, int[] scores,
+											  int minDisparity , int maxDisparity , int regionWidth ,
+											  int elementScore[] ) {
+
+		for( int d = minDisparity; d < maxDisparity; d++ ) {
+			int dispFromMin = d - minDisparity;
+
+			final int colMax = left.width-d;
+			final int scoreMax = colMax-regionWidth;
+
+			int indexScore = left.width*dispFromMin + dispFromMin;
+			int indexLeft = left.startIndex + left.stride*row + d;
+			int indexRight = right.startIndex + right.stride*row;
+
+			computeScoreRowHamming(left, right, colMax, indexLeft, indexRight, elementScore);
+
+			int score = 0;
+			for( int i = 0; i < regionWidth; i++ )
+				score += elementScore[i];
+
+			scores[indexScore++] = score;
+
+			for( int col = 0; col < scoreMax; col++ , indexScore++ ) {
+				scores[indexScore] = score += elementScore[col+regionWidth] - elementScore[col];
+			}
+		}
+	}
+
+	/**
+	 * Number of bits which differ between each pair of census descriptors
+	 */
+	public static void computeScoreRowHamming(GrayS64 left, GrayS64 right,
+											  int elementMax, int indexLeft, int indexRight,
+											  int elementScore[])
+	{
+		for( int rCol = 0; rCol < elementMax; rCol++ ) {
+			elementScore[rCol] = Long.bitCount(left.data[ indexLeft++ ] ^ right.data[ indexRight++ ]);
+		}
+	}
 }
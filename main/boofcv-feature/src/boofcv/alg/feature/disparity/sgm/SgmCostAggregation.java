@@ -0,0 +1,260 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.disparity.sgm;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * Aggregates the cost of each pixel along 4 or 8 paths which travel across the image in different directions,
+ * as described in [1].  Along a path the aggregated cost at pixel p and disparity d is:<br>
+ * L(p,d) = C(p,d) + min( L(p-r,d) , L(p-r,d&plusmn;1) + P1 , min<sub>k</sub> L(p-r,k) + P2 ) - min<sub>k</sub> L(p-r,k)<br>
+ * where r is the direction of the path, P1 is the penalty for a small change in disparity and P2 for larger
+ * changes.  The aggregated costs from all the paths are summed together.
+ * </p>
+ *
+ * <p>
+ * Only the previous pixel along a path needs to be saved, so the memory required is the output plus a
+ * buffer with one element for each disparity.  All the paths which travel in the same direction are independent
+ * from each other and never touch the same pixel, which is what {@link SgmCostAggregation_MT} takes advantage of.
+ * </p>
+ *
+ * <p>
+ * The aggregated cost is saved in a short array.  Each path can contribute at most the max cost plus P2 so
+ * the number of paths times (max cost + P2) must be less than {@link Short#MAX_VALUE}.
+ * </p>
+ *
+ * <p>
+ * [1] Hirschmuller, Heiko. "Stereo processing by semiglobal matching and mutual information."
+ * IEEE Transactions on pattern analysis and machine intelligence 30.2 (2008): 328-341.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class SgmCostAggregation {
+
+	// direction that each path travels in. The first 4 are horizontal and vertical
+	protected static final int DIRECTIONS[][] = new int[][]{
+			{1,0},{-1,0},{0,1},{0,-1},{1,1},{-1,1},{1,-1},{-1,-1}};
+
+	// penalty for a change in disparity of one
+	protected int penalty1;
+	// penalty for a change in disparity larger than one
+	protected int penalty2;
+	// number of paths which are considered. 4 or 8
+	protected int pathsConsidered;
+
+	// reference to input cost and output aggregated cost
+	protected short cost[];
+	protected short aggregated[];
+	protected int width, height, rangeDisparity;
+
+	// direction of the current paths
+	protected int dx, dy;
+	// the first pixel of each path in the current direction
+	protected int startX[] = new int[0];
+	protected int startY[] = new int[0];
+	protected int totalPaths;
+
+	// work space used by the single thread implementation
+	protected Workspace workspace = new Workspace();
+
+	/**
+	 * Configures the aggregation
+	 *
+	 * @param penalty1 Penalty for a change in disparity of one. Try 3 with census or 10 with absolute difference.
+	 * @param penalty2 Penalty for a change in disparity larger than one. Try 30 with census or 120 with absolute
+	 *                 difference.
+	 * @param pathsConsidered Number of paths. Can be 4 or 8.
+	 */
+	public SgmCostAggregation(int penalty1, int penalty2, int pathsConsidered) {
+		if( pathsConsidered != 4 && pathsConsidered != 8 )
+			throw new IllegalArgumentException("pathsConsidered must be 4 or 8");
+		if( penalty1 < 0 || penalty2 < penalty1 )
+			throw new IllegalArgumentException("Penalties must be >= 0 and penalty2 >= penalty1");
+		this.penalty1 = penalty1;
+		this.penalty2 = penalty2;
+		this.pathsConsidered = pathsConsidered;
+	}
+
+	/**
+	 * Aggregates the cost along all the paths
+	 *
+	 * @param cost Cost of each pixel and disparity. See {@link SgmDisparityCost} for the format.
+	 * @param width Image width
+	 * @param height Number of rows in the cost array
+	 * @param rangeDisparity Number of disparities
+	 * @param aggregated (Output) Sum of aggregated costs. Same format as cost.
+	 */
+	public void process( short cost[] , int width , int height , int rangeDisparity , short aggregated[] ) {
+		this.cost = cost;
+		this.aggregated = aggregated;
+		this.width = width;
+		this.height = height;
+		this.rangeDisparity = rangeDisparity;
+
+		Arrays.fill(aggregated, 0, width*height*rangeDisparity, (short)0);
+
+		if( startX.length < width+height ) {
+			startX = new int[width+height];
+			startY = new int[width+height];
+		}
+
+		for( int i = 0; i < pathsConsidered; i++ ) {
+			dx = DIRECTIONS[i][0];
+			dy = DIRECTIONS[i][1];
+
+			findPathStarts();
+			aggregatePaths();
+		}
+	}
+
+	/**
+	 * Finds the first pixel in each path for the current direction.  These are pixels where the previous pixel
+	 * along the path would be outside the image.
+	 */
+	protected void findPathStarts() {
+		totalPaths = 0;
+		int x0 = dx > 0 ? 0 : width-1;
+		int y0 = dy > 0 ? 0 : height-1;
+
+		if( dx != 0 ) {
+			for( int y = 0; y < height; y++ ) {
+				startX[totalPaths] = x0;
+				startY[totalPaths++] = y;
+			}
+		}
+		if( dy != 0 ) {
+			for( int x = 0; x < width; x++ ) {
+				// the corner is already included
+				if( dx != 0 && x == x0 )
+					continue;
+				startX[totalPaths] = x;
+				startY[totalPaths++] = y0;
+			}
+		}
+	}
+
+	/**
+	 * Aggregates all the paths in the current direction
+	 */
+	protected void aggregatePaths() {
+		workspace.checkSize(rangeDisparity);
+		aggregatePaths(workspace, 0, totalPaths);
+	}
+
+	/**
+	 * Aggregates the paths from idx0 to idx1-1 in the current direction
+	 */
+	protected void aggregatePaths( Workspace work , int idx0 , int idx1 ) {
+		for( int i = idx0; i < idx1; i++ ) {
+			aggregatePath(work, startX[i], startY[i]);
+		}
+	}
+
+	/**
+	 * Aggregates the cost along a single path
+	 *
+	 * @param x x-coordinate of first pixel in path
+	 * @param y y-coordinate of first pixel in path
+	 */
+	protected void aggregatePath( Workspace work , int x , int y ) {
+		int previous[] = work.previous;
+		int current[] = work.current;
+
+		// The first pixel has no prior information
+		int index = (y*width + x)*rangeDisparity;
+		int minPrevious = Integer.MAX_VALUE;
+		for( int d = 0; d < rangeDisparity; d++ ) {
+			int v = cost[index+d];
+			previous[d] = v;
+			aggregated[index+d] += v;
+			if( v < minPrevious )
+				minPrevious = v;
+		}
+
+		final int lastD = rangeDisparity-1;
+
+		x += dx; y += dy;
+		while( x >= 0 && x < width && y >= 0 && y < height ) {
+			index = (y*width + x)*rangeDisparity;
+			int largeChange = minPrevious + penalty2;
+			int minCurrent = Integer.MAX_VALUE;
+
+			for( int d = 0; d < rangeDisparity; d++ ) {
+				int best = previous[d];
+				if( d > 0 ) {
+					best = Math.min(best, previous[d-1] + penalty1);
+				}
+				if( d < lastD ) {
+					best = Math.min(best, previous[d+1] + penalty1);
+				}
+				best = Math.min(best, largeChange);
+
+				int v = cost[index+d] + best - minPrevious;
+				current[d] = v;
+				aggregated[index+d] += v;
+				if( v < minCurrent )
+					minCurrent = v;
+			}
+
+			// swap the buffers
+			int tmp[] = previous;
+			previous = current;
+			current = tmp;
+			minPrevious = minCurrent;
+
+			x += dx; y += dy;
+		}
+	}
+
+	/**
+	 * Creates a new instance with the same configuration.  Internal work space is not shared.
+	 */
+	public SgmCostAggregation copy() {
+		return new SgmCostAggregation(penalty1, penalty2, pathsConsidered);
+	}
+
+	public int getPenalty1() {
+		return penalty1;
+	}
+
+	public int getPenalty2() {
+		return penalty2;
+	}
+
+	public int getPathsConsidered() {
+		return pathsConsidered;
+	}
+
+	/**
+	 * Storage for the aggregated cost of the previous and current pixel along a path
+	 */
+	public static class Workspace {
+		int previous[] = new int[0];
+		int current[] = new int[0];
+
+		public void checkSize( int rangeDisparity ) {
+			if( previous.length < rangeDisparity ) {
+				previous = new int[rangeDisparity];
+				current = new int[rangeDisparity];
+			}
+		}
+	}
+}
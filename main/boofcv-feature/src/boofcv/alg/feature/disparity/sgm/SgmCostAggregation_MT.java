@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.disparity.sgm;
+
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeWorkTask;
+import org.ddogleg.struct.FastQueue;
+
+/**
+ * Concurrent version of {@link SgmCostAggregation}.  Directions are processed one at a time, but all the paths in
+ * a direction are independent and are split between threads.  Output is identical to the single threaded version.
+ *
+ * @author Peter Abeles
+ */
+public class SgmCostAggregation_MT extends SgmCostAggregation {
+
+	// work space for each thread
+	FastQueue<Workspace> workspaces = new FastQueue<>(Workspace.class, true);
+
+	public SgmCostAggregation_MT(int penalty1, int penalty2, int pathsConsidered) {
+		super(penalty1, penalty2, pathsConsidered);
+	}
+
+	@Override
+	public SgmCostAggregation_MT copy() {
+		return new SgmCostAggregation_MT(penalty1, penalty2, pathsConsidered);
+	}
+
+	@Override
+	protected void aggregatePaths() {
+		// paths along the image border can be very short, so make sure there's enough work in each block
+		BoofConcurrency.loopBlocks(0, totalPaths, 16, workspaces, new IntRangeWorkTask<Workspace>() {
+			@Override
+			public void process(Workspace work, int idx0, int idx1) {
+				work.checkSize(rangeDisparity);
+				aggregatePaths(work, idx0, idx1);
+			}
+		});
+	}
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.disparity.sgm;
+
+import boofcv.struct.image.GrayS32;
+
+/**
+ * Cost is the Hamming distance between 5x5 census transforms of the left and right images, see
+ * {@link boofcv.alg.transform.census.CensusTransform#region5x5}.
+ *
+ * @author Peter Abeles
+ */
+public class SgmCostHamming_S32 implements SgmDisparityCost<GrayS32> {
+
+	@Override
+	public void process(GrayS32 left, GrayS32 right, int row0, int row1,
+						int minDisparity, int maxDisparity, short[] cost) {
+		final short maxCost = (short)getMaxCost();
+
+		int indexCost = 0;
+		for( int y = row0; y < row1; y++ ) {
+			int indexLeft = left.startIndex + y*left.stride;
+			int indexRight = right.startIndex + y*right.stride;
+
+			for( int x = 0; x < left.width; x++ , indexLeft++ ) {
+				final int valueLeft = left.data[indexLeft];
+
+				// only disparities which are inside the right image can be computed
+				int localMax = Math.min(maxDisparity, x+1);
+				int d = minDisparity;
+				for( ; d < localMax; d++ ) {
+					int valueRight = right.data[indexRight + x - d];
+					cost[indexCost++] = (short)Integer.bitCount(valueLeft ^ valueRight);
+				}
+				for( ; d < maxDisparity; d++ ) {
+					cost[indexCost++] = maxCost;
+				}
+			}
+		}
+	}
+
+	@Override
+	public int getMaxCost() {
+		return 24;
+	}
+
+	@Override
+	public Class<GrayS32> getInputType() {
+		return GrayS32.class;
+	}
+}
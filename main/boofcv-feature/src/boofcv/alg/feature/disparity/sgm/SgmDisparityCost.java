@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.disparity.sgm;
+
+import boofcv.struct.image.ImageGray;
+
+/**
+ * Computes the cost of matching individual pixels in the left and right images for Semi Global Matching.  The cost
+ * of every disparity is computed for a range of rows.  Costs are stored in a short array with the following
+ * format: index = ((y-row0)*width + x)*rangeDisparity + (d-minDisparity).  If the disparity goes outside
+ * of the right image, i.e. d &gt; x, then the cost is set to {@link #getMaxCost()}.
+ *
+ * @param <T> Input image type
+ *
+ * @author Peter Abeles
+ */
+public interface SgmDisparityCost<T extends ImageGray<T>> {
+
+	/**
+	 * Computes the cost of each disparity for pixels in rows row0 to row1-1.
+	 *
+	 * @param left left image
+	 * @param right right image
+	 * @param row0 First row, inclusive
+	 * @param row1 Last row, exclusive
+	 * @param minDisparity Minimum disparity
+	 * @param maxDisparity Maximum disparity, exclusive
+	 * @param cost (Output) Cost for each pixel and disparity.  Must be large enough.
+	 */
+	void process( T left , T right , int row0 , int row1 , int minDisparity , int maxDisparity , short cost[] );
+
+	/**
+	 * The largest cost that can be returned
+	 */
+	int getMaxCost();
+
+	Class<T> getInputType();
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.disparity.sgm;
+
+import boofcv.alg.feature.disparity.DisparityScoreRowFormat;
+import boofcv.alg.feature.disparity.DisparitySelect;
+import boofcv.struct.image.ImageGray;
+
+/**
+ * <p>
+ * Dense stereo disparity using Semi Global Matching (SGM) [1].  The cost of matching individual pixels is computed
+ * by {@link SgmDisparityCost}, then aggregated along several paths by {@link SgmCostAggregation}, which encourages
+ * neighboring pixels to have a similar disparity.  The aggregated cost of each row is then converted into the
+ * format used by {@link DisparityScoreRowFormat} and passed to {@link DisparitySelect}, allowing the same
+ * selection, validation, and sub-pixel algorithms to be used as with region based approaches.
+ * </p>
+ *
+ * <p>
+ * Memory: A naive implementation would store the cost and the aggregated cost for the whole image, which is
+ * width*height*disparities for each.  Both are stored as shorts.  To cap memory the image is processed in
+ * horizontal tiles, see {@link #setTileHeight(int)}.  Each tile is padded by additional rows above and below,
+ * see {@link #setTileOverlap(int)}, so that the paths which travel vertically have time to converge before they
+ * reach the rows being processed.  With tiles the results are an approximation of processing the whole image.
+ * </p>
+ *
+ * <p>
+ * [1] Hirschmuller, Heiko. "Stereo processing by semiglobal matching and mutual information."
+ * IEEE Transactions on pattern analysis and machine intelligence 30.2 (2008): 328-341.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class SgmStereoDisparity<T extends ImageGray<T>, DI extends ImageGray<DI>>
+	extends DisparityScoreRowFormat<T, DI>
+{
+	// computes cost of each pixel
+	SgmDisparityCost<T> costFunction;
+	// aggregates cost along paths
+	SgmCostAggregation aggregation;
+	// Computes disparity from scores
+	DisparitySelect<int[], DI> computeDisparity;
+
+	// number of rows processed at once. if <= 0 the whole image is processed at once
+	int tileHeight = 64;
+	// number of additional rows above and below a tile
+	int tileOverlap = 32;
+
+	// cost and aggregated cost for the rows being processed
+	short cost[] = new short[0];
+	short aggregated[] = new short[0];
+	// aggregated cost for a single row in the format used by DisparitySelect
+	int scores[] = new int[0];
+
+	public SgmStereoDisparity( int minDisparity , int maxDisparity ,
+							   SgmDisparityCost<T> costFunction ,
+							   SgmCostAggregation aggregation ,
+							   DisparitySelect<int[], DI> computeDisparity ) {
+		super(minDisparity, maxDisparity, 0, 0);
+
+		if( aggregation.getPathsConsidered()*(costFunction.getMaxCost() + aggregation.getPenalty2()) > Short.MAX_VALUE )
+			throw new IllegalArgumentException("Penalty2 is too large. Aggregated cost can't be stored in a short");
+
+		this.costFunction = costFunction;
+		this.aggregation = aggregation;
+		this.computeDisparity = computeDisparity;
+	}
+
+	@Override
+	public void _process( T left , T right , DI disparity ) {
+		computeDisparity.configure(disparity, minDisparity, maxDisparity, 0);
+
+		int height = left.height;
+		int tile = tileHeight <= 0 ? height : Math.min(tileHeight, height);
+
+		for( int y0 = 0; y0 < height; y0 += tile ) {
+			int y1 = Math.min(height, y0 + tile);
+
+			// rows which are processed but only used to initialize the paths
+			int top = y0 == 0 ? 0 : Math.max(0, y0 - tileOverlap);
+			int bottom = y1 == height ? height : Math.min(height, y1 + tileOverlap);
+
+			processRows(left, right, top, bottom, y0, y1);
+		}
+	}
+
+	/**
+	 * Computes the disparity for rows y0 to y1-1, aggregating cost along paths from rows top to bottom-1.
+	 */
+	private void processRows( T left , T right , int top , int bottom , int y0 , int y1 ) {
+		int width = left.width;
+		int length = width*(bottom-top)*rangeDisparity;
+		if( cost.length < length ) {
+			cost = new short[length];
+			aggregated = new short[length];
+		}
+		if( scores.length < lengthHorizontal ) {
+			scores = new int[lengthHorizontal];
+		}
+
+		costFunction.process(left, right, top, bottom, minDisparity, maxDisparity, cost);
+		aggregation.process(cost, width, bottom-top, rangeDisparity, aggregated);
+
+		for( int y = y0; y < y1; y++ ) {
+			// convert into the format used by DisparitySelect. See DisparityScoreRowFormat
+			int indexRow = (y-top)*width*rangeDisparity;
+			for( int d = 0; d < rangeDisparity; d++ ) {
+				int indexScore = width*d + d;
+				int indexAgg = indexRow + (minDisparity + d)*rangeDisparity + d;
+				for( int x = minDisparity + d; x < width; x++ , indexAgg += rangeDisparity ) {
+					scores[indexScore++] = aggregated[indexAgg];
+				}
+			}
+			computeDisparity.process(y, scores);
+		}
+	}
+
+	/**
+	 * Maximum number of rows which are processed at once.  If &le; 0 then the whole image is processed at once,
+	 * which requires memory proportional to the image's height.  Default is 64.
+	 */
+	public void setTileHeight( int tileHeight ) {
+		this.tileHeight = tileHeight;
+	}
+
+	public int getTileHeight() {
+		return tileHeight;
+	}
+
+	/**
+	 * Number of additional rows above and below a tile that paths are aggregated along
+	 */
+	public void setTileOverlap( int tileOverlap ) {
+		this.tileOverlap = tileOverlap;
+	}
+
+	public int getTileOverlap() {
+		return tileOverlap;
+	}
+
+	@Override
+	public SgmStereoDisparity<T,DI> concurrentCopy() {
+		SgmStereoDisparity<T,DI> ret = new SgmStereoDisparity<>(minDisparity, maxDisparity, costFunction,
+				aggregation.copy(), computeDisparity.concurrentCopy());
+		ret.setTileHeight(tileHeight);
+		ret.setTileOverlap(tileOverlap);
+		return ret;
+	}
+
+	@Override
+	public Class<T> getInputType() {
+		return costFunction.getInputType();
+	}
+
+	@Override
+	public Class<DI> getDisparityType() {
+		return computeDisparity.getDisparityType();
+	}
+}
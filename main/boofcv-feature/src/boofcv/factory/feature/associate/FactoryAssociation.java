@@ -20,6 +20,9 @@ package boofcv.factory.feature.associate;
 
 import boofcv.abst.feature.associate.*;
 import boofcv.alg.feature.associate.AssociateGreedy;
+import boofcv.alg.feature.associate.AssociateGreedy_MT;
+import boofcv.alg.feature.associate.MultiIndexHashing_B;
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.struct.feature.*;
 import org.ddogleg.nn.FactoryNearestNeighbor;
 import org.ddogleg.nn.NearestNeighbor;
@@ -35,7 +38,8 @@ public class FactoryAssociation {
 
 	/**
 	 * Returns an algorithm for associating features together which uses a brute force greedy algorithm.
-	 * See {@link AssociateGreedy} for details.
+	 * See {@link AssociateGreedy} for details.  If {@link BoofConcurrency#isUseConcurrent()} is true then
+	 * {@link AssociateGreedy_MT} is used.
 	 * 
 	 * @param score Computes the fit score between two features.
 	 * @param maxError Maximum allowed error/fit score between two features.  To disable set to Double.MAX_VALUE
@@ -49,7 +53,11 @@ public class FactoryAssociation {
 			double maxError ,
 			boolean backwardsValidation )
 	{
-		AssociateGreedy<D> alg = new AssociateGreedy<>(score, backwardsValidation);
+		AssociateGreedy<D> alg;
+		if( BoofConcurrency.isUseConcurrent() )
+			alg = new AssociateGreedy_MT<>(score, backwardsValidation);
+		else
+			alg = new AssociateGreedy<>(score, backwardsValidation);
 		alg.setMaxFitError(maxError);
 		WrapAssociateGreedy<D> ret = new WrapAssociateGreedy<>(alg);
 		return ret;
@@ -99,6 +107,22 @@ public class FactoryAssociation {
 		return new AssociateNearestNeighbor<>(nn, dimension);
 	}
 
+	/**
+	 * Approximate association for binary descriptors using multi-index hashing.  The index is built from the
+	 * source features and can be reused for many destination lists.  All matches within a hamming distance of
+	 * ceil(numBits/substringBits)*(probeRadius+1)-1 are guaranteed to be found.
+	 *
+	 * @see AssociateMultiIndexHashing_B
+	 * @see MultiIndexHashing_B
+	 *
+	 * @param substringBits Number of bits in each hash table key.  Try 16.
+	 * @param probeRadius Buckets within this hamming distance of a key are searched.  Try 0 or 1.
+	 * @return Association using approximate nearest neighbor
+	 */
+	public static AssociateDescription<TupleDesc_B> multiIndexHashing( int substringBits , int probeRadius ) {
+		return new AssociateMultiIndexHashing_B(new MultiIndexHashing_B(substringBits,probeRadius));
+	}
+
 	/**
 	 * Given a feature descriptor type it returns a "reasonable" default {@link ScoreAssociation}.
 	 *
@@ -22,6 +22,7 @@ import boofcv.abst.feature.describe.ConfigSiftDescribe;
 import boofcv.abst.feature.describe.ConfigSiftScaleSpace;
 import boofcv.abst.feature.describe.ConfigSurfDescribe;
 import boofcv.abst.feature.describe.DescribeRegionPoint;
+import boofcv.abst.feature.describe.DescribeRegionPointBatch;
 import boofcv.abst.feature.detdesc.*;
 import boofcv.abst.feature.detect.extract.NonMaxLimiter;
 import boofcv.abst.feature.detect.extract.NonMaxSuppression;
@@ -34,11 +35,13 @@ import boofcv.alg.feature.describe.DescribePointSurf;
 import boofcv.alg.feature.describe.DescribePointSurfMod;
 import boofcv.alg.feature.describe.DescribePointSurfPlanar;
 import boofcv.alg.feature.detdesc.CompleteSift;
+import boofcv.alg.feature.detdesc.CompleteSift_MT;
 import boofcv.alg.feature.detdesc.DetectDescribeSurfPlanar;
 import boofcv.alg.feature.detect.interest.FastHessianFeatureDetector;
 import boofcv.alg.feature.detect.interest.SiftScaleSpace;
 import boofcv.alg.feature.orientation.OrientationHistogramSift;
 import boofcv.alg.transform.ii.GIntegralImageOps;
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.factory.feature.describe.FactoryDescribePointAlgs;
 import boofcv.factory.feature.detect.extract.FactoryFeatureExtractor;
 import boofcv.factory.feature.detect.interest.FactoryInterestPointAlgs;
@@ -58,7 +61,8 @@ import boofcv.struct.image.ImageType;
 public class FactoryDetectDescribe {
 
 	/**
-	 * Creates a new SIFT feature detector and describer.
+	 * Creates a new SIFT feature detector and describer.  If {@link BoofConcurrency#isUseConcurrent()} is true
+	 * then {@link CompleteSift_MT} is used.
 	 *
 	 * @see CompleteSift
 	 *
@@ -71,6 +75,9 @@ public class FactoryDetectDescribe {
 		if( config == null )
 			config = new ConfigCompleteSift();
 
+		if( BoofConcurrency.isUseConcurrent() )
+			return new DetectDescribe_CompleteSift<>(new CompleteSift_MT(config));
+
 		ConfigSiftScaleSpace configSS = config.scaleSpace;
 		ConfigSiftDetector configDetector = config.detector;
 		ConfigSiftOrientation configOri = config.orientation;
@@ -95,7 +102,8 @@ public class FactoryDetectDescribe {
 	 * <p>
 	 * Creates a SURF descriptor.  SURF descriptors are invariant to illumination, orientation, and scale.
 	 * BoofCV provides two variants. Creates a variant which is designed for speed at the cost of some stability.
-	 * Different descriptors are created for color and gray-scale images.
+	 * Different descriptors are created for color and gray-scale images.  If {@link BoofConcurrency#isUseConcurrent()}
+	 * is true then {@link WrapDetectDescribeSurf_MT} is used.
 	 * </p>
 	 *
 	 * <p>
@@ -117,12 +125,23 @@ public class FactoryDetectDescribe {
 												  ConfigAverageIntegral configOrientation,
 												  Class<T> imageType) {
 
-		Class<II> integralType = GIntegralImageOps.getIntegralType(imageType);
+		final Class<II> integralType = GIntegralImageOps.getIntegralType(imageType);
+		final ConfigSurfDescribe.Speed _configDesc = configDesc;
 
 		FastHessianFeatureDetector<II> detector = FactoryInterestPointAlgs.fastHessian(configDetector);
-		DescribePointSurf<II> describe = FactoryDescribePointAlgs.surfSpeed(configDesc, integralType);
 		OrientationIntegral<II> orientation = FactoryOrientationAlgs.average_ii(configOrientation, integralType);
 
+		if( BoofConcurrency.isUseConcurrent() ) {
+			return new WrapDetectDescribeSurf_MT<>(detector, orientation,
+					new WrapDetectDescribeSurf_MT.DescribeFactory<II>() {
+				@Override
+				public DescribePointSurf<II> newInstance() {
+					return FactoryDescribePointAlgs.surfSpeed(_configDesc, integralType);
+				}
+			});
+		}
+
+		DescribePointSurf<II> describe = FactoryDescribePointAlgs.surfSpeed(configDesc, integralType);
 		return new WrapDetectDescribeSurf<>(detector, orientation, describe);
 	}
 
@@ -172,7 +191,8 @@ public class FactoryDetectDescribe {
 	 * <p>
 	 * Creates a SURF descriptor.  SURF descriptors are invariant to illumination, orientation, and scale.
 	 * BoofCV provides two variants. Creates a variant which is designed for stability. Different descriptors are
-	 * created for color and gray-scale images.
+	 * created for color and gray-scale images.  If {@link BoofConcurrency#isUseConcurrent()} is true then
+	 * {@link WrapDetectDescribeSurf_MT} is used.
 	 * </p>
 	 *
 	 * <p>
@@ -195,12 +215,23 @@ public class FactoryDetectDescribe {
 													ConfigSlidingIntegral configOrientation,
 													Class<T> imageType ) {
 
-		Class<II> integralType = GIntegralImageOps.getIntegralType(imageType);
+		final Class<II> integralType = GIntegralImageOps.getIntegralType(imageType);
+		final ConfigSurfDescribe.Stability _configDescribe = configDescribe;
 
 		FastHessianFeatureDetector<II> detector = FactoryInterestPointAlgs.fastHessian(configDetector);
-		DescribePointSurfMod<II> describe = FactoryDescribePointAlgs.surfStability(configDescribe, integralType);
 		OrientationIntegral<II> orientation = FactoryOrientationAlgs.sliding_ii(configOrientation, integralType);
 
+		if( BoofConcurrency.isUseConcurrent() ) {
+			return new WrapDetectDescribeSurf_MT<>(detector, orientation,
+					new WrapDetectDescribeSurf_MT.DescribeFactory<II>() {
+				@Override
+				public DescribePointSurf<II> newInstance() {
+					return FactoryDescribePointAlgs.surfStability(_configDescribe, integralType);
+				}
+			});
+		}
+
+		DescribePointSurfMod<II> describe = FactoryDescribePointAlgs.surfStability(configDescribe, integralType);
 		return new WrapDetectDescribeSurf( detector, orientation, describe );
 	}
 
@@ -263,4 +294,25 @@ public class FactoryDetectDescribe {
 		return new DetectDescribeFusion<>(detector, orientation, describe);
 	}
 
+	/**
+	 * Given independent algorithms for feature detection, orientation, and describing, create a new
+	 * {@link DetectDescribePoint}.  If {@link BoofConcurrency#isUseConcurrent()} is true then features
+	 * are described concurrently using {@link DescribeRegionPointBatch}, with one describer created
+	 * for each thread.
+	 *
+	 * @param detector Feature detector
+	 * @param orientation Orientation estimation.  Optionally, can be null.
+	 * @param describe Creates new instances of the feature descriptor
+	 * @return {@link DetectDescribePoint}.
+	 */
+	public static <T extends ImageGray<T>, D extends TupleDesc>
+	DetectDescribePoint<T,D> fuseTogether( InterestPointDetector<T> detector,
+										   OrientationImage<T> orientation,
+										   DescribeRegionPointBatch.Factory<T, D> describe) {
+		if( BoofConcurrency.isUseConcurrent() ) {
+			return new DetectDescribeFusion<>(detector, orientation, new DescribeRegionPointBatch<>(describe));
+		}
+		return new DetectDescribeFusion<>(detector, orientation, describe.newInstance());
+	}
+
 }
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.factory.feature.disparity;
+
+import boofcv.struct.Configuration;
+
+/**
+ * Configuration for Semi Global Matching (SGM) stereo disparity.
+ *
+ * @see boofcv.alg.feature.disparity.sgm.SgmStereoDisparity
+ *
+ * @author Peter Abeles
+ */
+public class ConfigSgm implements Configuration {
+
+	/**
+	 * Minimum disparity that it will check. Must be &ge; 0 and &lt; maxDisparity
+	 */
+	public int minDisparity = 0;
+
+	/**
+	 * Maximum disparity that it will calculate. Must be &gt; 0
+	 */
+	public int maxDisparity = 64;
+
+	/**
+	 * How the cost of matching two pixels is computed
+	 */
+	public SgmErrorType errorType = SgmErrorType.CENSUS;
+
+	/**
+	 * Penalty for a change in disparity of one between neighboring pixels.  For absolute difference try 10.
+	 */
+	public int penaltySmallChange = 3;
+
+	/**
+	 * Penalty for a change in disparity larger than one between neighboring pixels. For absolute difference try 120.
+	 */
+	public int penaltyLargeChange = 30;
+
+	/**
+	 * Number of paths the cost is aggregated along.  4 or 8.  With 4 only horizontal and vertical paths are used
+	 * which is faster but less accurate.
+	 */
+	public int paths = 8;
+
+	/**
+	 * Tolerance for how difference the left to right associated values can be.  Set to &lt; 0 to disable.
+	 */
+	public int validateRtoL = 1;
+
+	/**
+	 * Tolerance for how similar optimal disparity is to other disparities.  Closer to zero is more tolerant.
+	 * Disable with a value &le; 0.
+	 */
+	public double texture = -1;
+
+	/**
+	 * Maximum number of image rows which are processed at once.  Memory used is proportional to
+	 * width*(rows + 2*tileOverlap)*disparities.  If &le; 0 then the whole image is processed at once.
+	 */
+	public int tileHeight = 64;
+
+	/**
+	 * Number of additional rows above and below each tile that costs are aggregated along.  Only used if
+	 * the image is split into tiles.
+	 */
+	public int tileOverlap = 32;
+
+	public ConfigSgm(int minDisparity, int maxDisparity) {
+		this.minDisparity = minDisparity;
+		this.maxDisparity = maxDisparity;
+	}
+
+	public ConfigSgm() {
+	}
+
+	@Override
+	public void checkValidity() {
+		if( maxDisparity <= 0 )
+			throw new IllegalArgumentException("Max disparity must be greater than zero");
+		if( minDisparity < 0 || minDisparity >= maxDisparity )
+			throw new IllegalArgumentException("Min disparity must be >= 0 and < maxDisparity");
+		if( paths != 4 && paths != 8 )
+			throw new IllegalArgumentException("paths must be 4 or 8");
+		if( penaltySmallChange < 0 || penaltyLargeChange < penaltySmallChange )
+			throw new IllegalArgumentException("Penalties must be >= 0 and penaltyLargeChange >= penaltySmallChange");
+		if( tileOverlap < 0 )
+			throw new IllegalArgumentException("tileOverlap must be >= 0");
+	}
+}
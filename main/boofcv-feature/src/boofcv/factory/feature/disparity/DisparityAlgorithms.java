@@ -35,5 +35,12 @@ public enum DisparityAlgorithms {
 	 *
 	 * @see boofcv.alg.feature.disparity.DisparityScoreWindowFive
 	 */
-	RECT_FIVE
+	RECT_FIVE,
+	/**
+	 * Rectangular region with the Hamming distance between 5x5 census transforms as the score.  Insensitive
+	 * to differences in exposure between the left and right cameras.
+	 *
+	 * @see boofcv.alg.feature.disparity.DisparityScoreCensusRect
+	 */
+	RECT_CENSUS
 }
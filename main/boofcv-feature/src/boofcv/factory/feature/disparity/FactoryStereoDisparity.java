@@ -20,14 +20,22 @@ package boofcv.factory.feature.disparity;
 
 import boofcv.abst.feature.disparity.StereoDisparity;
 import boofcv.abst.feature.disparity.StereoDisparitySparse;
+import boofcv.abst.feature.disparity.WrapDisparityCensusRect;
 import boofcv.abst.feature.disparity.WrapDisparitySadRect;
 import boofcv.abst.feature.disparity.WrapDisparitySparseSadRect;
+import boofcv.abst.filter.FilterImageInterface;
 import boofcv.alg.feature.disparity.DisparityScoreRowFormat;
+import boofcv.alg.feature.disparity.DisparityScoreRowFormat_MT;
 import boofcv.alg.feature.disparity.DisparitySelect;
 import boofcv.alg.feature.disparity.DisparitySparseScoreSadRect;
 import boofcv.alg.feature.disparity.DisparitySparseSelect;
+import boofcv.alg.feature.disparity.sgm.*;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.factory.transform.census.CensusVariants;
+import boofcv.factory.transform.census.FactoryCensusTransform;
 import boofcv.struct.image.GrayF32;
 import boofcv.struct.image.GrayS16;
+import boofcv.struct.image.GrayS32;
 import boofcv.struct.image.GrayU8;
 import boofcv.struct.image.ImageGray;
 
@@ -52,6 +60,11 @@ import static boofcv.factory.feature.disparity.FactoryStereoDisparityAlgs.*;
  * to computing the disparity for a single pixel at a time as requested by the user,
  * </p>
  *
+ * <p>
+ * If {@link BoofConcurrency#isUseConcurrent()} is true when a dense algorithm is created then the image is split
+ * into bands which are processed concurrently.
+ * </p>
+ *
  * @author Peter Abeles
  */
 @SuppressWarnings("unchecked")
@@ -64,6 +77,7 @@ public class FactoryStereoDisparity {
 	 *
 	 * <p>
 	 * NOTE: For RECT_FIVE the size of the sub-regions it uses is what is specified.
+	 * For RECT_CENSUS the error is the number of census bits which differ.
 	 * </p>
 	 *
 	 * @param minDisparity Minimum disparity that it will check. Must be &ge; 0 and &lt; maxDisparity
@@ -93,7 +107,7 @@ public class FactoryStereoDisparity {
 			maxError *= 3;
 
 		DisparitySelect select;
-		if( imageType == GrayU8.class || imageType == GrayS16.class ) {
+		if( whichAlg == DisparityAlgorithms.RECT_CENSUS || imageType == GrayU8.class || imageType == GrayS16.class ) {
 			select = selectDisparity_S32((int) maxError, validateRtoL, texture);
 		} else if( imageType == GrayF32.class ) {
 			select = selectDisparity_F32((int) maxError, validateRtoL, texture);
@@ -130,6 +144,9 @@ public class FactoryStereoDisparity {
 				}
 				break;
 
+			case RECT_CENSUS:
+				return createCensus(minDisparity, maxDisparity, regionRadiusX, regionRadiusY, select, imageType);
+
 			default:
 				throw new IllegalArgumentException("Unknown algorithms "+whichAlg);
 
@@ -137,6 +154,9 @@ public class FactoryStereoDisparity {
 		if( alg == null)
 			throw new RuntimeException("Image type not supported: "+imageType.getSimpleName() );
 
+		if( BoofConcurrency.isUseConcurrent() )
+			alg = new DisparityScoreRowFormat_MT<>(alg);
+
 		return new WrapDisparitySadRect<>(alg);
 	}
 
@@ -147,6 +167,7 @@ public class FactoryStereoDisparity {
 	 *
 	 * <p>
 	 * NOTE: For RECT_FIVE the size of the sub-regions it uses is what is specified.
+	 * For RECT_CENSUS the error is the number of census bits which differ.
 	 * </p>
 	 *
 	 * @param minDisparity Minimum disparity that it will check. Must be &ge; 0 and &lt; maxDisparity
@@ -176,7 +197,7 @@ public class FactoryStereoDisparity {
 			maxError *= 3;
 
 		DisparitySelect select;
-		if( imageType == GrayU8.class || imageType == GrayS16.class ) {
+		if( whichAlg == DisparityAlgorithms.RECT_CENSUS || imageType == GrayU8.class || imageType == GrayS16.class ) {
 			select = selectDisparitySubpixel_S32((int) maxError, validateRtoL, texture);
 		} else if( imageType == GrayF32.class ) {
 			select = selectDisparitySubpixel_F32((int) maxError, validateRtoL, texture);
@@ -213,6 +234,9 @@ public class FactoryStereoDisparity {
 				}
 				break;
 
+			case RECT_CENSUS:
+				return createCensus(minDisparity, maxDisparity, regionRadiusX, regionRadiusY, select, imageType);
+
 			default:
 				throw new IllegalArgumentException("Unknown algorithms "+whichAlg);
 
@@ -220,9 +244,106 @@ public class FactoryStereoDisparity {
 		if( alg == null)
 			throw new RuntimeException("Image type not supported: "+imageType.getSimpleName() );
 
+		if( BoofConcurrency.isUseConcurrent() )
+			alg = new DisparityScoreRowFormat_MT<>(alg);
+
 		return new WrapDisparitySadRect<>(alg);
 	}
 
+	/**
+	 * <p>
+	 * Semi Global Matching (SGM) dense disparity with pixel level accuracy.  Costs are aggregated along several
+	 * paths across the image, producing a denser disparity image than region based WTA.  If
+	 * {@link BoofConcurrency#isUseConcurrent()} is true then the paths are aggregated concurrently.
+	 * </p>
+	 *
+	 * @param config Configuration for SGM
+	 * @param imageType Type of input image.
+	 * @return SGM disparity algorithm
+	 */
+	public static <T extends ImageGray<T>> StereoDisparity<T,GrayU8>
+	sgm( ConfigSgm config , Class<T> imageType ) {
+		config.checkValidity();
+
+		DisparitySelect<int[],GrayU8> select = selectDisparity_S32(-1, config.validateRtoL, config.texture);
+
+		return createSgm(config, select, imageType);
+	}
+
+	/**
+	 * Semi Global Matching (SGM) dense disparity with sub-pixel accuracy.  See {@link #sgm(ConfigSgm, Class)}.
+	 *
+	 * @param config Configuration for SGM
+	 * @param imageType Type of input image.
+	 * @return SGM disparity algorithm
+	 */
+	public static <T extends ImageGray<T>> StereoDisparity<T,GrayF32>
+	sgmSubpixel( ConfigSgm config , Class<T> imageType ) {
+		config.checkValidity();
+
+		DisparitySelect<int[],GrayF32> select = selectDisparitySubpixel_S32(-1, config.validateRtoL, config.texture);
+
+		return createSgm(config, select, imageType);
+	}
+
+	private static <T extends ImageGray<T>, D extends ImageGray<D>> StereoDisparity<T,D>
+	createSgm( ConfigSgm config , DisparitySelect<int[],D> select , Class<T> imageType ) {
+		SgmCostAggregation aggregation;
+		if( BoofConcurrency.isUseConcurrent() ) {
+			aggregation = new SgmCostAggregation_MT(config.penaltySmallChange, config.penaltyLargeChange, config.paths);
+		} else {
+			aggregation = new SgmCostAggregation(config.penaltySmallChange, config.penaltyLargeChange, config.paths);
+		}
+
+		switch( config.errorType ) {
+			case ABSOLUTE_DIFFERENCE: {
+				if( imageType != GrayU8.class )
+					throw new RuntimeException("Image type not supported: " + imageType.getSimpleName());
+				SgmStereoDisparity alg = new SgmStereoDisparity<>(config.minDisparity, config.maxDisparity,
+						new SgmCostAbsoluteDifference_U8(), aggregation, select);
+				alg.setTileHeight(config.tileHeight);
+				alg.setTileOverlap(config.tileOverlap);
+				return new WrapDisparitySadRect<>(alg);
+			}
+
+			case CENSUS: {
+				if( imageType != GrayU8.class && imageType != GrayF32.class )
+					throw new RuntimeException("Image type not supported: " + imageType.getSimpleName());
+				FilterImageInterface<T, GrayS32> census =
+						FactoryCensusTransform.variant(CensusVariants.BLOCK_5_5, imageType);
+				SgmStereoDisparity<GrayS32, D> alg = new SgmStereoDisparity<>(config.minDisparity,
+						config.maxDisparity, new SgmCostHamming_S32(), aggregation, select);
+				alg.setTileHeight(config.tileHeight);
+				alg.setTileOverlap(config.tileOverlap);
+				return new WrapDisparityCensusRect<>(census, alg, imageType);
+			}
+
+			default:
+				throw new IllegalArgumentException("Unknown error type "+config.errorType);
+		}
+	}
+
+	/**
+	 * Creates a rectangular region disparity algorithm which uses a 5x5 census transform
+	 */
+	private static <T extends ImageGray<T>, D extends ImageGray<D>> StereoDisparity<T,D>
+	createCensus( int minDisparity , int maxDisparity,
+				  int regionRadiusX, int regionRadiusY ,
+				  DisparitySelect<int[],D> select , Class<T> imageType ) {
+		if( imageType != GrayU8.class && imageType != GrayF32.class )
+			throw new RuntimeException("Image type not supported: "+imageType.getSimpleName() );
+
+		FilterImageInterface<T,GrayS32> census = FactoryCensusTransform.variant(CensusVariants.BLOCK_5_5, imageType);
+
+		DisparityScoreRowFormat<GrayS32,D> alg = scoreDisparityCensusRect_S32(minDisparity,
+				maxDisparity, regionRadiusX, regionRadiusY, select);
+
+		if( BoofConcurrency.isUseConcurrent() )
+			alg = new DisparityScoreRowFormat_MT<>(alg);
+
+		return new WrapDisparityCensusRect<>(census, alg, imageType);
+	}
+
 	/**
 	 * WTA algorithms that computes disparity on a sparse per-pixel basis as requested..
 	 *
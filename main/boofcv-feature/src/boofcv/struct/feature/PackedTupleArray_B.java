@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.struct.feature;
+
+import org.ddogleg.struct.FastQueue;
+
+/**
+ * <p>
+ * Stores a set of binary descriptors contiguously inside a single array.  Each descriptor is packed into
+ * a fixed number of longs, with two ints from {@link TupleDesc_B#data} in each long.  Storing the descriptors
+ * in one array avoids following a reference for each descriptor and allows the hamming distance to be computed
+ * 64 bits at a time in a tight loop.
+ * </p>
+ *
+ * <p>
+ * If a descriptor has an odd number of ints then the upper bits in its last long are zero.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class PackedTupleArray_B {
+	// storage for all the descriptors
+	public long data[] = new long[0];
+	// number of longs used to store each descriptor
+	public int wordsPerDesc;
+	// number of descriptors
+	public int size;
+
+	/**
+	 * Packs all the descriptors in the list.  Previous descriptors are discarded.
+	 *
+	 * @param list List of descriptors
+	 * @param numInts Number of ints which are packed from each descriptor.
+	 */
+	public void setTo( FastQueue<TupleDesc_B> list , int numInts ) {
+		wordsPerDesc = (numInts+1)/2;
+		size = list.size;
+
+		int length = size*wordsPerDesc;
+		if( data.length < length )
+			data = new long[length];
+
+		for( int i = 0; i < size; i++ ) {
+			pack(list.data[i], numInts, data, i*wordsPerDesc);
+		}
+	}
+
+	/**
+	 * Packs a single descriptor into the array.
+	 *
+	 * @param desc (Input) The descriptor
+	 * @param numInts Number of ints which are packed from the descriptor.
+	 * @param output (Output) Array the descriptor is written into
+	 * @param index First element in output which is written to
+	 */
+	public static void pack( TupleDesc_B desc , int numInts , long output[] , int index ) {
+		int N = Math.min(numInts, desc.data.length);
+
+		int j = 0;
+		for( ; j+1 < N; j += 2 ) {
+			output[index++] = (desc.data[j] & 0xFFFFFFFFL) | ((long)desc.data[j+1] << 32);
+		}
+		if( j < N ) {
+			output[index++] = desc.data[j] & 0xFFFFFFFFL;
+			j += 2;
+		}
+		for( ; j < numInts; j += 2 ) {
+			output[index++] = 0;
+		}
+	}
+
+	/**
+	 * Index in {@link #data} of the first word in a descriptor
+	 */
+	public int indexOf( int which ) {
+		return which*wordsPerDesc;
+	}
+
+	/**
+	 * Returns the largest number of ints in any of the descriptors
+	 */
+	public static int maxInts( FastQueue<TupleDesc_B> list ) {
+		int max = 0;
+		for( int i = 0; i < list.size; i++ ) {
+			max = Math.max(max, list.data[i].data.length);
+		}
+		return max;
+	}
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.abst.feature.associate;
+
+import boofcv.alg.feature.associate.MultiIndexHashing_B;
+import boofcv.struct.feature.AssociatedIndex;
+import boofcv.struct.feature.MatchScoreType;
+import boofcv.struct.feature.TupleDesc_B;
+import org.ddogleg.struct.FastQueue;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestAssociateMultiIndexHashing_B {
+
+	FastQueue<TupleDesc_B> listSrc = new FastQueue<>(TupleDesc_B.class, false);
+	FastQueue<TupleDesc_B> listDst = new FastQueue<>(TupleDesc_B.class, false);
+
+	/**
+	 * Descriptors with 32 bits.  Src has features with 0, 4, and 16 bits set.  Dst has features which are
+	 * 1 bit from the first two and one which is far away from all of them
+	 */
+	@Test
+	public void various() {
+		listSrc.add(c(0x0));
+		listSrc.add(c(0xF0));
+		listSrc.add(c(0xFFFF0000));
+
+		listDst.add(c(0xF1));
+		listDst.add(c(0x1));
+		listDst.add(c(0x0000FFFF));
+		listDst.add(c(0xF0));
+
+		AssociateMultiIndexHashing_B alg = new AssociateMultiIndexHashing_B(new MultiIndexHashing_B(8,1));
+		assertTrue(MatchScoreType.NORM_ERROR == alg.getScoreType());
+
+		alg.setSource(listSrc);
+		alg.setDestination(listDst);
+		alg.setThreshold(2);
+		alg.associate();
+
+		FastQueue<AssociatedIndex> matches = alg.getMatches();
+		assertEquals(3, matches.size);
+		check(matches.get(0), 1, 0, 1);
+		check(matches.get(1), 0, 1, 1);
+		check(matches.get(2), 1, 3, 0);
+
+		assertEquals(1, alg.getUnassociatedSource().size);
+		assertEquals(2, alg.getUnassociatedSource().get(0));
+		assertEquals(1, alg.getUnassociatedDestination().size);
+		assertEquals(2, alg.getUnassociatedDestination().get(0));
+
+		// no threshold, every dst will be matched
+		alg.setThreshold(Double.MAX_VALUE);
+		alg.associate();
+		assertEquals(4, alg.getMatches().size);
+
+		// change the destination without changing the source
+		listDst.reset();
+		listDst.add(c(0xFFFF0000));
+		alg.setDestination(listDst);
+		alg.associate();
+		assertEquals(1, alg.getMatches().size);
+		check(alg.getMatches().get(0), 2, 0, 0);
+	}
+
+	private static void check( AssociatedIndex a , int src , int dst , double score ) {
+		assertEquals(src, a.src);
+		assertEquals(dst, a.dst);
+		assertEquals(score, a.fitScore, 1e-8);
+	}
+
+	private static TupleDesc_B c( int value ) {
+		TupleDesc_B d = new TupleDesc_B(32);
+		d.data[0] = value;
+		return d;
+	}
+}
@@ -21,6 +21,7 @@ package boofcv.abst.feature.associate;
 import boofcv.alg.descriptor.DescriptorDistance;
 import boofcv.struct.feature.MatchScoreType;
 import boofcv.struct.feature.TupleDesc_B;
+import org.ddogleg.struct.FastQueue;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
@@ -56,6 +57,43 @@ public class TestScoreAssociateHamming_B extends StandardScoreAssociationChecks<
 		}
 	}
 
+	/**
+	 * Compare scores from the batch interface against scoring each pair individually
+	 */
+	@Test
+	public void scoreRow() {
+		ScoreAssociateHamming_B scorer = new ScoreAssociateHamming_B();
+
+		FastQueue<TupleDesc_B> src = createList(10, 96);
+		FastQueue<TupleDesc_B> dst = createList(20, 96);
+
+		scorer.setLists(src,dst);
+
+		double scores[] = new double[20];
+		for( int i = 0; i < src.size; i++ ) {
+			scorer.scoreRow(i,5,17,scores);
+			for( int j = 5; j < 17; j++ ) {
+				assertEquals(DescriptorDistance.hamming(src.get(i),dst.get(j)), scores[j-5], 1e-8);
+			}
+		}
+	}
+
+	private FastQueue<TupleDesc_B> createList( int total , final int numBits ) {
+		FastQueue<TupleDesc_B> ret = new FastQueue<TupleDesc_B>(total,TupleDesc_B.class, true) {
+			@Override
+			protected TupleDesc_B createInstance() {
+				return new TupleDesc_B(numBits);
+			}
+		};
+		for( int i = 0; i < total; i++ ) {
+			TupleDesc_B d = ret.grow();
+			for( int j = 0; j < d.data.length; j++ ) {
+				d.data[j] = rand.nextInt();
+			}
+		}
+		return ret;
+	}
+
 	@Override
 	public ScoreAssociation<TupleDesc_B> createScore() {
 		return new ScoreAssociateHamming_B();
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.abst.feature.describe;
+
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.factory.feature.describe.FactoryDescribeRegionPoint;
+import boofcv.struct.feature.NccFeature;
+import boofcv.struct.image.GrayF32;
+import georegression.struct.point.Point2D_F64;
+import org.ddogleg.struct.FastQueue;
+import org.ddogleg.struct.GrowQueue_B;
+import org.ddogleg.struct.GrowQueue_F64;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestDescribeRegionPointBatch {
+
+	Random rand = new Random(234);
+
+	ForkJoinPool pool = new ForkJoinPool(4);
+
+	/**
+	 * Compare against describing each point one at a time.  Some points are along the border and can't be described
+	 */
+	@Test
+	public void compareToSequential() {
+		final GrayF32 image = new GrayF32(100,90);
+		GImageMiscOps.fillUniform(image,rand,0,200);
+
+		final List<Point2D_F64> locations = new ArrayList<>();
+		final GrowQueue_F64 orientations = new GrowQueue_F64();
+		final GrowQueue_F64 radii = new GrowQueue_F64();
+		for (int i = 0; i < 200; i++) {
+			locations.add(new Point2D_F64(rand.nextDouble()*100,rand.nextDouble()*90));
+			orientations.add(rand.nextDouble());
+			radii.add(1+rand.nextDouble()*5);
+		}
+
+		DescribeRegionPoint<GrayF32,NccFeature> describe = createDescribe();
+		describe.setImage(image);
+
+		final DescribeRegionPointBatch<GrayF32,NccFeature> alg = new DescribeRegionPointBatch<>(
+				new DescribeRegionPointBatch.Factory<GrayF32, NccFeature>() {
+			@Override
+			public DescribeRegionPoint<GrayF32, NccFeature> newInstance() {
+				return createDescribe();
+			}
+		});
+
+		final FastQueue<NccFeature> found = new FastQueue<NccFeature>(NccFeature.class,true) {
+			@Override
+			protected NccFeature createInstance() {
+				return new NccFeature(25);
+			}
+		};
+		final GrowQueue_B success = new GrowQueue_B();
+		// make sure the output is resized
+		found.grow();
+		success.add(true);
+
+		BoofConcurrency.invoke(pool, new Runnable() {
+			@Override
+			public void run() {
+				alg.process(image,locations,orientations,radii,found,success);
+			}
+		});
+
+		assertEquals(locations.size(), found.size());
+		assertEquals(locations.size(), success.size());
+
+		int numFailed = 0;
+		NccFeature expected = describe.createDescription();
+		for (int i = 0; i < locations.size(); i++) {
+			Point2D_F64 p = locations.get(i);
+			boolean s = describe.process(p.x,p.y,orientations.get(i),radii.get(i),expected);
+			assertEquals(s, success.get(i));
+			if( s ) {
+				assertArrayEquals(expected.value, found.get(i).value, 0);
+			} else {
+				numFailed++;
+			}
+		}
+		assertTrue(numFailed > 0);
+		assertTrue(numFailed < locations.size());
+	}
+
+	private static DescribeRegionPoint<GrayF32,NccFeature> createDescribe() {
+		return FactoryDescribeRegionPoint.pixelNCC(5,5,GrayF32.class);
+	}
+}
@@ -19,12 +19,16 @@
 package boofcv.abst.feature.detdesc;
 
 import boofcv.abst.feature.describe.DescribeRegionPoint;
+import boofcv.abst.feature.describe.DescribeRegionPointBatch;
 import boofcv.abst.feature.detect.interest.InterestPointDetector;
 import boofcv.abst.feature.orientation.OrientationImage;
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.factory.feature.describe.FactoryDescribeRegionPoint;
 import boofcv.factory.feature.detect.interest.FactoryInterestPoint;
 import boofcv.factory.feature.orientation.FactoryOrientationAlgs;
 import boofcv.struct.feature.BrightFeature;
+import boofcv.struct.feature.NccFeature;
 import boofcv.struct.feature.TupleDesc;
 import boofcv.struct.image.GrayF32;
 import boofcv.struct.image.ImageBase;
@@ -32,6 +36,10 @@ import boofcv.struct.image.ImageType;
 import georegression.struct.point.Point2D_F64;
 import org.junit.Test;
 
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
@@ -95,6 +103,73 @@ public class TestDetectDescribeFusion {
 		}.allTests();
 	}
 
+	@Test
+	public void checkBatch() {
+		final InterestPointDetector<GrayF32> detector = FactoryInterestPoint.fastHessian(null);
+		final OrientationImage ori = FactoryOrientationAlgs.nogradient(1.0/2.0,5,GrayF32.class);
+		final DescribeRegionPointBatch<GrayF32,BrightFeature> batch = new DescribeRegionPointBatch<>(
+				new DescribeRegionPointBatch.Factory<GrayF32, BrightFeature>() {
+			@Override
+			public DescribeRegionPoint<GrayF32, BrightFeature> newInstance() {
+				return FactoryDescribeRegionPoint.surfStable(null, GrayF32.class);
+			}
+		});
+
+		new GenericTestsDetectDescribePoint(true,true, ImageType.single(GrayF32.class),BrightFeature.class) {
+
+			@Override
+			public DetectDescribePoint createDetDesc() {
+				return new DetectDescribeFusion(detector,ori,batch);
+			}
+		}.allTests();
+	}
+
+	/**
+	 * The batch describer should produce identical results, including when some features can't be described
+	 */
+	@Test
+	public void checkBatch_compareToSequential() {
+		final GrayF32 image = new GrayF32(200,180);
+		GImageMiscOps.fillUniform(image,new Random(234),0,200);
+
+		// NCC can't describe features which touch the image border
+		DetectDescribeFusion<GrayF32,NccFeature> expected = new DetectDescribeFusion<>(
+				FactoryInterestPoint.<GrayF32>fastHessian(null),null,
+				FactoryDescribeRegionPoint.pixelNCC(21,21,GrayF32.class));
+		DescribeRegionPointBatch<GrayF32,NccFeature> batch = new DescribeRegionPointBatch<>(
+				new DescribeRegionPointBatch.Factory<GrayF32, NccFeature>() {
+			@Override
+			public DescribeRegionPoint<GrayF32, NccFeature> newInstance() {
+				return FactoryDescribeRegionPoint.pixelNCC(21,21,GrayF32.class);
+			}
+		});
+		batch.setMinBlock(1);
+		final DetectDescribeFusion<GrayF32,NccFeature> alg = new DetectDescribeFusion<>(
+				FactoryInterestPoint.<GrayF32>fastHessian(null),null,batch);
+
+		expected.detect(image);
+		assertTrue(expected.getNumberOfFeatures() > 10);
+
+		// process it twice to make sure it can be reused
+		for (int trial = 0; trial < 2; trial++) {
+			BoofConcurrency.invoke(new ForkJoinPool(4), new Runnable() {
+				@Override
+				public void run() {
+					alg.detect(image);
+				}
+			});
+
+			assertEquals(expected.getNumberOfFeatures(), alg.getNumberOfFeatures());
+			for (int i = 0; i < expected.getNumberOfFeatures(); i++) {
+				assertEquals(expected.getLocation(i).x, alg.getLocation(i).x, 0);
+				assertEquals(expected.getLocation(i).y, alg.getLocation(i).y, 0);
+				assertEquals(expected.getRadius(i), alg.getRadius(i), 0);
+				assertEquals(expected.getOrientation(i), alg.getOrientation(i), 0);
+				assertArrayEquals(expected.getDescription(i).value, alg.getDescription(i).value, 0);
+			}
+		}
+	}
+
 	public static class DummyDetector implements InterestPointDetector {
 
 		@Override
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.abst.feature.detdesc;
+
+import boofcv.abst.feature.orientation.OrientationIntegral;
+import boofcv.alg.feature.describe.DescribePointSurf;
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.factory.feature.describe.FactoryDescribePointAlgs;
+import boofcv.factory.feature.detdesc.FactoryDetectDescribe;
+import boofcv.factory.feature.detect.interest.FactoryInterestPointAlgs;
+import boofcv.factory.feature.orientation.FactoryOrientationAlgs;
+import boofcv.struct.feature.BrightFeature;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.ImageType;
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestWrapDetectDescribeSurf_MT extends GenericTestsDetectDescribePoint<GrayF32,BrightFeature>
+{
+	Random rand = new Random(234);
+
+	ForkJoinPool pool = new ForkJoinPool(4);
+
+	public TestWrapDetectDescribeSurf_MT() {
+		super(true, true, ImageType.single(GrayF32.class), BrightFeature.class);
+	}
+
+	@Override
+	public DetectDescribePoint<GrayF32, BrightFeature> createDetDesc() {
+		return create();
+	}
+
+	/**
+	 * Features should be identical to the single threaded version, including the order
+	 */
+	@Test
+	public void compareToSingleThread() {
+		final GrayF32 image = new GrayF32(300,290);
+		GImageMiscOps.fillUniform(image,rand,0,200);
+
+		DetectDescribePoint<GrayF32,BrightFeature> expected =
+				FactoryDetectDescribe.surfStable(null,null,null,GrayF32.class);
+		final WrapDetectDescribeSurf_MT<GrayF32,GrayF32> alg = create();
+
+		expected.detect(image);
+
+		// process it twice to make sure it can be reused
+		for (int trial = 0; trial < 2; trial++) {
+			BoofConcurrency.invoke(pool, new Runnable() {
+				@Override
+				public void run() {
+					alg.detect(image);
+				}
+			});
+
+			assertTrue(expected.getNumberOfFeatures() > 10);
+			assertEquals(expected.getNumberOfFeatures(), alg.getNumberOfFeatures());
+
+			for (int i = 0; i < expected.getNumberOfFeatures(); i++) {
+				assertEquals(expected.getLocation(i).x, alg.getLocation(i).x, 0);
+				assertEquals(expected.getLocation(i).y, alg.getLocation(i).y, 0);
+				assertEquals(expected.getOrientation(i), alg.getOrientation(i), 0);
+
+				BrightFeature a = expected.getDescription(i);
+				BrightFeature b = alg.getDescription(i);
+				assertEquals(a.white, b.white);
+				assertArrayEquals(a.value, b.value, 0);
+			}
+		}
+	}
+
+	private static WrapDetectDescribeSurf_MT<GrayF32,GrayF32> create() {
+		OrientationIntegral<GrayF32> orientation = FactoryOrientationAlgs.sliding_ii(null, GrayF32.class);
+
+		return new WrapDetectDescribeSurf_MT<>(FactoryInterestPointAlgs.<GrayF32>fastHessian(null), orientation,
+				new WrapDetectDescribeSurf_MT.DescribeFactory<GrayF32>() {
+			@Override
+			public DescribePointSurf<GrayF32> newInstance() {
+				return FactoryDescribePointAlgs.surfStability(null, GrayF32.class);
+			}
+		});
+	}
+}
@@ -59,6 +59,11 @@ public class TestWrapDisparitySadRect {
 		public void _process(GrayF32 left, GrayF32 right, GrayF32 GrayF32) {
 		}
 
+		@Override
+		public Foo concurrentCopy() {
+			return new Foo(minDisparity, maxDisparity, radiusX, radiusY);
+		}
+
 		@Override
 		public Class<GrayF32> getInputType() {
 			return GrayF32.class;
@@ -177,6 +177,27 @@ public class TestDescriptorDistance {
 		}
 	}
 
+	@Test
+	public void hamming_packed() {
+		TupleDesc_B a = new TupleDesc_B(32*5);
+		TupleDesc_B b = new TupleDesc_B(32*5);
+		for( int i = 0; i < a.data.length; i++ ) {
+			a.data[i] = rand.nextInt();
+			b.data[i] = rand.nextInt();
+		}
+
+		long packedA[] = new long[4];
+		long packedB[] = new long[5];
+		for( int i = 0; i < a.data.length; i += 2 ) {
+			long upperA = i+1 < a.data.length ? (long)a.data[i+1] << 32 : 0;
+			long upperB = i+1 < b.data.length ? (long)b.data[i+1] << 32 : 0;
+			packedA[i/2] = (a.data[i] & 0xFFFFFFFFL) | upperA;
+			packedB[i/2+1] = (b.data[i] & 0xFFFFFFFFL) | upperB;
+		}
+
+		assertEquals(hamming(a,b),DescriptorDistance.hamming(packedA,0,packedB,1,3));
+	}
+
 	@Test
 	public void hamming_int() {
 		assertEquals(0,DescriptorDistance.hamming(0));
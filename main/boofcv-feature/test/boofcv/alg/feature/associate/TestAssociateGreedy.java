@@ -24,6 +24,8 @@ import boofcv.struct.feature.TupleDesc_F64;
 import org.ddogleg.struct.FastQueue;
 import org.junit.Test;
 
+import java.util.Random;
+
 import static org.junit.Assert.assertEquals;
 
 
@@ -101,6 +103,78 @@ public class TestAssociateGreedy {
 		assertEquals(2,fitScore[3],1e-5);
 	}
 
+	@Test
+	public void ratioTest() {
+		// perfect match and a close second
+		FastQueue<TupleDesc_F64> a = createData(1);
+		FastQueue<TupleDesc_F64> b = createData(1.5,2,3);
+
+		AssociateGreedy<TupleDesc_F64> alg = new AssociateGreedy<>(score, false);
+
+		alg.setRatioTest(0.5);
+		alg.associate(a,b);
+		assertEquals(0,alg.getPairs()[0]);
+
+		alg.setRatioTest(0.1);
+		alg.associate(a,b);
+		assertEquals(-1,alg.getPairs()[0]);
+	}
+
+	/**
+	 * Compare against a brute force implementation which saves the entire score matrix.  Enough features
+	 * are used so that there are multiple blocks
+	 */
+	@Test
+	public void compareToBruteForce() {
+		Random rand = new Random(234);
+		FastQueue<TupleDesc_F64> a = createData(new double[300]);
+		FastQueue<TupleDesc_F64> b = createData(new double[400]);
+		for( int i = 0; i < a.size; i++ ) a.get(i).set(rand.nextInt(200));
+		for( int i = 0; i < b.size; i++ ) b.get(i).set(rand.nextInt(200));
+
+		for( boolean backwards : new boolean[]{false,true}) {
+			AssociateGreedy<TupleDesc_F64> alg = new AssociateGreedy<>(score, backwards);
+			alg.setMaxFitError(2);
+			alg.associate(a,b);
+
+			int expected[] = bruteForce(a,b,2,backwards);
+			for( int i = 0; i < a.size; i++ ) {
+				assertEquals(expected[i], alg.getPairs()[i]);
+			}
+		}
+	}
+
+	private int[] bruteForce( FastQueue<TupleDesc_F64> a , FastQueue<TupleDesc_F64> b ,
+							  double maxError , boolean backwards ) {
+		double scores[][] = new double[a.size][b.size];
+		int pairs[] = new int[a.size];
+		for( int i = 0; i < a.size; i++ ) {
+			double best = maxError;
+			pairs[i] = -1;
+			for( int j = 0; j < b.size; j++ ) {
+				scores[i][j] = score.score(a.get(i),b.get(j));
+				if( scores[i][j] <= best ) {
+					best = scores[i][j];
+					pairs[i] = j;
+				}
+			}
+		}
+		if( backwards ) {
+			for( int i = 0; i < a.size; i++ ) {
+				int j = pairs[i];
+				if( j == -1 )
+					continue;
+				for( int k = 0; k < a.size; k++ ) {
+					if( k != i && scores[k][j] <= scores[i][j] ) {
+						pairs[i] = -1;
+						break;
+					}
+				}
+			}
+		}
+		return pairs;
+	}
+
 	private FastQueue<TupleDesc_F64> createData( double ...values )
 	{
 		FastQueue<TupleDesc_F64> ret = new FastQueue<TupleDesc_F64>(10,TupleDesc_F64.class, true) {
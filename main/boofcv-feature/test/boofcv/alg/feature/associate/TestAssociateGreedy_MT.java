@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.associate;
+
+import boofcv.abst.feature.associate.ScoreAssociateHamming_B;
+import boofcv.abst.feature.associate.ScoreAssociation;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.struct.feature.MatchScoreType;
+import boofcv.struct.feature.TupleDesc_B;
+import org.ddogleg.struct.FastQueue;
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestAssociateGreedy_MT {
+
+	Random rand = new Random(234);
+
+	final ScoreAssociation<TupleDesc_B> score = new ScoreAssociateHamming_B();
+
+	@Test
+	public void compareToSingleThread() {
+		compareToSingleThread(score);
+
+		// generic code path which scores one pair at a time
+		compareToSingleThread(new ScoreAssociation<TupleDesc_B>() {
+			@Override
+			public double score(TupleDesc_B a, TupleDesc_B b) {
+				return score.score(a,b);
+			}
+
+			@Override
+			public MatchScoreType getScoreType() {
+				return score.getScoreType();
+			}
+		});
+	}
+
+	private void compareToSingleThread( ScoreAssociation<TupleDesc_B> score ) {
+		final FastQueue<TupleDesc_B> src = createData(500);
+		final FastQueue<TupleDesc_B> dst = createData(600);
+
+		for( final boolean backwards : new boolean[]{false,true}) {
+			AssociateGreedy<TupleDesc_B> expected = new AssociateGreedy<>(score, backwards);
+			final AssociateGreedy<TupleDesc_B> found = new AssociateGreedy_MT<>(score, backwards);
+			expected.setMaxFitError(40);
+			found.setMaxFitError(40);
+			expected.setRatioTest(0.9);
+			found.setRatioTest(0.9);
+
+			expected.associate(src,dst);
+			BoofConcurrency.invoke(new ForkJoinPool(4), new Runnable() {
+				@Override
+				public void run() {
+					found.associate(src,dst);
+				}
+			});
+
+			for( int i = 0; i < src.size; i++ ) {
+				assertEquals(expected.getPairs()[i], found.getPairs()[i]);
+				assertEquals(expected.getFitQuality()[i], found.getFitQuality()[i], 0);
+			}
+		}
+	}
+
+	private FastQueue<TupleDesc_B> createData( int total ) {
+		FastQueue<TupleDesc_B> ret = new FastQueue<TupleDesc_B>(total,TupleDesc_B.class, true) {
+			@Override
+			protected TupleDesc_B createInstance() {
+				return new TupleDesc_B(256);
+			}
+		};
+
+		for( int i = 0; i < total; i++ ) {
+			TupleDesc_B d = ret.grow();
+			for( int j = 0; j < d.data.length; j++ ) {
+				d.data[j] = rand.nextInt();
+			}
+		}
+		return ret;
+	}
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.associate;
+
+import boofcv.alg.descriptor.DescriptorDistance;
+import boofcv.struct.feature.TupleDesc_B;
+import org.ddogleg.struct.FastQueue;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestMultiIndexHashing_B {
+
+	Random rand = new Random(234);
+
+	/**
+	 * Features within the guaranteed distance must always be found.  Compare against brute force.
+	 */
+	@Test
+	public void compareToBruteForce() {
+		// number of bits isn't a multiple of the substring length or 32
+		int numBits = 100;
+		MultiIndexHashing_B alg = new MultiIndexHashing_B(10,1);
+
+		FastQueue<TupleDesc_B> list = createList(numBits, 500);
+		alg.setDescriptors(list);
+		assertEquals(500, alg.size());
+
+		// 10 tables with a radius of 1 guarantees distances up to 19 are found
+		for( int trial = 0; trial < 200; trial++ ) {
+			TupleDesc_B query = list.get(rand.nextInt(list.size)).copy();
+			int numFlip = rand.nextInt(20);
+			for( int i = 0; i < numFlip; i++ ) {
+				flip(query, rand.nextInt(numBits));
+			}
+
+			int expected = Integer.MAX_VALUE;
+			for( int i = 0; i < list.size; i++ ) {
+				expected = Math.min(expected, DescriptorDistance.hamming(query, list.get(i)));
+			}
+
+			assertTrue(alg.findNearest(query,-1));
+			assertEquals(expected, alg.getBestDistance());
+			assertEquals(expected, DescriptorDistance.hamming(query, list.get(alg.getBestIndex())));
+		}
+	}
+
+	@Test
+	public void maxDistance() {
+		MultiIndexHashing_B alg = new MultiIndexHashing_B(8,2);
+
+		FastQueue<TupleDesc_B> list = createList(64, 20);
+		alg.setDescriptors(list);
+
+		TupleDesc_B query = list.get(5).copy();
+		flip(query,3);
+		flip(query,40);
+
+		assertFalse(alg.findNearest(query,1));
+		assertEquals(-1,alg.getBestIndex());
+		// edge case, exactly at the max distance
+		assertTrue(alg.findNearest(query,2));
+		assertEquals(5,alg.getBestIndex());
+		assertEquals(2,alg.getBestDistance());
+	}
+
+	/**
+	 * Call set multiple times with lists of different sizes
+	 */
+	@Test
+	public void setDescriptors_multipleCalls() {
+		MultiIndexHashing_B alg = new MultiIndexHashing_B(8,0);
+
+		FastQueue<TupleDesc_B> listA = createList(256, 50);
+		FastQueue<TupleDesc_B> listB = createList(64, 10);
+
+		alg.setDescriptors(listA);
+		alg.setDescriptors(listB);
+
+		for( int i = 0; i < listB.size; i++ ) {
+			assertTrue(alg.findNearest(listB.get(i),0));
+			assertEquals(i,alg.getBestIndex());
+		}
+
+		alg.setDescriptors(listA);
+		for( int i = 0; i < listA.size; i++ ) {
+			assertTrue(alg.findNearest(listA.get(i),0));
+			assertEquals(i,alg.getBestIndex());
+		}
+	}
+
+	@Test
+	public void empty() {
+		MultiIndexHashing_B alg = new MultiIndexHashing_B(8,1);
+		alg.setDescriptors(createList(64, 0));
+		assertFalse(alg.findNearest(new TupleDesc_B(64),-1));
+	}
+
+	private FastQueue<TupleDesc_B> createList( final int numBits , int total ) {
+		FastQueue<TupleDesc_B> ret = new FastQueue<TupleDesc_B>(TupleDesc_B.class, true) {
+			@Override
+			protected TupleDesc_B createInstance() {
+				return new TupleDesc_B(numBits);
+			}
+		};
+		for( int i = 0; i < total; i++ ) {
+			TupleDesc_B d = ret.grow();
+			for( int bit = 0; bit < numBits; bit++ ) {
+				if( rand.nextBoolean() )
+					flip(d,bit);
+			}
+		}
+		return ret;
+	}
+
+	private static void flip( TupleDesc_B d , int bit ) {
+		d.data[bit/32] ^= 1 << (bit%32);
+	}
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.detdesc;
+
+import boofcv.abst.feature.detdesc.ConfigCompleteSift;
+import boofcv.alg.filter.blur.BlurImageOps;
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.struct.feature.BrightFeature;
+import boofcv.struct.feature.ScalePoint;
+import boofcv.struct.image.GrayF32;
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestCompleteSift_MT {
+
+	Random rand = new Random(234);
+
+	ForkJoinPool pool = new ForkJoinPool(4);
+
+	/**
+	 * Features should be identical to the single threaded version, including the order
+	 */
+	@Test
+	public void compareToSingleThread() {
+		GrayF32 image = new GrayF32(300,290);
+		GImageMiscOps.fillUniform(image,rand,0,200);
+		final GrayF32 blurred = BlurImageOps.gaussian(image,null,-1,2,null);
+
+		ConfigCompleteSift config = new ConfigCompleteSift(-1,4,300);
+
+		CompleteSift expected = new CompleteSift(CompleteSift_MT.createScaleSpace(config.scaleSpace),
+				config.detector.edgeR, CompleteSift_MT.createNonMax(config),
+				CompleteSift_MT.createOrientation(config.orientation),
+				CompleteSift_MT.createDescribe(config.describe));
+		final CompleteSift_MT alg = new CompleteSift_MT(config);
+
+		expected.process(blurred);
+
+		// process it twice to make sure it can be reused
+		for (int trial = 0; trial < 2; trial++) {
+			BoofConcurrency.invoke(pool, new Runnable() {
+				@Override
+				public void run() {
+					alg.process(blurred);
+				}
+			});
+
+			assertTrue(expected.getLocations().size > 10);
+			assertEquals(expected.getDetections().size, alg.getDetections().size);
+			assertEquals(expected.getLocations().size, alg.getLocations().size);
+			assertEquals(expected.getDescriptions().size, alg.getDescriptions().size);
+			assertEquals(expected.getOrientations().size, alg.getOrientations().size);
+
+			for (int i = 0; i < expected.getDetections().size; i++) {
+				assertEqualsPoint(expected.getDetections().get(i), alg.getDetections().get(i));
+			}
+
+			for (int i = 0; i < expected.getLocations().size; i++) {
+				assertEqualsPoint(expected.getLocations().get(i), alg.getLocations().get(i));
+				assertEquals(expected.getOrientations().get(i), alg.getOrientations().get(i), 0);
+
+				BrightFeature a = expected.getDescriptions().get(i);
+				BrightFeature b = alg.getDescriptions().get(i);
+				assertEquals(a.white, b.white);
+				assertArrayEquals(a.value, b.value, 0);
+			}
+		}
+	}
+
+	private static void assertEqualsPoint( ScalePoint a , ScalePoint b ) {
+		assertEquals(a.x, b.x, 0);
+		assertEquals(a.y, b.y, 0);
+		assertEquals(a.scale, b.scale, 0);
+		assertEquals(a.white, b.white);
+	}
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.detect.interest;
+
+import boofcv.abst.feature.detect.extract.ConfigExtract;
+import boofcv.alg.filter.blur.BlurImageOps;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.alg.transform.ii.IntegralImageOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.factory.feature.detect.extract.FactoryFeatureExtractor;
+import boofcv.struct.feature.ScalePoint;
+import boofcv.struct.image.GrayF32;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestFastHessianFeatureDetector_MT extends GenericFeatureDetectorTests {
+
+	ForkJoinPool pool = new ForkJoinPool(4);
+
+	public TestFastHessianFeatureDetector_MT() {
+		this.scaleTolerance = 0.3;
+	}
+
+	@Override
+	protected Object createDetector( int maxFeatures ) {
+		return new FastHessianFeatureDetector_MT(new ConfigExtract(1, 1, 5, true),maxFeatures, 1, 9,4,4, 6);
+	}
+
+	@SuppressWarnings({"unchecked"})
+	@Override
+	protected int detectFeature(GrayF32 input, Object detector) {
+		FastHessianFeatureDetector<GrayF32> alg = (FastHessianFeatureDetector<GrayF32>)detector;
+		GrayF32 integral = IntegralImageOps.transform(input,null);
+		alg.detect(integral);
+
+		return alg.getFoundPoints().size();
+	}
+
+	/**
+	 * Found features should be identical to the single threaded version, including their order
+	 */
+	@Test
+	public void compareToSingleThread() {
+		GrayF32 input = new GrayF32(200,180);
+		ImageMiscOps.fillUniform(input,new Random(234),0,200);
+		input = BlurImageOps.gaussian(input,null,-1,2,null);
+		final GrayF32 integral = IntegralImageOps.transform(input,null);
+
+		for( int maxFeatures : new int[]{-1,20} ) {
+			ConfigExtract config = new ConfigExtract(2, 1, 5, true);
+			FastHessianFeatureDetector<GrayF32> expected = new FastHessianFeatureDetector<>(
+					FactoryFeatureExtractor.nonmax(config), maxFeatures, 1, 9, 4, 4, 6);
+			final FastHessianFeatureDetector_MT<GrayF32> alg = new FastHessianFeatureDetector_MT<>(
+					config, maxFeatures, 1, 9, 4, 4, 6);
+
+			expected.detect(integral);
+			// call it twice to make sure it handles being reused
+			for( int trial = 0; trial < 2; trial++ ) {
+				BoofConcurrency.invoke(pool, new Runnable() {
+					@Override
+					public void run() {
+						alg.detect(integral);
+					}
+				});
+
+				List<ScalePoint> listA = expected.getFoundPoints();
+				List<ScalePoint> listB = alg.getFoundPoints();
+
+				assertTrue(listA.size() > 10);
+				assertEquals(listA.size(), listB.size());
+				for( int i = 0; i < listA.size(); i++ ) {
+					ScalePoint a = listA.get(i);
+					ScalePoint b = listB.get(i);
+					assertEquals(a.x, b.x, 0);
+					assertEquals(a.y, b.y, 0);
+					assertEquals(a.scale, b.scale, 0);
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.disparity;
+
+import boofcv.alg.feature.disparity.impl.*;
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.core.image.GeneralizedImageOps;
+import boofcv.struct.image.*;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestDisparityScoreRowFormat_MT {
+
+	Random rand = new Random(234);
+	ForkJoinPool pool = new ForkJoinPool(4);
+
+	int width = 40, height = 61;
+
+	/**
+	 * Output should be identical to the single threaded algorithm, except for round off error with floating
+	 * point sub-pixel disparity
+	 */
+	@Test
+	public void compareToSingleThread() {
+		for( int radiusY : new int[]{1,2} ) {
+			compare(new ImplDisparityScoreSadRect_U8<>(2,10,2,radiusY,new ImplSelectRectStandard_S32_U8(-1,2,0.1)));
+			compare(new ImplDisparityScoreSadRect_S16<>(2,10,2,radiusY,new ImplSelectRectBasicWta_S32_U8()));
+			compare(new ImplDisparityScoreSadRect_F32<>(2,10,2,radiusY,new SelectRectSubpixel.F32_F32(-1,2,0.1)));
+			compare(new ImplDisparityScoreSadRectFive_U8<>(2,10,2,radiusY,new SelectRectSubpixel.S32_F32(-1,2,0.1)));
+			compare(new ImplDisparityScoreSadRectFive_S16<>(2,10,2,radiusY,new ImplSelectRectStandard_S32_U8(-1,2,0.1)));
+			compare(new ImplDisparityScoreSadRectFive_F32<>(2,10,2,radiusY,new ImplSelectRectStandard_F32_U8(-1,2,0.1)));
+		}
+	}
+
+	private <I extends ImageGray<I>, DI extends ImageGray<DI>>
+	void compare( DisparityScoreRowFormat<I,DI> alg ) {
+		final I left = GeneralizedImageOps.createSingleBand(alg.getInputType(), width, height);
+		final I right = GeneralizedImageOps.createSingleBand(alg.getInputType(), width, height);
+		GImageMiscOps.fillUniform(left, rand, 0, 30);
+		GImageMiscOps.fillUniform(right, rand, 0, 30);
+
+		DI expected = GeneralizedImageOps.createSingleBand(alg.getDisparityType(), width, height);
+		final DI found = GeneralizedImageOps.createSingleBand(alg.getDisparityType(), width, height);
+
+		final DisparityScoreRowFormat_MT<I,DI> algMT = new DisparityScoreRowFormat_MT<>(alg);
+
+		alg.process(left, right, expected);
+		BoofConcurrency.invoke(pool, new Runnable() {
+			@Override
+			public void run() {
+				algMT.process(left, right, found);
+			}
+		});
+
+		double tol = expected.getDataType().isInteger() ? 0 : 1e-4;
+		BoofTesting.assertEquals(expected, found, tol);
+	}
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.disparity.impl;
+
+import boofcv.abst.filter.FilterImageInterface;
+import boofcv.alg.feature.disparity.DisparityScoreCensusRect;
+import boofcv.alg.feature.disparity.DisparitySelect;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.core.image.GeneralizedImageOps;
+import boofcv.factory.transform.census.CensusVariants;
+import boofcv.factory.transform.census.FactoryCensusTransform;
+import boofcv.struct.image.*;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Peter Abeles
+ */
+public abstract class ChecksImplDisparityScoreCensusRect<C extends ImageGray<C>> {
+
+	Random rand = new Random(234);
+
+	DisparitySelect compDisp = new ImplSelectRectBasicWta_S32_U8();
+	CensusVariants variant;
+	Class<C> censusType;
+
+	public ChecksImplDisparityScoreCensusRect( CensusVariants variant ) {
+		this.variant = variant;
+		this.censusType = (Class)variant.getOutputType();
+	}
+
+	protected abstract DisparityScoreCensusRect<C, GrayU8>
+	createAlg( int minDisparity , int maxDisparity , int radiusX, int radiusY, DisparitySelect compDisp);
+
+	/**
+	 * The right image is the left image shifted by a known amount.  See if the disparity is found
+	 */
+	@Test
+	public void shiftedImage() {
+		int w = 40, h = 30;
+		int disparity = 4;
+
+		GrayU8 left = new GrayU8(w,h);
+		GrayU8 right = new GrayU8(w,h);
+		ImageMiscOps.fillUniform(left, rand, 0, 255);
+		for( int y = 0; y < h; y++ ) {
+			for( int x = 0; x < w-disparity; x++ ) {
+				right.set(x,y,left.get(x+disparity,y));
+			}
+		}
+
+		FilterImageInterface<GrayU8,C> census = FactoryCensusTransform.variant(variant, GrayU8.class);
+		C cleft = census.getOutputType().createImage(w,h);
+		C cright = census.getOutputType().createImage(w,h);
+		census.process(left,cleft);
+		census.process(right,cright);
+
+		int radius = variant.getRadius();
+		DisparityScoreCensusRect<C,GrayU8> alg = createAlg(0,10,2,2,compDisp);
+		GrayU8 found = new GrayU8(w,h);
+		alg.process(cleft,cright,found);
+
+		// skip pixels influenced by the extended image border
+		for( int y = 2+radius; y < h-2-radius; y++ ) {
+			for( int x = 2+disparity+radius; x < w-2-radius-disparity; x++ ) {
+				assertEquals(disparity, found.get(x,y));
+			}
+		}
+	}
+
+	/**
+	 * Compare to a simplistic implementation which uses the Hamming distance
+	 */
+	@Test
+	public void compareToNaive() {
+		int w = 20, h = 25;
+		C left = GeneralizedImageOps.createSingleBand(censusType,w, h);
+		C right = GeneralizedImageOps.createSingleBand(censusType,w, h);
+
+		fillRandom(left);
+		fillRandom(right);
+
+		int radiusX = 3;
+		int radiusY = 2;
+
+		compareToNaive(left, right, 0, 10, radiusX, radiusY);
+		compareToNaive(left, right, 4, 10, radiusX, radiusY);
+	}
+
+	private void fillRandom( C image ) {
+		for( int y = 0; y < image.height; y++ ) {
+			for( int x = 0; x < image.width; x++ ) {
+				if( image instanceof GrayU8 ) {
+					((GrayU8)image).set(x,y,rand.nextInt(256));
+				} else if( image instanceof GrayS32 ) {
+					((GrayS32)image).set(x,y,rand.nextInt(1 << 24));
+				} else {
+					((GrayS64)image).set(x,y,rand.nextLong() & 0xFFFFFFFFFFFFL);
+				}
+			}
+		}
+	}
+
+	private void compareToNaive(C left, C right,
+								int minDisparity, int maxDisparity,
+								int radiusX, int radiusY)
+	{
+		int w = left.width;
+		int h = left.height;
+
+		DisparityScoreCensusRect<C, GrayU8> alg = createAlg(minDisparity,maxDisparity,radiusX,radiusY,compDisp);
+		StereoDisparityWtoNaive<C> naive =
+				new StereoDisparityWtoNaive<C>(minDisparity, maxDisparity, radiusX, radiusY) {
+					@Override
+					protected double computeScore(int leftX, int rightX, int centerY) {
+						double ret = 0;
+						for( int y = -radiusY; y <= radiusY; y++ ) {
+							for( int x = -radiusX; x <= radiusX; x++ ) {
+								ret += Long.bitCount(get(imageLeft,leftX+x,centerY+y)^get(imageRight,rightX+x,centerY+y));
+							}
+						}
+						return ret;
+					}
+				};
+
+		GrayU8 found = new GrayU8(w,h);
+		GrayF32 expected = new GrayF32(w,h);
+
+		alg.process(left,right,found);
+		naive.process(left,right,expected);
+
+		BoofTesting.assertEquals(found, expected, 1);
+	}
+
+	private static long get( ImageGray image , int x , int y ) {
+		if( image instanceof GrayS64 )
+			return ((GrayS64)image).get(x,y);
+		return ((GrayI)image).get(x,y);
+	}
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.disparity.impl;
+
+import boofcv.alg.feature.disparity.DisparityScoreCensusRect;
+import boofcv.alg.feature.disparity.DisparitySelect;
+import boofcv.factory.transform.census.CensusVariants;
+import boofcv.struct.image.GrayU8;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestImplDisparityScoreCensusRect_U8 extends ChecksImplDisparityScoreCensusRect<GrayU8> {
+
+	public TestImplDisparityScoreCensusRect_U8() {
+		super(CensusVariants.BLOCK_3_3);
+	}
+
+	@Override
+	protected DisparityScoreCensusRect<GrayU8, GrayU8>
+	createAlg(int minDisparity, int maxDisparity, int radiusX, int radiusY, DisparitySelect compDisp) {
+		return new ImplDisparityScoreCensusRect_U8<>(minDisparity,maxDisparity,radiusX,radiusY,compDisp);
+	}
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.disparity.sgm;
+
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.struct.image.GrayU8;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestSgmCostAbsoluteDifference_U8 {
+
+	Random rand = new Random(234);
+
+	@Test
+	public void compareToNaive() {
+		int width = 20, height = 15;
+		int minDisparity = 2, maxDisparity = 9;
+		int rangeDisparity = maxDisparity-minDisparity;
+		GrayU8 left = new GrayU8(width,height);
+		GrayU8 right = new GrayU8(width,height);
+		ImageMiscOps.fillUniform(left, rand, 0, 255);
+		ImageMiscOps.fillUniform(right, rand, 0, 255);
+
+		SgmCostAbsoluteDifference_U8 alg = new SgmCostAbsoluteDifference_U8();
+		int row0 = 3, row1 = 10;
+		short cost[] = new short[width*(row1-row0)*rangeDisparity];
+		alg.process(left, right, row0, row1, minDisparity, maxDisparity, cost);
+
+		for( int y = row0; y < row1; y++ ) {
+			for( int x = 0; x < width; x++ ) {
+				for( int d = minDisparity; d < maxDisparity; d++ ) {
+					int expected = d > x ? alg.getMaxCost() : Math.abs(left.get(x,y)-right.get(x-d,y));
+					int index = ((y-row0)*width + x)*rangeDisparity + d-minDisparity;
+					assertEquals(expected, cost[index]);
+				}
+			}
+		}
+	}
+}
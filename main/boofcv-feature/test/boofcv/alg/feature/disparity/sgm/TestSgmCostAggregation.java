@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.disparity.sgm;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestSgmCostAggregation {
+
+	Random rand = new Random(234);
+
+	int width = 15, height = 12, rangeDisparity = 6;
+
+	@Test
+	public void compareToNaive() {
+		short cost[] = randomCost();
+		for( int paths : new int[]{4,8}) {
+			SgmCostAggregation alg = new SgmCostAggregation(3,20,paths);
+			short found[] = new short[cost.length];
+			alg.process(cost, width, height, rangeDisparity, found);
+
+			int expected[] = naive(cost, 3, 20, paths);
+			for( int i = 0; i < cost.length; i++ ) {
+				assertEquals(expected[i], found[i]);
+			}
+		}
+	}
+
+	/**
+	 * If the penalties are zero then the aggregated cost is the cost summed along each path minus the min
+	 */
+	@Test
+	public void constantCost() {
+		short cost[] = new short[width*height*rangeDisparity];
+		for( int i = 0; i < cost.length; i++ ) {
+			cost[i] = 5;
+		}
+		SgmCostAggregation alg = new SgmCostAggregation(2,10,4);
+		short found[] = new short[cost.length];
+		alg.process(cost, width, height, rangeDisparity, found);
+
+		// every path adds the same cost at each pixel since there's no change in disparity
+		for( int i = 0; i < cost.length; i++ ) {
+			assertEquals(4*5, found[i]);
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void badNumberOfPaths() {
+		new SgmCostAggregation(2,10,6);
+	}
+
+	short[] randomCost() {
+		short cost[] = new short[width*height*rangeDisparity];
+		for( int i = 0; i < cost.length; i++ ) {
+			cost[i] = (short)rand.nextInt(30);
+		}
+		return cost;
+	}
+
+	/**
+	 * Brute force implementation which directly applies the equation to every pixel by tracing the path backwards
+	 */
+	int[] naive( short cost[] , int P1 , int P2 , int paths ) {
+		int sum[] = new int[cost.length];
+		for( int i = 0; i < paths; i++ ) {
+			int dx = SgmCostAggregation.DIRECTIONS[i][0];
+			int dy = SgmCostAggregation.DIRECTIONS[i][1];
+
+			for( int y = 0; y < height; y++ ) {
+				for( int x = 0; x < width; x++ ) {
+					int L[] = pathCost(cost,x,y,dx,dy,P1,P2);
+					for( int d = 0; d < rangeDisparity; d++ ) {
+						sum[(y*width+x)*rangeDisparity+d] += L[d];
+					}
+				}
+			}
+		}
+		return sum;
+	}
+
+	int[] pathCost( short cost[] , int x , int y , int dx , int dy , int P1 , int P2 ) {
+		int index = (y*width+x)*rangeDisparity;
+		int L[] = new int[rangeDisparity];
+		int px = x-dx, py = y-dy;
+		if( px < 0 || px >= width || py < 0 || py >= height ) {
+			for( int d = 0; d < rangeDisparity; d++ )
+				L[d] = cost[index+d];
+			return L;
+		}
+
+		int prev[] = pathCost(cost,px,py,dx,dy,P1,P2);
+		int minPrev = Integer.MAX_VALUE;
+		for( int d = 0; d < rangeDisparity; d++ )
+			minPrev = Math.min(minPrev,prev[d]);
+
+		for( int d = 0; d < rangeDisparity; d++ ) {
+			int best = prev[d];
+			for( int k = 0; k < rangeDisparity; k++ ) {
+				int penalty = Math.abs(k-d) == 1 ? P1 : (k == d ? 0 : P2);
+				best = Math.min(best, prev[k]+penalty);
+			}
+			L[d] = cost[index+d] + best - minPrev;
+		}
+		return L;
+	}
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.disparity.sgm;
+
+import boofcv.concurrency.BoofConcurrency;
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestSgmCostAggregation_MT {
+
+	Random rand = new Random(234);
+
+	@Test
+	public void compareToSingleThread() {
+		final int width = 60, height = 45, rangeDisparity = 10;
+		final short cost[] = new short[width*height*rangeDisparity];
+		for( int i = 0; i < cost.length; i++ ) {
+			cost[i] = (short)rand.nextInt(30);
+		}
+
+		for( final int paths : new int[]{4,8}) {
+			final short expected[] = new short[cost.length];
+			final short found[] = new short[cost.length];
+
+			new SgmCostAggregation(3,20,paths).process(cost, width, height, rangeDisparity, expected);
+
+			BoofConcurrency.invoke(new ForkJoinPool(4), new Runnable() {
+				@Override
+				public void run() {
+					new SgmCostAggregation_MT(3,20,paths).process(cost, width, height, rangeDisparity, found);
+				}
+			});
+
+			for( int i = 0; i < cost.length; i++ ) {
+				assertEquals(expected[i], found[i]);
+			}
+		}
+	}
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.disparity.sgm;
+
+import boofcv.alg.feature.disparity.DisparitySelect;
+import boofcv.alg.feature.disparity.impl.ImplSelectRectBasicWta_S32_U8;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.struct.image.GrayU8;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestSgmStereoDisparity {
+
+	Random rand = new Random(234);
+
+	int width = 50, height = 40;
+	int disparity = 5;
+
+	GrayU8 left = new GrayU8(width,height);
+	GrayU8 right = new GrayU8(width,height);
+
+	public TestSgmStereoDisparity() {
+		ImageMiscOps.fillUniform(left, rand, 0, 255);
+		for( int y = 0; y < height; y++ ) {
+			for( int x = 0; x < width-disparity; x++ ) {
+				right.set(x,y,left.get(x+disparity,y));
+			}
+		}
+	}
+
+	/**
+	 * The right image is the left image shifted by a known amount
+	 */
+	@Test
+	public void shiftedImage() {
+		for( int minDisparity : new int[]{0,2}) {
+			SgmStereoDisparity<GrayU8,GrayU8> alg = createAlg(minDisparity,15);
+			GrayU8 found = new GrayU8(width,height);
+			alg.process(left,right,found);
+
+			checkDisparity(found, disparity-minDisparity);
+		}
+	}
+
+	/**
+	 * When the tile is larger than the image the results should be identical.  When smaller and with
+	 * a large overlap the disparity should still be found
+	 */
+	@Test
+	public void tiles() {
+		SgmStereoDisparity<GrayU8,GrayU8> alg = createAlg(0,15);
+		GrayU8 expected = new GrayU8(width,height);
+		alg.process(left,right,expected);
+
+		GrayU8 found = new GrayU8(width,height);
+		alg.setTileHeight(height+5);
+		alg.process(left,right,found);
+		BoofTesting.assertEquals(expected, found, 0);
+
+		// fresh instance so that the memory used can be checked
+		alg = createAlg(0,15);
+		ImageMiscOps.fill(found, 0);
+		alg.setTileHeight(7);
+		alg.setTileOverlap(10);
+		alg.process(left,right,found);
+		checkDisparity(found, disparity);
+
+		// memory should be bounded by the tile
+		assertTrue(alg.cost.length <= width*(7+2*10)*15);
+	}
+
+	/**
+	 * With the default settings the memory used should not grow with the image's height
+	 */
+	@Test
+	public void defaultMemoryBounded() {
+		int width = 30, height = 500;
+		GrayU8 left = new GrayU8(width,height);
+		GrayU8 right = new GrayU8(width,height);
+		ImageMiscOps.fillUniform(left, rand, 0, 255);
+		ImageMiscOps.fillUniform(right, rand, 0, 255);
+
+		SgmStereoDisparity<GrayU8,GrayU8> alg = createAlg(0,15);
+		alg.process(left,right,new GrayU8(width,height));
+
+		int maxRows = alg.getTileHeight() + 2*alg.getTileOverlap();
+		assertTrue(maxRows < height);
+		assertTrue(alg.cost.length <= width*maxRows*15);
+		assertTrue(alg.aggregated.length <= width*maxRows*15);
+	}
+
+	/**
+	 * The copy should have the same configuration and use the same type of aggregation
+	 */
+	@Test
+	public void concurrentCopy() {
+		SgmStereoDisparity<GrayU8,GrayU8> alg = new SgmStereoDisparity<>(2,15,new SgmCostAbsoluteDifference_U8(),
+				new SgmCostAggregation_MT(10,120,4),new ImplSelectRectBasicWta_S32_U8());
+		alg.setTileHeight(20);
+		alg.setTileOverlap(5);
+
+		SgmStereoDisparity<GrayU8,GrayU8> found = alg.concurrentCopy();
+
+		assertSame(SgmCostAggregation_MT.class, found.aggregation.getClass());
+		assertNotSame(alg.aggregation, found.aggregation);
+		assertEquals(10, found.aggregation.getPenalty1());
+		assertEquals(120, found.aggregation.getPenalty2());
+		assertEquals(4, found.aggregation.getPathsConsidered());
+		assertEquals(20, found.getTileHeight());
+		assertEquals(5, found.getTileOverlap());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void penaltyTooLarge() {
+		new SgmStereoDisparity<>(0,10,new SgmCostAbsoluteDifference_U8(),
+				new SgmCostAggregation(10,5000,8),new ImplSelectRectBasicWta_S32_U8());
+	}
+
+	/**
+	 * Pixels next to the left border can't be matched and can pull a few of their neighbors away from the
+	 * correct solution
+	 */
+	private void checkDisparity( GrayU8 found , int expected ) {
+		int total = 0;
+		int wrong = 0;
+		for( int y = 0; y < height; y++ ) {
+			for( int x = disparity; x < width-disparity; x++ , total++ ) {
+				if( found.get(x,y) != expected )
+					wrong++;
+			}
+		}
+		assertTrue(wrong <= total*0.01);
+	}
+
+	private SgmStereoDisparity<GrayU8,GrayU8> createAlg( int minDisparity , int maxDisparity ) {
+		DisparitySelect<int[],GrayU8> select = new ImplSelectRectBasicWta_S32_U8();
+		return new SgmStereoDisparity<>(minDisparity,maxDisparity,new SgmCostAbsoluteDifference_U8(),
+				new SgmCostAggregation(10,120,8),select);
+	}
+}
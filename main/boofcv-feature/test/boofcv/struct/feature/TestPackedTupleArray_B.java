@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.struct.feature;
+
+import org.ddogleg.struct.FastQueue;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestPackedTupleArray_B {
+
+	Random rand = new Random(234);
+
+	@Test
+	public void setTo() {
+		// odd number of ints to test padding
+		FastQueue<TupleDesc_B> list = new FastQueue<TupleDesc_B>(10,TupleDesc_B.class, true) {
+			@Override
+			protected TupleDesc_B createInstance() {
+				return new TupleDesc_B(32*3);
+			}
+		};
+		for( int i = 0; i < 5; i++ ) {
+			TupleDesc_B d = list.grow();
+			for( int j = 0; j < d.data.length; j++ ) {
+				d.data[j] = rand.nextInt();
+			}
+		}
+
+		PackedTupleArray_B alg = new PackedTupleArray_B();
+		alg.setTo(list, PackedTupleArray_B.maxInts(list));
+
+		assertEquals(5, alg.size);
+		assertEquals(2, alg.wordsPerDesc);
+
+		for( int i = 0; i < list.size; i++ ) {
+			TupleDesc_B d = list.get(i);
+			for( int bit = 0; bit < 128; bit++ ) {
+				long word = alg.data[alg.indexOf(i)+bit/64];
+				boolean found = ((word >> (bit%64)) & 1) == 1;
+				boolean expected = bit < d.numBits && d.isBitTrue(bit);
+				assertEquals(expected, found);
+			}
+		}
+	}
+}
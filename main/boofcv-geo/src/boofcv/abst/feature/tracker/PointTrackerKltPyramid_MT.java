@@ -0,0 +1,203 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.abst.feature.tracker;
+
+import boofcv.abst.filter.derivative.ImageGradient;
+import boofcv.alg.feature.detect.interest.GeneralFeatureDetector;
+import boofcv.alg.interpolate.InterpolateRectangle;
+import boofcv.alg.tracker.klt.*;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeWorkTask;
+import boofcv.struct.image.ImageGray;
+import boofcv.struct.pyramid.PyramidDiscrete;
+import org.ddogleg.struct.FastQueue;
+import org.ddogleg.struct.GrowQueue_B;
+
+/**
+ * Concurrent implementation of {@link PointTrackerKltPyramid}.  Active tracks are split into contiguous blocks
+ * and each block is tracked by a thread with its own {@link PyramidKltTracker}.  The gradient of large pyramid layers
+ * is computed one layer at a time by a gradient which splits the image into bands of rows, e.g. a gradient created
+ * by {@link boofcv.factory.filter.derivative.FactoryDerivative} with concurrency turned on.  Small layers don't have
+ * enough rows to be worth splitting, so each is given to a different thread instead.  Tracks are dropped after all
+ * the threads have finished, so the order of active and dropped tracks is identical to the single threaded version.
+ *
+ * @author Peter Abeles
+ */
+public class PointTrackerKltPyramid_MT<I extends ImageGray<I>,D extends ImageGray<D>>
+		extends PointTrackerKltPyramid<I,D>
+{
+	// the smallest number of tracks which will be given to a single thread
+	private static final int MIN_BLOCK = 20;
+	// layers with at least this many pixels have their gradient computed one at a time using row bands
+	private static final int LARGE_LAYER_PIXELS = 200*200;
+
+	// trackers and gradient for each thread
+	private FastQueue<TrackerWork<I,D>> workspace;
+
+	// true if the track at the same index in the active list was successfully tracked
+	private GrowQueue_B success = new GrowQueue_B();
+
+	private IntRangeWorkTask<TrackerWork<I,D>> taskGradient = new IntRangeWorkTask<TrackerWork<I,D>>() {
+		@Override
+		public void process(TrackerWork<I,D> work, int idx0, int idx1) {
+			for( int i = idx0; i < idx1; i++ ) {
+				work.gradient.process(basePyramid.getLayer(i), derivX[i], derivY[i]);
+			}
+		}
+	};
+
+	private IntRangeWorkTask<TrackerWork<I,D>> taskTrack = new IntRangeWorkTask<TrackerWork<I,D>>() {
+		@Override
+		public void process(TrackerWork<I,D> work, int idx0, int idx1) {
+			work.tracker.setImage(basePyramid,derivX,derivY);
+			for( int i = idx0; i < idx1; i++ ) {
+				success.data[i] = trackFeature(work.tracker, active.get(i));
+			}
+		}
+	};
+
+	/**
+	 * Configures the tracker
+	 *
+	 * @param config KLT tracker configuration
+	 * @param templateRadius Radius of square templates that are tracked
+	 * @param pyramid The image pyramid which KLT is tracking inside of
+	 * @param detector Feature detector.   If null then no feature detector will be available and spawn won't work.
+	 * @param factory Creates the gradient and interpolation algorithms for each thread
+	 * @param derivType Type of image the gradient is
+	 */
+	public PointTrackerKltPyramid_MT(final KltConfig config,
+									 int templateRadius ,
+									 PyramidDiscrete<I> pyramid,
+									 GeneralFeatureDetector<I, D> detector,
+									 final Factory<I,D> factory,
+									 Class<D> derivType ) {
+		super(config, templateRadius, pyramid, detector, factory.createGradient(),
+				factory.createInterpolateInput(), factory.createInterpolateDeriv(), derivType);
+
+		workspace = new FastQueue<TrackerWork<I,D>>(1,(Class)TrackerWork.class,true) {
+			@Override
+			protected TrackerWork<I,D> createInstance() {
+				KltTracker<I, D> klt = new KltTracker<>(
+						factory.createInterpolateInput(), factory.createInterpolateDeriv(), config);
+				return new TrackerWork<>(new PyramidKltTracker<>(klt), factory.createGradient());
+			}
+		};
+	}
+
+	@Override
+	public void process(I image) {
+		this.input = image;
+
+		spawned.clear();
+		dropped.clear();
+
+		// update image pyramids
+		basePyramid.process(image);
+		declareOutput();
+		computeGradient();
+
+		// the tracker is used when spawning tracks
+		tracker.setImage(basePyramid,derivX,derivY);
+
+		// track features
+		success.resize(active.size());
+		BoofConcurrency.loopBlocks(0, active.size(), MIN_BLOCK, workspace, taskTrack);
+
+		// remove dropped tracks while preserving the order
+		int count = 0;
+		for( int i = 0; i < active.size(); i++ ) {
+			PyramidKltFeature t = active.get(i);
+			if( success.data[i] ) {
+				active.set(count++, t);
+			} else {
+				dropped.add( t );
+				unused.add( t );
+			}
+		}
+		while( active.size() > count ) {
+			active.remove(active.size() - 1);
+		}
+	}
+
+	/**
+	 * Computes the gradient of each layer in the pyramid.  Large layers are processed by the row band gradient
+	 * and the remaining small layers are processed concurrently, one thread per layer.
+	 */
+	private void computeGradient() {
+		int numLayers = basePyramid.getNumLayers();
+		int numLarge = 0;
+		while( numLarge < numLayers ) {
+			I layer = basePyramid.getLayer(numLarge);
+			if( layer.width*layer.height < LARGE_LAYER_PIXELS )
+				break;
+			gradient.process(layer, derivX[numLarge], derivY[numLarge]);
+			numLarge++;
+		}
+
+		BoofConcurrency.loopBlocks(numLarge, numLayers, 1, workspace, taskGradient);
+	}
+
+	/**
+	 * Tracks a single feature and updates its description
+	 *
+	 * @return true if successful or false if the track should be dropped
+	 */
+	private boolean trackFeature( PyramidKltTracker<I, D> tracker , PyramidKltFeature t ) {
+		KltTrackFault ret = tracker.track(t);
+
+		if( ret == KltTrackFault.SUCCESS ) {
+			// discard a track if its center drifts outside the image.
+			if( input.isInBounds((int)t.x,(int)t.y) && tracker.setDescription(t) ) {
+				PointTrack p = t.getCookie();
+				p.set(t.x,t.y);
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Creates new instances of the algorithms which can't be shared between threads
+	 */
+	public interface Factory<I extends ImageGray<I>,D extends ImageGray<D>> {
+		/**
+		 * Creates the image gradient.  The first instance is used on large layers and should split the image into
+		 * row bands when concurrency is turned on.
+		 */
+		ImageGradient<I,D> createGradient();
+
+		InterpolateRectangle<I> createInterpolateInput();
+
+		InterpolateRectangle<D> createInterpolateDeriv();
+	}
+
+	/**
+	 * Algorithms used by a single thread
+	 */
+	private static class TrackerWork<I extends ImageGray<I>,D extends ImageGray<D>> {
+		PyramidKltTracker<I, D> tracker;
+		ImageGradient<I, D> gradient;
+
+		TrackerWork(PyramidKltTracker<I, D> tracker, ImageGradient<I, D> gradient) {
+			this.tracker = tracker;
+			this.gradient = gradient;
+		}
+	}
+}
@@ -50,6 +50,7 @@ import boofcv.alg.interpolate.InterpolateRectangle;
 import boofcv.alg.tracker.combined.CombinedTrackerScalePoint;
 import boofcv.alg.tracker.klt.PkltConfig;
 import boofcv.alg.transform.ii.GIntegralImageOps;
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.factory.feature.associate.FactoryAssociation;
 import boofcv.factory.feature.describe.FactoryDescribePointAlgs;
 import boofcv.factory.feature.describe.FactoryDescribeRegionPoint;
@@ -107,7 +108,8 @@ public class FactoryPointTracker {
 	}
 
 	/**
-	 * Pyramid KLT feature tracker.
+	 * Pyramid KLT feature tracker.  If {@link BoofConcurrency#isUseConcurrent()} is true then
+	 * {@link PointTrackerKltPyramid_MT} is used.
 	 *
 	 * @see boofcv.alg.tracker.klt.PyramidKltTracker
 	 *
@@ -132,13 +134,35 @@ public class FactoryPointTracker {
 
 		GeneralFeatureDetector<I, D> detector = createShiTomasi(configExtract, derivType);
 
+		PyramidDiscrete<I> pyramid = FactoryPyramid.discreteGaussian(config.pyramidScaling,-1,2,true, ImageType.single(imageType));
+
+		if( BoofConcurrency.isUseConcurrent() ) {
+			final Class<I> _imageType = imageType;
+			final Class<D> _derivType = derivType;
+			return new PointTrackerKltPyramid_MT<>(config.config, config.templateRadius, pyramid, detector,
+					new PointTrackerKltPyramid_MT.Factory<I, D>() {
+						@Override
+						public ImageGradient<I, D> createGradient() {
+							return FactoryDerivative.sobel(_imageType, _derivType);
+						}
+
+						@Override
+						public InterpolateRectangle<I> createInterpolateInput() {
+							return FactoryInterpolation.bilinearRectangle(_imageType);
+						}
+
+						@Override
+						public InterpolateRectangle<D> createInterpolateDeriv() {
+							return FactoryInterpolation.bilinearRectangle(_derivType);
+						}
+					}, derivType);
+		}
+
 		InterpolateRectangle<I> interpInput = FactoryInterpolation.<I>bilinearRectangle(imageType);
 		InterpolateRectangle<D> interpDeriv = FactoryInterpolation.<D>bilinearRectangle(derivType);
 
 		ImageGradient<I,D> gradient = FactoryDerivative.sobel(imageType, derivType);
 
-		PyramidDiscrete<I> pyramid = FactoryPyramid.discreteGaussian(config.pyramidScaling,-1,2,true, ImageType.single(imageType));
-
 		return new PointTrackerKltPyramid<>(config.config, config.templateRadius, pyramid, detector,
 				gradient, interpInput, interpDeriv, derivType);
 	}
@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.abst.feature.tracker;
+
+import boofcv.abst.feature.detect.interest.ConfigGeneralDetector;
+import boofcv.abst.filter.derivative.ImageGradient;
+import boofcv.alg.interpolate.InterpolateRectangle;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.alg.tracker.klt.PkltConfig;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.factory.feature.tracker.FactoryPointTracker;
+import boofcv.factory.filter.derivative.FactoryDerivative;
+import boofcv.factory.interpolate.FactoryInterpolation;
+import boofcv.factory.transform.pyramid.FactoryPyramid;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.ImageType;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestPointTrackerKltPyramid_MT extends StandardPointTracker<GrayF32> {
+
+	public TestPointTrackerKltPyramid_MT() {
+		super(false, true);
+	}
+
+	@Override
+	public PointTracker<GrayF32> createTracker() {
+		PkltConfig config = new PkltConfig();
+
+		return new PointTrackerKltPyramid_MT<>(config.config, config.templateRadius,
+				FactoryPyramid.discreteGaussian(config.pyramidScaling,-1,2,true, ImageType.single(GrayF32.class)),
+				FactoryPointTracker.createShiTomasi(new ConfigGeneralDetector(200, 3, 1000, 0, true), GrayF32.class),
+				new PointTrackerKltPyramid_MT.Factory<GrayF32, GrayF32>() {
+					@Override
+					public ImageGradient<GrayF32, GrayF32> createGradient() {
+						return FactoryDerivative.sobel(GrayF32.class, GrayF32.class);
+					}
+
+					@Override
+					public InterpolateRectangle<GrayF32> createInterpolateInput() {
+						return FactoryInterpolation.bilinearRectangle(GrayF32.class);
+					}
+
+					@Override
+					public InterpolateRectangle<GrayF32> createInterpolateDeriv() {
+						return FactoryInterpolation.bilinearRectangle(GrayF32.class);
+					}
+				}, GrayF32.class);
+	}
+
+	/**
+	 * Tracks and the order of tracks should be identical to the single threaded version
+	 */
+	@Test
+	public void compareToSequential() {
+		compareToSequential(image);
+	}
+
+	/**
+	 * The image is large enough that the gradient of some layers is computed using row bands
+	 */
+	@Test
+	public void compareToSequential_largeImage() {
+		GrayF32 large = new GrayF32(400,300);
+		ImageMiscOps.fillUniform(large, rand, 0, 100);
+		compareToSequential(large);
+	}
+
+	private void compareToSequential( final GrayF32 image1 ) {
+		int width = image1.width, height = image1.height;
+
+		// second image is shifted and part of it is blank, causing some tracks to be dropped
+		final GrayF32 image2 = new GrayF32(width,height);
+		ImageMiscOps.copy(0,0,1,2,width-1,height-2,image1,image2);
+		ImageMiscOps.fillRectangle(image2,0,0,0,30,height);
+
+		PkltConfig config = new PkltConfig();
+		PointTracker<GrayF32> expected = FactoryPointTracker.klt(config,
+				new ConfigGeneralDetector(200, 3, 1000, 0, true), GrayF32.class, GrayF32.class);
+
+		expected.process(image1);
+		expected.spawnTracks();
+		expected.process(image2);
+
+		// the gradient created with concurrency turned on splits the image into row bands
+		final PointTracker<GrayF32> alg;
+		BoofConcurrency.setUseConcurrent(true);
+		try {
+			alg = createTracker();
+			BoofConcurrency.invoke(new ForkJoinPool(4), new Runnable() {
+				@Override
+				public void run() {
+					alg.process(image1);
+					alg.spawnTracks();
+					alg.process(image2);
+				}
+			});
+		} finally {
+			BoofConcurrency.setUseConcurrent(false);
+		}
+
+		List<PointTrack> expectedActive = expected.getActiveTracks(null);
+		List<PointTrack> expectedDropped = expected.getDroppedTracks(null);
+		assertTrue(expectedActive.size() > 20);
+		assertTrue(expectedDropped.size() > 0);
+
+		checkIdentical(expectedActive, alg.getActiveTracks(null));
+		checkIdentical(expectedDropped, alg.getDroppedTracks(null));
+	}
+
+	private void checkIdentical( List<PointTrack> expected , List<PointTrack> found ) {
+		assertEquals(expected.size(), found.size());
+		for( int i = 0; i < expected.size(); i++ ) {
+			PointTrack a = expected.get(i);
+			PointTrack b = found.get(i);
+			assertEquals(a.featureId, b.featureId);
+			assertEquals(a.x, b.x, 0);
+			assertEquals(a.y, b.y, 0);
+		}
+	}
+}
@@ -19,13 +19,17 @@
 package boofcv.abst.filter.convolve;
 
 import boofcv.alg.filter.convolve.ConvolveImageNoBorder;
+import boofcv.alg.filter.convolve.ConvolveImageNoBorder_MT;
 import boofcv.alg.filter.convolve.ConvolveUnsafe_U8;
 import boofcv.alg.filter.convolve.ConvolveWithBorder;
 import boofcv.alg.filter.convolve.noborder.*;
 import boofcv.alg.misc.ImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.core.image.border.BorderIndex1D_Extend;
 import boofcv.core.image.border.ImageBorder1D_S32;
 import boofcv.factory.filter.kernel.FactoryKernelGaussian;
+import boofcv.misc.PerformerBase;
+import boofcv.misc.ProfileOperation;
 import boofcv.struct.convolve.Kernel1D_F32;
 import boofcv.struct.convolve.Kernel1D_S32;
 import boofcv.struct.convolve.Kernel2D_F32;
@@ -36,6 +40,7 @@ import boofcv.struct.image.GrayS32;
 import boofcv.struct.image.GrayU8;
 
 import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Benchmark for different convolution operations.
@@ -43,6 +48,8 @@ import java.util.Random;
  */
 @SuppressWarnings({"UnusedDeclaration"})
 public class BenchmarkConvolve  {
+	static final long TEST_TIME = 1000;
+
 	static int width = 640;
 	static int height = 480;
 
@@ -242,9 +249,79 @@ public class BenchmarkConvolve  {
 		return 0;
 	}
 
-//	public static void main( String args[] ) {
-//		System.out.println("=========  Profile Image Size "+ width +" x "+ height +" ==========");
-//
-//		Runner.main(BenchmarkConvolve.class, args);
-//	}
+	public int timeHorizontal_MT_F32(int reps) {
+		for( int i = 0; i < reps; i++ )
+			ConvolveImageNoBorder_MT.horizontal(kernelF32, input_F32, out_F32);
+		return 0;
+	}
+
+	public int timeVertical_MT_F32(int reps) {
+		for( int i = 0; i < reps; i++ )
+			ConvolveImageNoBorder_MT.vertical(kernelF32, input_F32, out_F32);
+		return 0;
+	}
+
+	public int timeConvolve2D_MT_F32(int reps) {
+		for( int i = 0; i < reps; i++ )
+			ConvolveImageNoBorder_MT.convolve(kernel2D_F32, input_F32, out_F32);
+		return 0;
+	}
+
+	public int timeVertical_MT_I8_I8_div(int reps) {
+		for( int i = 0; i < reps; i++ )
+			ConvolveImageNoBorder_MT.vertical(kernelI32, input_U8, out_U8, 10);
+		return 0;
+	}
+
+	public class Horizontal_F32 extends PerformerBase {
+		@Override public void process() {timeHorizontal_MT_F32(1);}
+	}
+
+	public class Vertical_F32 extends PerformerBase {
+		@Override public void process() {timeVertical_MT_F32(1);}
+	}
+
+	public class Convolve2D_F32 extends PerformerBase {
+		@Override public void process() {timeConvolve2D_MT_F32(1);}
+	}
+
+	public class Vertical_U8_I8_Div extends PerformerBase {
+		@Override public void process() {timeVertical_MT_I8_I8_div(1);}
+	}
+
+	/**
+	 * Measures how the concurrent implementations scale as the number of threads is increased
+	 */
+	public void profileScaling() {
+		int maxThreads = Runtime.getRuntime().availableProcessors();
+
+		ForkJoinPool original = BoofConcurrency.getThreadPool();
+		int threads = 1;
+		while( true ) {
+			System.out.println("Threads = "+threads);
+			ForkJoinPool pool = new ForkJoinPool(threads);
+			BoofConcurrency.setThreadPool(pool);
+
+			ProfileOperation.printOpsPerSec(new Horizontal_F32(), TEST_TIME);
+			ProfileOperation.printOpsPerSec(new Vertical_F32(), TEST_TIME);
+			ProfileOperation.printOpsPerSec(new Convolve2D_F32(), TEST_TIME);
+			ProfileOperation.printOpsPerSec(new Vertical_U8_I8_Div(), TEST_TIME);
+
+			pool.shutdown();
+
+			if( threads == maxThreads )
+				break;
+			threads = Math.min(maxThreads,threads*2);
+		}
+		BoofConcurrency.setThreadPool(original);
+	}
+
+	public static void main( String args[] ) throws Exception {
+		System.out.println("=========  Profile Image Size "+ width +" x "+ height +" ==========");
+
+		BenchmarkConvolve benchmark = new BenchmarkConvolve();
+		benchmark.radius = 2;
+		benchmark.setUp();
+		benchmark.profileScaling();
+	}
 }
@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.distort;
+
+import boofcv.alg.interpolate.InterpolationType;
+import boofcv.alg.interpolate.impl.ImplBilinearPixelFixed_U8;
+import boofcv.alg.interpolate.impl.ImplBilinearPixel_U8;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.core.image.border.BorderType;
+import boofcv.core.image.border.FactoryImageBorder;
+import boofcv.factory.distort.FactoryDistort;
+import boofcv.misc.PerformerBase;
+import boofcv.misc.ProfileOperation;
+import boofcv.struct.image.GrayU8;
+import boofcv.struct.image.ImageType;
+import georegression.struct.affine.Affine2D_F32;
+
+import java.util.Random;
+
+/**
+ * Compares fixed-point bilinear interpolation of {@link GrayU8} images against the floating point version.  First
+ * the error relative to the floating point interpolation is computed at random points, then the speed of
+ * interpolation and of distorting an image is measured.
+ *
+ * @author Peter Abeles
+ */
+public class BenchmarkImageDistortBilinearFixed {
+	static int imgWidth = 640;
+	static int imgHeight = 480;
+	static long TEST_TIME = 1000;
+
+	// number of random points the error is computed at
+	static int NUM_SAMPLES = 2000000;
+
+	static GrayU8 src = new GrayU8(imgWidth,imgHeight);
+	static GrayU8 dst = new GrayU8(imgWidth,imgHeight);
+
+	static ImplBilinearPixel_U8 interpFloat = new ImplBilinearPixel_U8();
+	static ImplBilinearPixelFixed_U8 interpFixed = new ImplBilinearPixelFixed_U8();
+
+	// defines the region its interpolation
+	static float start = 10.1f;
+	static float end = 310.1f;
+	static float step = 1f;
+
+	public static class InterpolateFloat extends PerformerBase {
+		@Override
+		public void process() {
+			for (float x = start; x <= end; x += step)
+				for (float y = start; y <= end; y += step)
+					interpFloat.get(x, y);
+		}
+	}
+
+	public static class InterpolateFixed extends PerformerBase {
+		@Override
+		public void process() {
+			for (float x = start; x <= end; x += step)
+				for (float y = start; y <= end; y += step)
+					interpFixed.get(x, y);
+		}
+	}
+
+	public static class Distort extends PerformerBase {
+		ImageDistort<GrayU8,GrayU8> alg;
+		InterpolationType type;
+
+		public Distort( InterpolationType type , Affine2D_F32 affine ) {
+			this.type = type;
+			ImageType<GrayU8> imageType = ImageType.single(GrayU8.class);
+			alg = FactoryDistort.distort(true, type, BorderType.EXTENDED, imageType, imageType);
+			alg.setModel(new PixelTransformAffine_F32(affine));
+		}
+
+		@Override
+		public void process() {
+			alg.apply(src, dst);
+		}
+
+		@Override
+		public String getName() {
+			return "Distort "+type;
+		}
+	}
+
+	/**
+	 * Computes the difference between the fixed-point and floating point interpolation at random points.  The
+	 * fraction of points where the fixed-point value is the same as the truncated floating point value is also
+	 * found, since that is what's written into a GrayU8 image.
+	 */
+	public static void computeError( Random rand ) {
+		double maxError = 0, sumError = 0;
+		int identical = 0;
+
+		for( int i = 0; i < NUM_SAMPLES; i++ ) {
+			float x = rand.nextFloat()*(imgWidth-1);
+			float y = rand.nextFloat()*(imgHeight-1);
+
+			float expected = interpFloat.get(x, y);
+			float found = interpFixed.get(x, y);
+
+			double error = Math.abs(expected - found);
+			maxError = Math.max(maxError, error);
+			sumError += error;
+
+			if( (int)expected == (int)found )
+				identical++;
+		}
+
+		System.out.printf("Error: max %.3f  mean %.3f  identical to truncated float %.1f%%\n",
+				maxError, sumError/NUM_SAMPLES, 100.0*identical/NUM_SAMPLES);
+	}
+
+	public static void main( String args[] ) {
+		Random rand = new Random(234);
+		ImageMiscOps.fillUniform(src, rand, 0, 256);
+
+		interpFloat.setBorder(FactoryImageBorder.single(GrayU8.class, BorderType.EXTENDED));
+		interpFixed.setBorder(FactoryImageBorder.single(GrayU8.class, BorderType.EXTENDED));
+		interpFloat.setImage(src);
+		interpFixed.setImage(src);
+
+		System.out.println("=========  Profile Image Size " + imgWidth + " x " + imgHeight + " ==========");
+		System.out.println();
+
+		computeError(rand);
+		System.out.println();
+
+		Affine2D_F32 affine = new Affine2D_F32(0.93f,0.05f,-0.04f,0.97f,12.3f,-7.7f);
+
+		ProfileOperation.printOpsPerSec(new InterpolateFloat(), TEST_TIME);
+		ProfileOperation.printOpsPerSec(new InterpolateFixed(), TEST_TIME);
+		ProfileOperation.printOpsPerSec(new Distort(InterpolationType.BILINEAR, affine), TEST_TIME);
+		ProfileOperation.printOpsPerSec(new Distort(InterpolationType.BILINEAR_FIXED, affine), TEST_TIME);
+	}
+}
@@ -19,6 +19,7 @@
 package boofcv.alg.transform.ii;
 
 import boofcv.alg.misc.ImageMiscOps;
+import boofcv.alg.transform.ii.impl.ImplIntegralImageOps_MT;
 import boofcv.misc.PerformerBase;
 import boofcv.misc.ProfileOperation;
 import boofcv.struct.image.GrayF32;
@@ -48,6 +49,13 @@ public class BenchmarkIntegralImage {
 		}
 	}
 
+	public static class ComputeIntegral_MT extends PerformerBase {
+		@Override
+		public void process() {
+			ImplIntegralImageOps_MT.transform(input,integral);
+		}
+	}
+
 	public static class DerivXX extends PerformerBase {
 
 		IntegralKernel kernel = DerivativeIntegralImage.kernelDerivXX(9,null);
@@ -79,6 +87,7 @@ public class BenchmarkIntegralImage {
 		System.out.println();
 
 		ProfileOperation.printOpsPerSec(new ComputeIntegral(), TEST_TIME);
+		ProfileOperation.printOpsPerSec(new ComputeIntegral_MT(), TEST_TIME);
 		ProfileOperation.printOpsPerSec(new DerivXX(), TEST_TIME);
 		ProfileOperation.printOpsPerSec(new GenericDerivXX(), TEST_TIME);
 	}
@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.convolve;
+
+import boofcv.misc.AutoTypeImage;
+import boofcv.misc.CodeGeneratorBase;
+
+/**
+ * Generates {@link ConvolveImageNoBorder_MT}.  Each function splits the image into bands of rows and
+ * passes each band to the equivalent function in {@link ConvolveImageNoBorder}.
+ *
+ * @author Peter Abeles
+ */
+public class GenerateConvolveImageNoBorder_MT extends CodeGeneratorBase {
+
+	String kernelType;
+	String inputName, outputName;
+
+	int totalFunctions = 0;
+
+	@Override
+	public void generate() {
+		printPreamble();
+		printAllOps(AutoTypeImage.F32, AutoTypeImage.F32, false, false);
+		printAllOps(AutoTypeImage.F64, AutoTypeImage.F64, false, false);
+		printAllOps(AutoTypeImage.U8,  AutoTypeImage.I16, false, false);
+		printAllOps(AutoTypeImage.U8,  AutoTypeImage.S32, false, false);
+		printAllOps(AutoTypeImage.U16, AutoTypeImage.I8,  true,  true);
+		printAllOps(AutoTypeImage.S16, AutoTypeImage.I16, false, false);
+		printAllOps(AutoTypeImage.U8,  AutoTypeImage.I8,  true,  false);
+		printAllOps(AutoTypeImage.S16, AutoTypeImage.I16, true,  false);
+		printAllOps(AutoTypeImage.S32, AutoTypeImage.I16, true,  true);
+		printAllOps(AutoTypeImage.S32, AutoTypeImage.S32, false, false);
+		printAllOps(AutoTypeImage.S32, AutoTypeImage.S32, true,  false);
+
+		out.println("}");
+
+		System.out.println("Total functions generated "+totalFunctions);
+	}
+
+	private void printPreamble() {
+		out.print(
+				"import boofcv.alg.InputSanityCheck;\n" +
+				"import boofcv.concurrency.BoofConcurrency;\n" +
+				"import boofcv.concurrency.IntRangeTask;\n" +
+				"import boofcv.struct.convolve.*;\n" +
+				"import boofcv.struct.image.*;\n");
+		out.println();
+		out.print("/**\n" +
+				" * <p>\n" +
+				" * Concurrent version of {@link ConvolveImageNoBorder}.  The image is split into bands of rows which are\n" +
+				" * convolved in parallel by {@link BoofConcurrency}.  Each band is a sub-image which is passed to the single\n" +
+				" * threaded implementation, with enough extra rows for the kernel, and only writes to its own rows in the\n" +
+				" * output.  The output is identical to the single threaded version.\n" +
+				" * </p>\n" +
+				" *\n" +
+				" * <p>Automatically generated by "+getClass().getSimpleName()+" DO NOT MODIFY</p>\n" +
+				" *\n" +
+				" * @author Peter Abeles\n" +
+				" */\n" +
+				"public class "+className+" {\n\n");
+	}
+
+	private void printAllOps(AutoTypeImage input, AutoTypeImage output, boolean hasDivide,
+							 boolean justVertical )
+	{
+		kernelType = input.getKernelType();
+
+		inputName = input.getSingleBandName();
+		outputName = output.getSingleBandName();
+
+		if( justVertical ) {
+			printFunction("vertical", hasDivide);
+			inputName = input.getInterleavedName();
+			outputName = output.getInterleavedName();
+			printFunction("vertical", hasDivide);
+		} else {
+			printFunction("horizontal", hasDivide);
+			printFunction("vertical", hasDivide);
+			printFunction("convolve", hasDivide);
+
+			inputName = input.getInterleavedName();
+			outputName = output.getInterleavedName();
+			printFunction("horizontal", hasDivide);
+			printFunction("vertical", hasDivide);
+			printFunction("convolve", hasDivide);
+		}
+	}
+
+	private void printFunction( String name , boolean hasDivide ) {
+
+		totalFunctions++;
+
+		String divideArg = hasDivide ? ", final int divisor" : "";
+		String divideInput = hasDivide ? ", divisor" : "";
+
+		String dimen = name.equals("convolve") ? "2D" : "1D";
+
+		// sub-images of the abstract integer images need to be cast back into their type
+		String castOut = outputName.matches(".*I(8|16)") ? "("+outputName+")" : "";
+
+		out.print("\tpublic static void "+name+"(final Kernel"+dimen+"_"+kernelType+" kernel,\n" +
+				"\t\t\t\t\t\t\t\t  final "+inputName+" input, final "+outputName+" output"+divideArg+") {\n" +
+				"\t\tInputSanityCheck.checkSameShape(input, output);\n" +
+				"\n");
+		if( name.equals("horizontal") ) {
+			// each row is independent so the bands don't need to overlap
+			out.print("\t\tBoofConcurrency.loopBlocks(0, input.height, new IntRangeTask() {\n" +
+					"\t\t\t@Override\n" +
+					"\t\t\tpublic void process(int y0, int y1) {\n" +
+					"\t\t\t\tConvolveImageNoBorder."+name+"(kernel,\n" +
+					"\t\t\t\t\t\tinput.subimage(0, y0, input.width, y1),\n" +
+					"\t\t\t\t\t\t"+castOut+"output.subimage(0, y0, output.width, y1)"+divideInput+");\n" +
+					"\t\t\t}\n" +
+					"\t\t});\n");
+		} else {
+			out.print("\t\tfinal int offsetL = kernel.getOffset();\n" +
+					"\t\tfinal int offsetR = kernel.getWidth()-offsetL-1;\n" +
+					"\n" +
+					"\t\tBoofConcurrency.loopBlocks(offsetL, input.height-offsetR, new IntRangeTask() {\n" +
+					"\t\t\t@Override\n" +
+					"\t\t\tpublic void process(int y0, int y1) {\n" +
+					"\t\t\t\tConvolveImageNoBorder."+name+"(kernel,\n" +
+					"\t\t\t\t\t\tinput.subimage(0, y0-offsetL, input.width, y1+offsetR),\n" +
+					"\t\t\t\t\t\t"+castOut+"output.subimage(0, y0-offsetL, output.width, y1+offsetR)"+divideInput+");\n" +
+					"\t\t\t}\n" +
+					"\t\t});\n");
+		}
+		out.print("\t}\n\n");
+	}
+
+	public static void main(String[] args) {
+		GenerateConvolveImageNoBorder_MT gen = new GenerateConvolveImageNoBorder_MT();
+		gen.generate();
+	}
+}
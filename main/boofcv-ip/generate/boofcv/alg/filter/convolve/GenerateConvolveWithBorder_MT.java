@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.convolve;
+
+import boofcv.misc.AutoTypeImage;
+import boofcv.misc.CodeGeneratorBase;
+
+/**
+ * Generates {@link ConvolveWithBorder_MT}.  The inner image is processed concurrently and the border
+ * by a single thread.
+ *
+ * @author Peter Abeles
+ */
+public class GenerateConvolveWithBorder_MT extends CodeGeneratorBase {
+
+	String kernelType;
+	String borderName;
+	String inputName, outputName;
+
+	int totalFunctions = 0;
+
+	@Override
+	public void generate() {
+		printPreamble();
+		printAllOps(AutoTypeImage.F32, AutoTypeImage.F32);
+		printAllOps(AutoTypeImage.U8,  AutoTypeImage.I16);
+		printAllOps(AutoTypeImage.U8,  AutoTypeImage.S32);
+		printAllOps(AutoTypeImage.S16, AutoTypeImage.I16);
+		printAllOps(AutoTypeImage.S32, AutoTypeImage.S32);
+
+		out.println("}");
+
+		System.out.println("Total functions generated "+totalFunctions);
+	}
+
+	private void printPreamble() {
+		out.print(
+				"import boofcv.alg.InputSanityCheck;\n" +
+				"import boofcv.core.image.border.*;\n" +
+				"import boofcv.alg.filter.convolve.border.*;\n" +
+				"import boofcv.struct.convolve.*;\n" +
+				"import boofcv.struct.image.*;\n");
+		out.println();
+		out.print("/**\n" +
+				" * <p>\n" +
+				" * Concurrent version of {@link ConvolveWithBorder}.  The inner image is convolved using\n" +
+				" * {@link ConvolveImageNoBorder_MT} and the border is then processed in the calling thread.\n" +
+				" * </p>\n" +
+				" * <p>Automatically generated by "+getClass().getSimpleName()+". DO NOT MODIFY</p>\n" +
+				" *\n" +
+				" * @author Peter Abeles\n" +
+				" */\n" +
+				"public class "+className+" {\n\n");
+	}
+
+	private void printAllOps(AutoTypeImage input, AutoTypeImage output )
+	{
+		kernelType = input.getKernelType();
+
+		inputName = input.getSingleBandName();
+		outputName = output.getSingleBandName();
+		borderName = "ImageBorder_";
+
+		printFunction("horizontal", true);
+		printFunction("vertical", true);
+		printFunction("convolve", true);
+
+		inputName = input.getInterleavedName();
+		outputName = output.getInterleavedName();
+		borderName = "ImageBorder_IL_";
+		printFunction("horizontal", false);
+		printFunction("vertical", false);
+		printFunction("convolve", false);
+	}
+
+	private void printFunction(  String name , boolean singleBand ) {
+
+		totalFunctions++;
+
+		String dimen = name.equals("convolve") ? "2D" : "1D";
+		String docName = name.equals("convolve") ? "" : " "+name;
+
+		String suffice = singleBand ? "SB" : "IL";
+		String suffice2 = singleBand ? "" : "B";
+
+		out.print(
+				"\t/**\n" +
+				"\t * Performs a"+docName+" "+dimen+" convolution across the image using multiple threads.\n" +
+				"\t *\n" +
+				"\t * @param input The original image. Not modified.\n" +
+				"\t * @param output Where the resulting image is written to. Modified.\n" +
+				"\t * @param kernel The kernel that is being convolved. Not modified.\n" +
+				"\t * @param border How the image borders are handled.\n" +
+				"\t */\n" );
+
+		out.print("\tpublic static void "+name+"(Kernel"+dimen+"_"+kernelType+" kernel,\n" +
+				"\t\t\t\t\t\t\t\t  "+inputName+" input, "+outputName+" output , "+borderName+kernelType+" border ) {\n" +
+				"\t\tInputSanityCheck.checkSameShape"+suffice2+"(input, output);\n" +
+				"\n" +
+				"\t\tborder.setImage(input);\n" +
+				"\t\tConvolveImageNoBorder_MT."+name+"(kernel,input,output);\n" +
+				"\t\tConvolveJustBorder_General_"+suffice+"."+name+"(kernel, border,output);\n" +
+				"\t}\n\n"
+		);
+	}
+
+	public static void main(String[] args) {
+		GenerateConvolveWithBorder_MT gen = new GenerateConvolveWithBorder_MT();
+		gen.generate();
+	}
+}
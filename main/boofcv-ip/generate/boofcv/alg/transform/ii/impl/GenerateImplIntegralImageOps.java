@@ -46,6 +46,7 @@ public class GenerateImplIntegralImageOps extends CodeGeneratorBase {
 		printTwoInput(AutoTypeImage.F32, AutoTypeImage.F32);
 		printTwoInput(AutoTypeImage.F64, AutoTypeImage.F64);
 		printTwoInput(AutoTypeImage.U8, AutoTypeImage.S32);
+		printTwoInput(AutoTypeImage.U8, AutoTypeImage.S64);
 		printTwoInput(AutoTypeImage.S32, AutoTypeImage.S32);
 		printTwoInput(AutoTypeImage.S64, AutoTypeImage.S64);
 		singleInput(AutoTypeImage.F32);
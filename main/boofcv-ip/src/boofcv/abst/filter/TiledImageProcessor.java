@@ -0,0 +1,281 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.abst.filter;
+
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeWorkTask;
+import boofcv.struct.image.ImageGray;
+import boofcv.struct.image.ImageType;
+import boofcv.struct.image.LargeImageGray;
+import org.ddogleg.struct.FastQueue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>
+ * Applies a chain of filters to a {@link LargeImageGray} one tile at a time, allowing images which don't fit
+ * in memory to be processed.  For each tile a region which includes a halo around the tile is read into a
+ * regular image and each filter is applied in sequence.  The interior of the final image, which excludes the
+ * halo, is then written to the output.
+ * </p>
+ *
+ * <p>
+ * The radius of each filter is the number of pixels away from the output pixel that it reads.  The halo's width
+ * is the sum of all the radii, which ensures that any pixel influenced by the tile's border has been discarded.
+ * The output is thus identical to applying the filters to the entire image at once.  Filters must not depend
+ * on pixels more than their radius away, e.g. global thresholds computed from image statistics.
+ * </p>
+ *
+ * <p>
+ * Filters often contain internal storage and can't be shared between threads.  Each filter is specified using a
+ * {@link FilterFactory} and each thread gets its own instance.  If concurrent then tiles are split between
+ * threads.  By default it's concurrent if {@link BoofConcurrency#isUseConcurrent()} is true.
+ * </p>
+ *
+ * @param <Input> Type of input image
+ * @param <Output> Type of output image
+ *
+ * @author Peter Abeles
+ */
+@SuppressWarnings({"unchecked"})
+public class TiledImageProcessor<Input extends ImageGray<Input>, Output extends ImageGray<Output>> {
+
+	// shape of the interior of a tile
+	private int tileWidth;
+	private int tileHeight;
+
+	// processing stages
+	private List<FilterFactory> factories = new ArrayList<>();
+	private List<Integer> radii = new ArrayList<>();
+	// type of image each stage outputs
+	private List<ImageType> stageTypes = new ArrayList<>();
+
+	private ImageType<Input> inputType;
+
+	// if true then tiles will be processed concurrently
+	private boolean concurrent = BoofConcurrency.isUseConcurrent();
+
+	// storage for each thread.  Declared when first needed since it depends on the filters
+	private FastQueue<TileWork> workspace;
+
+	// number of bytes used by images while processing a single tile
+	private long peakTileBytes;
+
+	// references to images being processed
+	private LargeImageGray<Input> input;
+	private LargeImageGray<Output> output;
+	private int numTilesX;
+
+	private IntRangeWorkTask<TileWork> task = new IntRangeWorkTask<TileWork>() {
+		@Override
+		public void process(TileWork work, int idx0, int idx1) {
+			long peak = 0;
+			for( int i = idx0; i < idx1; i++ ) {
+				processTile(work, i % numTilesX, i / numTilesX);
+				peak = Math.max(peak, work.computeBytes());
+			}
+			updatePeak(peak);
+		}
+	};
+
+	/**
+	 * Configures the processor
+	 *
+	 * @param inputType Type of input image
+	 * @param tileWidth Width of the interior of a tile
+	 * @param tileHeight Height of the interior of a tile
+	 */
+	public TiledImageProcessor( ImageType<Input> inputType , int tileWidth , int tileHeight ) {
+		if( tileWidth <= 0 || tileHeight <= 0 )
+			throw new IllegalArgumentException("Tile width and height must be positive");
+		this.inputType = inputType;
+		this.tileWidth = tileWidth;
+		this.tileHeight = tileHeight;
+	}
+
+	/**
+	 * Adds a filter to the end of the chain.  Its input type must be the same as the output type of the previous
+	 * filter.
+	 *
+	 * @param radius Maximum distance in pixels from an output pixel that the filter reads, e.g. a kernel's radius.
+	 * @param factory Creates new instances of the filter
+	 */
+	public void add( int radius , FilterFactory factory ) {
+		if( radius < 0 )
+			throw new IllegalArgumentException("Radius can't be negative");
+
+		FilterImageInterface filter = factory.newInstance();
+		ImageType previous = stageTypes.isEmpty() ? inputType : stageTypes.get(stageTypes.size()-1);
+		if( !filter.getInputType().equals(previous) )
+			throw new IllegalArgumentException("Filter's input type "+filter.getInputType()+
+					" does not match the previous output type "+previous);
+
+		factories.add(factory);
+		radii.add(radius);
+		stageTypes.add(filter.getOutputType());
+		workspace = null;
+	}
+
+	/**
+	 * Applies the filters to the input image and writes the results to the output image.
+	 *
+	 * @param input Input image.  Not modified.
+	 * @param output Output image.  Must be the same shape as the input.
+	 */
+	public void process( LargeImageGray<Input> input , LargeImageGray<Output> output ) {
+		if( factories.isEmpty() )
+			throw new IllegalArgumentException("No filters have been added");
+		if( !output.getImageType().equals(stageTypes.get(stageTypes.size()-1)) )
+			throw new IllegalArgumentException("Output image type does not match the last filter");
+		if( input.getWidth() != output.getWidth() || input.getHeight() != output.getHeight() )
+			throw new IllegalArgumentException("Input and output must be the same shape");
+
+		this.input = input;
+		this.output = output;
+		this.peakTileBytes = 0;
+
+		if( workspace == null ) {
+			workspace = new FastQueue<TileWork>(1,TileWork.class,true) {
+				@Override
+				protected TileWork createInstance() {
+					return new TileWork(inputType, factories, stageTypes);
+				}
+			};
+		}
+
+		numTilesX = (input.getWidth() + tileWidth - 1)/tileWidth;
+		int numTilesY = (input.getHeight() + tileHeight - 1)/tileHeight;
+
+		if( concurrent ) {
+			BoofConcurrency.loopBlocks(0, numTilesX*numTilesY, 1, workspace, task);
+		} else {
+			workspace.resize(1);
+			task.process(workspace.get(0), 0, numTilesX*numTilesY);
+		}
+	}
+
+	/**
+	 * Reads the tile with its halo, applies all the filters, and writes the interior
+	 */
+	private void processTile( TileWork work , int tileX , int tileY ) {
+		int border = getBorder();
+
+		int x0 = tileX*tileWidth;
+		int y0 = tileY*tileHeight;
+		int x1 = Math.min(input.getWidth(), x0 + tileWidth);
+		int y1 = Math.min(input.getHeight(), y0 + tileHeight);
+
+		// the halo is cropped at the image border so that filters handle the border the same as they would
+		// if given the whole image
+		int hx0 = Math.max(0, x0 - border);
+		int hy0 = Math.max(0, y0 - border);
+		int hx1 = Math.min(input.getWidth(), x1 + border);
+		int hy1 = Math.min(input.getHeight(), y1 + border);
+
+		input.read(hx0, hy0, hx1, hy1, (Input)work.images[0]);
+
+		for( int i = 0; i < work.filters.length; i++ ) {
+			work.images[i+1].reshape(hx1-hx0, hy1-hy0);
+			work.filters[i].process(work.images[i], work.images[i+1]);
+		}
+
+		Output last = (Output)work.images[work.filters.length];
+		work.interior = last.subimage(x0-hx0, y0-hy0, x1-hx0, y1-hy0, (Output)work.interior);
+		output.write(x0, y0, (Output)work.interior);
+	}
+
+	private synchronized void updatePeak( long bytes ) {
+		peakTileBytes = Math.max(peakTileBytes, bytes);
+	}
+
+	/**
+	 * Width of the halo around each tile
+	 */
+	public int getBorder() {
+		int total = 0;
+		for( int i = 0; i < radii.size(); i++ ) {
+			total += radii.get(i);
+		}
+		return total;
+	}
+
+	/**
+	 * The largest number of bytes used by pixels to process a single tile in the most recent call to
+	 * {@link #process}.  This includes the tile and its halo for the input and each filter's output.
+	 * Internal storage of the filters is not included.
+	 */
+	public long getPeakTileBytes() {
+		return peakTileBytes;
+	}
+
+	public boolean isConcurrent() {
+		return concurrent;
+	}
+
+	public void setConcurrent(boolean concurrent) {
+		this.concurrent = concurrent;
+	}
+
+	public int getTileWidth() {
+		return tileWidth;
+	}
+
+	public int getTileHeight() {
+		return tileHeight;
+	}
+
+	/**
+	 * Creates a new instance of a filter
+	 */
+	public interface FilterFactory {
+		FilterImageInterface newInstance();
+	}
+
+	/**
+	 * Filters and images used by a single thread
+	 */
+	private static class TileWork {
+		FilterImageInterface[] filters;
+		// input tile and the output of each filter
+		ImageGray[] images;
+		// interior of the last image
+		ImageGray interior;
+
+		TileWork( ImageType inputType , List<FilterFactory> factories , List<ImageType> stageTypes ) {
+			int N = factories.size();
+			filters = new FilterImageInterface[N];
+			images = new ImageGray[N+1];
+			images[0] = (ImageGray)inputType.createImage(1,1);
+			for( int i = 0; i < N; i++ ) {
+				filters[i] = factories.get(i).newInstance();
+				images[i+1] = (ImageGray)stageTypes.get(i).createImage(1,1);
+			}
+		}
+
+		long computeBytes() {
+			long total = 0;
+			for( int i = 0; i < images.length; i++ ) {
+				ImageGray image = images[i];
+				total += (long)image.width*image.height*image.getDataType().getNumBits()/8;
+			}
+			return total;
+		}
+	}
+}
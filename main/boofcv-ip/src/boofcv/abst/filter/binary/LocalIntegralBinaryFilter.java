@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.abst.filter.binary;
+
+import boofcv.alg.filter.binary.impl.ThresholdLocalIntegral;
+import boofcv.core.image.GConvertImage;
+import boofcv.struct.image.*;
+
+/**
+ * Adaptive/local threshold which uses integral images to compute statistics of the local region.
+ * {@link GrayU8} and {@link GrayF32} images are processed directly, other types are converted into {@link GrayF32}.
+ *
+ * @see ThresholdLocalIntegral
+ *
+ * @author Peter Abeles
+ */
+public class LocalIntegralBinaryFilter<T extends ImageGray<T>> implements InputToBinary<T> {
+
+	ImageType<T> inputType;
+
+	ThresholdLocalIntegral alg;
+	GrayF32 input;
+
+	/**
+	 * @param alg The thresholding algorithm
+	 * @param inputType Type of input image
+	 */
+	public LocalIntegralBinaryFilter(ThresholdLocalIntegral alg, ImageType<T> inputType) {
+		this.alg = alg;
+		this.inputType = inputType;
+
+		ImageDataType type = inputType.getDataType();
+		if( type != ImageDataType.U8 && type != ImageDataType.F32 ) {
+			input = new GrayF32(1,1);
+		}
+	}
+
+	@Override
+	public void process(T input, GrayU8 output) {
+		if( this.input != null ) {
+			this.input.reshape(input.width,input.height);
+			GConvertImage.convert(input,this.input);
+			alg.process(this.input,output);
+		} else if( input instanceof GrayU8 ) {
+			alg.process((GrayU8)input,output);
+		} else {
+			alg.process((GrayF32)input,output);
+		}
+	}
+
+	public ThresholdLocalIntegral getAlgorithm() {
+		return alg;
+	}
+
+	@Override
+	public int getHorizontalBorder() {
+		return 0;
+	}
+
+	@Override
+	public int getVerticalBorder() {
+		return 0;
+	}
+
+	@Override
+	public ImageType<T> getInputType() {
+		return inputType;
+	}
+
+	@Override
+	public ImageType<GrayU8> getOutputType() {
+		return ImageType.single(GrayU8.class);
+	}
+}
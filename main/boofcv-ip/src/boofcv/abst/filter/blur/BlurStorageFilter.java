@@ -18,10 +18,15 @@
 
 package boofcv.abst.filter.blur;
 
+import boofcv.alg.filter.blur.BlurImageOps;
 import boofcv.alg.filter.blur.GBlurImageOps;
+import boofcv.alg.filter.blur.impl.ImplMedianHistogramInner_MT;
 import boofcv.core.image.GeneralizedImageOps;
+import boofcv.struct.image.GrayU8;
 import boofcv.struct.image.ImageBase;
 import boofcv.struct.image.ImageType;
+import boofcv.struct.image.Planar;
+import org.ddogleg.struct.FastQueue;
 
 /**
  * Simplified interface for using a blur filter that requires storage.  Reflections are used to look up a function inside
@@ -135,9 +140,17 @@ public class BlurStorageFilter<T extends ImageBase<T>> implements BlurFilter<T>
 	}
 
 	private class MedianOperator implements BlurOperation {
+		// work buffers for concurrent median on GrayU8 images
+		FastQueue<ImplMedianHistogramInner_MT.Work> workspace = ImplMedianHistogramInner_MT.createWorkspace();
+
 		@Override
 		public void process(ImageBase input, ImageBase output) {
-			GBlurImageOps.median(input,output,radius);
+			if( input instanceof GrayU8 )
+				BlurImageOps.median((GrayU8)input,(GrayU8)output,radius,workspace);
+			else if( input instanceof Planar )
+				BlurImageOps.median((Planar)input,(Planar)output,radius,workspace);
+			else
+				GBlurImageOps.median(input,output,radius);
 		}
 	}
 }
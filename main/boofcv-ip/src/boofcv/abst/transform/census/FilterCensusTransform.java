@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.abst.transform.census;
+
+import boofcv.abst.filter.FilterImageInterface;
+import boofcv.alg.transform.census.GCensusTransform;
+import boofcv.core.image.border.ImageBorder;
+import boofcv.factory.transform.census.CensusVariants;
+import boofcv.struct.image.*;
+
+/**
+ * Wrapper around {@link GCensusTransform} for {@link FilterImageInterface}.
+ *
+ * @author Peter Abeles
+ */
+public class FilterCensusTransform<In extends ImageGray<In>, Out extends ImageGray<Out>>
+		implements FilterImageInterface<In,Out>
+{
+	CensusVariants variant;
+	// how the image border is handled. If null the border is skipped
+	ImageBorder<In> border;
+	ImageType<In> inputType;
+	ImageType<Out> outputType;
+
+	public FilterCensusTransform(CensusVariants variant, ImageBorder<In> border, Class<In> inputType) {
+		this.variant = variant;
+		this.border = border;
+		this.inputType = ImageType.single(inputType);
+		this.outputType = ImageType.single((Class<Out>)variant.getOutputType());
+	}
+
+	@Override
+	public void process(In input, Out output) {
+		switch( variant ) {
+			case BLOCK_3_3: GCensusTransform.region3x3(input, (GrayU8)output, border); break;
+			case BLOCK_5_5: GCensusTransform.region5x5(input, (GrayS32)output, border); break;
+			case BLOCK_7_7: GCensusTransform.region7x7(input, (GrayS64)output, border); break;
+			default:
+				throw new IllegalArgumentException("Unknown variant "+variant);
+		}
+	}
+
+	@Override
+	public int getHorizontalBorder() {
+		return border == null ? variant.getRadius() : 0;
+	}
+
+	@Override
+	public int getVerticalBorder() {
+		return getHorizontalBorder();
+	}
+
+	@Override
+	public ImageType<In> getInputType() {
+		return inputType;
+	}
+
+	@Override
+	public ImageType<Out> getOutputType() {
+		return outputType;
+	}
+
+	public CensusVariants getVariant() {
+		return variant;
+	}
+}
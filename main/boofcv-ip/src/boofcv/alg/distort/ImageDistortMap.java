@@ -0,0 +1,219 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.distort;
+
+import boofcv.alg.interpolate.InterpolatePixel;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeWorkTask;
+import boofcv.struct.distort.PixelTransform2_F32;
+import boofcv.struct.image.ImageBase;
+import org.ddogleg.struct.FastQueue;
+
+/**
+ * <p>
+ * Implementation of {@link ImageDistort} which computes the distortion once and saves it in a remap table.
+ * The table is composed of two primitive arrays, one for the x-coordinate and one for the y-coordinate, of the
+ * source pixel each destination pixel samples.  Compared to {@link ImageDistortCache_SB} it uses considerably
+ * less memory and has better cache locality since no objects are declared for each pixel.
+ * </p>
+ *
+ * <p>
+ * When concurrency is turned on the output image is split into bands of rows which are rendered by different
+ * threads.  Interpolation algorithms are not thread safe, so each band has its own instance which is created
+ * by the {@link InterpolateFactory}.  If an interpolation instance is provided directly then the image is always
+ * rendered in a single thread.  The remap table is always computed in a single thread because
+ * {@link PixelTransform2_F32} is not thread safe, but this is only done when the model or image shape changes.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public abstract class ImageDistortMap
+		<Input extends ImageBase<Input>,Output extends ImageBase<Output>,Interpolate extends InterpolatePixel<Input>>
+		implements ImageDistort<Input,Output> {
+
+	// distortion model from the dst to src image
+	protected PixelTransform2_F32 dstToSrc;
+
+	// shape of the image the remap table was computed for
+	protected int mapWidth = -1, mapHeight = -1;
+	// location of each destination pixel in the source image. index = y*mapWidth + x
+	protected float mapX[] = new float[0];
+	protected float mapY[] = new float[0];
+	// true if the model has changed and the remap table needs to be recomputed
+	protected boolean dirty = true;
+
+	// should it render all pixels in the destination, even ones outside the input image
+	protected boolean renderAll = true;
+	protected Input srcImg;
+	protected Output dstImg;
+
+	// if true it will process the image using multiple threads
+	protected boolean concurrent = BoofConcurrency.isUseConcurrent();
+	// minimum number of rows processed by a single thread
+	protected int minimumBandRows = 16;
+
+	// creates interpolation instances for each thread. null if not available
+	protected InterpolateFactory<Interpolate> factory;
+	// workspace which is used when processing in a single thread
+	protected RowBand<Interpolate> single = new RowBand<>();
+	// workspace for each thread
+	protected FastQueue<RowBand<Interpolate>> workspace;
+
+	/**
+	 * Creates a distortion which can only be rendered in a single thread.
+	 *
+	 * @param interp Interpolation algorithm
+	 */
+	protected ImageDistortMap( Interpolate interp ) {
+		single.interp = interp;
+	}
+
+	/**
+	 * Creates a distortion which can be rendered using multiple threads.
+	 *
+	 * @param factory Used to create an interpolation instance for each thread
+	 */
+	@SuppressWarnings({"unchecked"})
+	protected ImageDistortMap( InterpolateFactory<Interpolate> factory ) {
+		this.factory = factory;
+		single.interp = factory.newInstance();
+		workspace = new FastQueue<RowBand<Interpolate>>(1,(Class)RowBand.class,true) {
+			@Override
+			protected RowBand<Interpolate> createInstance() {
+				RowBand<Interpolate> band = new RowBand<>();
+				band.interp = ImageDistortMap.this.factory.newInstance();
+				return band;
+			}
+		};
+	}
+
+	@Override
+	public void setModel(PixelTransform2_F32 dstToSrc) {
+		this.dirty = true;
+		this.dstToSrc = dstToSrc;
+	}
+
+	@Override
+	public void apply(Input srcImg, Output dstImg) {
+		apply(srcImg, dstImg, 0, 0, dstImg.width, dstImg.height);
+	}
+
+	@Override
+	public void apply(Input srcImg, Output dstImg, final int dstX0, int dstY0, final int dstX1, int dstY1) {
+		if( dirty || mapWidth != dstImg.width || mapHeight != dstImg.height )
+			computeMap(dstImg.width, dstImg.height);
+
+		this.srcImg = srcImg;
+		this.dstImg = dstImg;
+
+		if( concurrent && factory != null ) {
+			BoofConcurrency.loopBlocks(dstY0, dstY1, minimumBandRows, workspace, new IntRangeWorkTask<RowBand<Interpolate>>() {
+				@Override
+				public void process(RowBand<Interpolate> work, int idx0, int idx1) {
+					render(work, dstX0, idx0, dstX1, idx1);
+				}
+			});
+		} else {
+			render(single, dstX0, dstY0, dstX1, dstY1);
+		}
+	}
+
+	/**
+	 * Computes the location of each pixel in the destination image inside the source image
+	 */
+	protected void computeMap( int width , int height ) {
+		int N = width*height;
+		if( mapX.length < N ) {
+			mapX = new float[N];
+			mapY = new float[N];
+		}
+		mapWidth = width;
+		mapHeight = height;
+
+		int index = 0;
+		for( int y = 0; y < height; y++ ) {
+			for( int x = 0; x < width; x++ , index++ ) {
+				dstToSrc.compute(x,y);
+				mapX[index] = dstToSrc.distX;
+				mapY[index] = dstToSrc.distY;
+			}
+		}
+		dirty = false;
+	}
+
+	private void render( RowBand<Interpolate> band , int x0 , int y0 , int x1 , int y1 ) {
+		band.interp.setImage(srcImg);
+		if( renderAll )
+			applyAll(band, x0, y0, x1, y1);
+		else
+			applyOnlyInside(band, x0, y0, x1, y1);
+	}
+
+	/**
+	 * Renders every pixel inside the specified region of the destination image
+	 */
+	protected abstract void applyAll( RowBand<Interpolate> band , int x0 , int y0 , int x1 , int y1 );
+
+	/**
+	 * Renders pixels inside the specified region of the destination image which map to inside the source image
+	 */
+	protected abstract void applyOnlyInside( RowBand<Interpolate> band , int x0 , int y0 , int x1 , int y1 );
+
+	@Override
+	public void setRenderAll(boolean renderAll) {
+		this.renderAll = renderAll;
+	}
+
+	@Override
+	public boolean getRenderAll() {
+		return renderAll;
+	}
+
+	public boolean isConcurrent() {
+		return concurrent;
+	}
+
+	public void setConcurrent(boolean concurrent) {
+		this.concurrent = concurrent;
+	}
+
+	public int getMinimumBandRows() {
+		return minimumBandRows;
+	}
+
+	public void setMinimumBandRows(int minimumBandRows) {
+		this.minimumBandRows = minimumBandRows;
+	}
+
+	/**
+	 * Creates a new instance of the interpolation algorithm for each thread
+	 */
+	public interface InterpolateFactory<Interpolate extends InterpolatePixel<?>> {
+		Interpolate newInstance();
+	}
+
+	/**
+	 * Workspace for a band of rows which is processed by a single thread
+	 */
+	protected static class RowBand<Interpolate> {
+		public Interpolate interp;
+		// storage for interpolated pixel values
+		public float values[] = new float[0];
+	}
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.distort;
+
+import boofcv.alg.interpolate.InterpolatePixel;
+import boofcv.alg.interpolate.impl.ImplBilinearPixelFixed_U8;
+import boofcv.struct.image.ImageBase;
+
+import static boofcv.alg.interpolate.impl.ImplBilinearPixelFixed_U8.ONE;
+
+/**
+ * <p>
+ * Specialized version of {@link ImageDistortMap} for bilinear interpolation with fixed point arithmetic.
+ * Instead of saving the floating point location of each source pixel, the integer coordinate of the
+ * top-left pixel and the fixed point interpolation weights are saved.  When the image is rendered no
+ * floating point math is required.  The output is identical to what {@link ImplBilinearPixelFixed_U8}
+ * would produce.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public abstract class ImageDistortMapBilinearFixed
+		<Input extends ImageBase<Input>,Output extends ImageBase<Output>,Interpolate extends InterpolatePixel<Input>>
+		extends ImageDistortMap<Input,Output,Interpolate> {
+
+	// integer coordinate of the top-left pixel being sampled
+	protected int mapPixelX[] = new int[0];
+	protected int mapPixelY[] = new int[0];
+	// interpolation weights along x-axis in the upper 16-bits and y-axis in the lower 16-bits. Each 16-bit
+	// half also encodes if the sample point is above or below the saved integer coordinate
+	protected int mapWeights[] = new int[0];
+
+	// mask to extract a weight from one half
+	protected static final int MASK_WEIGHT = 0x0FFF;
+	// sample point is greater than the saved integer coordinate
+	private static final int FLAG_ABOVE = 0x1000;
+	// sample point is less than the saved integer coordinate
+	private static final int FLAG_BELOW = 0x2000;
+
+	protected ImageDistortMapBilinearFixed(Interpolate interp) {
+		super(interp);
+	}
+
+	protected ImageDistortMapBilinearFixed(InterpolateFactory<Interpolate> factory) {
+		super(factory);
+	}
+
+	@Override
+	protected void computeMap(int width, int height) {
+		int N = width*height;
+		if( mapPixelX.length < N ) {
+			mapPixelX = new int[N];
+			mapPixelY = new int[N];
+			mapWeights = new int[N];
+		}
+		mapWidth = width;
+		mapHeight = height;
+
+		int index = 0;
+		for( int y = 0; y < height; y++ ) {
+			for( int x = 0; x < width; x++ , index++ ) {
+				dstToSrc.compute(x,y);
+
+				float xf = (float)Math.floor(dstToSrc.distX);
+				float yf = (float)Math.floor(dstToSrc.distY);
+				int xt = (int)xf;
+				int yt = (int)yf;
+				int ax = ImplBilinearPixelFixed_U8.weight(dstToSrc.distX - xf);
+				int ay = ImplBilinearPixelFixed_U8.weight(dstToSrc.distY - yf);
+
+				// the weight was rounded up to the next pixel
+				if( ax == ONE ) {
+					xt++; ax = 0;
+				}
+				if( ay == ONE ) {
+					yt++; ay = 0;
+				}
+
+				mapPixelX[index] = xt;
+				mapPixelY[index] = yt;
+				mapWeights[index] = (encode(dstToSrc.distX, xt, ax) << 16) | encode(dstToSrc.distY, yt, ay);
+			}
+		}
+		dirty = false;
+	}
+
+	/**
+	 * Encodes the weight and if the sample point is above or below the integer coordinate.  The later is needed
+	 * since the weight can be rounded to zero.
+	 */
+	private static int encode( float location , int pixel , int weight ) {
+		if( location > pixel )
+			return weight | FLAG_ABOVE;
+		else if( location < pixel )
+			return weight | FLAG_BELOW;
+		else
+			return weight;
+	}
+
+	/**
+	 * Returns true if the sample point is inside the source image.  Same as checking the floating point
+	 * location against the image bounds.
+	 */
+	protected boolean isInside( int xt , int yt , int weights ) {
+		return isInsideAxis(xt, weights >>> 16, srcImg.width) && isInsideAxis(yt, weights & 0xFFFF, srcImg.height);
+	}
+
+	private static boolean isInsideAxis( int pixel , int encoded , int length ) {
+		if( pixel > 0 && pixel < length-1 )
+			return true;
+		if( pixel == 0 )
+			return (encoded & FLAG_BELOW) == 0 && (length > 1 || (encoded & FLAG_ABOVE) == 0);
+		if( pixel == length-1 )
+			return (encoded & FLAG_ABOVE) == 0;
+		return false;
+	}
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.distort;
+
+import boofcv.alg.interpolate.InterpolatePixelMB;
+import boofcv.struct.image.ImageInterleaved;
+
+/**
+ * Implementation of {@link ImageDistortMap} for {@link ImageInterleaved}.
+ *
+ * @author Peter Abeles
+ */
+public abstract class ImageDistortMap_IL
+		<Input extends ImageInterleaved<Input>,Output extends ImageInterleaved<Output>>
+		extends ImageDistortMap<Input,Output,InterpolatePixelMB<Input>> {
+
+	protected ImageDistortMap_IL(InterpolatePixelMB<Input> interp) {
+		super(interp);
+	}
+
+	protected ImageDistortMap_IL(InterpolateFactory<InterpolatePixelMB<Input>> factory) {
+		super(factory);
+	}
+
+	@Override
+	protected void applyAll(RowBand<InterpolatePixelMB<Input>> band, int x0, int y0, int x1, int y1) {
+		InterpolatePixelMB<Input> interp = band.interp;
+		float values[] = checkValues(band);
+		final int numBands = dstImg.numBands;
+
+		for( int y = y0; y < y1; y++ ) {
+			int indexDst = dstImg.startIndex + dstImg.stride*y + x0*numBands;
+			int indexMap = mapWidth*y + x0;
+			for( int x = x0; x < x1; x++ , indexDst += numBands , indexMap++ ) {
+				interp.get(mapX[indexMap], mapY[indexMap], values);
+				assign(indexDst,values);
+			}
+		}
+	}
+
+	@Override
+	protected void applyOnlyInside(RowBand<InterpolatePixelMB<Input>> band, int x0, int y0, int x1, int y1) {
+		InterpolatePixelMB<Input> interp = band.interp;
+		float values[] = checkValues(band);
+		final int numBands = dstImg.numBands;
+
+		float maxWidth = srcImg.getWidth()-1;
+		float maxHeight = srcImg.getHeight()-1;
+
+		for( int y = y0; y < y1; y++ ) {
+			int indexDst = dstImg.startIndex + dstImg.stride*y + x0*numBands;
+			int indexMap = mapWidth*y + x0;
+			for( int x = x0; x < x1; x++ , indexDst += numBands , indexMap++ ) {
+				float sx = mapX[indexMap];
+				float sy = mapY[indexMap];
+
+				if( sx >= 0 && sx <= maxWidth && sy >= 0 && sy <= maxHeight ) {
+					interp.get(sx, sy, values);
+					assign(indexDst,values);
+				}
+			}
+		}
+	}
+
+	private float[] checkValues( RowBand<InterpolatePixelMB<Input>> band ) {
+		if( band.values.length != srcImg.getNumBands() )
+			band.values = new float[ srcImg.getNumBands() ];
+		return band.values;
+	}
+
+	protected abstract void assign( int indexDst , float[] value );
+}
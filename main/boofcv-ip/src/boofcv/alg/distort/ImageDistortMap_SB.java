@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.distort;
+
+import boofcv.alg.interpolate.InterpolatePixelS;
+import boofcv.struct.image.ImageGray;
+
+/**
+ * Implementation of {@link ImageDistortMap} for {@link ImageGray}.
+ *
+ * @author Peter Abeles
+ */
+public abstract class ImageDistortMap_SB<Input extends ImageGray<Input>,Output extends ImageGray<Output>>
+		extends ImageDistortMap<Input,Output,InterpolatePixelS<Input>> {
+
+	protected ImageDistortMap_SB(InterpolatePixelS<Input> interp) {
+		super(interp);
+	}
+
+	protected ImageDistortMap_SB(InterpolateFactory<InterpolatePixelS<Input>> factory) {
+		super(factory);
+	}
+
+	@Override
+	protected void applyAll(RowBand<InterpolatePixelS<Input>> band, int x0, int y0, int x1, int y1) {
+		InterpolatePixelS<Input> interp = band.interp;
+
+		for( int y = y0; y < y1; y++ ) {
+			int indexDst = dstImg.startIndex + dstImg.stride*y + x0;
+			int indexMap = mapWidth*y + x0;
+			for( int x = x0; x < x1; x++ , indexDst++ , indexMap++ ) {
+				assign(indexDst,interp.get(mapX[indexMap], mapY[indexMap]));
+			}
+		}
+	}
+
+	@Override
+	protected void applyOnlyInside(RowBand<InterpolatePixelS<Input>> band, int x0, int y0, int x1, int y1) {
+		InterpolatePixelS<Input> interp = band.interp;
+
+		float maxWidth = srcImg.getWidth()-1;
+		float maxHeight = srcImg.getHeight()-1;
+
+		for( int y = y0; y < y1; y++ ) {
+			int indexDst = dstImg.startIndex + dstImg.stride*y + x0;
+			int indexMap = mapWidth*y + x0;
+			for( int x = x0; x < x1; x++ , indexDst++ , indexMap++ ) {
+				float sx = mapX[indexMap];
+				float sy = mapY[indexMap];
+
+				if( sx >= 0 && sx <= maxWidth && sy >= 0 && sy <= maxHeight ) {
+					assign(indexDst,interp.get(sx, sy));
+				}
+			}
+		}
+	}
+
+	protected abstract void assign( int indexDst , float value );
+}
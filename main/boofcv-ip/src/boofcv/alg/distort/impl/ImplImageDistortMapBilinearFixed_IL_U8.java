@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.distort.impl;
+
+import boofcv.alg.distort.ImageDistortMapBilinearFixed;
+import boofcv.alg.interpolate.impl.ImplBilinearPixelFixed_IL_U8;
+import boofcv.struct.image.InterleavedU8;
+
+/**
+ * Implementation of {@link ImageDistortMapBilinearFixed} for {@link InterleavedU8}.
+ *
+ * @author Peter Abeles
+ */
+public class ImplImageDistortMapBilinearFixed_IL_U8
+		extends ImageDistortMapBilinearFixed<InterleavedU8,InterleavedU8,ImplBilinearPixelFixed_IL_U8> {
+
+	public ImplImageDistortMapBilinearFixed_IL_U8(ImplBilinearPixelFixed_IL_U8 interp) {
+		super(interp);
+	}
+
+	public ImplImageDistortMapBilinearFixed_IL_U8(InterpolateFactory<ImplBilinearPixelFixed_IL_U8> factory) {
+		super(factory);
+	}
+
+	@Override
+	protected void applyAll(RowBand<ImplBilinearPixelFixed_IL_U8> band, int x0, int y0, int x1, int y1) {
+		ImplBilinearPixelFixed_IL_U8 interp = band.interp;
+		final int numBands = dstImg.numBands;
+
+		for( int y = y0; y < y1; y++ ) {
+			int indexDst = dstImg.startIndex + dstImg.stride*y + x0*numBands;
+			int indexMap = mapWidth*y + x0;
+			for( int x = x0; x < x1; x++ , indexDst += numBands , indexMap++ ) {
+				interpolate(interp, mapPixelX[indexMap], mapPixelY[indexMap], mapWeights[indexMap], indexDst);
+			}
+		}
+	}
+
+	@Override
+	protected void applyOnlyInside(RowBand<ImplBilinearPixelFixed_IL_U8> band, int x0, int y0, int x1, int y1) {
+		ImplBilinearPixelFixed_IL_U8 interp = band.interp;
+		final int numBands = dstImg.numBands;
+
+		for( int y = y0; y < y1; y++ ) {
+			int indexDst = dstImg.startIndex + dstImg.stride*y + x0*numBands;
+			int indexMap = mapWidth*y + x0;
+			for( int x = x0; x < x1; x++ , indexDst += numBands , indexMap++ ) {
+				int xt = mapPixelX[indexMap];
+				int yt = mapPixelY[indexMap];
+				int weights = mapWeights[indexMap];
+
+				if( isInside(xt, yt, weights) )
+					interpolate(interp, xt, yt, weights, indexDst);
+			}
+		}
+	}
+
+	private void interpolate( ImplBilinearPixelFixed_IL_U8 interp , int xt , int yt , int weights , int indexDst ) {
+		int ax = (weights >>> 16) & MASK_WEIGHT;
+		int ay = weights & MASK_WEIGHT;
+
+		if( xt >= 0 && yt >= 0 && xt < srcImg.width-1 && yt < srcImg.height-1 ) {
+			int indexSrc = srcImg.startIndex + yt*srcImg.stride + xt*srcImg.numBands;
+			interp.get_fast(indexSrc, ax, ay, dstImg.data, indexDst);
+		} else {
+			interp.get_border(xt, yt, ax, ay, dstImg.data, indexDst);
+		}
+	}
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.distort.impl;
+
+import boofcv.alg.distort.ImageDistortMapBilinearFixed;
+import boofcv.alg.interpolate.impl.ImplBilinearPixelFixed_U8;
+import boofcv.struct.image.GrayU8;
+
+/**
+ * Implementation of {@link ImageDistortMapBilinearFixed} for {@link GrayU8}.
+ *
+ * @author Peter Abeles
+ */
+public class ImplImageDistortMapBilinearFixed_U8
+		extends ImageDistortMapBilinearFixed<GrayU8,GrayU8,ImplBilinearPixelFixed_U8> {
+
+	public ImplImageDistortMapBilinearFixed_U8(ImplBilinearPixelFixed_U8 interp) {
+		super(interp);
+	}
+
+	public ImplImageDistortMapBilinearFixed_U8(InterpolateFactory<ImplBilinearPixelFixed_U8> factory) {
+		super(factory);
+	}
+
+	@Override
+	protected void applyAll(RowBand<ImplBilinearPixelFixed_U8> band, int x0, int y0, int x1, int y1) {
+		ImplBilinearPixelFixed_U8 interp = band.interp;
+
+		final int fastWidth = srcImg.width-1;
+		final int fastHeight = srcImg.height-1;
+
+		for( int y = y0; y < y1; y++ ) {
+			int indexDst = dstImg.startIndex + dstImg.stride*y + x0;
+			int indexMap = mapWidth*y + x0;
+			for( int x = x0; x < x1; x++ , indexDst++ , indexMap++ ) {
+				int xt = mapPixelX[indexMap];
+				int yt = mapPixelY[indexMap];
+				int weights = mapWeights[indexMap];
+
+				dstImg.data[indexDst] = (byte)interpolate(interp, xt, yt, weights, fastWidth, fastHeight);
+			}
+		}
+	}
+
+	@Override
+	protected void applyOnlyInside(RowBand<ImplBilinearPixelFixed_U8> band, int x0, int y0, int x1, int y1) {
+		ImplBilinearPixelFixed_U8 interp = band.interp;
+
+		final int fastWidth = srcImg.width-1;
+		final int fastHeight = srcImg.height-1;
+
+		for( int y = y0; y < y1; y++ ) {
+			int indexDst = dstImg.startIndex + dstImg.stride*y + x0;
+			int indexMap = mapWidth*y + x0;
+			for( int x = x0; x < x1; x++ , indexDst++ , indexMap++ ) {
+				int xt = mapPixelX[indexMap];
+				int yt = mapPixelY[indexMap];
+				int weights = mapWeights[indexMap];
+
+				if( isInside(xt, yt, weights) )
+					dstImg.data[indexDst] = (byte)interpolate(interp, xt, yt, weights, fastWidth, fastHeight);
+			}
+		}
+	}
+
+	private int interpolate( ImplBilinearPixelFixed_U8 interp , int xt , int yt , int weights ,
+							 int fastWidth , int fastHeight ) {
+		int ax = (weights >>> 16) & MASK_WEIGHT;
+		int ay = weights & MASK_WEIGHT;
+
+		if( xt >= 0 && yt >= 0 && xt < fastWidth && yt < fastHeight )
+			return interp.get_fast(srcImg.startIndex + yt*srcImg.stride + xt, ax, ay);
+		else
+			return interp.get_border(xt, yt, ax, ay);
+	}
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.distort.impl;
+
+import boofcv.alg.distort.ImageDistortMap_IL;
+import boofcv.alg.interpolate.InterpolatePixelMB;
+import boofcv.struct.image.InterleavedU8;
+
+/**
+ * Implementation of {@link ImageDistortMap_IL} for {@link InterleavedU8}.
+ *
+ * @author Peter Abeles
+ */
+public class ImplImageDistortMap_IL_U8 extends ImageDistortMap_IL<InterleavedU8,InterleavedU8> {
+
+	public ImplImageDistortMap_IL_U8(InterpolatePixelMB<InterleavedU8> interp) {
+		super(interp);
+	}
+
+	public ImplImageDistortMap_IL_U8(InterpolateFactory<InterpolatePixelMB<InterleavedU8>> factory) {
+		super(factory);
+	}
+
+	@Override
+	protected void assign(int indexDst, float[] value) {
+		for( int i = 0; i < dstImg.numBands; i++ ) {
+			dstImg.data[indexDst+i] = (byte)value[i];
+		}
+	}
+}
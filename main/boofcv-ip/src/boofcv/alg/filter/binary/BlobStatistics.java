@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.binary;
+
+import boofcv.struct.ImageRectangle;
+import georegression.struct.point.Point2D_F64;
+
+/**
+ * Statistics of a single blob in a labeled image which are computed while the image is being labeled.
+ *
+ * @author Peter Abeles
+ */
+public class BlobStatistics {
+	/**
+	 * ID of blob in the image.  Pixels belonging to this blob in the labeled image will have this pixel value.
+	 */
+	public int id;
+	/**
+	 * Number of pixels in the blob
+	 */
+	public int area;
+	/**
+	 * Bounding box of the blob.  The lower extent (x0,y0) is inclusive and the upper extent (x1,y1) is exclusive.
+	 */
+	public ImageRectangle bounds = new ImageRectangle();
+	/**
+	 * Mean location of the pixels inside the blob
+	 */
+	public Point2D_F64 centroid = new Point2D_F64();
+
+	public void reset() {
+		id = -1;
+		area = 0;
+		bounds.set(0,0,0,0);
+		centroid.set(0,0);
+	}
+}
@@ -63,6 +63,8 @@ public class ContourTracer {
 	// the pixel index offset to each neighbor
 	private int offsetsBinary[];
 	private int offsetsLabeled[];
+	// if false then the binary and labeled images are not modified while tracing
+	private boolean marking = true;
 	// lookup table for which direction it should search next given the direction it traveled into the current pixel
 	private int nextDirection[];
 
@@ -114,6 +116,21 @@ public class ContourTracer {
 		}
 	}
 
+	/**
+	 * Specifies if white pixels and contour labels are written into the images while tracing.  When marking is
+	 * turned off the images are only read, which allows several tracers to work on the same images concurrently.
+	 * The traced contours are the same either way.
+	 *
+	 * @param marking true to modify the images.  Default is true.
+	 */
+	public void setMarking( boolean marking ) {
+		this.marking = marking;
+	}
+
+	public boolean isMarking() {
+		return marking;
+	}
+
 	private void setOffsets8( int offsets[] , int stride ) {
 		int s = stride;
 		offsets[0] =  1;   // x =  1 y =  0
@@ -206,7 +223,8 @@ public class ContourTracer {
 			return true;
 		} else {
 			// mark white pixels as negative numbers to avoid retracing this contour in the future
-			binary.data[index] = -1;
+			if( marking )
+				binary.data[index] = -1;
 			return false;
 		}
 	}
@@ -229,6 +247,7 @@ public class ContourTracer {
 		// compensate for the border added to binary image
 		p.set(x-1, y-1);
 		contour.add(p);
-		labeled.data[indexLabel] = label;
+		if( marking )
+			labeled.data[indexLabel] = label;
 	}
 }
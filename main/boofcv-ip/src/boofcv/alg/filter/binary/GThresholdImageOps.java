@@ -19,7 +19,10 @@
 package boofcv.alg.filter.binary;
 
 import boofcv.abst.filter.binary.LocalSquareBlockMinMaxBinaryFilter;
+import boofcv.alg.filter.binary.impl.ThresholdLocalIntegral;
+import boofcv.alg.filter.binary.impl.ThresholdLocalMeanIntegral;
 import boofcv.alg.filter.binary.impl.ThresholdSauvola;
+import boofcv.alg.filter.binary.impl.ThresholdSauvolaIntegral;
 import boofcv.alg.misc.GImageStatistics;
 import boofcv.core.image.GConvertImage;
 import boofcv.struct.image.*;
@@ -338,6 +341,84 @@ public class GThresholdImageOps {
 		return output;
 	}
 
+	/**
+	 * Thresholds each pixel against the mean of the local square region times the scale.  Same equation as
+	 * {@link #localSquare} but the mean is computed using an integral image, so the cost of each pixel doesn't
+	 * depend on the radius.
+	 *
+	 * @see ThresholdLocalMeanIntegral
+	 *
+	 * @param input Input image.
+	 * @param output (optional) Output binary image.  If null it will be declared internally.
+	 * @param radius Radius of square region.
+	 * @param scale Scale factor used to adjust threshold.  Try 0.95
+	 * @param down Should it threshold up or down.
+	 * @return binary image
+	 */
+	public static <T extends ImageGray<T>>
+	GrayU8 localMeanIntegral(T input, GrayU8 output, int radius, double scale, boolean down)
+	{
+		return localIntegral(new ThresholdLocalMeanIntegral(radius, scale, down), input, output);
+	}
+
+	/**
+	 * Applies Bradley and Roth's adaptive threshold, where a pixel is set to 1 if it's at least t percent below
+	 * the local mean.  Computed using an integral image.
+	 *
+	 * @see ThresholdLocalMeanIntegral
+	 *
+	 * @param input Input image.
+	 * @param output (optional) Output binary image.  If null it will be declared internally.
+	 * @param radius Radius of square region.
+	 * @param t Fraction of the mean a pixel must be below. Try 0.15
+	 * @param down Should it threshold up or down.
+	 * @return binary image
+	 */
+	public static <T extends ImageGray<T>>
+	GrayU8 localBradley(T input, GrayU8 output, int radius, double t, boolean down)
+	{
+		return localIntegral(new ThresholdLocalMeanIntegral(radius, 1.0 - t, down), input, output);
+	}
+
+	/**
+	 * Applies {@link ThresholdSauvolaIntegral Sauvola} thresholding to the input image.  The local mean and
+	 * standard deviation are computed using integral images, so the cost of each pixel doesn't depend on
+	 * the radius.
+	 *
+	 * @see ThresholdSauvolaIntegral
+	 *
+	 * @param input Input image.
+	 * @param output (optional) Output binary image.  If null it will be declared internally.
+	 * @param radius Radius of local region.  Try 15
+	 * @param k Positive parameter used to tune threshold.  Try 0.3
+	 * @param down Should it threshold up or down.
+	 * @return binary image
+	 */
+	public static <T extends ImageGray<T>>
+	GrayU8 localSauvolaIntegral(T input, GrayU8 output, int radius, float k, boolean down)
+	{
+		return localIntegral(new ThresholdSauvolaIntegral(radius, k, down), input, output);
+	}
+
+	private static <T extends ImageGray<T>>
+	GrayU8 localIntegral(ThresholdLocalIntegral alg, T input, GrayU8 output)
+	{
+		if( output == null )
+			output = new GrayU8(input.width,input.height);
+
+		if( input instanceof GrayU8 ) {
+			alg.process((GrayU8)input,output);
+		} else if( input instanceof GrayF32 ) {
+			alg.process((GrayF32)input,output);
+		} else {
+			GrayF32 conv = new GrayF32(input.width,input.height);
+			GConvertImage.convert(input, conv);
+			alg.process(conv,output);
+		}
+
+		return output;
+	}
+
 	/**
 	 * Applies a threshold to an image by computing the min and max values in a regular grid across
 	 * the input image.  See {@link ThresholdSquareBlockMinMax} for the details.
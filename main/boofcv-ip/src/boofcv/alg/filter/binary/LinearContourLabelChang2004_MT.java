@@ -0,0 +1,503 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.binary;
+
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeTask;
+import boofcv.concurrency.IntRangeWorkTask;
+import boofcv.struct.ConnectRule;
+import boofcv.struct.image.GrayS32;
+import boofcv.struct.image.GrayU8;
+import georegression.struct.point.Point2D_I32;
+import org.ddogleg.struct.FastQueue;
+import org.ddogleg.struct.GrowQueue_I32;
+import org.ddogleg.struct.GrowQueue_I64;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>
+ * Concurrent implementation of {@link LinearContourLabelChang2004}.  The labeled image and the list of contours are
+ * identical to what the single threaded algorithm produces, including the label assigned to each blob, the
+ * order of the contours, and the order of points inside each contour.  In addition, the area, bounding box, and
+ * centroid of each blob is computed while the labeled image is written.
+ * </p>
+ *
+ * <p>
+ * The image is split into strips of rows.  Inside each strip, pixels are connected to their neighbors with the same
+ * value using union-find.  Black pixels use the specified connectivity rule and white pixels use the opposite rule.
+ * Regions are always merged into the one which starts first, so the root of each region is its first pixel in raster
+ * order. After all the strips are done the rows along each strip boundary are merged.  Blobs are labeled in the order
+ * their roots appear, which is the same order the single threaded algorithm encounters them.  Every white region
+ * except for the one touching the image border is a hole.  Its internal contour is traced starting from the pixel
+ * above its root, which is the pixel the single threaded algorithm would start from.
+ * </p>
+ *
+ * <p>
+ * External and internal contours are traced concurrently.  Tracers are configured to not modify the images since
+ * they are no longer needed to mark which contours have been traced.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class LinearContourLabelChang2004_MT {
+
+	// connectivity rule for black pixels
+	private ConnectRule rule;
+	// connectivity of black and white pixels
+	private boolean blackEight, whiteEight;
+
+	// binary image with a border of zero.
+	private GrayU8 border = new GrayU8(1,1);
+
+	// parent of each pixel in the border image for union-find.  After the labels have been assigned the roots of
+	// blobs contain the negative of their label
+	private int parent[] = new int[0];
+
+	// roots of blobs and holes, in raster order
+	private GrowQueue_I32 blobRoots = new GrowQueue_I32();
+	private GrowQueue_I32 holeRoots = new GrowQueue_I32();
+	// the label of the blob which contains each hole
+	private GrowQueue_I32 holeLabels = new GrowQueue_I32();
+
+	// minimum number of rows in a strip
+	private int minimumStripRows = 32;
+	// minimum number of contours traced by a single thread
+	private int minimumTraces = 20;
+
+	// work space for each strip and each contour tracer
+	private FastQueue<StripWork> strips = new FastQueue<StripWork>(1,StripWork.class,true) {
+		@Override
+		protected StripWork createInstance() {
+			return new StripWork();
+		}
+	};
+	private FastQueue<TraceWork> tracers;
+
+	// predeclared/recycled data structures
+	private FastQueue<List<Point2D_I32>> storageLists = new FastQueue<>((Class) ArrayList.class, true);
+	private FastQueue<Contour> contours = new FastQueue<>(Contour.class, true);
+	private FastQueue<BlobStatistics> blobs = new FastQueue<>(BlobStatistics.class, true);
+
+	// images being processed
+	private GrayU8 binary;
+	private GrayS32 labeled;
+
+	/**
+	 * Configures the algorithm.
+	 *
+	 * @param rule Connectivity rule.  4 or 8
+	 */
+	public LinearContourLabelChang2004_MT( final ConnectRule rule ) {
+		if( rule != ConnectRule.FOUR && rule != ConnectRule.EIGHT )
+			throw new IllegalArgumentException("Connectivity rule must be 4 or 8 not "+rule);
+
+		this.rule = rule;
+		this.blackEight = rule == ConnectRule.EIGHT;
+		this.whiteEight = !blackEight;
+
+		tracers = new FastQueue<TraceWork>(1,TraceWork.class,true) {
+			@Override
+			protected TraceWork createInstance() {
+				return new TraceWork(rule);
+			}
+		};
+	}
+
+	/**
+	 * Processes the binary image to find the contour of and label blobs.
+	 *
+	 * @param binary Input binary image. Not modified.
+	 * @param labeled Output. Labeled image.  Modified.
+	 */
+	public void process( final GrayU8 binary , GrayS32 labeled ) {
+		this.binary = binary;
+		this.labeled = labeled;
+
+		// ensure that the image border pixels are filled with zero by enlarging the image
+		if( border.width != binary.width+2 || border.height != binary.height+2)  {
+			border.reshape(binary.width + 2, binary.height + 2);
+			ImageMiscOps.fillBorder(border, 0, 1);
+		}
+		BoofConcurrency.loopBlocks(0, binary.height, minimumStripRows, copyTask);
+
+		if( parent.length < border.width*border.height )
+			parent = new int[border.width*border.height];
+
+		// connect pixels inside each strip then merge the strips together
+		BoofConcurrency.loopBlocks(0, border.height, minimumStripRows, strips, connectTask);
+		for( int i = 1; i < strips.size; i++ ) {
+			mergeRows(strips.get(i).rowStart);
+		}
+
+		findRoots();
+
+		// write the labeled image and compute blob statistics
+		BoofConcurrency.loopBlocks(1, border.height-1, minimumStripRows, strips, labelTask);
+		combineStatistics();
+
+		traceContours();
+	}
+
+	/**
+	 * Copies the input image into the inside of the border image
+	 */
+	private IntRangeTask copyTask = new IntRangeTask() {
+		@Override
+		public void process(int idx0, int idx1) {
+			for( int y = idx0; y < idx1; y++ ) {
+				System.arraycopy(binary.data, binary.startIndex + y*binary.stride,
+						border.data, (y+1)*border.width + 1, binary.width);
+			}
+		}
+	};
+
+	/**
+	 * Connects pixels to their neighbors in a strip of rows.  Only rows inside the strip are considered.
+	 */
+	private IntRangeWorkTask<StripWork> connectTask = new IntRangeWorkTask<StripWork>() {
+		@Override
+		public void process(StripWork work, int idx0, int idx1) {
+			work.rowStart = idx0;
+			work.candidates.reset();
+
+			final int width = border.width;
+			final byte[] data = border.data;
+			for( int y = idx0; y < idx1; y++ ) {
+				int index = y*width;
+				for( int x = 0; x < width; x++, index++ ) {
+					boolean black = data[index] == 1;
+					boolean eight = black ? blackEight : whiteEight;
+
+					int root = -1;
+					if( x > 0 && (data[index-1] == 1) == black )
+						root = find(index-1);
+					if( y > idx0 ) {
+						int up = index - width;
+						if( (data[up] == 1) == black )
+							root = connect(root, up);
+						if( eight ) {
+							if( x > 0 && (data[up-1] == 1) == black )
+								root = connect(root, up-1);
+							if( x < width-1 && (data[up+1] == 1) == black )
+								root = connect(root, up+1);
+						}
+					}
+
+					if( root < 0 ) {
+						// first pixel in a new region
+						parent[index] = index;
+						work.candidates.add(index);
+					} else {
+						parent[index] = root;
+					}
+				}
+			}
+		}
+	};
+
+	/**
+	 * Writes the labeled image and computes statistics for each blob in a strip
+	 */
+	private IntRangeWorkTask<StripWork> labelTask = new IntRangeWorkTask<StripWork>() {
+		@Override
+		public void process(StripWork work, int idx0, int idx1) {
+			work.resetStatistics(blobRoots.size);
+
+			final int width = border.width;
+			final byte[] data = border.data;
+			for( int y = idx0; y < idx1; y++ ) {
+				int index = y*width + 1;
+				int indexOut = labeled.startIndex + (y-1)*labeled.stride;
+				for( int x = 1; x < width-1; x++, index++, indexOut++ ) {
+					if( data[index] != 1 ) {
+						labeled.data[indexOut] = 0;
+						continue;
+					}
+					int label = labelOf(index);
+					labeled.data[indexOut] = label;
+					work.add(label-1, x-1, y-1);
+				}
+			}
+		}
+	};
+
+	/**
+	 * Merges the regions in the first row of a strip with the regions in the row above it
+	 */
+	private void mergeRows( int y ) {
+		final int width = border.width;
+		final byte[] data = border.data;
+
+		int index = y*width;
+		for( int x = 0; x < width; x++, index++ ) {
+			boolean black = data[index] == 1;
+			int up = index - width;
+
+			if( (data[up] == 1) == black )
+				connect(find(index), up);
+			if( black ? blackEight : whiteEight ) {
+				if( x > 0 && (data[up-1] == 1) == black )
+					connect(find(index), up-1);
+				if( x < width-1 && (data[up+1] == 1) == black )
+					connect(find(index), up+1);
+			}
+		}
+	}
+
+	/**
+	 * Selects the regions which are still roots after merging and assigns labels to blobs in raster order
+	 */
+	private void findRoots() {
+		blobRoots.reset();
+		holeRoots.reset();
+		final byte[] data = border.data;
+
+		for( int i = 0; i < strips.size; i++ ) {
+			GrowQueue_I32 candidates = strips.get(i).candidates;
+			for( int j = 0; j < candidates.size; j++ ) {
+				int index = candidates.data[j];
+				if( parent[index] != index )
+					continue;
+				if( data[index] == 1 )
+					blobRoots.add(index);
+				else if( index != 0 ) // the first pixel in the border is the root of the region outside of all blobs
+					holeRoots.add(index);
+			}
+		}
+
+		for( int i = 0; i < blobRoots.size; i++ ) {
+			parent[blobRoots.data[i]] = -(i+1);
+		}
+
+		// the first pixel of a hole is always below a pixel in the blob which contains it
+		holeLabels.resize(holeRoots.size);
+		for( int i = 0; i < holeRoots.size; i++ ) {
+			holeLabels.data[i] = labelOf(holeRoots.data[i] - border.width);
+		}
+	}
+
+	/**
+	 * Combines the statistics computed in each strip
+	 */
+	private void combineStatistics() {
+		blobs.reset();
+		for( int label = 0; label < blobRoots.size; label++ ) {
+			BlobStatistics b = blobs.grow();
+			int area = 0;
+			int x0 = Integer.MAX_VALUE, y0 = Integer.MAX_VALUE;
+			int x1 = -1, y1 = -1;
+			long sumX = 0, sumY = 0;
+
+			for( int i = 0; i < strips.size; i++ ) {
+				StripWork w = strips.get(i);
+				if( w.area.data[label] == 0 )
+					continue;
+				area += w.area.data[label];
+				x0 = Math.min(x0, w.minX.data[label]);
+				y0 = Math.min(y0, w.minY.data[label]);
+				x1 = Math.max(x1, w.maxX.data[label]);
+				y1 = Math.max(y1, w.maxY.data[label]);
+				sumX += w.sumX.data[label];
+				sumY += w.sumY.data[label];
+			}
+
+			b.id = label+1;
+			b.area = area;
+			b.bounds.set(x0, y0, x1 + 1, y1 + 1);
+			b.centroid.set(sumX/(double)area, sumY/(double)area);
+		}
+	}
+
+	/**
+	 * Traces the external contour of every blob and the internal contour of every hole
+	 */
+	private void traceContours() {
+		contours.reset();
+		storageLists.reset();
+
+		for( int i = 0; i < blobRoots.size; i++ ) {
+			Contour c = contours.grow();
+			c.reset();
+			c.id = i+1;
+		}
+		for( int i = 0; i < holeRoots.size; i++ ) {
+			List<Point2D_I32> inner = storageLists.grow();
+			inner.clear();
+			contours.get(holeLabels.data[i]-1).internal.add(inner);
+		}
+
+		BoofConcurrency.loopBlocks(0, blobRoots.size + holeRoots.size, minimumTraces, tracers,
+				new IntRangeWorkTask<TraceWork>() {
+			@Override
+			public void process(TraceWork work, int idx0, int idx1) {
+				work.storagePoints.reset();
+				work.tracer.setInputs(border, labeled, work.storagePoints);
+
+				final int width = border.width;
+				for( int i = idx0; i < idx1; i++ ) {
+					if( i < blobRoots.size ) {
+						int index = blobRoots.data[i];
+						work.tracer.trace(i+1, index%width, index/width, true, contours.get(i).external);
+					} else {
+						int hole = i - blobRoots.size;
+						int index = holeRoots.data[hole] - width;
+						work.tracer.trace(holeLabels.data[hole], index%width, index/width, false,
+								storageLists.get(hole));
+					}
+				}
+			}
+		});
+	}
+
+	/**
+	 * Connects the region with the specified root to the region containing the pixel.  If the root is negative then
+	 * the pixel's root is returned.
+	 *
+	 * @return The root of the combined region
+	 */
+	private int connect( int root , int pixel ) {
+		int other = find(pixel);
+		if( root < 0 || root == other )
+			return other;
+		// the region which starts first in raster order is always the root
+		if( root < other ) {
+			parent[other] = root;
+			return root;
+		} else {
+			parent[root] = other;
+			return other;
+		}
+	}
+
+	/**
+	 * Finds the root of the region which contains the pixel. Uses path halving to flatten the tree.
+	 */
+	private int find( int index ) {
+		while( parent[index] != index ) {
+			int next = parent[parent[index]];
+			parent[index] = next;
+			index = next;
+		}
+		return index;
+	}
+
+	/**
+	 * Returns the label of a black pixel after labels have been assigned.  Does not modify the tree so that it can
+	 * be called concurrently.
+	 */
+	private int labelOf( int index ) {
+		int value;
+		while( (value = parent[index]) >= 0 )
+			index = value;
+		return -value;
+	}
+
+	public FastQueue<Contour> getContours() {
+		return contours;
+	}
+
+	/**
+	 * Statistics for each blob.  Index 'i' contains the blob with label 'i+1'
+	 */
+	public FastQueue<BlobStatistics> getBlobs() {
+		return blobs;
+	}
+
+	public ConnectRule getConnectRule() {
+		return rule;
+	}
+
+	public int getMinimumStripRows() {
+		return minimumStripRows;
+	}
+
+	/**
+	 * Specifies the smallest number of rows a thread will label.  Each additional strip requires a row of pixels to
+	 * be merged.
+	 */
+	public void setMinimumStripRows(int minimumStripRows) {
+		if( minimumStripRows < 1 )
+			throw new IllegalArgumentException("Must be at least 1");
+		this.minimumStripRows = minimumStripRows;
+	}
+
+	/**
+	 * Work space for labeling a strip of rows
+	 */
+	private static class StripWork {
+		// first row in the strip
+		int rowStart;
+		// pixels which started a new region inside the strip
+		GrowQueue_I32 candidates = new GrowQueue_I32();
+
+		// statistics for each label
+		GrowQueue_I32 area = new GrowQueue_I32();
+		GrowQueue_I32 minX = new GrowQueue_I32();
+		GrowQueue_I32 minY = new GrowQueue_I32();
+		GrowQueue_I32 maxX = new GrowQueue_I32();
+		GrowQueue_I32 maxY = new GrowQueue_I32();
+		GrowQueue_I64 sumX = new GrowQueue_I64();
+		GrowQueue_I64 sumY = new GrowQueue_I64();
+
+		void resetStatistics( int numLabels ) {
+			area.resize(numLabels);
+			minX.resize(numLabels);
+			minY.resize(numLabels);
+			maxX.resize(numLabels);
+			maxY.resize(numLabels);
+			sumX.resize(numLabels);
+			sumY.resize(numLabels);
+			for( int i = 0; i < numLabels; i++ ) {
+				area.data[i] = 0;
+				sumX.data[i] = 0;
+				sumY.data[i] = 0;
+			}
+		}
+
+		void add( int index , int x , int y ) {
+			if( area.data[index]++ == 0 ) {
+				minX.data[index] = maxX.data[index] = x;
+				minY.data[index] = maxY.data[index] = y;
+			} else {
+				if( x < minX.data[index] ) minX.data[index] = x;
+				else if( x > maxX.data[index] ) maxX.data[index] = x;
+				// pixels are added in raster order so y never decreases
+				maxY.data[index] = y;
+			}
+			sumX.data[index] += x;
+			sumY.data[index] += y;
+		}
+	}
+
+	/**
+	 * Work space for tracing contours
+	 */
+	private static class TraceWork {
+		ContourTracer tracer;
+		FastQueue<Point2D_I32> storagePoints = new FastQueue<>(Point2D_I32.class, true);
+
+		TraceWork( ConnectRule rule ) {
+			tracer = new ContourTracer(rule);
+			tracer.setMarking(false);
+		}
+	}
+}
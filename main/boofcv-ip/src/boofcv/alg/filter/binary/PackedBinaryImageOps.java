@@ -0,0 +1,498 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.binary;
+
+import boofcv.struct.image.GrayBinary;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.GrayU8;
+
+/**
+ * <p>
+ * Operations on bit-packed binary images, {@link GrayBinary}.  Each operation processes 64 pixels at once using
+ * bitwise logic on entire words.  Results are identical to the equivalent functions in {@link BinaryImageOps},
+ * including how the image border is handled.
+ * </p>
+ *
+ * <p>
+ * Neighborhood operations are computed one row at a time.  The row above, the current row, and the row below are
+ * copied into small buffers which are padded with one word on each side.  Pixels outside the image are filled in
+ * with the value which makes the operation behave the same as {@link BinaryImageOps}.  Since only three rows are
+ * buffered the output can be the same image as the input.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class PackedBinaryImageOps {
+
+	private static final int ERODE4 = 0;
+	private static final int ERODE8 = 1;
+	private static final int DILATE4 = 2;
+	private static final int DILATE8 = 3;
+	private static final int EDGE4 = 4;
+	private static final int EDGE8 = 5;
+
+	/**
+	 * Converts a binary {@link GrayU8} image into a packed binary image.  Any pixel which is not zero is set to 1.
+	 *
+	 * @param input Input binary image. Not modified.
+	 * @param output (Optional) Storage for the packed image. If null a new instance is declared.  Modified.
+	 * @return The packed image
+	 */
+	public static GrayBinary pack( GrayU8 input , GrayBinary output ) {
+		output = checkDeclare(input.width, input.height, output);
+
+		final int width = input.width;
+		for( int y = 0; y < input.height; y++ ) {
+			int indexIn = input.startIndex + y*input.stride;
+			int indexOut = y*output.stride;
+
+			for( int x = 0; x < width; x += GrayBinary.BITS, indexOut++ ) {
+				int N = Math.min(GrayBinary.BITS, width - x);
+				long word = 0;
+				for( int bit = 0; bit < N; bit++ ) {
+					if( input.data[indexIn++] != 0 )
+						word |= 1L << bit;
+				}
+				output.data[indexOut] = word;
+			}
+		}
+
+		return output;
+	}
+
+	/**
+	 * Converts a packed binary image into a {@link GrayU8} image where each pixel has a value of 0 or 1.
+	 *
+	 * @param input Packed binary image. Not modified.
+	 * @param output (Optional) Storage for the unpacked image. If null a new instance is declared.  Modified.
+	 * @return The unpacked image
+	 */
+	public static GrayU8 unpack( GrayBinary input , GrayU8 output ) {
+		if( output == null )
+			output = new GrayU8(input.width, input.height);
+		else if( output.width != input.width || output.height != input.height )
+			throw new IllegalArgumentException("Output image must have the same shape as the input");
+
+		final int width = input.width;
+		for( int y = 0; y < input.height; y++ ) {
+			int indexIn = y*input.stride;
+			int indexOut = output.startIndex + y*output.stride;
+
+			for( int x = 0; x < width; x += GrayBinary.BITS ) {
+				int N = Math.min(GrayBinary.BITS, width - x);
+				long word = input.data[indexIn++];
+				for( int bit = 0; bit < N; bit++ ) {
+					output.data[indexOut++] = (byte)((word >>> bit) & 1);
+				}
+			}
+		}
+
+		return output;
+	}
+
+	/**
+	 * Applies a global threshold and writes the results directly into a packed binary image.  Same behavior as
+	 * {@link ThresholdImageOps#threshold(GrayF32, GrayU8, float, boolean)}.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param output (Optional) Packed binary output image. If null a new instance is declared.  Modified.
+	 * @param threshold threshold value.
+	 * @param down If true then the inequality &le; is used, otherwise if false then &gt; is used.
+	 * @return Packed binary image
+	 */
+	public static GrayBinary threshold( GrayF32 input , GrayBinary output , float threshold , boolean down ) {
+		output = checkDeclare(input.width, input.height, output);
+
+		final int width = input.width;
+		for( int y = 0; y < input.height; y++ ) {
+			int indexIn = input.startIndex + y*input.stride;
+			int indexOut = y*output.stride;
+
+			for( int x = 0; x < width; x += GrayBinary.BITS, indexOut++ ) {
+				int N = Math.min(GrayBinary.BITS, width - x);
+				long word = 0;
+				if( down ) {
+					for( int bit = 0; bit < N; bit++ ) {
+						if( input.data[indexIn++] <= threshold )
+							word |= 1L << bit;
+					}
+				} else {
+					for( int bit = 0; bit < N; bit++ ) {
+						if( input.data[indexIn++] > threshold )
+							word |= 1L << bit;
+					}
+				}
+				output.data[indexOut] = word;
+			}
+		}
+
+		return output;
+	}
+
+	/**
+	 * Applies a global threshold and writes the results directly into a packed binary image.  Same behavior as
+	 * {@link ThresholdImageOps#threshold(GrayU8, GrayU8, int, boolean)}.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param output (Optional) Packed binary output image. If null a new instance is declared.  Modified.
+	 * @param threshold threshold value.
+	 * @param down If true then the inequality &le; is used, otherwise if false then &gt; is used.
+	 * @return Packed binary image
+	 */
+	public static GrayBinary threshold( GrayU8 input , GrayBinary output , int threshold , boolean down ) {
+		output = checkDeclare(input.width, input.height, output);
+
+		final int width = input.width;
+		for( int y = 0; y < input.height; y++ ) {
+			int indexIn = input.startIndex + y*input.stride;
+			int indexOut = y*output.stride;
+
+			for( int x = 0; x < width; x += GrayBinary.BITS, indexOut++ ) {
+				int N = Math.min(GrayBinary.BITS, width - x);
+				long word = 0;
+				if( down ) {
+					for( int bit = 0; bit < N; bit++ ) {
+						if( (input.data[indexIn++] & 0xFF) <= threshold )
+							word |= 1L << bit;
+					}
+				} else {
+					for( int bit = 0; bit < N; bit++ ) {
+						if( (input.data[indexIn++] & 0xFF) > threshold )
+							word |= 1L << bit;
+					}
+				}
+				output.data[indexOut] = word;
+			}
+		}
+
+		return output;
+	}
+
+	/**
+	 * For each pixel it applies the logical 'and' operator between two images.
+	 *
+	 * @param inputA First input image. Not modified.
+	 * @param inputB Second input image. Not modified.
+	 * @param output Output image. Can be same as either input.  If null a new instance will be declared, Modified.
+	 * @return Output of logical operation.
+	 */
+	public static GrayBinary logicAnd( GrayBinary inputA , GrayBinary inputB , GrayBinary output ) {
+		output = checkDeclare(inputA, inputB, output);
+
+		final int N = inputA.stride*inputA.height;
+		for( int i = 0; i < N; i++ ) {
+			output.data[i] = inputA.data[i] & inputB.data[i];
+		}
+		return output;
+	}
+
+	/**
+	 * For each pixel it applies the logical 'or' operator between two images.
+	 *
+	 * @param inputA First input image. Not modified.
+	 * @param inputB Second input image. Not modified.
+	 * @param output Output image. Can be same as either input.  If null a new instance will be declared, Modified.
+	 * @return Output of logical operation.
+	 */
+	public static GrayBinary logicOr( GrayBinary inputA , GrayBinary inputB , GrayBinary output ) {
+		output = checkDeclare(inputA, inputB, output);
+
+		final int N = inputA.stride*inputA.height;
+		for( int i = 0; i < N; i++ ) {
+			output.data[i] = inputA.data[i] | inputB.data[i];
+		}
+		return output;
+	}
+
+	/**
+	 * For each pixel it applies the logical 'xor' operator between two images.
+	 *
+	 * @param inputA First input image. Not modified.
+	 * @param inputB Second input image. Not modified.
+	 * @param output Output image. Can be same as either input.  If null a new instance will be declared, Modified.
+	 * @return Output of logical operation.
+	 */
+	public static GrayBinary logicXor( GrayBinary inputA , GrayBinary inputB , GrayBinary output ) {
+		output = checkDeclare(inputA, inputB, output);
+
+		final int N = inputA.stride*inputA.height;
+		for( int i = 0; i < N; i++ ) {
+			output.data[i] = inputA.data[i] ^ inputB.data[i];
+		}
+		return output;
+	}
+
+	/**
+	 * Inverts each pixel from true to false and vis-versa.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param output Output image. Can be same as input.  If null a new instance will be declared, Modified.
+	 * @return Output of logical operation.
+	 */
+	public static GrayBinary invert( GrayBinary input , GrayBinary output ) {
+		output = checkDeclare(input.width, input.height, output);
+
+		final long mask = input.lastWordMask();
+		final int stride = input.stride;
+		for( int y = 0; y < input.height; y++ ) {
+			int index = y*stride;
+			int end = index + stride - 1;
+			for( ; index < end; index++ ) {
+				output.data[index] = ~input.data[index];
+			}
+			output.data[end] = ~input.data[end] & mask;
+		}
+		return output;
+	}
+
+	/**
+	 * Erodes an image according to a 4-neighborhood.  Unless a pixel is connected to all its neighbors its value
+	 * is set to zero.  See {@link BinaryImageOps#erode4(GrayU8, int, GrayU8)}.
+	 *
+	 * @param input  Input image. Not modified.
+	 * @param numTimes How many times the operation will be applied to the image.
+	 * @param output If not null, the output image.  If null a new image is declared and returned.  Modified.
+	 * @return Output image.
+	 */
+	public static GrayBinary erode4( GrayBinary input , int numTimes , GrayBinary output ) {
+		return apply(input, numTimes, output, ERODE4);
+	}
+
+	/**
+	 * Dilates an image according to a 4-neighborhood.  If a pixel is connected to any other pixel then its output
+	 * value will be one.  See {@link BinaryImageOps#dilate4(GrayU8, int, GrayU8)}.
+	 *
+	 * @param input  Input image. Not modified.
+	 * @param numTimes How many times the operation will be applied to the image.
+	 * @param output If not null, the output image.  If null a new image is declared and returned.  Modified.
+	 * @return Output image.
+	 */
+	public static GrayBinary dilate4( GrayBinary input , int numTimes , GrayBinary output ) {
+		return apply(input, numTimes, output, DILATE4);
+	}
+
+	/**
+	 * Erodes an image according to an 8-neighborhood.  Unless a pixel is connected to all its neighbors its value
+	 * is set to zero.  See {@link BinaryImageOps#erode8(GrayU8, int, GrayU8)}.
+	 *
+	 * @param input  Input image. Not modified.
+	 * @param numTimes How many times the operation will be applied to the image.
+	 * @param output If not null, the output image.  If null a new image is declared and returned.  Modified.
+	 * @return Output image.
+	 */
+	public static GrayBinary erode8( GrayBinary input , int numTimes , GrayBinary output ) {
+		return apply(input, numTimes, output, ERODE8);
+	}
+
+	/**
+	 * Dilates an image according to an 8-neighborhood.  If a pixel is connected to any other pixel then its output
+	 * value will be one.  See {@link BinaryImageOps#dilate8(GrayU8, int, GrayU8)}.
+	 *
+	 * @param input  Input image. Not modified.
+	 * @param numTimes How many times the operation will be applied to the image.
+	 * @param output If not null, the output image.  If null a new image is declared and returned.  Modified.
+	 * @return Output image.
+	 */
+	public static GrayBinary dilate8( GrayBinary input , int numTimes , GrayBinary output ) {
+		return apply(input, numTimes, output, DILATE8);
+	}
+
+	/**
+	 * Binary edge detector for 4-connected objects.  The edge of an object is any pixel which has a value of one
+	 * and is not connected to all of its 4 neighbors.  See {@link BinaryImageOps#edge4(GrayU8, GrayU8)}.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param output If not null, the output image.  If null a new image is declared and returned.  Modified.
+	 * @return Output image.
+	 */
+	public static GrayBinary edge4( GrayBinary input , GrayBinary output ) {
+		return apply(input, 1, output, EDGE4);
+	}
+
+	/**
+	 * Binary edge detector for 8-connected objects.  The edge of an object is any pixel which has a value of one
+	 * and is not connected to all of its 8 neighbors.  See {@link BinaryImageOps#edge8(GrayU8, GrayU8)}.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param output If not null, the output image.  If null a new image is declared and returned.  Modified.
+	 * @return Output image.
+	 */
+	public static GrayBinary edge8( GrayBinary input , GrayBinary output ) {
+		return apply(input, 1, output, EDGE8);
+	}
+
+	private static GrayBinary apply( GrayBinary input , int numTimes , GrayBinary output , int operation ) {
+		if( numTimes <= 0 )
+			throw new IllegalArgumentException("numTimes must be >= 1");
+		output = checkDeclare(input.width, input.height, output);
+
+		// rows are buffered internally so the operation can be applied in place after the first iteration
+		neighborhood(input, output, operation);
+		for( int i = 1; i < numTimes; i++ ) {
+			neighborhood(output, output, operation);
+		}
+		return output;
+	}
+
+	/**
+	 * Applies a 3x3 neighborhood operation to every pixel in the image
+	 */
+	private static void neighborhood( GrayBinary input , GrayBinary output , int operation ) {
+		final int width = input.width;
+		final int height = input.height;
+		final int stride = input.stride;
+		if( width == 0 || height == 0 )
+			return;
+
+		// value of pixels outside the image
+		final long fill = operation == DILATE4 || operation == DILATE8 ? 0 : -1L;
+
+		long[] up = new long[stride+2];
+		long[] middle = new long[stride+2];
+		long[] down = new long[stride+2];
+
+		loadRow(input, -1, fill, up);
+		loadRow(input, 0, fill, middle);
+
+		final long mask = input.lastWordMask();
+		for( int y = 0; y < height; y++ ) {
+			loadRow(input, y + 1, fill, down);
+
+			int indexOut = y*stride;
+			switch( operation ) {
+				case ERODE4:
+					for( int i = 0; i < stride; i++ ) {
+						long c = middle[i+1];
+						output.data[indexOut+i] = c & left(middle, i) & right(middle, i) & up[i+1] & down[i+1];
+					}
+					break;
+
+				case ERODE8:
+					for( int i = 0; i < stride; i++ ) {
+						output.data[indexOut+i] =
+								(up[i+1] & left(up, i) & right(up, i)) &
+								(middle[i+1] & left(middle, i) & right(middle, i)) &
+								(down[i+1] & left(down, i) & right(down, i));
+					}
+					break;
+
+				case DILATE4:
+					for( int i = 0; i < stride; i++ ) {
+						long c = middle[i+1];
+						output.data[indexOut+i] = c | left(middle, i) | right(middle, i) | up[i+1] | down[i+1];
+					}
+					break;
+
+				case DILATE8:
+					for( int i = 0; i < stride; i++ ) {
+						output.data[indexOut+i] =
+								(up[i+1] | left(up, i) | right(up, i)) |
+								(middle[i+1] | left(middle, i) | right(middle, i)) |
+								(down[i+1] | left(down, i) | right(down, i));
+					}
+					break;
+
+				case EDGE4:
+					for( int i = 0; i < stride; i++ ) {
+						long c = middle[i+1];
+						output.data[indexOut+i] = c & ~(left(middle, i) & right(middle, i) & up[i+1] & down[i+1]);
+					}
+					break;
+
+				case EDGE8:
+					for( int i = 0; i < stride; i++ ) {
+						long c = middle[i+1];
+						long neighbors =
+								(up[i+1] & left(up, i) & right(up, i)) &
+								(left(middle, i) & right(middle, i)) &
+								(down[i+1] & left(down, i) & right(down, i));
+						output.data[indexOut+i] = c & ~neighbors;
+					}
+					break;
+
+				default:
+					throw new RuntimeException("Unknown operation");
+			}
+			output.data[indexOut+stride-1] &= mask;
+
+			long[] tmp = up;
+			up = middle;
+			middle = down;
+			down = tmp;
+		}
+
+		if( operation == ERODE4 ) {
+			// BinaryImageOps treats the missing neighbor of a corner pixel as zero
+			if( width < 2 || height < 2 ) {
+				output.fill(0);
+			} else {
+				output.unsafe_set(0, 0, 0);
+				output.unsafe_set(width - 1, 0, 0);
+				output.unsafe_set(0, height - 1, 0);
+				output.unsafe_set(width - 1, height - 1, 0);
+			}
+		}
+	}
+
+	/**
+	 * Value of the pixel to the left of each pixel in word 'i'
+	 */
+	private static long left( long[] row , int i ) {
+		return (row[i+1] << 1) | (row[i] >>> 63);
+	}
+
+	/**
+	 * Value of the pixel to the right of each pixel in word 'i'
+	 */
+	private static long right( long[] row , int i ) {
+		return (row[i+1] >>> 1) | (row[i+2] << 63);
+	}
+
+	/**
+	 * Copies a row into the buffer with one word of padding on each side.  Padding and pixels outside the image are
+	 * set to the fill value.
+	 */
+	private static void loadRow( GrayBinary image , int y , long fill , long[] buffer ) {
+		final int stride = image.stride;
+		buffer[0] = fill;
+		buffer[stride+1] = fill;
+		if( y < 0 || y >= image.height ) {
+			for( int i = 1; i <= stride; i++ ) {
+				buffer[i] = fill;
+			}
+		} else {
+			System.arraycopy(image.data, y*stride, buffer, 1, stride);
+			buffer[stride] |= fill & ~image.lastWordMask();
+		}
+	}
+
+	private static GrayBinary checkDeclare( int width , int height , GrayBinary output ) {
+		if( output == null )
+			return new GrayBinary(width, height);
+		if( output.width != width || output.height != height )
+			throw new IllegalArgumentException("Output image must have the same shape as the input");
+		return output;
+	}
+
+	private static GrayBinary checkDeclare( GrayBinary inputA , GrayBinary inputB , GrayBinary output ) {
+		if( inputA.width != inputB.width || inputA.height != inputB.height )
+			throw new IllegalArgumentException("Input images must have the same shape");
+		return checkDeclare(inputA.width, inputA.height, output);
+	}
+}
@@ -0,0 +1,264 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.binary.impl;
+
+import boofcv.alg.InputSanityCheck;
+import boofcv.alg.transform.ii.impl.ImplIntegralImageOps_MT;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeTask;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.GrayF64;
+import boofcv.struct.image.GrayU8;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * Base class for local adaptive thresholds which compute statistics inside a square region using integral images.
+ * The sum of pixel values, and optionally the sum of squared pixel values, inside any region is found with four
+ * lookups, making the cost of each pixel independent of the region's radius.  Along the image border the region
+ * is clipped to the inside of the image, which is the same as a normalized mean filter.
+ * </p>
+ *
+ * <p>
+ * Integral images are stored as double with an extra row and column of zeros along the top and left.  The sums of
+ * a {@link GrayU8} image are exact for any practical image size.  Rows of the integral images are computed in
+ * concurrent bands, then added together going down the columns in concurrent strips.  Thresholding is done in
+ * concurrent bands of rows.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public abstract class ThresholdLocalIntegral {
+
+	// size of local region
+	protected int radius;
+	// should it threshold down or up
+	protected boolean down;
+	// if true then bands of rows are processed concurrently
+	protected boolean concurrent = BoofConcurrency.isUseConcurrent();
+
+	// integral of input image and integral of the input image squared
+	protected GrayF64 integral = new GrayF64(1,1);
+	protected GrayF64 integralSq = new GrayF64(1,1);
+	// if true then the integral of the squared image is computed
+	private boolean squares;
+
+	// shape of the image being processed
+	protected int width,height;
+
+	/**
+	 * Configures the algorithm
+	 *
+	 * @param radius Radius of the local square region
+	 * @param down Threshold down or up
+	 * @param squares If true the integral of the squared image is computed
+	 */
+	protected ThresholdLocalIntegral(int radius, boolean down, boolean squares ) {
+		setRadius(radius);
+		this.down = down;
+		this.squares = squares;
+	}
+
+	/**
+	 * Converts the input image into a binary image.
+	 *
+	 * @param input Input image.  Not modified.
+	 * @param output Output binary image.  Modified.
+	 */
+	public void process( final GrayU8 input , final GrayU8 output ) {
+		InputSanityCheck.checkSameShape(input, output);
+		initialize(input.width, input.height);
+
+		loop(0, height, 1, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexIn = input.startIndex + y*input.stride;
+					int index = (y+1)*integral.stride;
+					integral.data[index] = 0;
+
+					double total = 0;
+					for( int x = 0; x < width; x++ ) {
+						total += input.data[indexIn++] & 0xFF;
+						integral.data[++index] = total;
+					}
+					if( squares ) {
+						indexIn = input.startIndex + y*input.stride;
+						index = (y+1)*integralSq.stride;
+						integralSq.data[index] = 0;
+
+						total = 0;
+						for( int x = 0; x < width; x++ ) {
+							int value = input.data[indexIn++] & 0xFF;
+							total += value*value;
+							integralSq.data[++index] = total;
+						}
+					}
+				}
+			}
+		});
+		sumColumns();
+		computeStatistics();
+
+		loop(0, height, 1, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				thresholdRows(input, output, y0, y1);
+			}
+		});
+	}
+
+	/**
+	 * Converts the input image into a binary image.
+	 *
+	 * @param input Input image.  Not modified.
+	 * @param output Output binary image.  Modified.
+	 */
+	public void process( final GrayF32 input , final GrayU8 output ) {
+		InputSanityCheck.checkSameShape(input, output);
+		initialize(input.width, input.height);
+
+		loop(0, height, 1, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexIn = input.startIndex + y*input.stride;
+					int index = (y+1)*integral.stride;
+					integral.data[index] = 0;
+
+					double total = 0;
+					for( int x = 0; x < width; x++ ) {
+						total += input.data[indexIn++];
+						integral.data[++index] = total;
+					}
+					if( squares ) {
+						indexIn = input.startIndex + y*input.stride;
+						index = (y+1)*integralSq.stride;
+						integralSq.data[index] = 0;
+
+						total = 0;
+						for( int x = 0; x < width; x++ ) {
+							double value = input.data[indexIn++];
+							total += value*value;
+							integralSq.data[++index] = total;
+						}
+					}
+				}
+			}
+		});
+		sumColumns();
+		computeStatistics();
+
+		loop(0, height, 1, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				thresholdRows(input, output, y0, y1);
+			}
+		});
+	}
+
+	private void initialize( int width , int height ) {
+		this.width = width;
+		this.height = height;
+
+		integral.reshape(width+1, height+1);
+		Arrays.fill(integral.data, 0, width+1, 0);
+		if( squares ) {
+			integralSq.reshape(width+1, height+1);
+			Arrays.fill(integralSq.data, 0, width+1, 0);
+		}
+	}
+
+	/**
+	 * Adds the row sums together going down each column
+	 */
+	private void sumColumns() {
+		loop(1, width+1, ImplIntegralImageOps_MT.MIN_STRIP_WIDTH, new IntRangeTask() {
+			@Override
+			public void process(int x0, int x1) {
+				sumColumns(integral, x0, x1);
+				if( squares )
+					sumColumns(integralSq, x0, x1);
+			}
+		});
+	}
+
+	private void sumColumns( GrayF64 image , int x0 , int x1 ) {
+		for( int y = 2; y <= height; y++ ) {
+			int index = y*image.stride + x0;
+			int end = y*image.stride + x1;
+			for( ; index < end; index++ ) {
+				image.data[index] += image.data[index-image.stride];
+			}
+		}
+	}
+
+	/**
+	 * Processes the range of indexes in concurrent blocks or in the calling thread
+	 */
+	protected void loop( int start , int end , int minBlock , IntRangeTask task ) {
+		if( concurrent )
+			BoofConcurrency.loopBlocks(start, end, minBlock, task);
+		else
+			task.process(start, end);
+	}
+
+	/**
+	 * Called after the integral images have been computed and before thresholding.  Used to compute
+	 * statistics across the whole image.
+	 */
+	protected void computeStatistics() {}
+
+	/**
+	 * Thresholds the pixels inside the band of rows
+	 */
+	protected abstract void thresholdRows( GrayU8 input , GrayU8 output , int y0 , int y1 );
+
+	/**
+	 * Thresholds the pixels inside the band of rows
+	 */
+	protected abstract void thresholdRows( GrayF32 input , GrayU8 output , int y0 , int y1 );
+
+	public int getRadius() {
+		return radius;
+	}
+
+	public void setRadius(int radius) {
+		if( radius <= 0 )
+			throw new IllegalArgumentException("Radius must be > 0");
+		this.radius = radius;
+	}
+
+	public boolean isDown() {
+		return down;
+	}
+
+	public void setDown(boolean down) {
+		this.down = down;
+	}
+
+	public boolean isConcurrent() {
+		return concurrent;
+	}
+
+	public void setConcurrent(boolean concurrent) {
+		this.concurrent = concurrent;
+	}
+}
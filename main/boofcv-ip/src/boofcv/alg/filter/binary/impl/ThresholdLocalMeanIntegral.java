@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.binary.impl;
+
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.GrayU8;
+
+/**
+ * <p>
+ * Local adaptive threshold which compares each pixel against the mean of the square region around it, computed
+ * using an integral image.  Same equation as {@link boofcv.alg.filter.binary.ThresholdImageOps#localSquare}, but
+ * the cost of each pixel doesn't depend on the radius.<br>
+ * down: b(x,y) = I(x,y) &le; m(x,y)*scale ? 1 : 0<br>
+ * up: b(x,y) = I(x,y)*scale &gt; m(x,y) ? 1 : 0<br>
+ * where m(x,y) is the local mean.
+ * </p>
+ *
+ * <p>
+ * Bradley and Roth's [1] threshold is the same as this one with scale = 1 - t, where t is the fraction below the
+ * mean a pixel needs to be.  They recommend t = 0.15 and a region which is 1/8 the image width.
+ * </p>
+ *
+ * <p>
+ * [1] Bradley, Derek, and Gerhard Roth. "Adaptive thresholding using the integral image." Journal of Graphics,
+ * GPU, and Game Tools 12.2 (2007): 13-21.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ThresholdLocalMeanIntegral extends ThresholdLocalIntegral {
+
+	// scale factor applied to the mean
+	double scale;
+
+	/**
+	 * Configures the algorithm.
+	 *
+	 * @param radius Radius of the local square region
+	 * @param scale Scale factor used to adjust threshold.  Try 0.95
+	 * @param down Threshold down or up
+	 */
+	public ThresholdLocalMeanIntegral(int radius, double scale, boolean down) {
+		super(radius, down, false);
+		this.scale = scale;
+	}
+
+	@Override
+	protected void thresholdRows(GrayU8 input, GrayU8 output, int y0, int y1) {
+		final int stride = integral.stride;
+		final double[] data = integral.data;
+
+		for( int y = y0; y < y1; y++ ) {
+			int ya = Math.max(0, y - radius);
+			int yb = Math.min(height, y + radius + 1);
+			int rowA = ya*stride;
+			int rowB = yb*stride;
+
+			int indexIn = input.startIndex + y*input.stride;
+			int indexOut = output.startIndex + y*output.stride;
+
+			for( int x = 0; x < width; x++ ) {
+				int xa = Math.max(0, x - radius);
+				int xb = Math.min(width, x + radius + 1);
+
+				double sum = data[rowB+xb] - data[rowA+xb] - data[rowB+xa] + data[rowA+xa];
+				double mean = sum/((xb-xa)*(yb-ya));
+
+				int value = input.data[indexIn++] & 0xFF;
+				if( down )
+					output.data[indexOut++] = (byte)(value <= mean*scale ? 1 : 0);
+				else
+					output.data[indexOut++] = (byte)(value*scale > mean ? 1 : 0);
+			}
+		}
+	}
+
+	@Override
+	protected void thresholdRows(GrayF32 input, GrayU8 output, int y0, int y1) {
+		final int stride = integral.stride;
+		final double[] data = integral.data;
+
+		for( int y = y0; y < y1; y++ ) {
+			int ya = Math.max(0, y - radius);
+			int yb = Math.min(height, y + radius + 1);
+			int rowA = ya*stride;
+			int rowB = yb*stride;
+
+			int indexIn = input.startIndex + y*input.stride;
+			int indexOut = output.startIndex + y*output.stride;
+
+			for( int x = 0; x < width; x++ ) {
+				int xa = Math.max(0, x - radius);
+				int xb = Math.min(width, x + radius + 1);
+
+				double sum = data[rowB+xb] - data[rowA+xb] - data[rowB+xa] + data[rowA+xa];
+				double mean = sum/((xb-xa)*(yb-ya));
+
+				float value = input.data[indexIn++];
+				if( down )
+					output.data[indexOut++] = (byte)(value <= mean*scale ? 1 : 0);
+				else
+					output.data[indexOut++] = (byte)(value*scale > mean ? 1 : 0);
+			}
+		}
+	}
+
+	public double getScale() {
+		return scale;
+	}
+
+	public void setScale(double scale) {
+		this.scale = scale;
+	}
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.binary.impl;
+
+import boofcv.concurrency.IntRangeTask;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.GrayU8;
+
+/**
+ * <p>
+ * Implementation of {@link ThresholdSauvola} which computes the local mean and standard deviation using integral
+ * images of the input image and the input image squared.  The threshold is the same:<br>
+ * T(x,y) = m(x,y) * [ 1 + k * (s(x,y)/R - 1)]<br>
+ * where T(x,y) is the pixel's threshold, m(x,y) is the local mean, s(x,y) is the local deviation,
+ * R is the maximum standard deviation across the image, and k is a user specified threshold.  Cost of each pixel
+ * doesn't depend on the radius.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ThresholdSauvolaIntegral extends ThresholdLocalIntegral {
+
+	// user specified threshold
+	float k;
+
+	// dynamic range of the standard deviation
+	double R;
+
+	/**
+	 * Configures the algorithm.
+	 * @param radius size of local radius.  Try 15
+	 * @param k User specified threshold adjustment factor.  Must be positive. Try 0.3
+	 * @param down Threshold down or up
+	 */
+	public ThresholdSauvolaIntegral(int radius, float k, boolean down) {
+		super(radius, down, true);
+		this.k = k;
+	}
+
+	/**
+	 * Finds the maximum standard deviation
+	 */
+	@Override
+	protected void computeStatistics() {
+		R = 0;
+		loop(0, height, 1, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				double max = 0;
+				for( int y = y0; y < y1; y++ ) {
+					int ya = Math.max(0, y - radius);
+					int yb = Math.min(height, y + radius + 1);
+
+					for( int x = 0; x < width; x++ ) {
+						int xa = Math.max(0, x - radius);
+						int xb = Math.min(width, x + radius + 1);
+
+						max = Math.max(max, stdev(xa, ya, xb, yb));
+					}
+				}
+				synchronized (ThresholdSauvolaIntegral.this) {
+					R = Math.max(R, max);
+				}
+			}
+		});
+	}
+
+	@Override
+	protected void thresholdRows(GrayU8 input, GrayU8 output, int y0, int y1) {
+		// avoid a divide by zero in flat images
+		final double scaleR = R == 0 ? 0 : 1.0/R;
+
+		for( int y = y0; y < y1; y++ ) {
+			int ya = Math.max(0, y - radius);
+			int yb = Math.min(height, y + radius + 1);
+
+			int indexIn = input.startIndex + y*input.stride;
+			int indexOut = output.startIndex + y*output.stride;
+
+			for( int x = 0; x < width; x++ ) {
+				int xa = Math.max(0, x - radius);
+				int xb = Math.min(width, x + radius + 1);
+
+				double N = (xb-xa)*(yb-ya);
+				double mean = sum(integral.data, integral.stride, xa, ya, xb, yb)/N;
+				double meanSq = sum(integralSq.data, integralSq.stride, xa, ya, xb, yb)/N;
+				double stdev = Math.sqrt(Math.max(0, meanSq - mean*mean));
+				double threshold = mean*(1.0 + k*(stdev*scaleR - 1.0));
+
+				int value = input.data[indexIn++] & 0xFF;
+				if( down )
+					output.data[indexOut++] = (byte)(value <= threshold ? 1 : 0);
+				else
+					output.data[indexOut++] = (byte)(value >= threshold ? 1 : 0);
+			}
+		}
+	}
+
+	@Override
+	protected void thresholdRows(GrayF32 input, GrayU8 output, int y0, int y1) {
+		// avoid a divide by zero in flat images
+		final double scaleR = R == 0 ? 0 : 1.0/R;
+
+		for( int y = y0; y < y1; y++ ) {
+			int ya = Math.max(0, y - radius);
+			int yb = Math.min(height, y + radius + 1);
+
+			int indexIn = input.startIndex + y*input.stride;
+			int indexOut = output.startIndex + y*output.stride;
+
+			for( int x = 0; x < width; x++ ) {
+				int xa = Math.max(0, x - radius);
+				int xb = Math.min(width, x + radius + 1);
+
+				double N = (xb-xa)*(yb-ya);
+				double mean = sum(integral.data, integral.stride, xa, ya, xb, yb)/N;
+				double meanSq = sum(integralSq.data, integralSq.stride, xa, ya, xb, yb)/N;
+				double stdev = Math.sqrt(Math.max(0, meanSq - mean*mean));
+				double threshold = mean*(1.0 + k*(stdev*scaleR - 1.0));
+
+				float value = input.data[indexIn++];
+				if( down )
+					output.data[indexOut++] = (byte)(value <= threshold ? 1 : 0);
+				else
+					output.data[indexOut++] = (byte)(value >= threshold ? 1 : 0);
+			}
+		}
+	}
+
+	/**
+	 * Standard deviation of the pixels inside the region, sqrt( E[X^2] - E[X]^2 )
+	 */
+	private double stdev( int x0 , int y0 , int x1 , int y1 ) {
+		double N = (x1-x0)*(y1-y0);
+		double mean = sum(integral.data, integral.stride, x0, y0, x1, y1)/N;
+		double meanSq = sum(integralSq.data, integralSq.stride, x0, y0, x1, y1)/N;
+		// round off error can cause the variance to be slightly negative
+		return Math.sqrt(Math.max(0, meanSq - mean*mean));
+	}
+
+	private static double sum( double[] data , int stride , int x0 , int y0 , int x1 , int y1 ) {
+		int rowA = y0*stride;
+		int rowB = y1*stride;
+		return data[rowB+x1] - data[rowA+x1] - data[rowB+x0] + data[rowA+x0];
+	}
+
+	public float getK() {
+		return k;
+	}
+
+	public void setK(float k) {
+		this.k = k;
+	}
+}
@@ -20,20 +20,26 @@ package boofcv.alg.filter.blur;
 
 import boofcv.alg.InputSanityCheck;
 import boofcv.alg.filter.blur.impl.ImplMedianHistogramInner;
+import boofcv.alg.filter.blur.impl.ImplMedianHistogramInner_MT;
 import boofcv.alg.filter.blur.impl.ImplMedianSortEdgeNaive;
 import boofcv.alg.filter.blur.impl.ImplMedianSortNaive;
 import boofcv.alg.filter.convolve.ConvolveImageMean;
+import boofcv.alg.filter.convolve.ConvolveImageMean_MT;
 import boofcv.alg.filter.convolve.ConvolveNormalized;
+import boofcv.alg.filter.convolve.ConvolveNormalized_MT;
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.core.image.GeneralizedImageOps;
 import boofcv.factory.filter.kernel.FactoryKernelGaussian;
 import boofcv.struct.convolve.Kernel1D_F32;
 import boofcv.struct.convolve.Kernel1D_F64;
 import boofcv.struct.convolve.Kernel1D_S32;
 import boofcv.struct.image.*;
+import org.ddogleg.struct.FastQueue;
 
 /**
  * Catch all class for function which "blur" an image, typically used to "reduce" the amount
- * of noise in the image.
+ * of noise in the image.  If {@link BoofConcurrency#isUseConcurrent()} is true then the
+ * concurrent implementations are used.  Their output is identical to the single threaded ones.
  *
  * @author Peter Abeles
  */
@@ -56,8 +62,13 @@ public class BlurImageOps {
 		output = InputSanityCheck.checkDeclare(input,output);
 		storage = InputSanityCheck.checkDeclare(input,storage);
 
-		ConvolveImageMean.horizontal(input,storage,radius);
-		ConvolveImageMean.vertical(storage, output, radius);
+		if( BoofConcurrency.isUseConcurrent() ) {
+			ConvolveImageMean_MT.horizontal(input,storage,radius);
+			ConvolveImageMean_MT.vertical(storage, output, radius);
+		} else {
+			ConvolveImageMean.horizontal(input,storage,radius);
+			ConvolveImageMean.vertical(storage, output, radius);
+		}
 
 		return output;
 	}
@@ -71,6 +82,20 @@ public class BlurImageOps {
 	 * @return Output blurred image.
 	 */
 	public static GrayU8 median(GrayU8 input, GrayU8 output, int radius) {
+		return median(input, output, radius, null);
+	}
+
+	/**
+	 * Applies a median filter.
+	 *
+	 * @param input Input image.  Not modified.
+	 * @param output (Optional) Storage for output image, Can be null.  Modified.
+	 * @param radius Radius of the median blur function.
+	 * @param workspace (Optional) Work buffers used in concurrent mode.  Reused between calls.  Can be null.
+	 * @return Output blurred image.
+	 */
+	public static GrayU8 median(GrayU8 input, GrayU8 output, int radius,
+								FastQueue<ImplMedianHistogramInner_MT.Work> workspace ) {
 		if( radius <= 0 )
 			throw new IllegalArgumentException("Radius must be > 0");
 
@@ -78,9 +103,15 @@ public class BlurImageOps {
 
 		int w = radius*2+1;
 		int offset[] = new int[ w*w ];
-		int histogram[] = new int[ 256 ];
 
-		ImplMedianHistogramInner.process(input, output, radius, offset, histogram);
+		if( BoofConcurrency.isUseConcurrent() ) {
+			if( workspace == null )
+				workspace = ImplMedianHistogramInner_MT.createWorkspace();
+			ImplMedianHistogramInner_MT.process(input, output, radius, workspace);
+		} else {
+			int histogram[] = new int[ 256 ];
+			ImplMedianHistogramInner.process(input, output, radius, offset, histogram);
+		}
 		ImplMedianSortEdgeNaive.process(input, output, radius, offset);
 
 		return output;
@@ -103,8 +134,13 @@ public class BlurImageOps {
 
 		Kernel1D_S32 kernel = FactoryKernelGaussian.gaussian(Kernel1D_S32.class,sigma,radius);
 
-		ConvolveNormalized.horizontal(kernel, input, storage);
-		ConvolveNormalized.vertical(kernel,storage,output);
+		if( BoofConcurrency.isUseConcurrent() ) {
+			ConvolveNormalized_MT.horizontal(kernel, input, storage);
+			ConvolveNormalized_MT.vertical(kernel,storage,output);
+		} else {
+			ConvolveNormalized.horizontal(kernel, input, storage);
+			ConvolveNormalized.vertical(kernel,storage,output);
+		}
 
 		return output;
 	}
@@ -116,8 +152,13 @@ public class BlurImageOps {
 
 		Kernel1D_S32 kernel = FactoryKernelGaussian.gaussian(Kernel1D_S32.class,sigma,radius);
 
-		ConvolveNormalized.horizontal(kernel, input, storage);
-		ConvolveNormalized.vertical(kernel,storage,output);
+		if( BoofConcurrency.isUseConcurrent() ) {
+			ConvolveNormalized_MT.horizontal(kernel, input, storage);
+			ConvolveNormalized_MT.vertical(kernel,storage,output);
+		} else {
+			ConvolveNormalized.horizontal(kernel, input, storage);
+			ConvolveNormalized.vertical(kernel,storage,output);
+		}
 
 		return output;
 	}
@@ -129,8 +170,13 @@ public class BlurImageOps {
 
 		Kernel1D_F32 kernel = FactoryKernelGaussian.gaussian(Kernel1D_F32.class,sigma,radius);
 
-		ConvolveNormalized.horizontal(kernel, input, storage);
-		ConvolveNormalized.vertical(kernel,storage,output);
+		if( BoofConcurrency.isUseConcurrent() ) {
+			ConvolveNormalized_MT.horizontal(kernel, input, storage);
+			ConvolveNormalized_MT.vertical(kernel,storage,output);
+		} else {
+			ConvolveNormalized.horizontal(kernel, input, storage);
+			ConvolveNormalized.vertical(kernel,storage,output);
+		}
 
 		return output;
 	}
@@ -142,8 +188,13 @@ public class BlurImageOps {
 
 		Kernel1D_F64 kernel = FactoryKernelGaussian.gaussian(Kernel1D_F64.class,sigma,radius);
 
-		ConvolveNormalized.horizontal(kernel, input, storage);
-		ConvolveNormalized.vertical(kernel,storage,output);
+		if( BoofConcurrency.isUseConcurrent() ) {
+			ConvolveNormalized_MT.horizontal(kernel, input, storage);
+			ConvolveNormalized_MT.vertical(kernel,storage,output);
+		} else {
+			ConvolveNormalized.horizontal(kernel, input, storage);
+			ConvolveNormalized.vertical(kernel,storage,output);
+		}
 
 		return output;
 	}
@@ -165,8 +216,13 @@ public class BlurImageOps {
 		output = InputSanityCheck.checkDeclare(input,output);
 		storage = InputSanityCheck.checkDeclare(input,storage);
 
-		ConvolveImageMean.horizontal(input,storage,radius);
-		ConvolveImageMean.vertical(storage,output,radius);
+		if( BoofConcurrency.isUseConcurrent() ) {
+			ConvolveImageMean_MT.horizontal(input,storage,radius);
+			ConvolveImageMean_MT.vertical(storage,output,radius);
+		} else {
+			ConvolveImageMean.horizontal(input,storage,radius);
+			ConvolveImageMean.vertical(storage,output,radius);
+		}
 
 		return output;
 	}
@@ -188,8 +244,13 @@ public class BlurImageOps {
 		output = InputSanityCheck.checkDeclare(input,output);
 		storage = InputSanityCheck.checkDeclare(input,storage);
 
-		ConvolveImageMean.horizontal(input,storage,radius);
-		ConvolveImageMean.vertical(storage,output,radius);
+		if( BoofConcurrency.isUseConcurrent() ) {
+			ConvolveImageMean_MT.horizontal(input,storage,radius);
+			ConvolveImageMean_MT.vertical(storage,output,radius);
+		} else {
+			ConvolveImageMean.horizontal(input,storage,radius);
+			ConvolveImageMean.vertical(storage,output,radius);
+		}
 
 		return output;
 	}
@@ -232,8 +293,13 @@ public class BlurImageOps {
 
 		Kernel1D_F32 kernel = FactoryKernelGaussian.gaussian(Kernel1D_F32.class,sigma, radius);
 
-		ConvolveNormalized.horizontal(kernel,input,storage);
-		ConvolveNormalized.vertical(kernel,storage,output);
+		if( BoofConcurrency.isUseConcurrent() ) {
+			ConvolveNormalized_MT.horizontal(kernel,input,storage);
+			ConvolveNormalized_MT.vertical(kernel,storage,output);
+		} else {
+			ConvolveNormalized.horizontal(kernel,input,storage);
+			ConvolveNormalized.vertical(kernel,storage,output);
+		}
 
 		return output;
 	}
@@ -256,8 +322,13 @@ public class BlurImageOps {
 
 		Kernel1D_F64 kernel = FactoryKernelGaussian.gaussian(Kernel1D_F64.class,sigma, radius);
 
-		ConvolveNormalized.horizontal(kernel,input,storage);
-		ConvolveNormalized.vertical(kernel,storage,output);
+		if( BoofConcurrency.isUseConcurrent() ) {
+			ConvolveNormalized_MT.horizontal(kernel,input,storage);
+			ConvolveNormalized_MT.vertical(kernel,storage,output);
+		} else {
+			ConvolveNormalized.horizontal(kernel,input,storage);
+			ConvolveNormalized.vertical(kernel,storage,output);
+		}
 
 		return output;
 	}
@@ -297,12 +368,37 @@ public class BlurImageOps {
 	 */
 	public static <T extends ImageGray<T>>
 	Planar<T> median(Planar<T> input, Planar<T> output, int radius ) {
+		return median(input, output, radius, null);
+	}
+
+	/**
+	 * Applies median filter to a {@link Planar}
+	 *
+	 * @param input Input image.  Not modified.
+	 * @param output (Optional) Storage for output image, Can be null.  Modified.
+	 * @param radius Radius of the median blur function.
+	 * @param workspace (Optional) Work buffers used in concurrent mode by {@link GrayU8} bands.  Reused between
+	 *                  bands and calls.  Can be null.
+	 * @param <T> Input image type.
+	 * @return Output blurred image.
+	 */
+	public static <T extends ImageGray<T>>
+	Planar<T> median(Planar<T> input, Planar<T> output, int radius,
+					 FastQueue<ImplMedianHistogramInner_MT.Work> workspace ) {
 
 		if( output == null )
 			output = input.createNew(input.width,input.height);
 
-		for( int band = 0; band < input.getNumBands(); band++ ) {
-			GBlurImageOps.median(input.getBand(band),output.getBand(band),radius);
+		if( input.getBandType() == GrayU8.class ) {
+			if( workspace == null && BoofConcurrency.isUseConcurrent() )
+				workspace = ImplMedianHistogramInner_MT.createWorkspace();
+			for( int band = 0; band < input.getNumBands(); band++ ) {
+				median((GrayU8)input.getBand(band),(GrayU8)output.getBand(band),radius,workspace);
+			}
+		} else {
+			for( int band = 0; band < input.getNumBands(); band++ ) {
+				GBlurImageOps.median(input.getBand(band),output.getBand(band),radius);
+			}
 		}
 		return output;
 	}
@@ -23,7 +23,8 @@ import boofcv.struct.image.*;
 
 /**
  * Generalized functions for applying different image blur operators.  Invokes functions
- * from {@link BlurImageOps}, which provides type specific functions.
+ * from {@link BlurImageOps}, which provides type specific functions.  Concurrent implementations
+ * are used when enabled in {@link boofcv.concurrency.BoofConcurrency}.
  *
  * @author Peter Abeles
  */
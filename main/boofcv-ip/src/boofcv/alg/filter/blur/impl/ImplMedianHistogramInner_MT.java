@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.blur.impl;
+
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeWorkTask;
+import boofcv.struct.image.GrayU8;
+import org.ddogleg.struct.FastQueue;
+
+/**
+ * <p>
+ * Concurrent version of {@link ImplMedianHistogramInner}.  The histogram is reset at the start of each row,
+ * so the image can be split into strips of rows which are processed independently.  Each strip is given its own
+ * work buffers.  Results are identical to the single threaded version.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ImplMedianHistogramInner_MT {
+
+	/**
+	 * Applies a median image filter.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param output Filtered output image. Modified.
+	 * @param radius Size of the filter region.
+	 * @param workspace (Optional) Work buffers for each thread.  Reused between calls.  If null it will be declared.
+	 */
+	public static void process(final GrayU8 input, final GrayU8 output , final int radius ,
+							   FastQueue<Work> workspace ) {
+		if( workspace == null )
+			workspace = createWorkspace();
+
+		final int w = 2*radius+1;
+
+		BoofConcurrency.loopBlocks(radius, input.height - radius, 1, workspace, new IntRangeWorkTask<Work>() {
+			@Override
+			public void process(Work work, int y0, int y1) {
+				// the inner implementation uses the length of offset to determine the region size
+				if( work.offset.length != w*w )
+					work.offset = new int[w*w];
+
+				ImplMedianHistogramInner.process(
+						input.subimage(0, y0 - radius, input.width, y1 + radius),
+						output.subimage(0, y0 - radius, output.width, y1 + radius),
+						radius, work.offset, work.histogram);
+			}
+		});
+	}
+
+	/**
+	 * Creates storage for work buffers which can be passed into {@link #process}.
+	 */
+	public static FastQueue<Work> createWorkspace() {
+		return new FastQueue<>(Work.class,true);
+	}
+
+	/**
+	 * Work buffers used by a single thread
+	 */
+	public static class Work {
+		public int offset[] = new int[0];
+		public int histogram[] = new int[256];
+	}
+}
@@ -0,0 +1,244 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.convolve;
+
+import boofcv.alg.InputSanityCheck;
+import boofcv.alg.filter.convolve.noborder.ImplConvolveMean;
+import boofcv.alg.filter.convolve.normalized.ConvolveNormalized_JustBorder_SB;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeTask;
+import boofcv.factory.filter.kernel.FactoryKernel;
+import boofcv.struct.convolve.Kernel1D_F32;
+import boofcv.struct.convolve.Kernel1D_F64;
+import boofcv.struct.convolve.Kernel1D_S32;
+import boofcv.struct.image.*;
+
+/**
+ * <p>
+ * Concurrent version of {@link ConvolveImageMean}.  The image border is processed in the calling thread.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ConvolveImageMean_MT {
+
+	/**
+	 * Performs a horizontal 1D convolution which computes the mean value of elements
+	 * inside the kernel.  Bands of rows are processed concurrently.
+	 *
+	 * @param input The original image. Not modified.
+	 * @param output Where the resulting image is written to. Modified.
+	 * @param radius Kernel size.
+	 */
+	public static void horizontal(final GrayF32 input, final GrayF32 output, final int radius) {
+		Kernel1D_F32 kernel = FactoryKernel.table1D_F32(radius,true);
+		if( kernel.width > input.width ) {
+			ConvolveNormalized_MT.horizontal(kernel,input,output);
+		} else {
+			InputSanityCheck.checkSameShape(input , output);
+			ConvolveNormalized_JustBorder_SB.horizontal(kernel, input ,output );
+			BoofConcurrency.loopBlocks(0, input.height, new IntRangeTask() {
+				@Override
+				public void process(int y0, int y1) {
+					ImplConvolveMean.horizontal(input.subimage(0, y0, input.width, y1),
+							output.subimage(0, y0, output.width, y1), radius);
+				}
+			});
+		}
+	}
+
+	/**
+	 * Performs a vertical 1D convolution which computes the mean value of elements
+	 * inside the kernel.  Columns are independent of each other, so the image is split into vertical strips
+	 * which are processed concurrently.  This ensures the running sum is identical to the single threaded version.
+	 *
+	 * @param input The original image. Not modified.
+	 * @param output Where the resulting image is written to. Modified.
+	 * @param radius Kernel size.
+	 */
+	public static void vertical(final GrayF32 input, final GrayF32 output, final int radius) {
+		Kernel1D_F32 kernel = FactoryKernel.table1D_F32(radius,true);
+		if( kernel.width > input.height ) {
+			ConvolveNormalized_MT.vertical(kernel,input,output);
+		} else {
+			InputSanityCheck.checkSameShape(input , output);
+			ConvolveNormalized_JustBorder_SB.vertical(kernel, input ,output );
+			BoofConcurrency.loopBlocks(0, input.width, new IntRangeTask() {
+				@Override
+				public void process(int x0, int x1) {
+					ImplConvolveMean.vertical(input.subimage(x0, 0, x1, input.height),
+							output.subimage(x0, 0, x1, output.height), radius);
+				}
+			});
+		}
+	}
+
+	/**
+	 * Performs a horizontal 1D convolution which computes the mean value of elements
+	 * inside the kernel.  Bands of rows are processed concurrently.
+	 *
+	 * @param input The original image. Not modified.
+	 * @param output Where the resulting image is written to. Modified.
+	 * @param radius Kernel size.
+	 */
+	public static void horizontal(final GrayF64 input, final GrayF64 output, final int radius) {
+		Kernel1D_F64 kernel = FactoryKernel.table1D_F64(radius,true);
+		if( kernel.width > input.width ) {
+			ConvolveNormalized_MT.horizontal(kernel,input,output);
+		} else {
+			InputSanityCheck.checkSameShape(input , output);
+			ConvolveNormalized_JustBorder_SB.horizontal(kernel, input ,output );
+			BoofConcurrency.loopBlocks(0, input.height, new IntRangeTask() {
+				@Override
+				public void process(int y0, int y1) {
+					ImplConvolveMean.horizontal(input.subimage(0, y0, input.width, y1),
+							output.subimage(0, y0, output.width, y1), radius);
+				}
+			});
+		}
+	}
+
+	/**
+	 * Performs a vertical 1D convolution which computes the mean value of elements
+	 * inside the kernel.  Columns are independent of each other, so the image is split into vertical strips
+	 * which are processed concurrently.  This ensures the running sum is identical to the single threaded version.
+	 *
+	 * @param input The original image. Not modified.
+	 * @param output Where the resulting image is written to. Modified.
+	 * @param radius Kernel size.
+	 */
+	public static void vertical(final GrayF64 input, final GrayF64 output, final int radius) {
+		Kernel1D_F64 kernel = FactoryKernel.table1D_F64(radius,true);
+		if( kernel.width > input.height ) {
+			ConvolveNormalized_MT.vertical(kernel,input,output);
+		} else {
+			InputSanityCheck.checkSameShape(input , output);
+			ConvolveNormalized_JustBorder_SB.vertical(kernel, input ,output );
+			BoofConcurrency.loopBlocks(0, input.width, new IntRangeTask() {
+				@Override
+				public void process(int x0, int x1) {
+					ImplConvolveMean.vertical(input.subimage(x0, 0, x1, input.height),
+							output.subimage(x0, 0, x1, output.height), radius);
+				}
+			});
+		}
+	}
+
+	/**
+	 * Performs a horizontal 1D convolution which computes the mean value of elements
+	 * inside the kernel.  Bands of rows are processed concurrently.
+	 *
+	 * @param input The original image. Not modified.
+	 * @param output Where the resulting image is written to. Modified.
+	 * @param radius Kernel size.
+	 */
+	public static void horizontal(final GrayU8 input, final GrayU8 output, final int radius) {
+		Kernel1D_S32 kernel = FactoryKernel.table1D_I32(radius);
+		if( kernel.width > input.width ) {
+			ConvolveNormalized_MT.horizontal(kernel,input,output);
+		} else {
+			InputSanityCheck.checkSameShape(input , output);
+			ConvolveNormalized_JustBorder_SB.horizontal(kernel, input ,output );
+			BoofConcurrency.loopBlocks(0, input.height, new IntRangeTask() {
+				@Override
+				public void process(int y0, int y1) {
+					ImplConvolveMean.horizontal(input.subimage(0, y0, input.width, y1),
+							output.subimage(0, y0, output.width, y1), radius);
+				}
+			});
+		}
+	}
+
+	/**
+	 * Performs a vertical 1D convolution which computes the mean value of elements
+	 * inside the kernel.  Columns are independent of each other, so the image is split into vertical strips
+	 * which are processed concurrently.  This ensures the running sum is identical to the single threaded version.
+	 *
+	 * @param input The original image. Not modified.
+	 * @param output Where the resulting image is written to. Modified.
+	 * @param radius Kernel size.
+	 */
+	public static void vertical(final GrayU8 input, final GrayI8 output, final int radius) {
+		Kernel1D_S32 kernel = FactoryKernel.table1D_I32(radius);
+		if( kernel.width > input.height ) {
+			ConvolveNormalized_MT.vertical(kernel,input,output);
+		} else {
+			InputSanityCheck.checkSameShape(input , output);
+			ConvolveNormalized_JustBorder_SB.vertical(kernel, input ,output );
+			BoofConcurrency.loopBlocks(0, input.width, new IntRangeTask() {
+				@Override
+				public void process(int x0, int x1) {
+					ImplConvolveMean.vertical(input.subimage(x0, 0, x1, input.height),
+							(GrayI8)output.subimage(x0, 0, x1, output.height), radius);
+				}
+			});
+		}
+	}
+
+	/**
+	 * Performs a horizontal 1D convolution which computes the mean value of elements
+	 * inside the kernel.  Bands of rows are processed concurrently.
+	 *
+	 * @param input The original image. Not modified.
+	 * @param output Where the resulting image is written to. Modified.
+	 * @param radius Kernel size.
+	 */
+	public static void horizontal(final GrayS16 input, final GrayI16 output, final int radius) {
+		Kernel1D_S32 kernel = FactoryKernel.table1D_I32(radius);
+		if( kernel.width > input.width ) {
+			ConvolveNormalized_MT.horizontal(kernel,input,output);
+		} else {
+			InputSanityCheck.checkSameShape(input , output);
+			ConvolveNormalized_JustBorder_SB.horizontal(kernel, input ,output );
+			BoofConcurrency.loopBlocks(0, input.height, new IntRangeTask() {
+				@Override
+				public void process(int y0, int y1) {
+					ImplConvolveMean.horizontal(input.subimage(0, y0, input.width, y1),
+							(GrayI16)output.subimage(0, y0, output.width, y1), radius);
+				}
+			});
+		}
+	}
+
+	/**
+	 * Performs a vertical 1D convolution which computes the mean value of elements
+	 * inside the kernel.  Columns are independent of each other, so the image is split into vertical strips
+	 * which are processed concurrently.  This ensures the running sum is identical to the single threaded version.
+	 *
+	 * @param input The original image. Not modified.
+	 * @param output Where the resulting image is written to. Modified.
+	 * @param radius Kernel size.
+	 */
+	public static void vertical(final GrayS16 input, final GrayI16 output, final int radius) {
+		Kernel1D_S32 kernel = FactoryKernel.table1D_I32(radius);
+		if( kernel.width > input.height ) {
+			ConvolveNormalized_MT.vertical(kernel,input,output);
+		} else {
+			InputSanityCheck.checkSameShape(input , output);
+			ConvolveNormalized_JustBorder_SB.vertical(kernel, input ,output );
+			BoofConcurrency.loopBlocks(0, input.width, new IntRangeTask() {
+				@Override
+				public void process(int x0, int x1) {
+					ImplConvolveMean.vertical(input.subimage(x0, 0, x1, input.height),
+							(GrayI16)output.subimage(x0, 0, x1, output.height), radius);
+				}
+			});
+		}
+	}
+}
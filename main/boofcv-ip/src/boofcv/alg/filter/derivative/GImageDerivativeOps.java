@@ -19,6 +19,7 @@
 package boofcv.alg.filter.derivative;
 
 import boofcv.abst.filter.derivative.AnyImageDerivative;
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.core.image.GeneralizedImageOps;
 import boofcv.core.image.border.*;
 import boofcv.struct.convolve.Kernel1D;
@@ -28,7 +29,8 @@ import boofcv.struct.image.*;
 
 
 /**
- * Generalized operations related to compute different image derivatives.
+ * Generalized operations related to compute different image derivatives.  If
+ * {@link BoofConcurrency#isUseConcurrent()} is true then concurrent implementations are used when available.
  *
  * @author Peter Abeles
  */
@@ -101,6 +103,9 @@ public class GImageDerivativeOps {
 
 		ImageBorder<I> border = BorderType.SKIP == borderType ? null : FactoryImageBorder.wrap(borderType, input);
 
+		if( BoofConcurrency.isUseConcurrent() && gradient_MT(type, input, derivX, derivY, border) )
+			return;
+
 		switch( type ) {
 			case PREWITT:
 				if( input instanceof GrayF32) {
@@ -163,6 +168,53 @@ public class GImageDerivativeOps {
 		}
 	}
 
+	/**
+	 * Concurrent implementations of {@link #gradient}.
+	 *
+	 * @return true if a concurrent implementation exists for the type of gradient and it was computed
+	 */
+	private static <I extends ImageGray<I>, D extends ImageGray<D>>
+	boolean gradient_MT( DerivativeType type , I input , D derivX , D derivY , ImageBorder<I> border ) {
+		switch( type ) {
+			case PREWITT:
+				if( input instanceof GrayF32) {
+					GradientPrewitt_MT.process((GrayF32)input,(GrayF32)derivX,(GrayF32)derivY,(ImageBorder_F32)border);
+				} else if( input instanceof GrayU8) {
+					GradientPrewitt_MT.process((GrayU8)input,(GrayS16)derivX,(GrayS16)derivY,(ImageBorder_S32)border);
+				} else if( input instanceof GrayS16) {
+					GradientPrewitt_MT.process((GrayS16)input,(GrayS16)derivX,(GrayS16)derivY,(ImageBorder_S32)border);
+				} else {
+					throw new IllegalArgumentException("Unknown input image type: "+input.getClass().getSimpleName());
+				}
+				return true;
+			case SOBEL:
+				if( input instanceof GrayF32) {
+					GradientSobel_MT.process((GrayF32)input,(GrayF32)derivX,(GrayF32)derivY,(ImageBorder_F32)border);
+				} else if( input instanceof GrayU8) {
+					GradientSobel_MT.process((GrayU8)input,(GrayS16)derivX,(GrayS16)derivY,(ImageBorder_S32)border);
+				} else if( input instanceof GrayS16) {
+					GradientSobel_MT.process((GrayS16)input,(GrayS16)derivX,(GrayS16)derivY,(ImageBorder_S32)border);
+				} else {
+					throw new IllegalArgumentException("Unknown input image type: "+input.getClass().getSimpleName());
+				}
+				return true;
+			case THREE:
+				if( input instanceof GrayF32) {
+					GradientThree_MT.process((GrayF32)input,(GrayF32)derivX,(GrayF32)derivY,(ImageBorder_F32)border);
+				} else if( input instanceof GrayU8) {
+					GradientThree_MT.process((GrayU8)input,(GrayS16)derivX,(GrayS16)derivY,(ImageBorder_S32)border);
+				} else if( input instanceof GrayS16) {
+					GradientThree_MT.process((GrayS16)input,(GrayS16)derivX,(GrayS16)derivY,(ImageBorder_S32)border);
+				} else {
+					throw new IllegalArgumentException("Unknown input image type: "+input.getClass().getSimpleName());
+				}
+				return true;
+
+			default:
+				return false;
+		}
+	}
+
 	/**
 	 * Computes the hessian from the original input image.  Only Sobel and Three supported.
 	 *
@@ -181,7 +233,15 @@ public class GImageDerivativeOps {
 
 		switch( type ) {
 			case SOBEL:
-				if( input instanceof GrayF32) {
+				if( BoofConcurrency.isUseConcurrent() ) {
+					if( input instanceof GrayF32) {
+						HessianSobel_MT.process((GrayF32) input, (GrayF32) derivXX, (GrayF32) derivYY, (GrayF32) derivXY, (ImageBorder_F32) border);
+					} else if( input instanceof GrayU8) {
+						HessianSobel_MT.process((GrayU8) input, (GrayS16) derivXX, (GrayS16) derivYY, (GrayS16) derivXY, (ImageBorder_S32) border);
+					} else {
+						throw new IllegalArgumentException("Unknown input image type: "+input.getClass().getSimpleName());
+					}
+				} else if( input instanceof GrayF32) {
 					HessianSobel.process((GrayF32) input, (GrayF32) derivXX, (GrayF32) derivYY, (GrayF32) derivXY, (ImageBorder_F32) border);
 				} else if( input instanceof GrayU8) {
 					HessianSobel.process((GrayU8) input, (GrayS16) derivXX, (GrayS16) derivYY, (GrayS16) derivXY, (ImageBorder_S32) border);
@@ -220,6 +280,9 @@ public class GImageDerivativeOps {
 	void hessian( DerivativeType type , D derivX , D derivY , D derivXX , D derivYY , D derivXY , BorderType borderType ) {
 		ImageBorder<D> border = BorderType.SKIP == borderType ? null : FactoryImageBorder.wrap(borderType, derivX);
 
+		if( BoofConcurrency.isUseConcurrent() && hessian_MT(type, derivX, derivY, derivXX, derivYY, derivXY, border) )
+			return;
+
 		switch( type ) {
 			case PREWITT:
 				if( derivX instanceof GrayF32) {
@@ -256,6 +319,117 @@ public class GImageDerivativeOps {
 		}
 	}
 
+	/**
+	 * Computes the gradient and the hessian from the gradient.  Same as calling
+	 * {@link #gradient} then {@link #hessian(DerivativeType, ImageGray, ImageGray, ImageGray, ImageGray, ImageGray, BorderType)}.
+	 * If concurrency is turned on then both are computed in a single pass through the image using
+	 * {@link GradientHessianFused_MT} when a fused implementation exists for the derivative and image types.
+	 *
+	 * @param type Type of gradient to compute
+	 * @param input Input image
+	 * @param derivX Output. Derivative X
+	 * @param derivY Output. Derivative Y
+	 * @param derivXX Output. Derivative XX
+	 * @param derivYY Output. Derivative YY
+	 * @param derivXY Output. Derivative XY
+	 * @param borderType How it should handle borders.  null == skip border
+	 * @param <I> Input image type
+	 * @param <D> Output image type
+	 */
+	public static <I extends ImageGray<I>, D extends ImageGray<D>>
+	void gradientHessian( DerivativeType type , I input , D derivX , D derivY ,
+						  D derivXX , D derivYY , D derivXY , BorderType borderType ) {
+		if( BoofConcurrency.isUseConcurrent() &&
+				gradientHessianFused(type, input, derivX, derivY, derivXX, derivYY, derivXY, borderType) )
+			return;
+
+		gradient(type, input, derivX, derivY, borderType);
+		hessian(type, derivX, derivY, derivXX, derivYY, derivXY, borderType);
+	}
+
+	/**
+	 * Computes the gradient and hessian in a single pass using {@link GradientHessianFused_MT}.
+	 *
+	 * @return true if a fused implementation exists for the derivative and image types and it was computed
+	 */
+	private static <I extends ImageGray<I>, D extends ImageGray<D>>
+	boolean gradientHessianFused( DerivativeType type , I input , D derivX , D derivY ,
+								  D derivXX , D derivYY , D derivXY , BorderType borderType ) {
+		if( type != DerivativeType.PREWITT && type != DerivativeType.SOBEL && type != DerivativeType.THREE )
+			return false;
+
+		if( input instanceof GrayF32 && derivX instanceof GrayF32 ) {
+			ImageBorder_F32 border = BorderType.SKIP == borderType ? null :
+					(ImageBorder_F32)FactoryImageBorder.wrap(borderType, input);
+			GrayF32 in = (GrayF32)input;
+			GrayF32 dx = (GrayF32)derivX, dy = (GrayF32)derivY;
+			GrayF32 dxx = (GrayF32)derivXX, dyy = (GrayF32)derivYY, dxy = (GrayF32)derivXY;
+			switch( type ) {
+				case PREWITT: GradientHessianFused_MT.prewitt(in, dx, dy, dxx, dyy, dxy, border); break;
+				case SOBEL: GradientHessianFused_MT.sobel(in, dx, dy, dxx, dyy, dxy, border); break;
+				default: GradientHessianFused_MT.three(in, dx, dy, dxx, dyy, dxy, border); break;
+			}
+			return true;
+		} else if( input instanceof GrayU8 && derivX instanceof GrayS16 ) {
+			ImageBorder_S32 border = BorderType.SKIP == borderType ? null :
+					(ImageBorder_S32)FactoryImageBorder.wrap(borderType, input);
+			GrayU8 in = (GrayU8)input;
+			GrayS16 dx = (GrayS16)derivX, dy = (GrayS16)derivY;
+			GrayS16 dxx = (GrayS16)derivXX, dyy = (GrayS16)derivYY, dxy = (GrayS16)derivXY;
+			switch( type ) {
+				case PREWITT: GradientHessianFused_MT.prewitt(in, dx, dy, dxx, dyy, dxy, border); break;
+				case SOBEL: GradientHessianFused_MT.sobel(in, dx, dy, dxx, dyy, dxy, border); break;
+				default: GradientHessianFused_MT.three(in, dx, dy, dxx, dyy, dxy, border); break;
+			}
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Concurrent implementations of computing the hessian from the gradient.
+	 *
+	 * @return true if a concurrent implementation exists for the type of gradient and it was computed
+	 */
+	private static <D extends ImageGray<D>>
+	boolean hessian_MT( DerivativeType type , D derivX , D derivY , D derivXX , D derivYY , D derivXY ,
+						ImageBorder<D> border ) {
+		switch( type ) {
+			case PREWITT:
+				if( derivX instanceof GrayF32) {
+					HessianFromGradient_MT.hessianPrewitt((GrayF32) derivX, (GrayF32) derivY, (GrayF32) derivXX, (GrayF32) derivYY, (GrayF32) derivXY, (ImageBorder_F32) border);
+				} else if( derivX instanceof GrayS16) {
+					HessianFromGradient_MT.hessianPrewitt((GrayS16) derivX, (GrayS16) derivY, (GrayS16) derivXX, (GrayS16) derivYY, (GrayS16) derivXY, (ImageBorder_S32) border);
+				} else {
+					throw new IllegalArgumentException("Unknown input image type: "+derivX.getClass().getSimpleName());
+				}
+				return true;
+
+			case SOBEL:
+				if( derivX instanceof GrayF32) {
+					HessianFromGradient_MT.hessianSobel((GrayF32) derivX, (GrayF32) derivY, (GrayF32) derivXX, (GrayF32) derivYY, (GrayF32) derivXY, (ImageBorder_F32) border);
+				} else if( derivX instanceof GrayS16) {
+					HessianFromGradient_MT.hessianSobel((GrayS16) derivX, (GrayS16) derivY, (GrayS16) derivXX, (GrayS16) derivYY, (GrayS16) derivXY, (ImageBorder_S32) border);
+				} else {
+					throw new IllegalArgumentException("Unknown input image type: "+derivX.getClass().getSimpleName());
+				}
+				return true;
+
+			case THREE:
+				if( derivX instanceof GrayF32) {
+					HessianFromGradient_MT.hessianThree((GrayF32) derivX, (GrayF32) derivY, (GrayF32) derivXX, (GrayF32) derivYY, (GrayF32) derivXY, (ImageBorder_F32) border);
+				} else if( derivX instanceof GrayS16) {
+					HessianFromGradient_MT.hessianThree((GrayS16) derivX, (GrayS16) derivY, (GrayS16) derivXX, (GrayS16) derivYY, (GrayS16) derivXY, (ImageBorder_S32) border);
+				} else {
+					throw new IllegalArgumentException("Unknown input image type: "+derivX.getClass().getSimpleName());
+				}
+				return true;
+
+			default:
+				return false;
+		}
+	}
+
 	/**
 	 * Returns the kernel for finding the X derivative.
 	 * @param type Type of gradient
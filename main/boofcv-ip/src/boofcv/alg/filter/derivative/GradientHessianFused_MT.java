@@ -0,0 +1,363 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.derivative;
+
+import boofcv.alg.InputSanityCheck;
+import boofcv.alg.filter.convolve.ConvolveImageNoBorder;
+import boofcv.alg.filter.convolve.border.ConvolveJustBorder_General_SB;
+import boofcv.alg.filter.derivative.impl.GradientPrewitt_Shared;
+import boofcv.alg.filter.derivative.impl.GradientSobel_Outer;
+import boofcv.alg.filter.derivative.impl.GradientSobel_UnrolledOuter;
+import boofcv.alg.filter.derivative.impl.GradientThree_Standard;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeTask;
+import boofcv.core.image.border.*;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.GrayS16;
+import boofcv.struct.image.GrayU8;
+
+/**
+ * <p>
+ * Computes the image gradient and the hessian from the gradient in a single pass through the image.  The image
+ * is split into bands of rows.  Each thread computes the gradient inside its band then immediately computes the
+ * hessian from it, while the gradient is still in the cache.  The gradient for the row above and below a band is
+ * computed by both neighboring bands, which write identical values.  Borders are processed in the calling thread.
+ * </p>
+ *
+ * <p>
+ * Results are identical to computing the gradient then calling {@link HessianFromGradient}.  The same border
+ * is used for the input image and the gradient.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class GradientHessianFused_MT {
+
+	/**
+	 * Computes the image gradient and the hessian using {@link GradientPrewitt}.  Same as calling
+	 * {@link GradientPrewitt#process} then {@link HessianFromGradient#hessianPrewitt}.
+	 *
+	 * @param orig Input image.  Not modified.
+	 * @param derivX Output first derivative along the x-axis. Modified.
+	 * @param derivY Output first derivative along the y-axis. Modified.
+	 * @param derivXX Output second XX partial derivative. Modified.
+	 * @param derivYY Output second YY partial derivative. Modified.
+	 * @param derivXY Output second XY partial derivative. Modified.
+	 * @param border Specifies how the image border is handled. If null the border is not processed.
+	 */
+	public static void prewitt( final GrayU8 orig , final GrayS16 derivX , final GrayS16 derivY ,
+							  final GrayS16 derivXX , final GrayS16 derivYY , final GrayS16 derivXY ,
+							  ImageBorder_S32 border ) {
+		InputSanityCheck.checkSameShape(orig, derivX, derivY);
+		InputSanityCheck.checkSameShape(derivX, derivXX, derivYY, derivXY);
+
+		if( border != null ) {
+			border.setImage(orig);
+			ConvolveJustBorder_General_SB.convolve(GradientPrewitt.kernelDerivX_I32, border, derivX);
+			ConvolveJustBorder_General_SB.convolve(GradientPrewitt.kernelDerivY_I32, border, derivY);
+		}
+
+		final int height = orig.height;
+		BoofConcurrency.loopBlocks(1, height - 1, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				// gradient along with the rows above and below which are needed by the hessian
+				int g0 = Math.max(1, y0 - 1);
+				int g1 = Math.min(height - 1, y1 + 1);
+				GradientPrewitt_Shared.process(orig.subimage(0, g0 - 1, orig.width, g1 + 1),
+						derivX.subimage(0, g0 - 1, derivX.width, g1 + 1),
+						derivY.subimage(0, g0 - 1, derivY.width, g1 + 1));
+
+				GradientPrewitt_Shared.process(derivX.subimage(0, y0 - 1, derivX.width, y1 + 1),
+						derivXX.subimage(0, y0 - 1, derivXX.width, y1 + 1),
+						derivXY.subimage(0, y0 - 1, derivXY.width, y1 + 1));
+				ConvolveImageNoBorder.convolve(GradientPrewitt.kernelDerivY_I32, derivY.subimage(0, y0 - 1, derivY.width, y1 + 1),
+						derivYY.subimage(0, y0 - 1, derivYY.width, y1 + 1));
+			}
+		});
+
+		if( border != null ) {
+			border.setImage(derivX);
+			ConvolveJustBorder_General_SB.convolve(GradientPrewitt.kernelDerivX_I32, border, derivXX);
+			ConvolveJustBorder_General_SB.convolve(GradientPrewitt.kernelDerivY_I32, border, derivXY);
+			border.setImage(derivY);
+			ConvolveJustBorder_General_SB.convolve(GradientPrewitt.kernelDerivY_I32, border, derivYY);
+		}
+	}
+
+	/**
+	 * Computes the image gradient and the hessian using {@link GradientPrewitt}.  Same as calling
+	 * {@link GradientPrewitt#process} then {@link HessianFromGradient#hessianPrewitt}.
+	 *
+	 * @param orig Input image.  Not modified.
+	 * @param derivX Output first derivative along the x-axis. Modified.
+	 * @param derivY Output first derivative along the y-axis. Modified.
+	 * @param derivXX Output second XX partial derivative. Modified.
+	 * @param derivYY Output second YY partial derivative. Modified.
+	 * @param derivXY Output second XY partial derivative. Modified.
+	 * @param border Specifies how the image border is handled. If null the border is not processed.
+	 */
+	public static void prewitt( final GrayF32 orig , final GrayF32 derivX , final GrayF32 derivY ,
+							  final GrayF32 derivXX , final GrayF32 derivYY , final GrayF32 derivXY ,
+							  ImageBorder_F32 border ) {
+		InputSanityCheck.checkSameShape(orig, derivX, derivY);
+		InputSanityCheck.checkSameShape(derivX, derivXX, derivYY, derivXY);
+
+		if( border != null ) {
+			border.setImage(orig);
+			ConvolveJustBorder_General_SB.convolve(GradientPrewitt.kernelDerivX_F32, border, derivX);
+			ConvolveJustBorder_General_SB.convolve(GradientPrewitt.kernelDerivY_F32, border, derivY);
+		}
+
+		final int height = orig.height;
+		BoofConcurrency.loopBlocks(1, height - 1, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				// gradient along with the rows above and below which are needed by the hessian
+				int g0 = Math.max(1, y0 - 1);
+				int g1 = Math.min(height - 1, y1 + 1);
+				GradientPrewitt_Shared.process(orig.subimage(0, g0 - 1, orig.width, g1 + 1),
+						derivX.subimage(0, g0 - 1, derivX.width, g1 + 1),
+						derivY.subimage(0, g0 - 1, derivY.width, g1 + 1));
+
+				GradientPrewitt_Shared.process(derivX.subimage(0, y0 - 1, derivX.width, y1 + 1),
+						derivXX.subimage(0, y0 - 1, derivXX.width, y1 + 1),
+						derivXY.subimage(0, y0 - 1, derivXY.width, y1 + 1));
+				ConvolveImageNoBorder.convolve(GradientPrewitt.kernelDerivY_F32, derivY.subimage(0, y0 - 1, derivY.width, y1 + 1),
+						derivYY.subimage(0, y0 - 1, derivYY.width, y1 + 1));
+			}
+		});
+
+		if( border != null ) {
+			border.setImage(derivX);
+			ConvolveJustBorder_General_SB.convolve(GradientPrewitt.kernelDerivX_F32, border, derivXX);
+			ConvolveJustBorder_General_SB.convolve(GradientPrewitt.kernelDerivY_F32, border, derivXY);
+			border.setImage(derivY);
+			ConvolveJustBorder_General_SB.convolve(GradientPrewitt.kernelDerivY_F32, border, derivYY);
+		}
+	}
+
+	/**
+	 * Computes the image gradient and the hessian using {@link GradientSobel}.  Same as calling
+	 * {@link GradientSobel#process} then {@link HessianFromGradient#hessianSobel}.
+	 *
+	 * @param orig Input image.  Not modified.
+	 * @param derivX Output first derivative along the x-axis. Modified.
+	 * @param derivY Output first derivative along the y-axis. Modified.
+	 * @param derivXX Output second XX partial derivative. Modified.
+	 * @param derivYY Output second YY partial derivative. Modified.
+	 * @param derivXY Output second XY partial derivative. Modified.
+	 * @param border Specifies how the image border is handled. If null the border is not processed.
+	 */
+	public static void sobel( final GrayU8 orig , final GrayS16 derivX , final GrayS16 derivY ,
+							  final GrayS16 derivXX , final GrayS16 derivYY , final GrayS16 derivXY ,
+							  ImageBorder_S32 border ) {
+		InputSanityCheck.checkSameShape(orig, derivX, derivY);
+		InputSanityCheck.checkSameShape(derivX, derivXX, derivYY, derivXY);
+
+		if( border != null ) {
+			border.setImage(orig);
+			ConvolveJustBorder_General_SB.convolve(GradientSobel.kernelDerivX_I32, border, derivX);
+			ConvolveJustBorder_General_SB.convolve(GradientSobel.kernelDerivY_I32, border, derivY);
+		}
+
+		final int height = orig.height;
+		BoofConcurrency.loopBlocks(1, height - 1, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				// gradient along with the rows above and below which are needed by the hessian
+				int g0 = Math.max(1, y0 - 1);
+				int g1 = Math.min(height - 1, y1 + 1);
+				GradientSobel_Outer.process_I8_sub(orig.subimage(0, g0 - 1, orig.width, g1 + 1),
+						derivX.subimage(0, g0 - 1, derivX.width, g1 + 1),
+						derivY.subimage(0, g0 - 1, derivY.width, g1 + 1));
+
+				GradientSobel_Outer.process_I8_sub(derivX.subimage(0, y0 - 1, derivX.width, y1 + 1),
+						derivXX.subimage(0, y0 - 1, derivXX.width, y1 + 1),
+						derivXY.subimage(0, y0 - 1, derivXY.width, y1 + 1));
+				ConvolveImageNoBorder.convolve(GradientSobel.kernelDerivY_I32, derivY.subimage(0, y0 - 1, derivY.width, y1 + 1),
+						derivYY.subimage(0, y0 - 1, derivYY.width, y1 + 1));
+			}
+		});
+
+		if( border != null ) {
+			border.setImage(derivX);
+			ConvolveJustBorder_General_SB.convolve(GradientSobel.kernelDerivX_I32, border, derivXX);
+			ConvolveJustBorder_General_SB.convolve(GradientSobel.kernelDerivY_I32, border, derivXY);
+			ImageBorder_S32 borderYY = new ImageBorder1D_S32(BorderIndex1D_Extend.class);
+			borderYY.setImage(derivY);
+			ConvolveJustBorder_General_SB.convolve(GradientSobel.kernelDerivY_I32, borderYY, derivYY);
+		}
+	}
+
+	/**
+	 * Computes the image gradient and the hessian using {@link GradientSobel}.  Same as calling
+	 * {@link GradientSobel#process} then {@link HessianFromGradient#hessianSobel}.
+	 *
+	 * @param orig Input image.  Not modified.
+	 * @param derivX Output first derivative along the x-axis. Modified.
+	 * @param derivY Output first derivative along the y-axis. Modified.
+	 * @param derivXX Output second XX partial derivative. Modified.
+	 * @param derivYY Output second YY partial derivative. Modified.
+	 * @param derivXY Output second XY partial derivative. Modified.
+	 * @param border Specifies how the image border is handled. If null the border is not processed.
+	 */
+	public static void sobel( final GrayF32 orig , final GrayF32 derivX , final GrayF32 derivY ,
+							  final GrayF32 derivXX , final GrayF32 derivYY , final GrayF32 derivXY ,
+							  ImageBorder_F32 border ) {
+		InputSanityCheck.checkSameShape(orig, derivX, derivY);
+		InputSanityCheck.checkSameShape(derivX, derivXX, derivYY, derivXY);
+
+		if( border != null ) {
+			border.setImage(orig);
+			ConvolveJustBorder_General_SB.convolve(GradientSobel.kernelDerivX_F32, border, derivX);
+			ConvolveJustBorder_General_SB.convolve(GradientSobel.kernelDerivY_F32, border, derivY);
+		}
+
+		final int height = orig.height;
+		BoofConcurrency.loopBlocks(1, height - 1, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				// gradient along with the rows above and below which are needed by the hessian
+				int g0 = Math.max(1, y0 - 1);
+				int g1 = Math.min(height - 1, y1 + 1);
+				GradientSobel_UnrolledOuter.process_F32_sub(orig.subimage(0, g0 - 1, orig.width, g1 + 1),
+						derivX.subimage(0, g0 - 1, derivX.width, g1 + 1),
+						derivY.subimage(0, g0 - 1, derivY.width, g1 + 1));
+
+				GradientSobel_UnrolledOuter.process_F32_sub(derivX.subimage(0, y0 - 1, derivX.width, y1 + 1),
+						derivXX.subimage(0, y0 - 1, derivXX.width, y1 + 1),
+						derivXY.subimage(0, y0 - 1, derivXY.width, y1 + 1));
+				ConvolveImageNoBorder.convolve(GradientSobel.kernelDerivY_F32, derivY.subimage(0, y0 - 1, derivY.width, y1 + 1),
+						derivYY.subimage(0, y0 - 1, derivYY.width, y1 + 1));
+			}
+		});
+
+		if( border != null ) {
+			border.setImage(derivX);
+			ConvolveJustBorder_General_SB.convolve(GradientSobel.kernelDerivX_F32, border, derivXX);
+			ConvolveJustBorder_General_SB.convolve(GradientSobel.kernelDerivY_F32, border, derivXY);
+			ImageBorder_F32 borderYY = new ImageBorder1D_F32(BorderIndex1D_Extend.class);
+			borderYY.setImage(derivY);
+			ConvolveJustBorder_General_SB.convolve(GradientSobel.kernelDerivY_F32, borderYY, derivYY);
+		}
+	}
+
+	/**
+	 * Computes the image gradient and the hessian using {@link GradientThree}.  Same as calling
+	 * {@link GradientThree#process} then {@link HessianFromGradient#hessianThree}.
+	 *
+	 * @param orig Input image.  Not modified.
+	 * @param derivX Output first derivative along the x-axis. Modified.
+	 * @param derivY Output first derivative along the y-axis. Modified.
+	 * @param derivXX Output second XX partial derivative. Modified.
+	 * @param derivYY Output second YY partial derivative. Modified.
+	 * @param derivXY Output second XY partial derivative. Modified.
+	 * @param border Specifies how the image border is handled. If null the border is not processed.
+	 */
+	public static void three( final GrayU8 orig , final GrayS16 derivX , final GrayS16 derivY ,
+							  final GrayS16 derivXX , final GrayS16 derivYY , final GrayS16 derivXY ,
+							  ImageBorder_S32 border ) {
+		InputSanityCheck.checkSameShape(orig, derivX, derivY);
+		InputSanityCheck.checkSameShape(derivX, derivXX, derivYY, derivXY);
+
+		if( border != null ) {
+			DerivativeHelperFunctions.processBorderHorizontal(orig, derivX, GradientThree.kernelDeriv_I32, border);
+			DerivativeHelperFunctions.processBorderVertical(orig, derivY, GradientThree.kernelDeriv_I32, border);
+		}
+
+		final int height = orig.height;
+		BoofConcurrency.loopBlocks(1, height - 1, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				// gradient along with the rows above and below which are needed by the hessian
+				int g0 = Math.max(1, y0 - 1);
+				int g1 = Math.min(height - 1, y1 + 1);
+				GradientThree_Standard.process(orig.subimage(0, g0 - 1, orig.width, g1 + 1),
+						derivX.subimage(0, g0 - 1, derivX.width, g1 + 1),
+						derivY.subimage(0, g0 - 1, derivY.width, g1 + 1));
+
+				GradientThree_Standard.process(derivX.subimage(0, y0 - 1, derivX.width, y1 + 1),
+						derivXX.subimage(0, y0 - 1, derivXX.width, y1 + 1),
+						derivXY.subimage(0, y0 - 1, derivXY.width, y1 + 1));
+				ConvolveImageNoBorder.vertical(GradientThree.kernelDeriv_I32, derivY.subimage(0, y0 - 1, derivY.width, y1 + 1),
+						derivYY.subimage(0, y0 - 1, derivYY.width, y1 + 1));
+			}
+		});
+
+		if( border != null ) {
+			DerivativeHelperFunctions.processBorderHorizontal(derivX, derivXX, GradientThree.kernelDeriv_I32, border);
+			DerivativeHelperFunctions.processBorderVertical(derivX, derivXY, GradientThree.kernelDeriv_I32, border);
+			ImageBorder_S32 borderYY = new ImageBorder1D_S32(BorderIndex1D_Extend.class);
+			borderYY.setImage(derivY);
+			ConvolveJustBorder_General_SB.vertical(GradientThree.kernelDeriv_I32, borderYY, derivYY);
+		}
+	}
+
+	/**
+	 * Computes the image gradient and the hessian using {@link GradientThree}.  Same as calling
+	 * {@link GradientThree#process} then {@link HessianFromGradient#hessianThree}.
+	 *
+	 * @param orig Input image.  Not modified.
+	 * @param derivX Output first derivative along the x-axis. Modified.
+	 * @param derivY Output first derivative along the y-axis. Modified.
+	 * @param derivXX Output second XX partial derivative. Modified.
+	 * @param derivYY Output second YY partial derivative. Modified.
+	 * @param derivXY Output second XY partial derivative. Modified.
+	 * @param border Specifies how the image border is handled. If null the border is not processed.
+	 */
+	public static void three( final GrayF32 orig , final GrayF32 derivX , final GrayF32 derivY ,
+							  final GrayF32 derivXX , final GrayF32 derivYY , final GrayF32 derivXY ,
+							  ImageBorder_F32 border ) {
+		InputSanityCheck.checkSameShape(orig, derivX, derivY);
+		InputSanityCheck.checkSameShape(derivX, derivXX, derivYY, derivXY);
+
+		if( border != null ) {
+			DerivativeHelperFunctions.processBorderHorizontal(orig, derivX, GradientThree.kernelDeriv_F32, border);
+			DerivativeHelperFunctions.processBorderVertical(orig, derivY, GradientThree.kernelDeriv_F32, border);
+		}
+
+		final int height = orig.height;
+		BoofConcurrency.loopBlocks(1, height - 1, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				// gradient along with the rows above and below which are needed by the hessian
+				int g0 = Math.max(1, y0 - 1);
+				int g1 = Math.min(height - 1, y1 + 1);
+				GradientThree_Standard.process(orig.subimage(0, g0 - 1, orig.width, g1 + 1),
+						derivX.subimage(0, g0 - 1, derivX.width, g1 + 1),
+						derivY.subimage(0, g0 - 1, derivY.width, g1 + 1));
+
+				GradientThree_Standard.process(derivX.subimage(0, y0 - 1, derivX.width, y1 + 1),
+						derivXX.subimage(0, y0 - 1, derivXX.width, y1 + 1),
+						derivXY.subimage(0, y0 - 1, derivXY.width, y1 + 1));
+				ConvolveImageNoBorder.vertical(GradientThree.kernelDeriv_F32, derivY.subimage(0, y0 - 1, derivY.width, y1 + 1),
+						derivYY.subimage(0, y0 - 1, derivYY.width, y1 + 1));
+			}
+		});
+
+		if( border != null ) {
+			DerivativeHelperFunctions.processBorderHorizontal(derivX, derivXX, GradientThree.kernelDeriv_F32, border);
+			DerivativeHelperFunctions.processBorderVertical(derivX, derivXY, GradientThree.kernelDeriv_F32, border);
+			ImageBorder_F32 borderYY = new ImageBorder1D_F32(BorderIndex1D_Extend.class);
+			borderYY.setImage(derivY);
+			ConvolveJustBorder_General_SB.vertical(GradientThree.kernelDeriv_F32, borderYY, derivYY);
+		}
+	}
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.derivative;
+
+import boofcv.alg.InputSanityCheck;
+import boofcv.alg.filter.convolve.border.ConvolveJustBorder_General_SB;
+import boofcv.alg.filter.derivative.impl.GradientSobel_Outer;
+import boofcv.alg.filter.derivative.impl.GradientSobel_UnrolledOuter;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeTask;
+import boofcv.core.image.border.ImageBorder_F32;
+import boofcv.core.image.border.ImageBorder_S32;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.GrayS16;
+import boofcv.struct.image.GrayU8;
+
+import static boofcv.alg.filter.derivative.GradientSobel.*;
+
+/**
+ * <p>
+ * Concurrent version of {@link GradientSobel}.  The inner portion of the image is split into bands of rows
+ * which are processed by different threads.  The border is processed afterwards in the calling thread.
+ * Results are identical to the single threaded version.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class GradientSobel_MT {
+
+	/**
+	 * Computes the derivative in the X and Y direction using an integer Sobel edge detector.
+	 *
+	 * @param orig   Input image.  Not modified.
+	 * @param derivX Storage for image derivative along the x-axis. Modified.
+	 * @param derivY Storage for image derivative along the y-axis. Modified.
+	 * @param border Specifies how the image border is handled. If null the border is not processed.
+	 */
+	public static void process(final GrayU8 orig, final GrayS16 derivX, final GrayS16 derivY,
+							   ImageBorder_S32<GrayU8> border ) {
+		InputSanityCheck.checkSameShape(orig, derivX, derivY);
+
+		BoofConcurrency.loopBlocks(1, orig.height - 1, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				GradientSobel_Outer.process_I8_sub(orig.subimage(0, y0 - 1, orig.width, y1 + 1),
+						derivX.subimage(0, y0 - 1, derivX.width, y1 + 1),
+						derivY.subimage(0, y0 - 1, derivY.width, y1 + 1));
+			}
+		});
+
+		if( border != null ) {
+			border.setImage(orig);
+			ConvolveJustBorder_General_SB.convolve(kernelDerivX_I32, border,derivX);
+			ConvolveJustBorder_General_SB.convolve(kernelDerivY_I32, border,derivY);
+		}
+	}
+
+	/**
+	 * Computes the derivative in the X and Y direction using an integer Sobel edge detector.
+	 *
+	 * @param orig   Input image.  Not modified.
+	 * @param derivX Storage for image derivative along the x-axis. Modified.
+	 * @param derivY Storage for image derivative along the y-axis. Modified.
+	 * @param border Specifies how the image border is handled. If null the border is not processed.
+	 */
+	public static void process(final GrayS16 orig, final GrayS16 derivX, final GrayS16 derivY,
+							   ImageBorder_S32<GrayS16> border ) {
+		InputSanityCheck.checkSameShape(orig, derivX, derivY);
+
+		BoofConcurrency.loopBlocks(1, orig.height - 1, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				GradientSobel_Outer.process_I8_sub(orig.subimage(0, y0 - 1, orig.width, y1 + 1),
+						derivX.subimage(0, y0 - 1, derivX.width, y1 + 1),
+						derivY.subimage(0, y0 - 1, derivY.width, y1 + 1));
+			}
+		});
+
+		if( border != null ) {
+			border.setImage(orig);
+			ConvolveJustBorder_General_SB.convolve(kernelDerivX_I32, border,derivX);
+			ConvolveJustBorder_General_SB.convolve(kernelDerivY_I32, border,derivY);
+		}
+	}
+
+	/**
+	 * Computes the derivative in the X and Y direction using a floating point Sobel edge detector.
+	 *
+	 * @param orig   Input image.  Not modified.
+	 * @param derivX Storage for image derivative along the x-axis. Modified.
+	 * @param derivY Storage for image derivative along the y-axis. Modified.
+	 * @param border Specifies how the image border is handled. If null the border is not processed.
+	 */
+	public static void process(final GrayF32 orig, final GrayF32 derivX, final GrayF32 derivY,
+							   ImageBorder_F32 border ) {
+		InputSanityCheck.checkSameShape(orig, derivX, derivY);
+
+		BoofConcurrency.loopBlocks(1, orig.height - 1, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				GradientSobel_UnrolledOuter.process_F32_sub(orig.subimage(0, y0 - 1, orig.width, y1 + 1),
+						derivX.subimage(0, y0 - 1, derivX.width, y1 + 1),
+						derivY.subimage(0, y0 - 1, derivY.width, y1 + 1));
+			}
+		});
+
+		if( border != null ) {
+			border.setImage(orig);
+			ConvolveJustBorder_General_SB.convolve(kernelDerivX_F32, border,derivX);
+			ConvolveJustBorder_General_SB.convolve(kernelDerivY_F32, border,derivY);
+		}
+	}
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.derivative;
+
+import boofcv.alg.InputSanityCheck;
+import boofcv.alg.filter.convolve.ConvolveImageNoBorder_MT;
+import boofcv.alg.filter.convolve.ConvolveWithBorder_MT;
+import boofcv.core.image.border.*;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.GrayS16;
+
+/**
+ * <p>
+ * Concurrent version of {@link HessianFromGradient}.  Each step is computed using concurrent implementations
+ * and the results are identical to the single threaded version.  If the gradient has not already been computed,
+ * {@link GradientHessianFused_MT} will compute both with a single pass through the image.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class HessianFromGradient_MT {
+
+	/**
+	 * Computes the hessian given an image's gradient using a Prewitt operator.
+	 *
+	 * @param inputDerivX Already computed image x-derivative.
+	 * @param inputDerivY Already computed image y-derivative.
+	 * @param derivXX Output second XX partial derivative.
+	 * @param derivYY Output second YY partial derivative.
+	 * @param derivXY Output second XY partial derivative.
+	 * @param border Specifies how the image border is handled. If null the border is not processed.
+	 */
+	public static void hessianPrewitt(GrayS16 inputDerivX , GrayS16 inputDerivY ,
+									  GrayS16 derivXX, GrayS16 derivYY, GrayS16 derivXY ,
+									  ImageBorder_S32 border ) {
+		InputSanityCheck.checkSameShape(inputDerivX, inputDerivY, derivXX, derivYY, derivXY);
+
+		GradientPrewitt_MT.process(inputDerivX,derivXX,derivXY,border);
+
+		if( border != null )
+			ConvolveWithBorder_MT.convolve(GradientPrewitt.kernelDerivY_I32,inputDerivY,derivYY,border);
+		else
+			ConvolveImageNoBorder_MT.convolve(GradientPrewitt.kernelDerivY_I32,inputDerivY,derivYY);
+	}
+
+	/**
+	 * Computes the hessian given an image's gradient using a Prewitt operator.
+	 *
+	 * @param inputDerivX Already computed image x-derivative.
+	 * @param inputDerivY Already computed image y-derivative.
+	 * @param derivXX Output second XX partial derivative.
+	 * @param derivYY Output second YY partial derivative.
+	 * @param derivXY Output second XY partial derivative.
+	 * @param border Specifies how the image border is handled. If null the border is not processed.
+	 */
+	public static void hessianPrewitt(GrayF32 inputDerivX , GrayF32 inputDerivY,
+									  GrayF32 derivXX, GrayF32 derivYY, GrayF32 derivXY ,
+									  ImageBorder_F32 border ) {
+		InputSanityCheck.checkSameShape(inputDerivX, inputDerivY, derivXX, derivYY, derivXY);
+
+		GradientPrewitt_MT.process(inputDerivX,derivXX,derivXY,border);
+
+		if( border != null )
+			ConvolveWithBorder_MT.convolve(GradientPrewitt.kernelDerivY_F32,inputDerivY,derivYY,border);
+		else
+			ConvolveImageNoBorder_MT.convolve(GradientPrewitt.kernelDerivY_F32,inputDerivY,derivYY);
+	}
+
+	/**
+	 * Computes the hessian given an image's gradient using a Sobel operator.
+	 *
+	 * @param inputDerivX Already computed image x-derivative.
+	 * @param inputDerivY Already computed image y-derivative.
+	 * @param derivXX Output second XX partial derivative.
+	 * @param derivYY Output second YY partial derivative.
+	 * @param derivXY Output second XY partial derivative.
+	 * @param border Specifies how the image border is handled. If null the border is not processed.
+	 */
+	public static void hessianSobel(GrayS16 inputDerivX , GrayS16 inputDerivY ,
+									GrayS16 derivXX, GrayS16 derivYY, GrayS16 derivXY ,
+									ImageBorder_S32 border ) {
+		InputSanityCheck.checkSameShape(inputDerivX, inputDerivY, derivXX, derivYY, derivXY);
+
+		GradientSobel_MT.process(inputDerivX,derivXX,derivXY,border);
+
+		if( border != null )
+			ConvolveWithBorder_MT.convolve(GradientSobel.kernelDerivY_I32,inputDerivY,derivYY,
+					new ImageBorder1D_S32(BorderIndex1D_Extend.class));
+		else
+			ConvolveImageNoBorder_MT.convolve(GradientSobel.kernelDerivY_I32,inputDerivY,derivYY);
+	}
+
+	/**
+	 * Computes the hessian given an image's gradient using a Sobel operator.
+	 *
+	 * @param inputDerivX Already computed image x-derivative.
+	 * @param inputDerivY Already computed image y-derivative.
+	 * @param derivXX Output second XX partial derivative.
+	 * @param derivYY Output second YY partial derivative.
+	 * @param derivXY Output second XY partial derivative.
+	 * @param border Specifies how the image border is handled. If null the border is not processed.
+	 */
+	public static void hessianSobel(GrayF32 inputDerivX , GrayF32 inputDerivY,
+									GrayF32 derivXX, GrayF32 derivYY, GrayF32 derivXY ,
+									ImageBorder_F32 border ) {
+		InputSanityCheck.checkSameShape(inputDerivX, inputDerivY, derivXX, derivYY, derivXY);
+
+		GradientSobel_MT.process(inputDerivX,derivXX,derivXY,border);
+
+		if( border != null )
+			ConvolveWithBorder_MT.convolve(GradientSobel.kernelDerivY_F32,inputDerivY,derivYY,
+					new ImageBorder1D_F32(BorderIndex1D_Extend.class));
+		else
+			ConvolveImageNoBorder_MT.convolve(GradientSobel.kernelDerivY_F32,inputDerivY,derivYY);
+	}
+
+	/**
+	 * Computes the hessian given an image's gradient using a three derivative operator.
+	 *
+	 * @param inputDerivX Already computed image x-derivative.
+	 * @param inputDerivY Already computed image y-derivative.
+	 * @param derivXX Output second XX partial derivative.
+	 * @param derivYY Output second YY partial derivative.
+	 * @param derivXY Output second XY partial derivative.
+	 * @param border Specifies how the image border is handled. If null the border is not processed.
+	 */
+	public static void hessianThree(GrayS16 inputDerivX , GrayS16 inputDerivY ,
+									GrayS16 derivXX, GrayS16 derivYY, GrayS16 derivXY ,
+									ImageBorder_S32 border ) {
+		InputSanityCheck.checkSameShape(inputDerivX, inputDerivY, derivXX, derivYY, derivXY);
+
+		GradientThree_MT.process(inputDerivX,derivXX,derivXY,border);
+
+		if( border != null )
+			ConvolveWithBorder_MT.vertical(GradientThree.kernelDeriv_I32,inputDerivY,derivYY,
+					new ImageBorder1D_S32(BorderIndex1D_Extend.class));
+		else
+			ConvolveImageNoBorder_MT.vertical(GradientThree.kernelDeriv_I32,inputDerivY,derivYY);
+	}
+
+	/**
+	 * Computes the hessian given an image's gradient using a three derivative operator.
+	 *
+	 * @param inputDerivX Already computed image x-derivative.
+	 * @param inputDerivY Already computed image y-derivative.
+	 * @param derivXX Output second XX partial derivative.
+	 * @param derivYY Output second YY partial derivative.
+	 * @param derivXY Output second XY partial derivative.
+	 * @param border Specifies how the image border is handled. If null the border is not processed.
+	 */
+	public static void hessianThree(GrayF32 inputDerivX , GrayF32 inputDerivY,
+									GrayF32 derivXX, GrayF32 derivYY, GrayF32 derivXY ,
+									ImageBorder_F32 border ) {
+		InputSanityCheck.checkSameShape(inputDerivX, inputDerivY, derivXX, derivYY, derivXY);
+
+		GradientThree_MT.process(inputDerivX,derivXX,derivXY,border);
+
+		if( border != null )
+			ConvolveWithBorder_MT.vertical(GradientThree.kernelDeriv_F32,inputDerivY,derivYY,
+					new ImageBorder1D_F32(BorderIndex1D_Extend.class));
+		else
+			ConvolveImageNoBorder_MT.vertical(GradientThree.kernelDeriv_F32,inputDerivY,derivYY);
+	}
+}
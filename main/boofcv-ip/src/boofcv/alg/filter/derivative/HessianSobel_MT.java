@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.derivative;
+
+import boofcv.alg.InputSanityCheck;
+import boofcv.alg.filter.convolve.border.ConvolveJustBorder_General_SB;
+import boofcv.alg.filter.derivative.impl.HessianSobel_Shared;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeTask;
+import boofcv.core.image.border.ImageBorder_F32;
+import boofcv.core.image.border.ImageBorder_S32;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.GrayS16;
+import boofcv.struct.image.GrayU8;
+
+import static boofcv.alg.filter.derivative.HessianSobel.*;
+
+/**
+ * <p>
+ * Concurrent version of {@link HessianSobel}.  The inner portion of the image is split into bands of rows
+ * which are processed by different threads.  The border is processed afterwards in the calling thread.
+ * Results are identical to the single threaded version.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class HessianSobel_MT {
+
+	/**
+	 * Computes the image's second derivatives.
+	 *
+	 * @param orig   Which which is to be differentiated. Not Modified.
+	 * @param derivXX Second derivative along the x-axis. Modified.
+	 * @param derivYY Second derivative along the y-axis. Modified.
+	 * @param derivXY Second cross derivative. Modified.
+	 * @param border Specifies how the image border is handled. If null the border is not processed.
+	 */
+	public static void process(final GrayU8 orig,
+							   final GrayS16 derivXX, final GrayS16 derivYY, final GrayS16 derivXY ,
+							   ImageBorder_S32 border ) {
+		InputSanityCheck.checkSameShape(orig, derivXX, derivYY, derivXY);
+
+		BoofConcurrency.loopBlocks(2, orig.height - 2, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				HessianSobel_Shared.process(orig.subimage(0, y0 - 2, orig.width, y1 + 2),
+						derivXX.subimage(0, y0 - 2, derivXX.width, y1 + 2),
+						derivYY.subimage(0, y0 - 2, derivYY.width, y1 + 2),
+						derivXY.subimage(0, y0 - 2, derivXY.width, y1 + 2));
+			}
+		});
+
+		if( border != null ) {
+			border.setImage(orig);
+			ConvolveJustBorder_General_SB.convolve(kernelXX_I32, border,derivXX);
+			ConvolveJustBorder_General_SB.convolve(kernelYY_I32, border,derivYY);
+			ConvolveJustBorder_General_SB.convolve(kernelXY_I32, border,derivXY);
+		}
+	}
+
+	/**
+	 * Computes the image's second derivatives.
+	 *
+	 * @param orig   Which which is to be differentiated. Not Modified.
+	 * @param derivXX Second derivative along the x-axis. Modified.
+	 * @param derivYY Second derivative along the y-axis. Modified.
+	 * @param derivXY Second cross derivative. Modified.
+	 * @param border Specifies how the image border is handled. If null the border is not processed.
+	 */
+	public static void process(final GrayF32 orig,
+							   final GrayF32 derivXX, final GrayF32 derivYY, final GrayF32 derivXY ,
+							   ImageBorder_F32 border ) {
+		InputSanityCheck.checkSameShape(orig, derivXX, derivYY, derivXY);
+
+		BoofConcurrency.loopBlocks(2, orig.height - 2, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				HessianSobel_Shared.process(orig.subimage(0, y0 - 2, orig.width, y1 + 2),
+						derivXX.subimage(0, y0 - 2, derivXX.width, y1 + 2),
+						derivYY.subimage(0, y0 - 2, derivYY.width, y1 + 2),
+						derivXY.subimage(0, y0 - 2, derivXY.width, y1 + 2));
+			}
+		});
+
+		if( border != null ) {
+			border.setImage(orig);
+			ConvolveJustBorder_General_SB.convolve(kernelXX_F32, border,derivXX);
+			ConvolveJustBorder_General_SB.convolve(kernelYY_F32, border,derivYY);
+			ConvolveJustBorder_General_SB.convolve(kernelXY_F32, border,derivXY);
+		}
+	}
+}
@@ -0,0 +1,428 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.fused;
+
+import boofcv.alg.InputSanityCheck;
+import boofcv.alg.filter.kernel.KernelMath;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeWorkTask;
+import boofcv.factory.filter.kernel.FactoryKernelGaussian;
+import boofcv.struct.convolve.Kernel1D_F32;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.ImageGray;
+import org.ddogleg.struct.FastQueue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>
+ * Applies a sequence of filters to an image in a single pass without creating intermediate images.  Conventional
+ * usage, e.g. convert to float, blur, compute the gradient, and then compute edge intensity, creates a full size image
+ * at each step and reads/writes all of it from main memory.  Here the image is processed one row at a time and each
+ * stage only keeps the rows it needs in a small ring buffer, so intermediate results stay in the cache.
+ * </p>
+ *
+ * <p>
+ * Supported stages are point-wise operations similar to {@link boofcv.alg.misc.PixelMath}, separable normalized
+ * convolutions, and optionally a Sobel gradient at the end.  Internally all calculations are done using floats.  The
+ * output is the same as applying the equivalent operations one at a time, up to floating point round off.
+ * </p>
+ *
+ * <pre>
+ * FusedFilterPipeline&lt;GrayU8&gt; pipeline = new FusedFilterPipeline&lt;&gt;(GrayU8.class).gaussian(-1,2);
+ * pipeline.processEdgeIntensity(gray, intensity, direction);
+ * </pre>
+ *
+ * <p>
+ * When concurrency is turned on the image is split into horizontal strips which are processed in parallel.  Rows
+ * along the top and bottom of each strip needed by the convolutions are recomputed by each strip.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class FusedFilterPipeline<T extends ImageGray<T>> {
+
+	private Class<T> inputType;
+
+	// creates the stages after the source in each thread's chain
+	private List<StageFactory> factories = new ArrayList<>();
+
+	// if true then strips of rows will be processed concurrently
+	private boolean concurrent = BoofConcurrency.isUseConcurrent();
+
+	// minimum number of rows in a strip
+	private int minimumStripRows = 64;
+
+	// storage for each thread.  Declared when first needed since it depends on the stages
+	private FastQueue<Chain> workspace;
+
+	// references to images being processed
+	private T input;
+	private GrayF32 output0, output1;
+	private Mode mode;
+
+	private IntRangeWorkTask<Chain> task = new IntRangeWorkTask<Chain>() {
+		@Override
+		public void process(Chain chain, int y0, int y1) {
+			processRows(chain, y0, y1);
+		}
+	};
+
+	/**
+	 * Creates an empty pipeline.  Without any stages the input image is simply converted into a {@link GrayF32}.
+	 *
+	 * @param inputType Type of input image
+	 */
+	public FusedFilterPipeline( Class<T> inputType ) {
+		this.inputType = inputType;
+	}
+
+	/**
+	 * Adds a stage which multiplies each pixel by a value.
+	 *
+	 * @see boofcv.alg.misc.PixelMath#multiply(GrayF32, float, GrayF32)
+	 */
+	public FusedFilterPipeline<T> multiply( final float value ) {
+		return pointOp(new PointOp() {
+			@Override
+			public void process(float[] row, int length) {
+				for( int i = 0; i < length; i++ ) {
+					row[i] *= value;
+				}
+			}
+		});
+	}
+
+	/**
+	 * Adds a stage which adds a value to each pixel.
+	 *
+	 * @see boofcv.alg.misc.PixelMath#plus(GrayF32, float, GrayF32)
+	 */
+	public FusedFilterPipeline<T> plus( final float value ) {
+		return pointOp(new PointOp() {
+			@Override
+			public void process(float[] row, int length) {
+				for( int i = 0; i < length; i++ ) {
+					row[i] += value;
+				}
+			}
+		});
+	}
+
+	/**
+	 * Adds a stage which takes the absolute value of each pixel.
+	 *
+	 * @see boofcv.alg.misc.PixelMath#abs(GrayF32, GrayF32)
+	 */
+	public FusedFilterPipeline<T> abs() {
+		return pointOp(new PointOp() {
+			@Override
+			public void process(float[] row, int length) {
+				for( int i = 0; i < length; i++ ) {
+					row[i] = Math.abs(row[i]);
+				}
+			}
+		});
+	}
+
+	/**
+	 * Adds a stage which bounds each pixel to be inside the specified range, inclusive.
+	 *
+	 * @see boofcv.alg.misc.PixelMath#boundImage(GrayF32, float, float)
+	 */
+	public FusedFilterPipeline<T> bound( final float min , final float max ) {
+		return pointOp(new PointOp() {
+			@Override
+			public void process(float[] row, int length) {
+				for( int i = 0; i < length; i++ ) {
+					float value = row[i];
+					if( value < min )
+						row[i] = min;
+					else if( value > max )
+						row[i] = max;
+				}
+			}
+		});
+	}
+
+	/**
+	 * Adds a custom point-wise operation.  The operation must be thread safe if concurrency is turned on.
+	 */
+	public FusedFilterPipeline<T> pointOp( final PointOp op ) {
+		factories.add(new StageFactory() {
+			@Override
+			public RowStage create(RowStage source) {
+				return new RowPointStage(source, op);
+			}
+		});
+		workspace = null;
+		return this;
+	}
+
+	/**
+	 * Adds a Gaussian blur stage.
+	 *
+	 * @see boofcv.alg.filter.blur.BlurImageOps#gaussian(GrayF32, GrayF32, double, int, GrayF32)
+	 *
+	 * @param sigma Gaussian distribution's sigma.  If &le; 0 then will be selected based on radius.
+	 * @param radius Radius of the Gaussian blur function. If &le; 0 then radius will be determined by sigma.
+	 */
+	public FusedFilterPipeline<T> gaussian( double sigma , int radius ) {
+		Kernel1D_F32 kernel = FactoryKernelGaussian.gaussian(Kernel1D_F32.class, sigma, radius);
+		return convolve(kernel, kernel);
+	}
+
+	/**
+	 * Adds a separable normalized convolution stage.  The image is convolved along the x-axis and then the y-axis.
+	 *
+	 * @see boofcv.alg.filter.convolve.ConvolveNormalized
+	 *
+	 * @param kernelX Kernel applied along the x-axis.  Not modified.
+	 * @param kernelY Kernel applied along the y-axis.  Not modified.
+	 */
+	public FusedFilterPipeline<T> convolve( Kernel1D_F32 kernelX , Kernel1D_F32 kernelY ) {
+		final Kernel1D_F32 normX = normalize(kernelX);
+		final Kernel1D_F32 normY = normalize(kernelY);
+
+		factories.add(new StageFactory() {
+			@Override
+			public RowStage create(RowStage source) {
+				return new RowConvolveStage(source, normX, normY);
+			}
+		});
+		workspace = null;
+		return this;
+	}
+
+	private static Kernel1D_F32 normalize( Kernel1D_F32 kernel ) {
+		Kernel1D_F32 k = kernel.copy();
+		if( Math.abs(k.computeSum() - 1.0f) > 1e-4f )
+			KernelMath.normalizeSumToOne(k);
+		return k;
+	}
+
+	/**
+	 * Applies all the stages to the input image.
+	 *
+	 * @param input Input image.  Not modified.
+	 * @param output Output image.  Modified.
+	 */
+	public void process( T input , GrayF32 output ) {
+		InputSanityCheck.checkSameShape(input, output);
+		this.output0 = output;
+		this.output1 = null;
+		run(input, Mode.IMAGE);
+	}
+
+	/**
+	 * Applies all the stages to the input image and then computes the image gradient using a Sobel kernel.
+	 * Pixels outside the image are handled using an extended border.
+	 *
+	 * @see boofcv.alg.filter.derivative.GradientSobel
+	 *
+	 * @param input Input image.  Not modified.
+	 * @param derivX Storage for image derivative along the x-axis. Modified.
+	 * @param derivY Storage for image derivative along the y-axis. Modified.
+	 */
+	public void processGradient( T input , GrayF32 derivX , GrayF32 derivY ) {
+		InputSanityCheck.checkSameShape(input, derivX, derivY);
+		this.output0 = derivX;
+		this.output1 = derivY;
+		run(input, Mode.GRADIENT);
+	}
+
+	/**
+	 * Applies all the stages to the input image, computes the Sobel gradient, and then converts the gradient into
+	 * edge intensity and direction.  The gradient is never saved into an image.
+	 *
+	 * @see boofcv.alg.filter.derivative.GradientSobel
+	 *
+	 * @param input Input image.  Not modified.
+	 * @param intensity Storage for the Euclidean norm of the gradient. Modified.
+	 * @param direction Storage for the edge direction, from -pi/2 to pi/2.  Can be null. Modified.
+	 */
+	public void processEdgeIntensity( T input , GrayF32 intensity , GrayF32 direction ) {
+		if( direction != null )
+			InputSanityCheck.checkSameShape(input, intensity, direction);
+		else
+			InputSanityCheck.checkSameShape(input, intensity);
+		this.output0 = intensity;
+		this.output1 = direction;
+		run(input, Mode.EDGE);
+	}
+
+	private void run( T input , Mode mode ) {
+		this.input = input;
+		this.mode = mode;
+
+		if( workspace == null ) {
+			workspace = new FastQueue<Chain>(1,Chain.class,true) {
+				@Override
+				protected Chain createInstance() {
+					return new Chain(factories);
+				}
+			};
+		}
+
+		if( concurrent ) {
+			BoofConcurrency.loopBlocks(0, input.height, minimumStripRows, workspace, task);
+		} else {
+			workspace.resize(1);
+			processRows(workspace.get(0), 0, input.height);
+		}
+
+		this.input = null;
+		this.output0 = null;
+		this.output1 = null;
+	}
+
+	/**
+	 * Computes the output for rows y0 to y1, exclusive
+	 */
+	private void processRows( Chain chain , int y0 , int y1 ) {
+		int width = input.width;
+		chain.source.setImage(input);
+		chain.last.setShape(width, input.height);
+
+		if( mode == Mode.IMAGE ) {
+			chain.last.begin(y0);
+			for( int y = y0; y < y1; y++ ) {
+				float[] row = chain.last.row(y);
+				System.arraycopy(row, 0, output0.data, output0.startIndex + y*output0.stride, width);
+			}
+			return;
+		}
+
+		chain.sobel.setShape(width, input.height);
+		chain.derivX = chain.last.checkRow(chain.derivX);
+		chain.derivY = chain.last.checkRow(chain.derivY);
+		float[] derivX = chain.derivX;
+		float[] derivY = chain.derivY;
+
+		chain.sobel.begin(y0);
+		for( int y = y0; y < y1; y++ ) {
+			chain.sobel.process(y, derivX, derivY);
+
+			if( mode == Mode.GRADIENT ) {
+				System.arraycopy(derivX, 0, output0.data, output0.startIndex + y*output0.stride, width);
+				System.arraycopy(derivY, 0, output1.data, output1.startIndex + y*output1.stride, width);
+				continue;
+			}
+
+			int index = output0.startIndex + y*output0.stride;
+			for( int x = 0; x < width; x++ ) {
+				float dx = derivX[x];
+				float dy = derivY[x];
+				output0.data[index++] = (float)Math.sqrt(dx*dx + dy*dy);
+			}
+
+			if( output1 != null ) {
+				index = output1.startIndex + y*output1.stride;
+				for( int x = 0; x < width; x++ ) {
+					float dx = derivX[x];
+					float dy = derivY[x];
+					// compute the angle while avoiding divided by zero errors
+					output1.data[index++] = Math.abs(dx) < 1e-10f ? (float)(Math.PI/2.0) : (float)Math.atan(dy/dx);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Number of rows above and below a strip which are read from the input image.  When {@link #processGradient}
+	 * or {@link #processEdgeIntensity} is called there is one additional row.
+	 */
+	public int getRadiusY() {
+		return new Chain(factories).last.getRadiusY();
+	}
+
+	/**
+	 * Number of floats used by a single thread to store rows for an image of the specified width when computing
+	 * the gradient.  Compare against the size of the intermediate images which are avoided.
+	 */
+	public int getStorageFloats( int width ) {
+		Chain chain = new Chain(factories);
+		chain.last.setShape(width, 1);
+		chain.sobel.setShape(width, 1);
+		return chain.sobel.getStorageFloats() + 2*width;
+	}
+
+	public Class<T> getInputType() {
+		return inputType;
+	}
+
+	public boolean isConcurrent() {
+		return concurrent;
+	}
+
+	public void setConcurrent(boolean concurrent) {
+		this.concurrent = concurrent;
+	}
+
+	public int getMinimumStripRows() {
+		return minimumStripRows;
+	}
+
+	public void setMinimumStripRows(int minimumStripRows) {
+		this.minimumStripRows = minimumStripRows;
+	}
+
+	/**
+	 * Point-wise operation applied to a row of pixels in place
+	 */
+	public interface PointOp {
+		/**
+		 * Modifies the first 'length' elements in the row
+		 */
+		void process( float[] row , int length );
+	}
+
+	/**
+	 * Creates a new instance of a stage
+	 */
+	private interface StageFactory {
+		RowStage create( RowStage source );
+	}
+
+	private enum Mode {
+		IMAGE,
+		GRADIENT,
+		EDGE
+	}
+
+	/**
+	 * Stages and storage used by a single thread
+	 */
+	private static class Chain {
+		RowSource source = new RowSource();
+		RowStage last;
+		RowSobel sobel;
+
+		float[] derivX, derivY;
+
+		Chain( List<StageFactory> factories ) {
+			last = source;
+			for( int i = 0; i < factories.size(); i++ ) {
+				last = factories.get(i).create(last);
+			}
+			sobel = new RowSobel(last);
+		}
+	}
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.fused;
+
+import boofcv.struct.convolve.Kernel1D_F32;
+
+/**
+ * Separable normalized convolution.  Each row from the source is convolved horizontally and saved in a ring buffer
+ * which is just large enough to then convolve vertically.  Along the image border the result is normalized
+ * by the sum of the kernel elements inside the image, the same as
+ * {@link boofcv.alg.filter.convolve.ConvolveNormalized}.
+ *
+ * @author Peter Abeles
+ */
+class RowConvolveStage extends RowStage {
+	// kernels normalized so that they sum up to one
+	private Kernel1D_F32 kernelX, kernelY;
+
+	// ring buffer containing horizontally convolved rows.  Row 'y' is stored in ring[y % ring.length]
+	private float[][] ring;
+	// the next row which will be read from the source
+	private int nextY;
+
+	private float[] output;
+
+	RowConvolveStage( RowStage source , Kernel1D_F32 kernelX , Kernel1D_F32 kernelY ) {
+		super(source);
+		this.kernelX = kernelX;
+		this.kernelY = kernelY;
+		this.ring = new float[kernelY.width][];
+	}
+
+	@Override
+	public void setShape(int width, int height) {
+		super.setShape(width, height);
+		for( int i = 0; i < ring.length; i++ ) {
+			ring[i] = checkRow(ring[i]);
+		}
+		output = checkRow(output);
+	}
+
+	@Override
+	public void begin(int y0) {
+		nextY = Math.max(0, y0 - kernelY.offset);
+		source.begin(nextY);
+	}
+
+	@Override
+	public float[] row(int y) {
+		final int offset = kernelY.offset;
+		final int kernelWidth = kernelY.width;
+		final float[] dataKer = kernelY.data;
+
+		// read in all the rows which are needed
+		int lastY = Math.min(height - 1, y + kernelWidth - offset - 1);
+		while( nextY <= lastY ) {
+			horizontal(source.row(nextY), ring[nextY % ring.length]);
+			nextY++;
+		}
+
+		int kStart = Math.max(0, offset - y);
+		int kEnd = Math.min(kernelWidth, height - y + offset);
+
+		// first row initializes the sum
+		float[] src = ring[(y - offset + kStart) % ring.length];
+		float w = dataKer[kStart];
+		for( int x = 0; x < width; x++ ) {
+			output[x] = src[x]*w;
+		}
+		float weight = w;
+		for( int k = kStart + 1; k < kEnd; k++ ) {
+			src = ring[(y - offset + k) % ring.length];
+			w = dataKer[k];
+			weight += w;
+			for( int x = 0; x < width; x++ ) {
+				output[x] += src[x]*w;
+			}
+		}
+
+		// only need to normalize when part of the kernel is outside the image
+		if( kStart != 0 || kEnd != kernelWidth ) {
+			for( int x = 0; x < width; x++ ) {
+				output[x] /= weight;
+			}
+		}
+
+		return output;
+	}
+
+	/**
+	 * Convolves a single row along the x-axis
+	 */
+	private void horizontal( float[] input , float[] output ) {
+		final float[] dataKer = kernelX.data;
+		final int offset = kernelX.offset;
+		final int kernelWidth = kernelX.width;
+
+		int interiorStart = Math.min(offset, width);
+		int interiorEnd = Math.max(interiorStart, width - (kernelWidth - offset - 1));
+
+		for( int x = interiorStart; x < interiorEnd; x++ ) {
+			int indexSrc = x - offset;
+			float total = 0;
+			for( int k = 0; k < kernelWidth; k++ ) {
+				total += input[indexSrc++]*dataKer[k];
+			}
+			output[x] = total;
+		}
+
+		for( int x = 0; x < interiorStart; x++ ) {
+			output[x] = horizontalBorder(input, x);
+		}
+		for( int x = interiorEnd; x < width; x++ ) {
+			output[x] = horizontalBorder(input, x);
+		}
+	}
+
+	private float horizontalBorder( float[] input , int x ) {
+		final float[] dataKer = kernelX.data;
+		final int offset = kernelX.offset;
+
+		int kStart = Math.max(0, offset - x);
+		int kEnd = Math.min(kernelX.width, width - x + offset);
+
+		float total = 0;
+		float weight = 0;
+		for( int k = kStart; k < kEnd; k++ ) {
+			float w = dataKer[k];
+			weight += w;
+			total += input[x - offset + k]*w;
+		}
+		return total/weight;
+	}
+
+	@Override
+	public int getRadiusY() {
+		return super.getRadiusY() + Math.max(kernelY.offset, kernelY.width - kernelY.offset - 1);
+	}
+
+	@Override
+	public int getStorageFloats() {
+		return super.getStorageFloats() + (ring.length + 1)*width;
+	}
+}
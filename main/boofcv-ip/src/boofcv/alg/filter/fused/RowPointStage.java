@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.fused;
+
+/**
+ * Applies a point-wise operation to each row from its source.  The row is modified in place so no additional
+ * storage is required.
+ *
+ * @author Peter Abeles
+ */
+class RowPointStage extends RowStage {
+	private FusedFilterPipeline.PointOp op;
+
+	RowPointStage( RowStage source , FusedFilterPipeline.PointOp op ) {
+		super(source);
+		this.op = op;
+	}
+
+	@Override
+	public void begin(int y0) {
+		source.begin(y0);
+	}
+
+	@Override
+	public float[] row(int y) {
+		float[] row = source.row(y);
+		op.process(row, width);
+		return row;
+	}
+}
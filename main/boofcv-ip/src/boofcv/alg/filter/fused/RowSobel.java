@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.fused;
+
+/**
+ * Computes the Sobel gradient of rows from its source.  The three rows needed are stored in a ring buffer.  Pixels
+ * outside the image are handled using an extended border, i.e. the value of the closest pixel inside the image.
+ * Inside the image the arithmetic is the same as {@link boofcv.alg.filter.derivative.GradientSobel}.
+ *
+ * @author Peter Abeles
+ */
+class RowSobel {
+	private RowStage source;
+
+	private float[][] ring = new float[3][];
+	private int nextY;
+
+	private int width, height;
+
+	RowSobel( RowStage source ) {
+		this.source = source;
+	}
+
+	public void setShape( int width , int height ) {
+		this.width = width;
+		this.height = height;
+		for( int i = 0; i < ring.length; i++ ) {
+			ring[i] = source.checkRow(ring[i]);
+		}
+	}
+
+	public void begin( int y0 ) {
+		nextY = Math.max(0, y0 - 1);
+		source.begin(nextY);
+	}
+
+	/**
+	 * Computes the gradient along row y
+	 *
+	 * @param y Row in the image
+	 * @param derivX Storage for the derivative along x-axis
+	 * @param derivY Storage for the derivative along y-axis
+	 */
+	public void process( int y , float[] derivX , float[] derivY ) {
+		int lastY = Math.min(height - 1, y + 1);
+		while( nextY <= lastY ) {
+			System.arraycopy(source.row(nextY), 0, ring[nextY % 3], 0, width);
+			nextY++;
+		}
+
+		float[] r1 = ring[Math.max(0, y - 1) % 3];
+		float[] r2 = ring[y % 3];
+		float[] r3 = ring[Math.min(height - 1, y + 1) % 3];
+
+		if( width < 3 ) {
+			for( int x = 0; x < width; x++ ) {
+				gradient(r1, r2, r3, x, derivX, derivY);
+			}
+			return;
+		}
+
+		gradient(r1, r2, r3, 0, derivX, derivY);
+
+		float a11 = r1[0], a12 = r1[1];
+		float a21 = r2[0];
+		float a31 = r3[0], a32 = r3[1];
+
+		for( int x = 1; x < width - 1; x++ ) {
+			float a13 = r1[x + 1];
+			float a23 = r2[x + 1];
+			float a33 = r3[x + 1];
+
+			float v = (a33 - a11)*0.25f;
+			float w = (a31 - a13)*0.25f;
+
+			derivY[x] = (a32 - a12)*0.5f + v + w;
+			derivX[x] = (a23 - a21)*0.5f + v - w;
+
+			a11 = a12; a12 = a13;
+			a21 = r2[x];
+			a31 = a32; a32 = a33;
+		}
+
+		gradient(r1, r2, r3, width - 1, derivX, derivY);
+	}
+
+	/**
+	 * Computes the gradient at a single pixel with the columns clamped to the image
+	 */
+	private void gradient( float[] r1 , float[] r2 , float[] r3 , int x , float[] derivX , float[] derivY ) {
+		int x0 = Math.max(0, x - 1);
+		int x2 = Math.min(width - 1, x + 1);
+
+		float v = (r3[x2] - r1[x0])*0.25f;
+		float w = (r3[x0] - r1[x2])*0.25f;
+
+		derivY[x] = (r3[x] - r1[x])*0.5f + v + w;
+		derivX[x] = (r2[x2] - r2[x0])*0.5f + v - w;
+	}
+
+	public int getRadiusY() {
+		return source.getRadiusY() + 1;
+	}
+
+	public int getStorageFloats() {
+		return source.getStorageFloats() + ring.length*width;
+	}
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.fused;
+
+import boofcv.core.image.FactoryGImageGray;
+import boofcv.core.image.GImageGray;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.GrayU8;
+import boofcv.struct.image.ImageGray;
+
+/**
+ * First stage in a pipeline.  Converts a row in the input image into floats, the same as
+ * {@link boofcv.core.image.ConvertImage} would.
+ *
+ * @author Peter Abeles
+ */
+class RowSource extends RowStage {
+	private ImageGray image;
+	// used for image types which don't have a specialized implementation
+	private GImageGray generic;
+
+	private float[] row;
+
+	RowSource() {
+		super(null);
+	}
+
+	public void setImage( ImageGray image ) {
+		this.image = image;
+		if( image instanceof GrayU8 || image instanceof GrayF32 )
+			generic = null;
+		else
+			generic = FactoryGImageGray.wrap(image, generic);
+	}
+
+	@Override
+	public void setShape(int width, int height) {
+		super.setShape(width, height);
+		row = checkRow(row);
+	}
+
+	@Override
+	public void begin(int y0) {}
+
+	@Override
+	public float[] row(int y) {
+		int index = image.startIndex + y*image.stride;
+
+		if( image instanceof GrayU8 ) {
+			byte[] data = ((GrayU8)image).data;
+			for( int x = 0; x < width; x++ ) {
+				row[x] = data[index++] & 0xFF;
+			}
+		} else if( image instanceof GrayF32 ) {
+			System.arraycopy(((GrayF32)image).data, index, row, 0, width);
+		} else {
+			for( int x = 0; x < width; x++ ) {
+				row[x] = generic.getF(index++);
+			}
+		}
+		return row;
+	}
+
+	@Override
+	public int getStorageFloats() {
+		return width;
+	}
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.fused;
+
+/**
+ * A single stage in a {@link FusedFilterPipeline}.  Each call to {@link #row} computes one row of the stage's
+ * output from rows provided by its source.  Rows must be requested in increasing order, starting from the row
+ * passed to {@link #begin}.  Stages only keep the few rows they need in a ring buffer instead of an entire image.
+ *
+ * @author Peter Abeles
+ */
+abstract class RowStage {
+	// stage which provides the input rows.  null if this is the first stage
+	protected RowStage source;
+
+	// shape of the image being processed
+	protected int width, height;
+
+	protected RowStage( RowStage source ) {
+		this.source = source;
+	}
+
+	/**
+	 * Specifies the shape of the image.  Called before processing starts.
+	 */
+	public void setShape( int width , int height ) {
+		this.width = width;
+		this.height = height;
+		if( source != null )
+			source.setShape(width, height);
+	}
+
+	/**
+	 * Prepares the stage to produce rows starting at y0
+	 *
+	 * @param y0 First row which will be requested
+	 */
+	public abstract void begin( int y0 );
+
+	/**
+	 * Computes the specified row.  The returned array is owned by this stage and is only valid until the next
+	 * call.  The stage which requested it is allowed to modify its contents.
+	 *
+	 * @param y Row in the image
+	 * @return Array containing the row's values in the first 'width' elements
+	 */
+	public abstract float[] row( int y );
+
+	/**
+	 * Number of rows above and below an output row which are read from the first stage
+	 */
+	public int getRadiusY() {
+		return source == null ? 0 : source.getRadiusY();
+	}
+
+	/**
+	 * Number of floats used by this stage and all the stages before it to store rows
+	 */
+	public int getStorageFloats() {
+		return source == null ? 0 : source.getStorageFloats();
+	}
+
+	/**
+	 * Resizes the array so that it can store a row
+	 */
+	protected float[] checkRow( float[] row ) {
+		if( row == null || row.length < width )
+			return new float[width];
+		return row;
+	}
+}
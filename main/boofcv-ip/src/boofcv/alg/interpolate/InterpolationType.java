@@ -28,5 +28,10 @@ public enum InterpolationType {
 	NEAREST_NEIGHBOR,
 	BILINEAR,
 	BICUBIC,
-	POLYNOMIAL4
+	POLYNOMIAL4,
+	/**
+	 * Bilinear interpolation using fixed point integer arithmetic.  Only 8-bit images have a specialized
+	 * implementation, all other image types use {@link #BILINEAR}.
+	 */
+	BILINEAR_FIXED
 }
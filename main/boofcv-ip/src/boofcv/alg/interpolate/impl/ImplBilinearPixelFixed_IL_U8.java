@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.interpolate.impl;
+
+import boofcv.alg.interpolate.BilinearPixelMB;
+import boofcv.core.image.border.ImageBorder_IL_S32;
+import boofcv.struct.image.ImageType;
+import boofcv.struct.image.InterleavedU8;
+
+import static boofcv.alg.interpolate.impl.ImplBilinearPixelFixed_U8.BITS;
+import static boofcv.alg.interpolate.impl.ImplBilinearPixelFixed_U8.ONE;
+import static boofcv.alg.interpolate.impl.ImplBilinearPixelFixed_U8.weight;
+
+/**
+ * <p>
+ * Implementation of {@link BilinearPixelMB} for {@link InterleavedU8} which uses fixed point integer arithmetic.
+ * See {@link ImplBilinearPixelFixed_U8} for a discussion of its precision.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ImplBilinearPixelFixed_IL_U8 extends BilinearPixelMB<InterleavedU8> {
+	// constant added before shifting to round to the nearest integer
+	private static final int ROUND = 1 << (2*BITS-1);
+
+	int temp0[];
+	int temp1[];
+	int temp2[];
+	int temp3[];
+
+	public ImplBilinearPixelFixed_IL_U8(int numBands) {
+		this.temp0 = new int[numBands];
+		this.temp1 = new int[numBands];
+		this.temp2 = new int[numBands];
+		this.temp3 = new int[numBands];
+	}
+
+	public ImplBilinearPixelFixed_IL_U8(InterleavedU8 orig) {
+		this(orig.getNumBands());
+		setImage(orig);
+	}
+
+	@Override
+	public void setImage(InterleavedU8 image) {
+		if( image.getNumBands() != temp0.length )
+			throw new IllegalArgumentException("Number of bands doesn't match");
+		super.setImage(image);
+	}
+
+	@Override
+	public void get_fast(float x, float y, float[] values) {
+		int xt = (int) x;
+		int yt = (int) y;
+
+		final int numBands = orig.numBands;
+		int index = orig.startIndex + yt*stride + xt*numBands;
+
+		int ax = weight(x - xt);
+		int ay = weight(y - yt);
+
+		int a00 = (ONE - ax)*(ONE - ay);
+		int a10 = ax*(ONE - ay);
+		int a11 = ax*ay;
+		int a01 = (ONE - ax)*ay;
+
+		byte[] data = orig.data;
+		for( int i = 0; i < numBands; i++ ) {
+			values[i] = interpolate(data, index + i, numBands, a00, a10, a11, a01);
+		}
+	}
+
+	/**
+	 * Interpolates every band using pixel (xt,yt) and its neighbors inside the image and writes the results
+	 * into an 8-bit array.
+	 *
+	 * @param index Index of pixel (xt,yt) in the image's data array
+	 * @param ax Fixed point weight along x-axis
+	 * @param ay Fixed point weight along y-axis
+	 * @param output Array the results are written into
+	 * @param indexOut Index of the first band in the output array
+	 */
+	public void get_fast( int index , int ax , int ay , byte[] output , int indexOut ) {
+		final int numBands = orig.numBands;
+
+		int a00 = (ONE - ax)*(ONE - ay);
+		int a10 = ax*(ONE - ay);
+		int a11 = ax*ay;
+		int a01 = (ONE - ax)*ay;
+
+		byte[] data = orig.data;
+		for( int i = 0; i < numBands; i++ ) {
+			output[indexOut + i] = (byte)interpolate(data, index + i, numBands, a00, a10, a11, a01);
+		}
+	}
+
+	private int interpolate( byte[] data , int index , int numBands , int a00 , int a10 , int a11 , int a01 ) {
+		int val = a00*(data[index] & 0xFF);                      // (x,y)
+		val += a10*(data[index + numBands] & 0xFF);              // (x+1,y)
+		val += a11*(data[index + numBands + stride] & 0xFF);     // (x+1,y+1)
+		val += a01*(data[index + stride] & 0xFF);                // (x,y+1)
+		return (val + ROUND) >> (2*BITS);
+	}
+
+	public void get_border(float x, float y, float[] values) {
+		float xf = (float)Math.floor(x);
+		float yf = (float)Math.floor(y);
+
+		computeBorder((int)xf, (int)yf, weight(x - xf), weight(y - yf));
+
+		final int numBands = orig.numBands;
+		for( int i = 0; i < numBands; i++ ) {
+			values[i] = temp0[i];
+		}
+	}
+
+	/**
+	 * Interpolates every band using pixel (xt,yt) and its neighbors and writes the results into an 8-bit array.
+	 * Pixels outside the image are handled by the border.
+	 */
+	public void get_border( int xt , int yt , int ax , int ay , byte[] output , int indexOut ) {
+		computeBorder(xt, yt, ax, ay);
+
+		final int numBands = orig.numBands;
+		for( int i = 0; i < numBands; i++ ) {
+			output[indexOut + i] = (byte)temp0[i];
+		}
+	}
+
+	/**
+	 * Interpolates the value of each band and saves the results in temp0
+	 */
+	private void computeBorder( int xt , int yt , int ax , int ay ) {
+		ImageBorder_IL_S32 border = (ImageBorder_IL_S32)this.border;
+		border.get(xt   , yt  , temp0);
+		border.get(xt+1 , yt  , temp1);
+		border.get(xt+1 , yt+1, temp2);
+		border.get(xt   , yt+1, temp3);
+
+		int a00 = (ONE - ax)*(ONE - ay);
+		int a10 = ax*(ONE - ay);
+		int a11 = ax*ay;
+		int a01 = (ONE - ax)*ay;
+
+		final int numBands = orig.numBands;
+		for( int i = 0; i < numBands; i++ ) {
+			int val = a00*temp0[i] + a10*temp1[i] + a11*temp2[i] + a01*temp3[i];
+			temp0[i] = (val + ROUND) >> (2*BITS);
+		}
+	}
+
+	@Override
+	public void get(float x, float y, float[] values) {
+		if (x < 0 || y < 0 || x > width-2 || y > height-2)
+			get_border(x,y,values);
+		else
+			get_fast(x, y, values);
+	}
+
+	@Override
+	public ImageType<InterleavedU8> getImageType() {
+		return orig.getImageType();
+	}
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.interpolate.impl;
+
+import boofcv.alg.interpolate.BilinearPixelS;
+import boofcv.core.image.border.ImageBorder_S32;
+import boofcv.struct.image.GrayU8;
+import boofcv.struct.image.ImageType;
+
+/**
+ * <p>
+ * Implementation of {@link BilinearPixelS} for {@link GrayU8} which uses fixed point integer arithmetic.
+ * The fractional location of the sample point is converted into a weight with {@link #BITS} bits of precision.
+ * Pixel values are then combined using integer math only and rounded to the nearest integer.  The output is
+ * within 1/2 + 255/2<sup>{@link #BITS}</sup> of the floating point bilinear interpolation.  Since the output
+ * is always an integer it is best suited for images with an 8-bit output.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ImplBilinearPixelFixed_U8 extends BilinearPixelS<GrayU8> {
+
+	/**
+	 * Number of bits in the fractional weights
+	 */
+	public static final int BITS = 11;
+	/**
+	 * Value of a weight of 1.0
+	 */
+	public static final int ONE = 1 << BITS;
+	// constant added before shifting to round to the nearest integer
+	private static final int ROUND = 1 << (2*BITS-1);
+
+	public ImplBilinearPixelFixed_U8() {
+	}
+
+	public ImplBilinearPixelFixed_U8(GrayU8 orig) {
+		setImage(orig);
+	}
+
+	/**
+	 * Converts the fractional part of a coordinate into a fixed point weight
+	 */
+	public static int weight( float fraction ) {
+		return (int)(fraction*ONE + 0.5f);
+	}
+
+	@Override
+	public float get_fast(float x, float y) {
+		int xt = (int) x;
+		int yt = (int) y;
+
+		return get_fast(orig.startIndex + yt*stride + xt, weight(x - xt), weight(y - yt));
+	}
+
+	/**
+	 * Interpolates the value using pixel (xt,yt) and its neighbors inside the image.
+	 *
+	 * @param index Index of pixel (xt,yt) in the image's data array
+	 * @param ax Fixed point weight along x-axis
+	 * @param ay Fixed point weight along y-axis
+	 * @return interpolated value
+	 */
+	public int get_fast( int index , int ax , int ay ) {
+		byte[] data = orig.data;
+
+		int bx = ONE - ax;
+		int by = ONE - ay;
+
+		int val = bx*by*(data[index] & 0xFF);                // (x,y)
+		val += ax*by*(data[index + 1] & 0xFF);               // (x+1,y)
+		val += ax*ay*(data[index + 1 + stride] & 0xFF);      // (x+1,y+1)
+		val += bx*ay*(data[index + stride] & 0xFF);          // (x,y+1)
+
+		return (val + ROUND) >> (2*BITS);
+	}
+
+	public float get_border(float x, float y) {
+		float xf = (float)Math.floor(x);
+		float yf = (float)Math.floor(y);
+
+		return get_border((int)xf, (int)yf, weight(x - xf), weight(y - yf));
+	}
+
+	/**
+	 * Interpolates the value using pixel (xt,yt) and its neighbors.  Pixels outside the image are
+	 * handled by the border.
+	 */
+	public int get_border( int xt , int yt , int ax , int ay ) {
+		ImageBorder_S32 border = (ImageBorder_S32)this.border;
+
+		int bx = ONE - ax;
+		int by = ONE - ay;
+
+		int val = bx*by*border.get(xt, yt);               // (x,y)
+		val += ax*by*border.get(xt + 1, yt);              // (x+1,y)
+		val += ax*ay*border.get(xt + 1, yt + 1);          // (x+1,y+1)
+		val += bx*ay*border.get(xt, yt + 1);              // (x,y+1)
+
+		return (val + ROUND) >> (2*BITS);
+	}
+
+	@Override
+	public float get(float x, float y) {
+		if (x < 0 || y < 0 || x > width-2 || y > height-2)
+			return get_border(x,y);
+
+		return get_fast(x,y);
+	}
+
+	@Override
+	public ImageType<GrayU8> getImageType() {
+		return ImageType.single(GrayU8.class);
+	}
+}
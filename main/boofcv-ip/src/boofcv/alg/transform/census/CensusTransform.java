@@ -0,0 +1,378 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.transform.census;
+
+import boofcv.alg.InputSanityCheck;
+import boofcv.core.image.border.ImageBorder_F32;
+import boofcv.core.image.border.ImageBorder_S32;
+import boofcv.struct.image.*;
+
+/**
+ * <p>
+ * The Census Transform [1] describes the local region around each pixel with a bit string.  Each bit corresponds
+ * to a pixel in the square region around the center, in row-major order with the center skipped.  A bit is 1 if
+ * the pixel's value is more than the center's value and 0 otherwise.  Two descriptions are compared using
+ * the Hamming distance, which can be computed with {@link Integer#bitCount(int)}.  Since only the ordering of the
+ * pixel values matters it is invariant to changes in gain and bias.
+ * </p>
+ *
+ * <ul>
+ *     <li>3x3 region has 8 bits and is stored in a {@link GrayU8}</li>
+ *     <li>5x5 region has 24 bits and is stored in a {@link GrayS32}</li>
+ *     <li>7x7 region has 48 bits and is stored in a {@link GrayS64}</li>
+ * </ul>
+ *
+ * <p>
+ * [1] Zabih, Ramin, and John Woodfill. "Non-parametric local transforms for computing visual correspondence."
+ * European conference on computer vision. Springer, Berlin, Heidelberg, 1994.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class CensusTransform {
+
+	/**
+	 * Census transform with a 3x3 region
+	 *
+	 * @param input Input image. Not modified.
+	 * @param output Census transformed image. Modified.
+	 * @param border Specifies how the image border is handled. If null the border is not processed.
+	 */
+	public static void region3x3( GrayU8 input , GrayU8 output , ImageBorder_S32<GrayU8> border ) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		final byte[] data = input.data;
+		final int stride = input.stride;
+
+		for( int y = 1; y < input.height-1; y++ ) {
+			int indexIn = input.startIndex + y*stride + 1;
+			int indexOut = output.startIndex + y*output.stride + 1;
+			int end = indexIn + input.width - 2;
+
+			while( indexIn < end ) {
+				int center = data[indexIn]&0xFF;
+				int census = 0;
+
+				if( (data[indexIn-stride-1]&0xFF) > center ) census |= 0x01;
+				if( (data[indexIn-stride  ]&0xFF) > center ) census |= 0x02;
+				if( (data[indexIn-stride+1]&0xFF) > center ) census |= 0x04;
+				if( (data[indexIn-1       ]&0xFF) > center ) census |= 0x08;
+				if( (data[indexIn+1       ]&0xFF) > center ) census |= 0x10;
+				if( (data[indexIn+stride-1]&0xFF) > center ) census |= 0x20;
+				if( (data[indexIn+stride  ]&0xFF) > center ) census |= 0x40;
+				if( (data[indexIn+stride+1]&0xFF) > center ) census |= 0x80;
+
+				output.data[indexOut++] = (byte)census;
+				indexIn++;
+			}
+		}
+
+		if( border != null ) {
+			border.setImage(input);
+			processBorder(border, 1, output);
+		}
+	}
+
+	/**
+	 * Census transform with a 3x3 region
+	 *
+	 * @param input Input image. Not modified.
+	 * @param output Census transformed image. Modified.
+	 * @param border Specifies how the image border is handled. If null the border is not processed.
+	 */
+	public static void region3x3( GrayF32 input , GrayU8 output , ImageBorder_F32 border ) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		final float[] data = input.data;
+		final int stride = input.stride;
+
+		for( int y = 1; y < input.height-1; y++ ) {
+			int indexIn = input.startIndex + y*stride + 1;
+			int indexOut = output.startIndex + y*output.stride + 1;
+			int end = indexIn + input.width - 2;
+
+			while( indexIn < end ) {
+				float center = data[indexIn];
+				int census = 0;
+
+				if( data[indexIn-stride-1] > center ) census |= 0x01;
+				if( data[indexIn-stride  ] > center ) census |= 0x02;
+				if( data[indexIn-stride+1] > center ) census |= 0x04;
+				if( data[indexIn-1       ] > center ) census |= 0x08;
+				if( data[indexIn+1       ] > center ) census |= 0x10;
+				if( data[indexIn+stride-1] > center ) census |= 0x20;
+				if( data[indexIn+stride  ] > center ) census |= 0x40;
+				if( data[indexIn+stride+1] > center ) census |= 0x80;
+
+				output.data[indexOut++] = (byte)census;
+				indexIn++;
+			}
+		}
+
+		if( border != null ) {
+			border.setImage(input);
+			processBorder(border, 1, output);
+		}
+	}
+
+	/**
+	 * Census transform with a 5x5 region
+	 *
+	 * @param input Input image. Not modified.
+	 * @param output Census transformed image. Modified.
+	 * @param border Specifies how the image border is handled. If null the border is not processed.
+	 */
+	public static void region5x5( GrayU8 input , GrayS32 output , ImageBorder_S32<GrayU8> border ) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		final int radius = 2;
+		final byte[] data = input.data;
+		final int[] offsets = createOffsets(radius, input.stride);
+
+		for( int y = radius; y < input.height-radius; y++ ) {
+			int indexIn = input.startIndex + y*input.stride + radius;
+			int indexOut = output.startIndex + y*output.stride + radius;
+			int end = indexIn + input.width - 2*radius;
+
+			while( indexIn < end ) {
+				int center = data[indexIn]&0xFF;
+				int census = 0;
+
+				for( int i = 0; i < offsets.length; i++ ) {
+					if( (data[indexIn+offsets[i]]&0xFF) > center )
+						census |= 1 << i;
+				}
+
+				output.data[indexOut++] = census;
+				indexIn++;
+			}
+		}
+
+		if( border != null ) {
+			border.setImage(input);
+			processBorder(border, radius, output);
+		}
+	}
+
+	/**
+	 * Census transform with a 5x5 region
+	 *
+	 * @param input Input image. Not modified.
+	 * @param output Census transformed image. Modified.
+	 * @param border Specifies how the image border is handled. If null the border is not processed.
+	 */
+	public static void region5x5( GrayF32 input , GrayS32 output , ImageBorder_F32 border ) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		final int radius = 2;
+		final float[] data = input.data;
+		final int[] offsets = createOffsets(radius, input.stride);
+
+		for( int y = radius; y < input.height-radius; y++ ) {
+			int indexIn = input.startIndex + y*input.stride + radius;
+			int indexOut = output.startIndex + y*output.stride + radius;
+			int end = indexIn + input.width - 2*radius;
+
+			while( indexIn < end ) {
+				float center = data[indexIn];
+				int census = 0;
+
+				for( int i = 0; i < offsets.length; i++ ) {
+					if( data[indexIn+offsets[i]] > center )
+						census |= 1 << i;
+				}
+
+				output.data[indexOut++] = census;
+				indexIn++;
+			}
+		}
+
+		if( border != null ) {
+			border.setImage(input);
+			processBorder(border, radius, output);
+		}
+	}
+
+	/**
+	 * Census transform with a 7x7 region
+	 *
+	 * @param input Input image. Not modified.
+	 * @param output Census transformed image. Modified.
+	 * @param border Specifies how the image border is handled. If null the border is not processed.
+	 */
+	public static void region7x7( GrayU8 input , GrayS64 output , ImageBorder_S32<GrayU8> border ) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		final int radius = 3;
+		final byte[] data = input.data;
+		final int[] offsets = createOffsets(radius, input.stride);
+
+		for( int y = radius; y < input.height-radius; y++ ) {
+			int indexIn = input.startIndex + y*input.stride + radius;
+			int indexOut = output.startIndex + y*output.stride + radius;
+			int end = indexIn + input.width - 2*radius;
+
+			while( indexIn < end ) {
+				int center = data[indexIn]&0xFF;
+				long census = 0;
+
+				for( int i = 0; i < offsets.length; i++ ) {
+					if( (data[indexIn+offsets[i]]&0xFF) > center )
+						census |= 1L << i;
+				}
+
+				output.data[indexOut++] = census;
+				indexIn++;
+			}
+		}
+
+		if( border != null ) {
+			border.setImage(input);
+			processBorder(border, radius, output);
+		}
+	}
+
+	/**
+	 * Census transform with a 7x7 region
+	 *
+	 * @param input Input image. Not modified.
+	 * @param output Census transformed image. Modified.
+	 * @param border Specifies how the image border is handled. If null the border is not processed.
+	 */
+	public static void region7x7( GrayF32 input , GrayS64 output , ImageBorder_F32 border ) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		final int radius = 3;
+		final float[] data = input.data;
+		final int[] offsets = createOffsets(radius, input.stride);
+
+		for( int y = radius; y < input.height-radius; y++ ) {
+			int indexIn = input.startIndex + y*input.stride + radius;
+			int indexOut = output.startIndex + y*output.stride + radius;
+			int end = indexIn + input.width - 2*radius;
+
+			while( indexIn < end ) {
+				float center = data[indexIn];
+				long census = 0;
+
+				for( int i = 0; i < offsets.length; i++ ) {
+					if( data[indexIn+offsets[i]] > center )
+						census |= 1L << i;
+				}
+
+				output.data[indexOut++] = census;
+				indexIn++;
+			}
+		}
+
+		if( border != null ) {
+			border.setImage(input);
+			processBorder(border, radius, output);
+		}
+	}
+
+	/**
+	 * Index offsets of each pixel in the region relative to the center pixel, in the order of their bits.
+	 */
+	static int[] createOffsets( int radius , int stride ) {
+		int width = 2*radius+1;
+		int[] offsets = new int[width*width-1];
+
+		int i = 0;
+		for( int y = -radius; y <= radius; y++ ) {
+			for( int x = -radius; x <= radius; x++ ) {
+				if( x == 0 && y == 0 )
+					continue;
+				offsets[i++] = y*stride + x;
+			}
+		}
+		return offsets;
+	}
+
+	/**
+	 * Computes the census transform along the image border, where the region extends outside the image
+	 */
+	static void processBorder( ImageBorder_S32 border , int radius , ImageGray output ) {
+		int width = output.width, height = output.height;
+
+		for( int y = 0; y < height; y++ ) {
+			boolean borderRow = y < radius || y >= height-radius;
+			for( int x = 0; x < width; x++ ) {
+				// skip over the inner portion of the image
+				if( !borderRow && x == radius )
+					x = Math.max(x, width-radius);
+				if( x >= width )
+					break;
+
+				int center = border.get(x, y);
+				long census = 0;
+				int bit = 0;
+				for( int i = -radius; i <= radius; i++ ) {
+					for( int j = -radius; j <= radius; j++ ) {
+						if( i == 0 && j == 0 )
+							continue;
+						if( border.get(x+j, y+i) > center )
+							census |= 1L << bit;
+						bit++;
+					}
+				}
+				setCensus(output, x, y, census);
+			}
+		}
+	}
+
+	/**
+	 * Computes the census transform along the image border, where the region extends outside the image
+	 */
+	static void processBorder( ImageBorder_F32 border , int radius , ImageGray output ) {
+		int width = output.width, height = output.height;
+
+		for( int y = 0; y < height; y++ ) {
+			boolean borderRow = y < radius || y >= height-radius;
+			for( int x = 0; x < width; x++ ) {
+				// skip over the inner portion of the image
+				if( !borderRow && x == radius )
+					x = Math.max(x, width-radius);
+				if( x >= width )
+					break;
+
+				float center = border.get(x, y);
+				long census = 0;
+				int bit = 0;
+				for( int i = -radius; i <= radius; i++ ) {
+					for( int j = -radius; j <= radius; j++ ) {
+						if( i == 0 && j == 0 )
+							continue;
+						if( border.get(x+j, y+i) > center )
+							census |= 1L << bit;
+						bit++;
+					}
+				}
+				setCensus(output, x, y, census);
+			}
+		}
+	}
+
+	private static void setCensus( ImageGray output , int x , int y , long census ) {
+		if( output instanceof GrayS64 )
+			((GrayS64)output).set(x, y, census);
+		else
+			((GrayI)output).set(x, y, (int)census);
+	}
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.transform.census;
+
+import boofcv.core.image.border.ImageBorder;
+import boofcv.core.image.border.ImageBorder_F32;
+import boofcv.core.image.border.ImageBorder_S32;
+import boofcv.struct.image.*;
+
+/**
+ * Provides a mechanism to call {@link CensusTransform} with unknown types at compile time.
+ *
+ * @author Peter Abeles
+ */
+@SuppressWarnings({"unchecked"})
+public class GCensusTransform {
+
+	/**
+	 * Census transform with a 3x3 region.  See {@link CensusTransform#region3x3(GrayU8, GrayU8, ImageBorder_S32)}
+	 */
+	public static <T extends ImageGray<T>>
+	void region3x3( T input , GrayU8 output , ImageBorder<T> border ) {
+		if( input instanceof GrayU8 ) {
+			CensusTransform.region3x3((GrayU8)input, output, (ImageBorder_S32)border);
+		} else if( input instanceof GrayF32 ) {
+			CensusTransform.region3x3((GrayF32)input, output, (ImageBorder_F32)border);
+		} else {
+			throw new IllegalArgumentException("Unknown input type: "+input.getClass().getSimpleName());
+		}
+	}
+
+	/**
+	 * Census transform with a 5x5 region.  See {@link CensusTransform#region5x5(GrayU8, GrayS32, ImageBorder_S32)}
+	 */
+	public static <T extends ImageGray<T>>
+	void region5x5( T input , GrayS32 output , ImageBorder<T> border ) {
+		if( input instanceof GrayU8 ) {
+			CensusTransform.region5x5((GrayU8)input, output, (ImageBorder_S32)border);
+		} else if( input instanceof GrayF32 ) {
+			CensusTransform.region5x5((GrayF32)input, output, (ImageBorder_F32)border);
+		} else {
+			throw new IllegalArgumentException("Unknown input type: "+input.getClass().getSimpleName());
+		}
+	}
+
+	/**
+	 * Census transform with a 7x7 region.  See {@link CensusTransform#region7x7(GrayU8, GrayS64, ImageBorder_S32)}
+	 */
+	public static <T extends ImageGray<T>>
+	void region7x7( T input , GrayS64 output , ImageBorder<T> border ) {
+		if( input instanceof GrayU8 ) {
+			CensusTransform.region7x7((GrayU8)input, output, (ImageBorder_S32)border);
+		} else if( input instanceof GrayF32 ) {
+			CensusTransform.region7x7((GrayF32)input, output, (ImageBorder_F32)border);
+		} else {
+			throw new IllegalArgumentException("Unknown input type: "+input.getClass().getSimpleName());
+		}
+	}
+}
@@ -45,11 +45,28 @@ public class GIntegralImageOps {
 		}
 	}
 
+	/**
+	 * Given the input image and its shape, return the type of image the integral image should be.  Same as
+	 * {@link #getIntegralType(Class)} except that {@link GrayU8} images which are too large for a {@link GrayS32}
+	 * integral image are promoted to {@link GrayS64}.  Only needed if the integral image's values are used
+	 * directly, block sums are correct in a {@link GrayS32} integral image even if it overflows.
+	 *
+	 * @see IntegralImageOps#isSafeS32(int, int)
+	 */
+	public static <I extends ImageGray<I>, II extends ImageGray<II>>
+	Class<II> getIntegralType( Class<I> inputType , int width , int height ) {
+		if( inputType == GrayU8.class && !IntegralImageOps.isSafeS32(width,height) ) {
+			return (Class<II>)GrayS64.class;
+		}
+		return getIntegralType(inputType);
+	}
+
 	/**
 	 * Converts a regular image into an integral image.
 	 *
 	 * @param input Regular image. Not modified.
-	 * @param transformed Integral image. If null a new image will be created. Modified.
+	 * @param transformed Integral image. If null a new image will be created of the type returned by
+	 * {@link #getIntegralType(Class)}. Modified.
 	 * @return Integral image.
 	 */
 	public static <I extends ImageGray<I>, T extends ImageGray>
@@ -59,7 +76,10 @@ public class GIntegralImageOps {
 		} else if( input instanceof GrayF64) {
 			return (T)IntegralImageOps.transform((GrayF64)input,(GrayF64)transformed);
 		} else if( input instanceof GrayU8) {
-			return (T)IntegralImageOps.transform((GrayU8)input,(GrayS32)transformed);
+			if( transformed instanceof GrayS64 )
+				return (T)IntegralImageOps.transform((GrayU8)input,(GrayS64)transformed);
+			else
+				return (T)IntegralImageOps.transform((GrayU8)input,(GrayS32)transformed);
 		} else if( input instanceof GrayS32) {
 			return (T)IntegralImageOps.transform((GrayS32)input,(GrayS32)transformed);
 		} else if( input instanceof GrayS64) {
@@ -20,6 +20,8 @@ package boofcv.alg.transform.ii;
 
 import boofcv.alg.InputSanityCheck;
 import boofcv.alg.transform.ii.impl.ImplIntegralImageOps;
+import boofcv.alg.transform.ii.impl.ImplIntegralImageOps_MT;
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.struct.ImageRectangle;
 import boofcv.struct.image.*;
 
@@ -29,6 +31,11 @@ import boofcv.struct.image.*;
  * Common operations for dealing with integral images.
  * </p>
  *
+ * <p>
+ * If {@link BoofConcurrency#isUseConcurrent()} is true then the integral image is computed using
+ * {@link ImplIntegralImageOps_MT}.  The results are identical to the single threaded version.
+ * </p>
+ *
  * @author Peter Abeles
  */
 public class IntegralImageOps {
@@ -43,7 +50,10 @@ public class IntegralImageOps {
 	public static GrayF32 transform(GrayF32 input , GrayF32 transformed ) {
 		transformed = InputSanityCheck.checkDeclare(input,transformed);
 
-		ImplIntegralImageOps.transform(input,transformed);
+		if( BoofConcurrency.isUseConcurrent() )
+			ImplIntegralImageOps_MT.transform(input,transformed);
+		else
+			ImplIntegralImageOps.transform(input,transformed);
 
 		return transformed;
 	}
@@ -58,13 +68,22 @@ public class IntegralImageOps {
 	public static GrayF64 transform(GrayF64 input , GrayF64 transformed ) {
 		transformed = InputSanityCheck.checkDeclare(input,transformed);
 
-		ImplIntegralImageOps.transform(input,transformed);
+		if( BoofConcurrency.isUseConcurrent() )
+			ImplIntegralImageOps_MT.transform(input,transformed);
+		else
+			ImplIntegralImageOps.transform(input,transformed);
 
 		return transformed;
 	}
 
 	/**
-	 * Converts a regular image into an integral image.
+	 * Converts a regular image into an integral image.  If the image is too large for the sum to fit inside
+	 * an int then values in the integral image will wrap around.  Block sums computed from the integral image
+	 * are still correct, as long as the sum inside the block fits inside an int, because integer
+	 * arithmetic is modular.  If the integral image's values are needed directly use
+	 * {@link #transform(GrayU8, GrayS64)} instead.
+	 *
+	 * @see #isSafeS32(int, int)
 	 *
 	 * @param input Regular image. Not modified.
 	 * @param transformed Integral image. If null a new image will be created. Modified.
@@ -73,11 +92,49 @@ public class IntegralImageOps {
 	public static GrayS32 transform(GrayU8 input , GrayS32 transformed ) {
 		transformed = InputSanityCheck.checkDeclare(input,transformed,GrayS32.class);
 
-		ImplIntegralImageOps.transform(input,transformed);
+		if( BoofConcurrency.isUseConcurrent() )
+			ImplIntegralImageOps_MT.transform(input,transformed);
+		else
+			ImplIntegralImageOps.transform(input,transformed);
 
 		return transformed;
 	}
 
+	/**
+	 * Converts a regular image into an integral image.  Use this instead of the {@link GrayS32} version
+	 * when the image is too large for the sum to fit inside an int.
+	 *
+	 * @see #isSafeS32(int, int)
+	 *
+	 * @param input Regular image. Not modified.
+	 * @param transformed Integral image. If null a new image will be created. Modified.
+	 * @return Integral image.
+	 */
+	public static GrayS64 transform(GrayU8 input , GrayS64 transformed ) {
+		transformed = InputSanityCheck.checkDeclare(input,transformed,GrayS64.class);
+
+		if( BoofConcurrency.isUseConcurrent() )
+			ImplIntegralImageOps_MT.transform(input,transformed);
+		else
+			ImplIntegralImageOps.transform(input,transformed);
+
+		return transformed;
+	}
+
+	/**
+	 * Returns true if the integral image of a {@link GrayU8} image with the specified shape is guaranteed to not
+	 * overflow when stored in a {@link GrayS32}, i.e. 255*width*height &le; Integer.MAX_VALUE.  This is
+	 * about 8.4 million pixels.  Block sums are correct even if the integral image overflows, see
+	 * {@link #transform(GrayU8, GrayS32)}.
+	 *
+	 * @param width Image width
+	 * @param height Image height
+	 * @return true if a GrayS32 integral image can be used
+	 */
+	public static boolean isSafeS32( int width , int height ) {
+		return 255L*width*height <= Integer.MAX_VALUE;
+	}
+
 	/**
 	 * Converts a regular image into an integral image.
 	 *
@@ -88,7 +145,10 @@ public class IntegralImageOps {
 	public static GrayS32 transform(GrayS32 input , GrayS32 transformed ) {
 		transformed = InputSanityCheck.checkDeclare(input,transformed,GrayS32.class);
 
-		ImplIntegralImageOps.transform(input, transformed);
+		if( BoofConcurrency.isUseConcurrent() )
+			ImplIntegralImageOps_MT.transform(input,transformed);
+		else
+			ImplIntegralImageOps.transform(input,transformed);
 
 		return transformed;
 	}
@@ -103,7 +163,10 @@ public class IntegralImageOps {
 	public static GrayS64 transform(GrayS64 input , GrayS64 transformed ) {
 		transformed = InputSanityCheck.checkDeclare(input,transformed,GrayS64.class);
 
-		ImplIntegralImageOps.transform(input, transformed);
+		if( BoofConcurrency.isUseConcurrent() )
+			ImplIntegralImageOps_MT.transform(input,transformed);
+		else
+			ImplIntegralImageOps.transform(input,transformed);
 
 		return transformed;
 	}
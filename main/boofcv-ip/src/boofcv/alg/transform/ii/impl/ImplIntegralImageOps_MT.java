@@ -0,0 +1,250 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.transform.ii.impl;
+
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeTask;
+import boofcv.struct.image.*;
+
+/**
+ * <p>
+ * Concurrent version of the integral image transform in {@link ImplIntegralImageOps}.  The transform is computed
+ * in two passes.  First, the prefix sum of each row is computed with bands of rows being processed concurrently.
+ * Then the rows are added together going down each column, which is done concurrently in vertical strips.  Each
+ * output pixel is computed from the same values added in the same order as the single threaded version, so
+ * the results are identical, including floating point images.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ImplIntegralImageOps_MT {
+
+	// Smallest width of a vertical strip.  Keeps memory access along each row contiguous
+	public static int MIN_STRIP_WIDTH = 64;
+
+	public static void transform( final GrayF32 input , final GrayF32 transformed )
+	{
+		BoofConcurrency.loopBlocks(0, input.height, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + input.stride*y;
+					int indexDst = transformed.startIndex + transformed.stride*y;
+					int end = indexSrc + input.width;
+
+					float total = 0;
+					for( ; indexSrc < end; indexSrc++ ) {
+						transformed.data[indexDst++] = total += input.data[indexSrc];
+					}
+				}
+			}
+		});
+
+		sumColumns(transformed);
+	}
+
+	public static void transform( final GrayF64 input , final GrayF64 transformed )
+	{
+		BoofConcurrency.loopBlocks(0, input.height, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + input.stride*y;
+					int indexDst = transformed.startIndex + transformed.stride*y;
+					int end = indexSrc + input.width;
+
+					double total = 0;
+					for( ; indexSrc < end; indexSrc++ ) {
+						transformed.data[indexDst++] = total += input.data[indexSrc];
+					}
+				}
+			}
+		});
+
+		sumColumns(transformed);
+	}
+
+	public static void transform( final GrayU8 input , final GrayS32 transformed )
+	{
+		BoofConcurrency.loopBlocks(0, input.height, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + input.stride*y;
+					int indexDst = transformed.startIndex + transformed.stride*y;
+					int end = indexSrc + input.width;
+
+					int total = 0;
+					for( ; indexSrc < end; indexSrc++ ) {
+						transformed.data[indexDst++] = total += input.data[indexSrc]& 0xFF;
+					}
+				}
+			}
+		});
+
+		sumColumns(transformed);
+	}
+
+	public static void transform( final GrayU8 input , final GrayS64 transformed )
+	{
+		BoofConcurrency.loopBlocks(0, input.height, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + input.stride*y;
+					int indexDst = transformed.startIndex + transformed.stride*y;
+					int end = indexSrc + input.width;
+
+					long total = 0;
+					for( ; indexSrc < end; indexSrc++ ) {
+						transformed.data[indexDst++] = total += input.data[indexSrc]& 0xFF;
+					}
+				}
+			}
+		});
+
+		sumColumns(transformed);
+	}
+
+	public static void transform( final GrayS32 input , final GrayS32 transformed )
+	{
+		BoofConcurrency.loopBlocks(0, input.height, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + input.stride*y;
+					int indexDst = transformed.startIndex + transformed.stride*y;
+					int end = indexSrc + input.width;
+
+					int total = 0;
+					for( ; indexSrc < end; indexSrc++ ) {
+						transformed.data[indexDst++] = total += input.data[indexSrc];
+					}
+				}
+			}
+		});
+
+		sumColumns(transformed);
+	}
+
+	public static void transform( final GrayS64 input , final GrayS64 transformed )
+	{
+		BoofConcurrency.loopBlocks(0, input.height, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + input.stride*y;
+					int indexDst = transformed.startIndex + transformed.stride*y;
+					int end = indexSrc + input.width;
+
+					long total = 0;
+					for( ; indexSrc < end; indexSrc++ ) {
+						transformed.data[indexDst++] = total += input.data[indexSrc];
+					}
+				}
+			}
+		});
+
+		sumColumns(transformed);
+	}
+
+	/**
+	 * Adds each row to the one below it, going down the image
+	 */
+	private static void sumColumns( final GrayF32 transformed )
+	{
+		BoofConcurrency.loopBlocks(0, transformed.width, MIN_STRIP_WIDTH, new IntRangeTask() {
+			@Override
+			public void process(int x0, int x1) {
+				for( int y = 1; y < transformed.height; y++ ) {
+					int indexDst = transformed.startIndex + transformed.stride*y + x0;
+					int indexPrev = indexDst - transformed.stride;
+					int end = indexDst + x1 - x0;
+
+					for( ; indexDst < end; indexDst++ ) {
+						transformed.data[indexDst] = transformed.data[indexPrev++] + transformed.data[indexDst];
+					}
+				}
+			}
+		});
+	}
+
+	/**
+	 * Adds each row to the one below it, going down the image
+	 */
+	private static void sumColumns( final GrayF64 transformed )
+	{
+		BoofConcurrency.loopBlocks(0, transformed.width, MIN_STRIP_WIDTH, new IntRangeTask() {
+			@Override
+			public void process(int x0, int x1) {
+				for( int y = 1; y < transformed.height; y++ ) {
+					int indexDst = transformed.startIndex + transformed.stride*y + x0;
+					int indexPrev = indexDst - transformed.stride;
+					int end = indexDst + x1 - x0;
+
+					for( ; indexDst < end; indexDst++ ) {
+						transformed.data[indexDst] = transformed.data[indexPrev++] + transformed.data[indexDst];
+					}
+				}
+			}
+		});
+	}
+
+	/**
+	 * Adds each row to the one below it, going down the image
+	 */
+	private static void sumColumns( final GrayS32 transformed )
+	{
+		BoofConcurrency.loopBlocks(0, transformed.width, MIN_STRIP_WIDTH, new IntRangeTask() {
+			@Override
+			public void process(int x0, int x1) {
+				for( int y = 1; y < transformed.height; y++ ) {
+					int indexDst = transformed.startIndex + transformed.stride*y + x0;
+					int indexPrev = indexDst - transformed.stride;
+					int end = indexDst + x1 - x0;
+
+					for( ; indexDst < end; indexDst++ ) {
+						transformed.data[indexDst] = transformed.data[indexPrev++] + transformed.data[indexDst];
+					}
+				}
+			}
+		});
+	}
+
+	/**
+	 * Adds each row to the one below it, going down the image
+	 */
+	private static void sumColumns( final GrayS64 transformed )
+	{
+		BoofConcurrency.loopBlocks(0, transformed.width, MIN_STRIP_WIDTH, new IntRangeTask() {
+			@Override
+			public void process(int x0, int x1) {
+				for( int y = 1; y < transformed.height; y++ ) {
+					int indexDst = transformed.startIndex + transformed.stride*y + x0;
+					int indexPrev = indexDst - transformed.stride;
+					int end = indexDst + x1 - x0;
+
+					for( ; indexDst < end; indexDst++ ) {
+						transformed.data[indexDst] = transformed.data[indexPrev++] + transformed.data[indexDst];
+					}
+				}
+			}
+		});
+	}
+}
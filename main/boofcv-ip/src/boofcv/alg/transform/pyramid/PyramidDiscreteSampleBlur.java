@@ -19,12 +19,15 @@
 package boofcv.alg.transform.pyramid;
 
 import boofcv.abst.filter.convolve.ConvolveDown;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeWorkTask;
 import boofcv.core.image.border.BorderType;
 import boofcv.factory.filter.convolve.FactoryConvolveDown;
 import boofcv.struct.convolve.Kernel1D;
 import boofcv.struct.image.ImageBase;
 import boofcv.struct.image.ImageType;
 import boofcv.struct.pyramid.PyramidDiscrete;
+import org.ddogleg.struct.FastQueue;
 
 /**
  * <p>
@@ -42,6 +45,13 @@ import boofcv.struct.pyramid.PyramidDiscrete;
  * have it dependent on each level's scale factor.
  * </p>
  *
+ * <p>
+ * When concurrent, each layer's horizontal convolution is split into bands of rows and the vertical convolution into
+ * bands of columns.  Neither convolution reads pixels across the direction the image is split so the results are
+ * identical to processing the whole image at once.  Layers and internal storage are reused between calls to
+ * {@link #process} as long as the input image's shape doesn't change.
+ * </p>
+ *
  * @author Peter Abeles
  */
 @SuppressWarnings({"unchecked"})
@@ -55,6 +65,44 @@ public class PyramidDiscreteSampleBlur<T extends ImageBase<T>> extends PyramidDi
 	// amount of blur applied to each layer
 	double sigmas[];
 
+	// width of the blur kernel
+	private int kernelWidth;
+
+	// if true then each layer will be computed using multiple threads
+	private boolean concurrent = BoofConcurrency.isUseConcurrent();
+
+	// minimum number of rows or columns in a band
+	private int minimumBand = 16;
+
+	// sub-images used by each thread
+	private FastQueue<BandWork<T>> workspace = new FastQueue<BandWork<T>>((Class)BandWork.class,true) {
+		@Override
+		protected BandWork<T> createInstance() {
+			return new BandWork<>();
+		}
+	};
+
+	// images being processed by the threads
+	private T bandInput, bandOutput;
+
+	private IntRangeWorkTask<BandWork<T>> taskHorizontal = new IntRangeWorkTask<BandWork<T>>() {
+		@Override
+		public void process(BandWork<T> work, int y0, int y1) {
+			work.input = bandInput.subimage(0, y0, bandInput.width, y1, work.input);
+			work.output = bandOutput.subimage(0, y0, bandOutput.width, y1, work.output);
+			horizontal.process(work.input, work.output);
+		}
+	};
+
+	private IntRangeWorkTask<BandWork<T>> taskVertical = new IntRangeWorkTask<BandWork<T>>() {
+		@Override
+		public void process(BandWork<T> work, int x0, int x1) {
+			work.input = bandInput.subimage(x0, 0, x1, bandInput.height, work.input);
+			work.output = bandOutput.subimage(x0, 0, x1, bandOutput.height, work.output);
+			vertical.process(work.input, work.output);
+		}
+	};
+
 	/**
 	 *
 	 * @param kernel A blur kernel
@@ -71,6 +119,7 @@ public class PyramidDiscreteSampleBlur<T extends ImageBase<T>> extends PyramidDi
 
 		horizontal = FactoryConvolveDown.convolve(kernel, BorderType.NORMALIZED, true, 1, imageType,imageType);
 		vertical = FactoryConvolveDown.convolve(kernel, BorderType.NORMALIZED, false, 1, imageType,imageType);
+		kernelWidth = kernel.getWidth();
 
 		sigmas = new double[ scaleFactors.length ];
 		sigmas[0] = 0;
@@ -106,8 +155,7 @@ public class PyramidDiscreteSampleBlur<T extends ImageBase<T>> extends PyramidDi
 			vertical.setSkip(skip);
 
 			temp.reshape(input.width/skip,input.height);
-			horizontal.process(input,temp);
-			vertical.process(temp,getLayer(0));
+			blurDown(input,temp,getLayer(0));
 		}
 
 		for (int index = 1; index < getNumLayers(); index++) {
@@ -118,9 +166,32 @@ public class PyramidDiscreteSampleBlur<T extends ImageBase<T>> extends PyramidDi
 			horizontal.setSkip(skip);
 			vertical.setSkip(skip);
 
-			horizontal.process(prev,temp);
-			vertical.process(temp,getLayer(index));
+			blurDown(prev,temp,getLayer(index));
+		}
+	}
+
+	/**
+	 * Applies the horizontal and then vertical convolution, splitting the image into bands if concurrent
+	 */
+	private void blurDown( T input , T temp , T output ) {
+		if( !concurrent ) {
+			horizontal.process(input,temp);
+			vertical.process(temp,output);
+			return;
 		}
+
+		bandInput = input;
+		bandOutput = temp;
+		BoofConcurrency.loopBlocks(0, input.height, minimumBand, workspace, taskHorizontal);
+
+		// when the input is only as wide as the kernel a different algorithm is used, make sure that doesn't
+		// happen inside a band
+		bandInput = temp;
+		bandOutput = output;
+		BoofConcurrency.loopBlocks(0, temp.width, Math.max(minimumBand, kernelWidth+1), workspace, taskVertical);
+
+		bandInput = null;
+		bandOutput = null;
 	}
 
 	/**
@@ -138,4 +209,28 @@ public class PyramidDiscreteSampleBlur<T extends ImageBase<T>> extends PyramidDi
 	public double getSigma(int layer) {
 		return sigmas[layer];
 	}
+
+	public boolean isConcurrent() {
+		return concurrent;
+	}
+
+	public void setConcurrent(boolean concurrent) {
+		this.concurrent = concurrent;
+	}
+
+	public int getMinimumBand() {
+		return minimumBand;
+	}
+
+	public void setMinimumBand(int minimumBand) {
+		this.minimumBand = minimumBand;
+	}
+
+	/**
+	 * Sub-images used by a single thread
+	 */
+	private static class BandWork<T extends ImageBase<T>> {
+		T input;
+		T output;
+	}
 }
@@ -19,14 +19,18 @@
 package boofcv.alg.transform.pyramid;
 
 import boofcv.abst.filter.blur.BlurStorageFilter;
-import boofcv.alg.distort.DistortImageOps;
+import boofcv.alg.distort.ImageDistort;
 import boofcv.alg.distort.PixelTransformAffine_F32;
 import boofcv.alg.distort.impl.DistortSupport;
 import boofcv.alg.interpolate.InterpolatePixelS;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeWorkTask;
+import boofcv.factory.distort.FactoryDistort;
 import boofcv.factory.filter.blur.FactoryBlurFilter;
 import boofcv.struct.image.ImageGray;
 import boofcv.struct.image.ImageType;
 import boofcv.struct.pyramid.PyramidFloat;
+import org.ddogleg.struct.FastQueue;
 
 
 /**
@@ -42,6 +46,13 @@ import boofcv.struct.pyramid.PyramidFloat;
  * with no sacrifices to improve speed.
  * </p>
  *
+ * <p>
+ * Blur filters, the resampling algorithm, and layers are all reused between calls to {@link #process}.  The
+ * Gaussian blur will use multiple threads if {@link BoofConcurrency} is turned on.  Since interpolation algorithms
+ * can't be shared between threads, re-sampling is only split into bands of rows when the pyramid was constructed
+ * with an {@link InterpolateFactory}.
+ * </p>
+ *
  * @author Peter Abeles
  */
 @SuppressWarnings({"unchecked"})
@@ -49,6 +60,29 @@ public class PyramidFloatGaussianScale< T extends ImageGray<T>> extends PyramidF
 
 	// interpolation algorithm
 	protected InterpolatePixelS<T> interpolate;
+	// (Optional) creates a new interpolation instance for each thread
+	protected InterpolateFactory<T> interpolateFactory;
+
+	// blur applied to each layer.  Created when first needed
+	protected BlurStorageFilter<T>[] blurs;
+
+	// if true then layers will be re-sampled concurrently, if possible
+	protected boolean concurrent = BoofConcurrency.isUseConcurrent();
+
+	// resampling algorithms used by each thread
+	protected FastQueue<ResampleWork> workspace;
+	// true if 'interpolate' is being used by an element in the workspace
+	private boolean interpolateUsed;
+
+	// images being resampled
+	private T resampleInput, resampleOutput;
+
+	private IntRangeWorkTask<ResampleWork> task = new IntRangeWorkTask<ResampleWork>() {
+		@Override
+		public void process(ResampleWork work, int y0, int y1) {
+			resample(work, y0, y1);
+		}
+	};
 
 	// used to store the blurred image
 	protected T tempImage;
@@ -69,11 +103,30 @@ public class PyramidFloatGaussianScale< T extends ImageGray<T>> extends PyramidF
 	 */
 	public PyramidFloatGaussianScale(InterpolatePixelS<T> interpolate, double scales[], double sigmaLayers[],
 									 Class<T> imageType) {
+		this(scales, sigmaLayers, imageType);
+		this.interpolate = interpolate;
+	}
+
+	/**
+	 * Configures the pyramid so that layers can be re-sampled using multiple threads.
+	 *
+	 * @param interpolateFactory Creates the interpolation function used to sub-sample.
+	 * @param scales Scales of each layer in the pyramid relative to the input image
+	 * @param sigmaLayers Amount of blur applied to the previous layer while constructing the pyramid.
+	 * @param imageType Type of image it's processing
+	 */
+	public PyramidFloatGaussianScale(InterpolateFactory<T> interpolateFactory, double scales[], double sigmaLayers[],
+									 Class<T> imageType) {
+		this(scales, sigmaLayers, imageType);
+		this.interpolateFactory = interpolateFactory;
+		this.interpolate = interpolateFactory.newInstance();
+	}
+
+	private PyramidFloatGaussianScale( double scales[], double sigmaLayers[], Class<T> imageType ) {
 		super(ImageType.single(imageType), scales);
 		if( scales.length != sigmaLayers.length )
 			throw new IllegalArgumentException("Number of scales and sigmas must be the same");
 
-		this.interpolate = interpolate;
 		this.sigmaLayers = new float[ sigmaLayers.length ];
 		for( int i = 0; i < sigmaLayers.length; i++ )
 			this.sigmaLayers[i] = (float) sigmaLayers[i];
@@ -99,23 +152,59 @@ public class PyramidFloatGaussianScale< T extends ImageGray<T>> extends PyramidF
 			tempImage = (T)input.createNew(input.width,input.height);
 		}
 
+		if( blurs == null ) {
+			blurs = new BlurStorageFilter[ scale.length ];
+			for( int i = 0; i < scale.length; i++ ) {
+				blurs[i] = (BlurStorageFilter<T>)FactoryBlurFilter.gaussian(getImageType(), sigmaLayers[i], -1);
+			}
+		}
+
+		if( workspace == null ) {
+			workspace = new FastQueue<ResampleWork>(1,ResampleWork.class,true) {
+				@Override
+				protected ResampleWork createInstance() {
+					// the first instance uses the interpolation function that was passed in
+					InterpolatePixelS<T> interp = interpolate;
+					if( interpolateUsed )
+						interp = interpolateFactory.newInstance();
+					interpolateUsed = true;
+					return new ResampleWork(interp, getImageType().getImageClass());
+				}
+			};
+		}
+
 		for( int i = 0; i < scale.length; i++ ) {
 			T prev = i == 0 ? input : getLayer(i-1);
 			T layer = getLayer(i);
 
 			// Apply the requested blur to the previous layer
-			BlurStorageFilter<T> blur = (BlurStorageFilter<T>) FactoryBlurFilter.gaussian(layer.getImageType(), sigmaLayers[i],-1);
 			tempImage.reshape(prev.width,prev.height);
-			blur.process(prev,tempImage);
+			blurs[i].process(prev,tempImage);
 
 			// Resample the blurred image
 			if( scale[i] == 1 ) {
 				layer.setTo(tempImage);
 			} else {
-				PixelTransformAffine_F32 model = DistortSupport.transformScale(layer,tempImage, null);
-				DistortImageOps.distortSingle(tempImage,layer, true, model,interpolate);
+				resampleInput = tempImage;
+				resampleOutput = layer;
+				if( concurrent && interpolateFactory != null ) {
+					BoofConcurrency.loopBlocks(0, layer.height, 16, workspace, task);
+				} else {
+					workspace.resize(1);
+					resample(workspace.get(0), 0, layer.height);
+				}
 			}
 		}
+		resampleInput = null;
+		resampleOutput = null;
+	}
+
+	/**
+	 * Re-samples rows y0 to y1, exclusive, in the blurred image into the layer
+	 */
+	private void resample( ResampleWork work , int y0 , int y1 ) {
+		DistortSupport.transformScale(resampleOutput, resampleInput, work.model);
+		work.distort.apply(resampleInput, resampleOutput, 0, y0, resampleOutput.width, y1);
 	}
 
 	public InterpolatePixelS<T> getInterpolate() {
@@ -124,6 +213,17 @@ public class PyramidFloatGaussianScale< T extends ImageGray<T>> extends PyramidF
 
 	public void setInterpolate(InterpolatePixelS<T> interpolate) {
 		this.interpolate = interpolate;
+		this.interpolateFactory = null;
+		this.workspace = null;
+		this.interpolateUsed = false;
+	}
+
+	public boolean isConcurrent() {
+		return concurrent;
+	}
+
+	public void setConcurrent(boolean concurrent) {
+		this.concurrent = concurrent;
 	}
 
 	@Override
@@ -139,4 +239,25 @@ public class PyramidFloatGaussianScale< T extends ImageGray<T>> extends PyramidF
 	public float[] getSigmaLayers() {
 		return sigmaLayers;
 	}
+
+	/**
+	 * Creates a new instance of the interpolation function
+	 */
+	public interface InterpolateFactory<T extends ImageGray<T>> {
+		InterpolatePixelS<T> newInstance();
+	}
+
+	/**
+	 * Algorithms used to resample by a single thread
+	 */
+	protected static class ResampleWork {
+		PixelTransformAffine_F32 model = new PixelTransformAffine_F32();
+		ImageDistort distort;
+
+		ResampleWork( InterpolatePixelS interp , Class imageType ) {
+			distort = FactoryDistort.distortSB(false, interp, imageType);
+			distort.setRenderAll(true);
+			distort.setModel(model);
+		}
+	}
 }
@@ -0,0 +1,340 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.concurrency;
+
+import org.ddogleg.struct.FastQueue;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>
+ * Central location for how concurrent algorithms are executed.  Work is split into contiguous blocks, typically
+ * bands of rows in an image, and each block is run as a task inside of a {@link ForkJoinPool}.  When called from
+ * outside of a pool the calling thread processes one of the blocks.
+ * </p>
+ *
+ * <p>
+ * By default a global pool is used.  To use a different pool for a specific call run it inside of that pool
+ * with {@link #invoke(ForkJoinPool, Runnable)}.  When a concurrent function is invoked from inside a
+ * ForkJoinPool, the pool it's running in is used instead of the global pool.
+ * </p>
+ *
+ * <p>
+ * High level operations, e.g. {@link boofcv.alg.filter.blur.BlurImageOps}, will only use their concurrent
+ * implementations if {@link #isUseConcurrent()} is true.  Concurrent implementations, which have the _MT suffix,
+ * can always be called directly.
+ * </p>
+ *
+ * <p>
+ * The amount of concurrency can be limited globally.  {@link #setMaxThreads(int)} caps the number of blocks that
+ * work is split into and {@link #setSequential(boolean)} forces all work to be done in the calling thread.  The
+ * latter is useful when an application is already processing images concurrently at a higher level.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class BoofConcurrency {
+
+	// pool used when not already running inside of a ForkJoinPool
+	private static volatile ForkJoinPool pool = new ForkJoinPool();
+
+	// if true then high level operations will use concurrent implementations
+	private static volatile boolean useConcurrent = false;
+
+	// maximum number of blocks work is split into
+	private static volatile int maxThreads = Integer.MAX_VALUE;
+
+	// if true then all work is done in the calling thread
+	private static volatile boolean sequential = false;
+
+	/**
+	 * Specifies if high level operations should use their concurrent implementations.
+	 */
+	public static void setUseConcurrent( boolean useConcurrent ) {
+		BoofConcurrency.useConcurrent = useConcurrent;
+	}
+
+	/**
+	 * If true then high level operations will use their concurrent implementations.
+	 */
+	public static boolean isUseConcurrent() {
+		return useConcurrent;
+	}
+
+	/**
+	 * Specifies the maximum number of threads which will process a single call.  Work is never split into
+	 * more blocks than the parallelism of the pool it's running in.
+	 *
+	 * @param maxThreads Maximum number of threads. Must be &ge; 1.
+	 */
+	public static void setMaxThreads( int maxThreads ) {
+		if( maxThreads < 1 )
+			throw new IllegalArgumentException("maxThreads must be at least 1");
+		BoofConcurrency.maxThreads = maxThreads;
+	}
+
+	/**
+	 * Returns the maximum number of threads which will process a single call.
+	 */
+	public static int getMaxThreads() {
+		return maxThreads;
+	}
+
+	/**
+	 * If true then concurrent implementations will process all the work in the calling thread.  The output
+	 * is not changed.
+	 */
+	public static void setSequential( boolean sequential ) {
+		BoofConcurrency.sequential = sequential;
+	}
+
+	/**
+	 * If true then concurrent implementations will process all the work in the calling thread.
+	 */
+	public static boolean isSequential() {
+		return sequential;
+	}
+
+	/**
+	 * Changes the global thread pool used by concurrent algorithms.
+	 *
+	 * @param pool The new thread pool. Not null.
+	 */
+	public static void setThreadPool( ForkJoinPool pool ) {
+		if( pool == null )
+			throw new IllegalArgumentException("pool can't be null");
+		BoofConcurrency.pool = pool;
+	}
+
+	/**
+	 * Returns the global thread pool used by concurrent algorithms.
+	 */
+	public static ForkJoinPool getThreadPool() {
+		return pool;
+	}
+
+	/**
+	 * Runs the task inside of the specified pool.  Any concurrent function called by the task will use this pool
+	 * instead of the global one.  Blocks until the task has finished.
+	 *
+	 * @param pool Pool which the task is run inside of
+	 * @param task The task
+	 */
+	public static void invoke( ForkJoinPool pool , Runnable task ) {
+		pool.invoke(ForkJoinTask.adapt(task));
+	}
+
+	/**
+	 * Splits the range of indexes into contiguous blocks, one for each thread, and processes them concurrently.
+	 * Blocks until all the work has been finished.
+	 *
+	 * @param start First index, inclusive.
+	 * @param end Last index, exclusive.
+	 * @param task The task which processes each block.
+	 */
+	public static void loopBlocks( int start , int end , IntRangeTask task ) {
+		loopBlocks(start,end,1,task);
+	}
+
+	/**
+	 * Splits the range of indexes into contiguous blocks, one for each thread, and processes them concurrently.
+	 * Blocks until all the work has been finished.  If there's only enough work for one block then it's processed
+	 * in the calling thread.
+	 *
+	 * @param start First index, inclusive.
+	 * @param end Last index, exclusive.
+	 * @param minBlock The smallest allowed block size.
+	 * @param task The task which processes each block.
+	 */
+	public static void loopBlocks( int start , int end , int minBlock , IntRangeTask task ) {
+		int length = end-start;
+		if( length <= 0 )
+			return;
+
+		ForkJoinPool pool = selectPool();
+		int numBlocks = selectNumberOfBlocks(pool, length, minBlock);
+
+		if( numBlocks <= 1 ) {
+			task.process(start,end);
+			return;
+		}
+
+		BlockAction[] actions = new BlockAction[numBlocks];
+		for( int i = 0; i < numBlocks; i++ ) {
+			actions[i] = new BlockAction(blockStart(start,length,numBlocks,i),
+					blockStart(start,length,numBlocks,i+1),task);
+		}
+
+		execute(pool, actions);
+	}
+
+	/**
+	 * Same as {@link #loopBlocks(int, int, int, IntRangeTask)} but each block is given its own workspace.  The
+	 * workspace is resized to the number of blocks and its elements are recycled between calls, allowing work
+	 * buffers to be reused.
+	 *
+	 * @param start First index, inclusive.
+	 * @param end Last index, exclusive.
+	 * @param minBlock The smallest allowed block size.
+	 * @param workspace Storage for work buffers.  Must declare instances.
+	 * @param task The task which processes each block.
+	 */
+	public static <T> void loopBlocks( int start , int end , int minBlock ,
+									   FastQueue<T> workspace , final IntRangeWorkTask<T> task ) {
+		int length = end-start;
+		if( length <= 0 )
+			return;
+
+		ForkJoinPool pool = selectPool();
+		int numBlocks = selectNumberOfBlocks(pool, length, minBlock);
+
+		workspace.resize(Math.max(1,numBlocks));
+
+		if( numBlocks <= 1 ) {
+			task.process(workspace.get(0),start,end);
+			return;
+		}
+
+		BlockAction[] actions = new BlockAction[numBlocks];
+		for( int i = 0; i < numBlocks; i++ ) {
+			final T work = workspace.get(i);
+			actions[i] = new BlockAction(blockStart(start,length,numBlocks,i),
+					blockStart(start,length,numBlocks,i+1), new IntRangeTask() {
+				@Override
+				public void process(int idx0, int idx1) {
+					task.process(work,idx0,idx1);
+				}
+			});
+		}
+
+		execute(pool, actions);
+	}
+
+	/**
+	 * Processes each index in the range concurrently.  Unlike {@link #loopBlocks(int, int, IntRangeTask)} the
+	 * indexes aren't split into contiguous blocks ahead of time.  Instead each thread takes the next unprocessed
+	 * index when it finishes the previous one.  Use this when the cost of each index varies greatly.  Placing the
+	 * most expensive indexes first improves the balance between threads.  Blocks until all the work has been
+	 * finished.
+	 *
+	 * @param start First index, inclusive.
+	 * @param end Last index, exclusive.
+	 * @param task The task which processes each index.
+	 */
+	public static void loopEach( int start , final int end , final IntTask task ) {
+		int length = end-start;
+		if( length <= 0 )
+			return;
+
+		ForkJoinPool pool = selectPool();
+		int numBlocks = selectNumberOfBlocks(pool, length, 1);
+
+		if( numBlocks <= 1 ) {
+			for( int i = start; i < end; i++ ) {
+				task.process(i);
+			}
+			return;
+		}
+
+		final AtomicInteger next = new AtomicInteger(start);
+		IntRangeTask worker = new IntRangeTask() {
+			@Override
+			public void process(int idx0, int idx1) {
+				int index;
+				while( (index = next.getAndIncrement()) < end ) {
+					task.process(index);
+				}
+			}
+		};
+
+		BlockAction[] actions = new BlockAction[numBlocks];
+		for( int i = 0; i < numBlocks; i++ ) {
+			actions[i] = new BlockAction(start,end,worker);
+		}
+
+		execute(pool, actions);
+	}
+
+	private static int selectNumberOfBlocks( ForkJoinPool pool , int length , int minBlock ) {
+		if( sequential )
+			return 1;
+		int threads = Math.min(pool.getParallelism(), maxThreads);
+		return Math.min(threads, length/Math.max(1,minBlock));
+	}
+
+	private static int blockStart( int start , int length , int numBlocks , int block ) {
+		return start + (int)((long)length*block/numBlocks);
+	}
+
+	private static void execute( ForkJoinPool pool , BlockAction[] actions ) {
+		if( ForkJoinTask.inForkJoinPool() ) {
+			ForkJoinTask.invokeAll(actions);
+		} else {
+			// The calling thread would be idle while it waits, so it processes the first block itself.  This
+			// also saves handing off one task to the pool, which matters for small images.
+			for( int i = 1; i < actions.length; i++ ) {
+				pool.execute(actions[i]);
+			}
+			try {
+				actions[0].invoke();
+			} finally {
+				// wait for the forked blocks even if the first one failed so that none are still running
+				// when this function returns
+				for( int i = 1; i < actions.length; i++ ) {
+					actions[i].quietlyJoin();
+				}
+			}
+			// rethrow any exception thrown by the other blocks
+			for( int i = 1; i < actions.length; i++ ) {
+				actions[i].join();
+			}
+		}
+	}
+
+	/**
+	 * Returns the pool which concurrent code should run inside of.
+	 */
+	static ForkJoinPool selectPool() {
+		if( ForkJoinTask.inForkJoinPool() )
+			return ForkJoinTask.getPool();
+		return pool;
+	}
+
+	/**
+	 * Processes a single block
+	 */
+	private static class BlockAction extends RecursiveAction {
+		int idx0, idx1;
+		IntRangeTask task;
+
+		BlockAction(int idx0, int idx1, IntRangeTask task) {
+			this.idx0 = idx0;
+			this.idx1 = idx1;
+			this.task = task;
+		}
+
+		@Override
+		protected void compute() {
+			task.process(idx0,idx1);
+		}
+	}
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.concurrency;
+
+/**
+ * Task which processes a contiguous range of indexes, e.g. a band of rows inside an image.  Used by
+ * {@link BoofConcurrency} to split work between threads.
+ *
+ * @author Peter Abeles
+ */
+public interface IntRangeTask {
+	/**
+	 * Processes all indexes from idx0 to idx1-1.
+	 *
+	 * @param idx0 First index, inclusive.
+	 * @param idx1 Last index, exclusive.
+	 */
+	void process( int idx0 , int idx1 );
+}
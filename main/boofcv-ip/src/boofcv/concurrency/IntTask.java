@@ -0,0 +1,34 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.concurrency;
+
+/**
+ * Task which processes a single index, e.g. one image in a pyramid.  Used by {@link BoofConcurrency} when the
+ * cost of each index varies too much for the work to be split into contiguous blocks.
+ *
+ * @author Peter Abeles
+ */
+public interface IntTask {
+	/**
+	 * Processes the index
+	 *
+	 * @param index The index
+	 */
+	void process( int index );
+}
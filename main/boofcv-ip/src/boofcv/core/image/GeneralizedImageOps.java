@@ -156,6 +156,22 @@ public class GeneralizedImageOps {
 		throw new RuntimeException("Unknown type: "+type.getSimpleName());
 	}
 
+	/**
+	 * Creates a single band image by drawing from the pool.  Once the image is no longer needed it should
+	 * be returned with {@link ImagePool#release}.
+	 *
+	 * @param type Type of image
+	 * @param width Image width
+	 * @param height Image height
+	 * @param pool Pool which the image is drawn from.  If null a new image is declared.
+	 * @return Image of the specified shape.  Pixel values are not initialized if drawn from the pool.
+	 */
+	public static <T extends ImageGray<T>> T createSingleBand(Class<T> type, int width, int height, ImagePool pool) {
+		if( pool == null )
+			return createSingleBand(type, width, height);
+		return pool.acquireGray(BoofTesting.convertGenericToSpecificType(type), width, height);
+	}
+
 	public static <T extends ImageInterleaved> T createInterleaved(ImageDataType type, int width, int height , int numBands) {
 		Class<T> typeClass = ImageType.getImageClass(ImageType.Family.INTERLEAVED, type);
 		return (T)createInterleaved(typeClass,width,height,numBands);
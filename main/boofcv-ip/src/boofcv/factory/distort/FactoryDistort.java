@@ -22,12 +22,15 @@ import boofcv.abst.distort.ConfigDeformPointMLS;
 import boofcv.abst.distort.PointDeformKeyPoints;
 import boofcv.abst.distort.PointDeform_MLS;
 import boofcv.alg.distort.ImageDistort;
+import boofcv.alg.distort.ImageDistortMap;
 import boofcv.alg.distort.impl.*;
 import boofcv.alg.distort.mls.ImageDeformPointMLS_F32;
 import boofcv.alg.interpolate.InterpolatePixel;
 import boofcv.alg.interpolate.InterpolatePixelMB;
 import boofcv.alg.interpolate.InterpolatePixelS;
 import boofcv.alg.interpolate.InterpolationType;
+import boofcv.alg.interpolate.impl.ImplBilinearPixelFixed_IL_U8;
+import boofcv.alg.interpolate.impl.ImplBilinearPixelFixed_U8;
 import boofcv.core.image.border.BorderType;
 import boofcv.factory.interpolate.FactoryInterpolation;
 import boofcv.struct.image.*;
@@ -42,6 +45,7 @@ public class FactoryDistort {
 	 * and interpolation instance.  Min and max pixel values are assumed to be 0 and 255, respectively.
 	 *
 	 * @param cached If true the distortion is only computed one.  False for recomputed each time, but less memory.
+	 *               Cached distortions are rendered using multiple threads when concurrency is turned on.
 	 * @param interpolationType  Which interpolation method it should use
 	 * @param borderType How pixels outside the image border are handled
 	 * @param inputType Type of input image
@@ -51,6 +55,9 @@ public class FactoryDistort {
 	public static <Input extends ImageBase<Input>, Output extends ImageBase<Output>>
 	ImageDistort<Input, Output> distort(boolean cached, InterpolationType interpolationType, BorderType borderType,
 										ImageType<Input> inputType, ImageType<Output> outputType) {
+		if( cached )
+			return distortMap(interpolationType, borderType, inputType, outputType);
+
 		InterpolatePixel<Input> interp =
 				FactoryInterpolation.createPixel(0,255, interpolationType,borderType,inputType);
 
@@ -95,14 +102,16 @@ public class FactoryDistort {
 	ImageDistort<Input, Output> distortSB(boolean cached, InterpolatePixelS<Input> interp, Class<Output> outputType)
 	{
 		if( cached ) {
-			if( outputType == GrayF32.class ) {
-				return (ImageDistort<Input,Output>)new ImplImageDistortCache_F32(interp);
+			if( interp instanceof ImplBilinearPixelFixed_U8 && outputType == GrayU8.class ) {
+				return (ImageDistort<Input,Output>)new ImplImageDistortMapBilinearFixed_U8((ImplBilinearPixelFixed_U8)interp);
+			} else if( outputType == GrayF32.class ) {
+				return (ImageDistort<Input,Output>)new ImplImageDistortMap_F32(interp);
 			} else if( GrayS32.class.isAssignableFrom(outputType) ) {
-				return (ImageDistort<Input,Output>)new ImplImageDistortCache_S32(interp);
+				return (ImageDistort<Input,Output>)new ImplImageDistortMap_S32(interp);
 			} else if( GrayI16.class.isAssignableFrom(outputType) ) {
-				return (ImageDistort<Input,Output>)new ImplImageDistortCache_I16(interp);
+				return (ImageDistort<Input,Output>)new ImplImageDistortMap_I16(interp);
 			} else if( GrayI8.class.isAssignableFrom(outputType) ) {
-				return (ImageDistort<Input,Output>)new ImplImageDistortCache_I8(interp);
+				return (ImageDistort<Input,Output>)new ImplImageDistortMap_I8(interp);
 			} else {
 				throw new IllegalArgumentException("Output type not supported: "+outputType.getSimpleName());
 			}
@@ -142,7 +151,20 @@ public class FactoryDistort {
 	distortIL(boolean cached, InterpolatePixelMB<Input> interp, ImageType<Output> outputType)
 	{
 		if( cached ) {
-			throw new IllegalArgumentException("Cached not supported yet");
+			if( interp instanceof ImplBilinearPixelFixed_IL_U8 && outputType.getDataType() == ImageDataType.U8 )
+				return (ImageDistort<Input, Output>) new ImplImageDistortMapBilinearFixed_IL_U8(
+						(ImplBilinearPixelFixed_IL_U8)interp);
+
+			switch( outputType.getDataType() ) {
+				case F32:
+					return (ImageDistort<Input, Output>) new ImplImageDistortMap_IL_F32((InterpolatePixelMB)interp);
+
+				case U8:
+					return (ImageDistort<Input, Output>) new ImplImageDistortMap_IL_U8((InterpolatePixelMB)interp);
+
+				default:
+					throw new IllegalArgumentException("Not supported yet");
+			}
 		} else {
 			switch( outputType.getDataType() ) {
 				case F32:
@@ -157,6 +179,83 @@ public class FactoryDistort {
 		}
 	}
 
+	/**
+	 * Creates a {@link ImageDistortMap} for the specified image type.  The distortion is computed once and saved
+	 * in a remap table.  A new interpolation instance is created for each thread, allowing the image to be
+	 * rendered using multiple threads when concurrency is turned on.  Min and max pixel values are assumed to be
+	 * 0 and 255, respectively.  If {@link InterpolationType#BILINEAR_FIXED} is requested for 8-bit images then
+	 * a specialized implementation is used which saves the fixed point interpolation weights in the table.
+	 *
+	 * @param interpolationType  Which interpolation method it should use
+	 * @param borderType How pixels outside the image border are handled
+	 * @param inputType Type of input image
+	 * @param outputType Type of output image
+	 * @return ImageDistort
+	 */
+	public static <Input extends ImageBase<Input>, Output extends ImageBase<Output>>
+	ImageDistort<Input, Output> distortMap(final InterpolationType interpolationType, final BorderType borderType,
+										   final ImageType<Input> inputType, ImageType<Output> outputType) {
+		ImageDistortMap.InterpolateFactory factory = new ImageDistortMap.InterpolateFactory() {
+			@Override
+			public InterpolatePixel newInstance() {
+				return FactoryInterpolation.createPixel(0,255, interpolationType,borderType,inputType);
+			}
+		};
+
+		if( interpolationType == InterpolationType.BILINEAR_FIXED && inputType.getFamily() == outputType.getFamily() &&
+				inputType.getDataType() == ImageDataType.U8 && outputType.getDataType() == ImageDataType.U8 ) {
+			switch( outputType.getFamily() ) {
+				case GRAY:
+					return (ImageDistort<Input, Output>) new ImplImageDistortMapBilinearFixed_U8(factory);
+
+				case PLANAR:
+					return new ImplImageDistort_PL(new ImplImageDistortMapBilinearFixed_U8(factory));
+
+				case INTERLEAVED:
+					return (ImageDistort<Input, Output>) new ImplImageDistortMapBilinearFixed_IL_U8(factory);
+			}
+		}
+
+		switch( outputType.getFamily() ) {
+			case GRAY:
+				return distortMapSB(factory,outputType.getImageClass());
+
+			case PLANAR:
+				return new ImplImageDistort_PL(distortMapSB(factory,outputType.getImageClass()));
+
+			case INTERLEAVED:
+				if( inputType.getFamily() != ImageType.Family.INTERLEAVED )
+					throw new IllegalArgumentException("Input and output image families must be the same");
+				switch( outputType.getDataType() ) {
+					case F32:
+						return (ImageDistort<Input, Output>) new ImplImageDistortMap_IL_F32(factory);
+
+					case U8:
+						return (ImageDistort<Input, Output>) new ImplImageDistortMap_IL_U8(factory);
+
+					default:
+						throw new IllegalArgumentException("Not supported yet");
+				}
+
+			default:
+				throw new IllegalArgumentException("Unknown image family "+outputType.getFamily());
+		}
+	}
+
+	private static ImageDistort distortMapSB( ImageDistortMap.InterpolateFactory factory , Class outputType ) {
+		if( outputType == GrayF32.class ) {
+			return new ImplImageDistortMap_F32(factory);
+		} else if( GrayS32.class.isAssignableFrom(outputType) ) {
+			return new ImplImageDistortMap_S32(factory);
+		} else if( GrayI16.class.isAssignableFrom(outputType) ) {
+			return new ImplImageDistortMap_I16(factory);
+		} else if( GrayI8.class.isAssignableFrom(outputType) ) {
+			return new ImplImageDistortMap_I8(factory);
+		} else {
+			throw new IllegalArgumentException("Output type not supported: "+outputType.getSimpleName());
+		}
+	}
+
 	public static PointDeformKeyPoints deformMls(ConfigDeformPointMLS config ) {
 		if( config == null )
 			config = new ConfigDeformPointMLS();
@@ -61,6 +61,13 @@ public class ConfigThreshold implements Configuration {
 	 */
 	public float savolaK = 0.3f;
 
+	/**
+	 * Fraction below the local mean a pixel must be in Bradley's method.  Try 0.15
+	 *
+	 * @see ThresholdType#LOCAL_BRADLEY
+	 */
+	public double bradleyT = 0.15;
+
 	/**
 	 * Minimum pixel value.  Only used for some algorithms.
 	 */
@@ -121,6 +128,7 @@ public class ConfigThreshold implements Configuration {
 				", down=" + down +
 				", radius=" + radius +
 				", savolaK=" + savolaK +
+				", bradleyT=" + bradleyT +
 				", minPixelValue=" + minPixelValue +
 				", maxPixelValue=" + maxPixelValue +
 				'}';
@@ -19,6 +19,8 @@
 package boofcv.factory.filter.binary;
 
 import boofcv.abst.filter.binary.*;
+import boofcv.alg.filter.binary.impl.ThresholdLocalMeanIntegral;
+import boofcv.alg.filter.binary.impl.ThresholdSauvolaIntegral;
 import boofcv.struct.image.GrayU8;
 import boofcv.struct.image.ImageGray;
 import boofcv.struct.image.ImageType;
@@ -72,6 +74,51 @@ public class FactoryThresholdBinary {
 		return new LocalSquareBinaryFilter<>(radius, scale, down, ImageType.single(inputType));
 	}
 
+	/**
+	 * @see boofcv.alg.filter.binary.GThresholdImageOps#localMeanIntegral(ImageGray, GrayU8, int, double, boolean)
+	 *
+	 * @param radius Radius of square region.
+	 * @param scale Scale factor adjust for threshold.  1.0 means no change.
+	 * @param down Should it threshold up or down.
+	 * @param inputType Type of input image
+	 * @return Filter to binary
+	 */
+	public static <T extends ImageGray<T>>
+	InputToBinary<T> localMeanIntegral(int radius, double scale, boolean down, Class<T> inputType) {
+		return new LocalIntegralBinaryFilter<>(
+				new ThresholdLocalMeanIntegral(radius, scale, down), ImageType.single(inputType));
+	}
+
+	/**
+	 * @see boofcv.alg.filter.binary.GThresholdImageOps#localBradley(ImageGray, GrayU8, int, double, boolean)
+	 *
+	 * @param radius Radius of square region.
+	 * @param t Fraction of the mean a pixel must be below. Try 0.15
+	 * @param down Should it threshold up or down.
+	 * @param inputType Type of input image
+	 * @return Filter to binary
+	 */
+	public static <T extends ImageGray<T>>
+	InputToBinary<T> localBradley(int radius, double t, boolean down, Class<T> inputType) {
+		return new LocalIntegralBinaryFilter<>(
+				new ThresholdLocalMeanIntegral(radius, 1.0 - t, down), ImageType.single(inputType));
+	}
+
+	/**
+	 * @see boofcv.alg.filter.binary.GThresholdImageOps#localSauvolaIntegral(ImageGray, GrayU8, int, float, boolean)
+	 *
+	 * @param radius Radius of local region.  Try 15
+	 * @param k User specified threshold adjustment factor.  Must be positive. Try 0.3
+	 * @param down Should it threshold up or down.
+	 * @param inputType Type of input image
+	 * @return Filter to binary
+	 */
+	public static <T extends ImageGray<T>>
+	InputToBinary<T> localSauvolaIntegral(int radius, float k, boolean down, Class<T> inputType) {
+		return new LocalIntegralBinaryFilter<>(
+				new ThresholdSauvolaIntegral(radius, k, down), ImageType.single(inputType));
+	}
+
 	public static <T extends ImageGray<T>>
 	InputToBinary<T> localSquareBlockMinMax(int regionWidth, double scale , boolean down,
 											double minimumSpread, Class<T> inputType) {
@@ -148,6 +195,15 @@ public class FactoryThresholdBinary {
 			case LOCAL_SQUARE:
 				return localSquare(config.radius, config.scale, config.down, inputType);
 
+			case LOCAL_SQUARE_INTEGRAL:
+				return localMeanIntegral(config.radius, config.scale, config.down, inputType);
+
+			case LOCAL_BRADLEY:
+				return localBradley(config.radius, config.bradleyT, config.down, inputType);
+
+			case LOCAL_SAVOLA_INTEGRAL:
+				return localSauvolaIntegral(config.radius, config.savolaK, config.down, inputType);
+
 			case LOCAL_SQUARE_BLOCK_MIN_MAX: {
 				ConfigThresholdBlockMinMax c = (ConfigThresholdBlockMinMax) config;
 				return localSquareBlockMinMax(c.radius * 2 + 1, c.scale , c.down, c.minimumSpread, inputType);
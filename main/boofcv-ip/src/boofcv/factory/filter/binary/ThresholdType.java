@@ -67,7 +67,27 @@ public enum ThresholdType {
 	 *
 	 * @see boofcv.alg.filter.binary.impl.ThresholdSauvola
 	 */
-	LOCAL_SAVOLA(true,false);
+	LOCAL_SAVOLA(true,false),
+	/**
+	 * Locally adaptive computed using the mean of a square region.  Same as {@link #LOCAL_SQUARE} but uses
+	 * an integral image, so the cost doesn't depend on the radius.
+	 *
+	 * @see boofcv.alg.filter.binary.impl.ThresholdLocalMeanIntegral
+	 */
+	LOCAL_SQUARE_INTEGRAL(true,false),
+	/**
+	 * Locally adaptive computed using Bradley and Roth's method with an integral image
+	 *
+	 * @see boofcv.alg.filter.binary.impl.ThresholdLocalMeanIntegral
+	 */
+	LOCAL_BRADLEY(true,false),
+	/**
+	 * Locally adaptive computed using Savola's method with integral images.  Same as {@link #LOCAL_SAVOLA} but
+	 * the cost doesn't depend on the radius.
+	 *
+	 * @see boofcv.alg.filter.binary.impl.ThresholdSauvolaIntegral
+	 */
+	LOCAL_SAVOLA_INTEGRAL(true,false);
 
 	boolean adaptive;
 	boolean global;
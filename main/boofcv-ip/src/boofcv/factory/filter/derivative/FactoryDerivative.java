@@ -20,6 +20,7 @@ package boofcv.factory.filter.derivative;
 
 import boofcv.abst.filter.derivative.*;
 import boofcv.alg.filter.derivative.*;
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.core.image.GeneralizedImageOps;
 import boofcv.core.image.border.ImageBorder_F32;
 import boofcv.core.image.border.ImageBorder_S32;
@@ -33,6 +34,11 @@ import java.lang.reflect.Method;
  * the image's derivative.
  * </p>
  *
+ * <p>
+ * If {@link BoofConcurrency#isUseConcurrent()} is true when the filter is created then concurrent implementations
+ * are used when available.
+ * </p>
+ *
  * @author Peter Abeles
  */
 public class FactoryDerivative {
@@ -299,7 +305,7 @@ public class FactoryDerivative {
 		Method m;
 		try {
 			Class<?> borderType = GeneralizedImageOps.isFloatingPoint(inputType) ? ImageBorder_F32.class : ImageBorder_S32.class;
-			m = derivativeClass.getDeclaredMethod("process", inputType,derivType,derivType,borderType);
+			m = concurrent(derivativeClass).getDeclaredMethod("process", inputType,derivType,derivType,borderType);
 		} catch (NoSuchMethodException e) {
 			throw new RuntimeException("Input and derivative types are probably not compatible",e);
 		}
@@ -311,7 +317,7 @@ public class FactoryDerivative {
 		Method m;
 		try {
 			Class<?> borderType = GeneralizedImageOps.isFloatingPoint(inputType) ? ImageBorder_F32.class : ImageBorder_S32.class;
-			m = derivativeClass.getDeclaredMethod("process", inputType,derivType,derivType,derivType,borderType);
+			m = concurrent(derivativeClass).getDeclaredMethod("process", inputType,derivType,derivType,derivType,borderType);
 		} catch (NoSuchMethodException e) {
 			throw new RuntimeException("Input and derivative types are probably not compatible",e);
 		}
@@ -323,10 +329,31 @@ public class FactoryDerivative {
 		Method m;
 		try {
 			Class<?> borderType = GeneralizedImageOps.isFloatingPoint(imageType) ? ImageBorder_F32.class : ImageBorder_S32.class;
-			m = HessianFromGradient.class.getDeclaredMethod("hessian"+name, imageType,imageType,imageType,imageType,imageType,borderType);
+			m = concurrent(HessianFromGradient.class).getDeclaredMethod("hessian"+name, imageType,imageType,imageType,imageType,imageType,borderType);
 		} catch (NoSuchMethodException e) {
 			throw new RuntimeException("Input and derivative types are probably not compatible",e);
 		}
 		return m;
 	}
+
+	/**
+	 * Returns the concurrent implementation of the class if concurrency is turned on and one exists.
+	 */
+	private static Class<?> concurrent( Class<?> derivativeClass ) {
+		if( !BoofConcurrency.isUseConcurrent() )
+			return derivativeClass;
+
+		if( derivativeClass == GradientPrewitt.class )
+			return GradientPrewitt_MT.class;
+		else if( derivativeClass == GradientSobel.class )
+			return GradientSobel_MT.class;
+		else if( derivativeClass == GradientThree.class )
+			return GradientThree_MT.class;
+		else if( derivativeClass == HessianSobel.class )
+			return HessianSobel_MT.class;
+		else if( derivativeClass == HessianFromGradient.class )
+			return HessianFromGradient_MT.class;
+		else
+			return derivativeClass;
+	}
 }
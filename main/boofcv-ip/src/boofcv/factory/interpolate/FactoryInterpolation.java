@@ -90,6 +90,9 @@ public class FactoryInterpolation {
 			case BILINEAR:
 				return bilinearPixelS(imageType, borderType);
 
+			case BILINEAR_FIXED:
+				return bilinearFixedPixelS(imageType, borderType);
+
 			case BICUBIC:
 				alg = bicubicS(-0.5f, (float) min, (float) max, imageType);
 				break;
@@ -136,6 +139,9 @@ public class FactoryInterpolation {
 					case BILINEAR:
 						return bilinearPixelMB((ImageType)imageType,borderType);
 
+					case BILINEAR_FIXED:
+						return bilinearFixedPixelMB((ImageType)imageType,borderType);
+
 					default:
 						throw new IllegalArgumentException("Interpolate type not yet support for ImageInterleaved");
 				}
@@ -236,6 +242,40 @@ public class FactoryInterpolation {
 		return alg;
 	}
 
+	/**
+	 * Bilinear interpolation which uses fixed point integer arithmetic for {@link GrayU8} images.  Output
+	 * is rounded to the nearest integer.  All other image types use floating point bilinear interpolation.
+	 *
+	 * @see ImplBilinearPixelFixed_U8
+	 */
+	public static <T extends ImageGray<T>> InterpolatePixelS<T> bilinearFixedPixelS(Class<T> imageType, BorderType borderType ) {
+		if( imageType != GrayU8.class )
+			return bilinearPixelS(imageType, borderType);
+
+		InterpolatePixelS<T> alg = (InterpolatePixelS<T>)new ImplBilinearPixelFixed_U8();
+		if( borderType != null )
+			alg.setBorder(FactoryImageBorder.single(imageType, borderType));
+
+		return alg;
+	}
+
+	/**
+	 * Bilinear interpolation which uses fixed point integer arithmetic for {@link InterleavedU8} images.  Output
+	 * is rounded to the nearest integer.  All other image types use floating point bilinear interpolation.
+	 *
+	 * @see ImplBilinearPixelFixed_IL_U8
+	 */
+	public static <T extends ImageMultiBand<T>> InterpolatePixelMB<T> bilinearFixedPixelMB(ImageType<T> imageType, BorderType borderType ) {
+		if( imageType.getFamily() != ImageType.Family.INTERLEAVED || imageType.getDataType() != ImageDataType.U8 )
+			return bilinearPixelMB(imageType, borderType);
+
+		InterpolatePixelMB<T> alg = (InterpolatePixelMB<T>)new ImplBilinearPixelFixed_IL_U8(imageType.getNumBands());
+		if( borderType != null )
+			alg.setBorder(FactoryImageBorder.interleaved(imageType.getImageClass(), borderType));
+
+		return alg;
+	}
+
 	public static <T extends ImageMultiBand<T>> InterpolatePixelMB<T> nearestNeighborPixelMB(ImageType<T> imageType, BorderType borderType ) {
 		InterpolatePixelMB<T> alg;
 
@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.factory.transform.census;
+
+import boofcv.struct.image.GrayS32;
+import boofcv.struct.image.GrayS64;
+import boofcv.struct.image.GrayU8;
+import boofcv.struct.image.ImageGray;
+
+/**
+ * Different variants of the census transform.  Specifies the size of the square region which is sampled.
+ *
+ * @see boofcv.alg.transform.census.CensusTransform
+ *
+ * @author Peter Abeles
+ */
+public enum CensusVariants {
+	/**
+	 * 3x3 region with 8 bits
+	 */
+	BLOCK_3_3(1, GrayU8.class),
+	/**
+	 * 5x5 region with 24 bits
+	 */
+	BLOCK_5_5(2, GrayS32.class),
+	/**
+	 * 7x7 region with 48 bits
+	 */
+	BLOCK_7_7(3, GrayS64.class);
+
+	int radius;
+	Class<ImageGray> outputType;
+
+	CensusVariants(int radius, Class outputType) {
+		this.radius = radius;
+		this.outputType = outputType;
+	}
+
+	/**
+	 * Radius of the sampled region
+	 */
+	public int getRadius() {
+		return radius;
+	}
+
+	/**
+	 * Type of image the transform is written to
+	 */
+	public <T extends ImageGray<T>> Class<T> getOutputType() {
+		return (Class)outputType;
+	}
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.factory.transform.census;
+
+import boofcv.abst.filter.FilterImageInterface;
+import boofcv.abst.transform.census.FilterCensusTransform;
+import boofcv.core.image.border.BorderType;
+import boofcv.core.image.border.FactoryImageBorder;
+import boofcv.core.image.border.ImageBorder;
+import boofcv.struct.image.ImageGray;
+
+/**
+ * Factory for creating different types of census transforms
+ *
+ * @author Peter Abeles
+ */
+public class FactoryCensusTransform {
+
+	/**
+	 * Creates a census transform.  Pixels outside of the image are handled with an extended border.
+	 *
+	 * @param type Which variant of the census transform
+	 * @param imageType Type of input image
+	 * @param <In> Input image type
+	 * @param <Out> Type of image the census transform is written to
+	 * @return Census transform
+	 */
+	public static <In extends ImageGray<In>, Out extends ImageGray<Out>>
+	FilterImageInterface<In,Out> variant( CensusVariants type , Class<In> imageType ) {
+		ImageBorder<In> border = FactoryImageBorder.single(imageType, BorderType.EXTENDED);
+		return new FilterCensusTransform<>(type, border, imageType);
+	}
+}
@@ -71,9 +71,14 @@ public class FactoryPyramid {
 	 * @return PyramidFloat
 	 */
 	public static <T extends ImageGray<T>>
-	PyramidFloat<T> floatGaussian( double scaleFactors[], double []sigmas , Class<T> imageType ) {
-
-		InterpolatePixelS<T> interp = FactoryInterpolation.bilinearPixelS(imageType, BorderType.EXTENDED);
+	PyramidFloat<T> floatGaussian( double scaleFactors[], double []sigmas , final Class<T> imageType ) {
+
+		PyramidFloatGaussianScale.InterpolateFactory<T> interp = new PyramidFloatGaussianScale.InterpolateFactory<T>() {
+			@Override
+			public InterpolatePixelS<T> newInstance() {
+				return FactoryInterpolation.bilinearPixelS(imageType, BorderType.EXTENDED);
+			}
+		};
 
 		return new PyramidFloatGaussianScale<>(interp, scaleFactors, sigmas, imageType);
 	}
@@ -45,4 +45,18 @@ public class FactoryImage {
 			throw new IllegalArgumentException("Unknown image type: "+type);
 		}
 	}
+
+	/**
+	 * Creates an image by drawing from the pool.  Once the image is no longer needed it should be returned with
+	 * {@link ImagePool#release}.
+	 *
+	 * @param pool Pool which the image is drawn from.  If null a new image is declared.
+	 */
+	public static <T extends ImageGray<T>> T create(Class<T> type , int width , int height , ImagePool pool )
+	{
+		if( pool == null )
+			return create(type,width,height);
+		return pool.acquireGray(type,width,height);
+	}
+
 }
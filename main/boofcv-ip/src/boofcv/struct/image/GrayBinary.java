@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.struct.image;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * Binary image where each pixel is a single bit.  Pixels are packed into longs, 64 pixels per word, which is 8 times
+ * less memory than a binary {@link GrayU8}.  Operations can process 64 pixels at a time using bitwise logic, see
+ * {@link boofcv.alg.filter.binary.PackedBinaryImageOps}.
+ * </p>
+ *
+ * <p>
+ * Each row starts at a new word. Pixel (x,y) is bit (x % 64) of data[y*stride + x/64], where bit 0 is the least
+ * significant bit.  Bits after the last pixel in a row are always zero.  Since pixels are not byte aligned, sub-images
+ * are not supported and this does not extend {@link ImageBase}.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class GrayBinary {
+	// number of pixels in a word
+	public static final int BITS = 64;
+
+	/**
+	 * Packed pixels in row-major order
+	 */
+	public long data[] = new long[0];
+
+	/**
+	 * Number of words in each row
+	 */
+	public int stride;
+
+	public int width;
+	public int height;
+
+	/**
+	 * Creates a new binary image with all pixels set to zero
+	 *
+	 * @param width  number of columns in the image.
+	 * @param height number of rows in the image.
+	 */
+	public GrayBinary(int width, int height) {
+		reshape(width, height);
+	}
+
+	public GrayBinary() {
+	}
+
+	/**
+	 * Changes the image's shape.  If the data array is large enough it is reused.  Pixel values are not
+	 * preserved and all pixels are set to zero.
+	 */
+	public void reshape(int width, int height) {
+		if( width < 0 || height < 0 )
+			throw new IllegalArgumentException("Width and height can't be negative");
+		int stride = wordsPerRow(width);
+		if( data.length < stride*height )
+			data = new long[stride*height];
+		else
+			Arrays.fill(data, 0, stride*height, 0);
+		this.width = width;
+		this.height = height;
+		this.stride = stride;
+	}
+
+	/**
+	 * Number of words required to store a row
+	 */
+	public static int wordsPerRow( int width ) {
+		return (width + BITS - 1)/BITS;
+	}
+
+	/**
+	 * Returns a mask for the pixels in the last word of each row
+	 */
+	public long lastWordMask() {
+		int remainder = width % BITS;
+		return remainder == 0 ? -1L : (1L << remainder) - 1;
+	}
+
+	public boolean isInBounds(int x, int y) {
+		return x >= 0 && x < width && y >= 0 && y < height;
+	}
+
+	/**
+	 * Returns the value of the specified pixel, 0 or 1.
+	 */
+	public int get(int x, int y) {
+		if (!isInBounds(x, y))
+			throw new ImageAccessException("Requested pixel is out of bounds: ( " + x + " , " + y + " )");
+		return unsafe_get(x, y);
+	}
+
+	public int unsafe_get(int x, int y) {
+		return (int)(data[y*stride + x/BITS] >>> (x % BITS)) & 1;
+	}
+
+	/**
+	 * Sets the value of the specified pixel.  Any non-zero value is set to 1.
+	 */
+	public void set(int x, int y, int value) {
+		if (!isInBounds(x, y))
+			throw new ImageAccessException("Requested pixel is out of bounds: ( " + x + " , " + y + " )");
+		unsafe_set(x, y, value);
+	}
+
+	public void unsafe_set(int x, int y, int value) {
+		int index = y*stride + x/BITS;
+		long bit = 1L << (x % BITS);
+		if( value != 0 )
+			data[index] |= bit;
+		else
+			data[index] &= ~bit;
+	}
+
+	/**
+	 * Sets every pixel to the specified value, 0 or 1
+	 */
+	public void fill( int value ) {
+		if( value == 0 ) {
+			Arrays.fill(data, 0, stride*height, 0);
+		} else {
+			Arrays.fill(data, 0, stride*height, -1L);
+			long mask = lastWordMask();
+			for( int y = 0; y < height; y++ ) {
+				data[y*stride + stride - 1] &= mask;
+			}
+		}
+	}
+
+	/**
+	 * Copies the image, reshaping this image if needed
+	 */
+	public void setTo( GrayBinary orig ) {
+		if( width != orig.width || height != orig.height )
+			reshape(orig.width, orig.height);
+		System.arraycopy(orig.data, 0, data, 0, stride*height);
+	}
+
+	/**
+	 * Number of pixels which have a value of 1
+	 */
+	public int countOnes() {
+		int total = 0;
+		int N = stride*height;
+		for( int i = 0; i < N; i++ ) {
+			total += Long.bitCount(data[i]);
+		}
+		return total;
+	}
+
+	public GrayBinary createSameShape() {
+		return new GrayBinary(width, height);
+	}
+
+	public int getWidth() {
+		return width;
+	}
+
+	public int getHeight() {
+		return height;
+	}
+}
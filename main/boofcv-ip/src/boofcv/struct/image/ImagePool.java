@@ -0,0 +1,353 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.struct.image;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>
+ * Pool of images which can be reused, avoiding the need to declare new arrays each time an image is needed.
+ * Images are requested with {@link #acquire} and once they are no longer needed they should be passed back
+ * to {@link #release}.  When the same sequence of image shapes is requested each frame, e.g. a video feed,
+ * then after the first frame no new memory is declared.
+ * </p>
+ *
+ * <p>
+ * Released images are stored by {@link ImageType} and size-class.  A size-class is a range of array lengths,
+ * with four size-classes for each power of two.  Images declared by the pool have an array length equal to
+ * the upper bound of their size-class, which lets any image of the same size-class be reshaped without
+ * declaring a new array and limits the amount of unused memory to 25%.  Images which are larger than requested
+ * are {@link ImageBase#reshape reshaped}, so the caller should not assume pixel values are zero.
+ * </p>
+ *
+ * <p>
+ * All functions are synchronized so that a single pool can be shared between threads.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ImagePool {
+
+	// Released images. Map from image type to a list of images for each size-class
+	private Map<ImageType,List<List<ImageBase>>> available = new HashMap<>();
+
+	// maximum number of bytes which the pool can retain
+	private long maxBytesRetained = Long.MAX_VALUE;
+
+	// statistics
+	private long bytesRetained;
+	private int imagesRetained;
+	private long hits;
+	private long misses;
+	private long discarded;
+
+	/**
+	 * Pool which can retain an unlimited amount of memory
+	 */
+	public ImagePool() {
+	}
+
+	/**
+	 * Pool which will retain no more than the specified number of bytes.
+	 *
+	 * @param maxBytesRetained Maximum number of bytes in released images the pool will hold on to.
+	 */
+	public ImagePool( long maxBytesRetained ) {
+		setMaxBytesRetained(maxBytesRetained);
+	}
+
+	/**
+	 * Returns an image with the specified shape.  A released image will be returned if one is available, otherwise
+	 * a new image is declared.  Pixel values are not initialized.
+	 *
+	 * @param type Type of image
+	 * @param width Image width
+	 * @param height Image height
+	 * @return Image with the specified shape
+	 */
+	public synchronized <T extends ImageBase<T>> T acquire( ImageType<T> type , int width , int height ) {
+		int sizeClass = sizeClassAtLeast(width*height);
+
+		List<List<ImageBase>> classes = available.get(type);
+		if( classes != null && sizeClass < classes.size() ) {
+			List<ImageBase> list = classes.get(sizeClass);
+			if( list.size() > 0 ) {
+				T image = (T)list.remove(list.size()-1);
+				imagesRetained--;
+				bytesRetained -= computeBytes(image);
+				hits++;
+				image.reshape(width,height);
+				return image;
+			}
+		}
+
+		misses++;
+		// declare an image with the largest array in the size-class so that it can be used by any request which
+		// maps to the same size-class
+		T image = type.createImage(sizeClassLength(sizeClass),1);
+		image.reshape(width,height);
+		return image;
+	}
+
+	/**
+	 * Returns a single band image with the specified shape.
+	 *
+	 * @see #acquire(ImageType, int, int)
+	 */
+	public <T extends ImageGray<T>> T acquireGray( Class<T> type , int width , int height ) {
+		return acquire(ImageType.single(type),width,height);
+	}
+
+	/**
+	 * Returns an interleaved image with the specified shape.
+	 *
+	 * @see #acquire(ImageType, int, int)
+	 */
+	public <T extends ImageInterleaved<T>> T acquireInterleaved( Class<T> type , int width , int height ,
+																 int numBands ) {
+		return acquire(ImageType.il(numBands,type),width,height);
+	}
+
+	/**
+	 * Returns a planar image with the specified shape.
+	 *
+	 * @see #acquire(ImageType, int, int)
+	 */
+	public <T extends ImageGray<T>> Planar<T> acquirePlanar( Class<T> type , int width , int height ,
+															 int numBands ) {
+		return acquire(ImageType.pl(numBands,type),width,height);
+	}
+
+	/**
+	 * Returns an image to the pool so that it can be reused.  After being released the image must not be
+	 * used by the caller.  Sub-images, images which are too small, and images which would cause the pool to
+	 * exceed its memory limit are discarded.
+	 *
+	 * @param image The image being released.  If null nothing happens.
+	 */
+	public synchronized void release( ImageBase image ) {
+		if( image == null )
+			return;
+
+		int sizeClass = image.isSubimage() ? -1 : sizeClassAtMost(computeCapacity(image));
+		if( sizeClass < 0 ) {
+			discarded++;
+			return;
+		}
+
+		ImageType type = typeOf(image);
+		List<List<ImageBase>> classes = available.get(type);
+		if( classes == null ) {
+			classes = new ArrayList<>();
+			available.put(type,classes);
+		}
+		while( classes.size() <= sizeClass ) {
+			classes.add(new ArrayList<ImageBase>());
+		}
+
+		List<ImageBase> list = classes.get(sizeClass);
+		for( int i = 0; i < list.size(); i++ ) {
+			if( list.get(i) == image )
+				throw new IllegalArgumentException("Image has already been released");
+		}
+
+		long bytes = computeBytes(image);
+		if( bytesRetained + bytes > maxBytesRetained ) {
+			discarded++;
+			return;
+		}
+		list.add(image);
+		imagesRetained++;
+		bytesRetained += bytes;
+	}
+
+	/**
+	 * Releases every image in the array
+	 *
+	 * @param images Images being released.  Null elements are skipped.
+	 */
+	public void release( ImageBase ...images ) {
+		for( int i = 0; i < images.length; i++ ) {
+			release(images[i]);
+		}
+	}
+
+	/**
+	 * Discards all the images being retained by the pool.  Statistics are not modified.
+	 */
+	public synchronized void clear() {
+		available.clear();
+		bytesRetained = 0;
+		imagesRetained = 0;
+	}
+
+	/**
+	 * Sets the hit, miss, and discarded counters to zero.
+	 */
+	public synchronized void resetStatistics() {
+		hits = misses = discarded = 0;
+	}
+
+	/**
+	 * Fraction of calls to {@link #acquire} which returned an existing image.  If there have been no calls then
+	 * zero is returned.
+	 */
+	public synchronized double getHitRate() {
+		long total = hits+misses;
+		return total == 0 ? 0 : hits/(double)total;
+	}
+
+	/**
+	 * Number of calls to {@link #acquire} which returned a released image
+	 */
+	public synchronized long getHits() {
+		return hits;
+	}
+
+	/**
+	 * Number of calls to {@link #acquire} which required a new image to be declared
+	 */
+	public synchronized long getMisses() {
+		return misses;
+	}
+
+	/**
+	 * Number of released images which the pool did not retain
+	 */
+	public synchronized long getDiscarded() {
+		return discarded;
+	}
+
+	/**
+	 * Total size of the arrays in the images the pool is holding on to
+	 */
+	public synchronized long getBytesRetained() {
+		return bytesRetained;
+	}
+
+	/**
+	 * Number of images the pool is holding on to
+	 */
+	public synchronized int getImagesRetained() {
+		return imagesRetained;
+	}
+
+	public synchronized long getMaxBytesRetained() {
+		return maxBytesRetained;
+	}
+
+	/**
+	 * Specifies the maximum number of bytes in released images that the pool will hold on to.  Images which
+	 * are already retained are not discarded.
+	 */
+	public synchronized void setMaxBytesRetained( long maxBytesRetained ) {
+		if( maxBytesRetained < 0 )
+			throw new IllegalArgumentException("maxBytesRetained can't be negative");
+		this.maxBytesRetained = maxBytesRetained;
+	}
+
+	/**
+	 * Image type which describes the image's current structure.  The number of bands in a multi-band image can
+	 * be changed without its image type being updated.
+	 */
+	static ImageType typeOf( ImageBase image ) {
+		if( image instanceof Planar ) {
+			Planar p = (Planar)image;
+			return ImageType.pl(p.getNumBands(),p.getBandType());
+		} else if( image instanceof ImageInterleaved ) {
+			ImageInterleaved ii = (ImageInterleaved)image;
+			return ImageType.il(ii.getNumBands(),ii.getDataType());
+		} else {
+			return image.getImageType();
+		}
+	}
+
+	/**
+	 * Number of pixels which can fit inside the image's data arrays without declaring new ones
+	 */
+	static int computeCapacity( ImageBase image ) {
+		if( image instanceof ImageGray ) {
+			return Array.getLength(((ImageGray)image)._getData());
+		} else if( image instanceof ImageInterleaved ) {
+			ImageInterleaved ii = (ImageInterleaved)image;
+			return Array.getLength(ii._getData())/ii.getNumBands();
+		} else if( image instanceof Planar ) {
+			Planar p = (Planar)image;
+			int capacity = Integer.MAX_VALUE;
+			for( int i = 0; i < p.getNumBands(); i++ ) {
+				capacity = Math.min(capacity,computeCapacity(p.getBand(i)));
+			}
+			return p.getNumBands() == 0 ? 0 : capacity;
+		} else {
+			throw new IllegalArgumentException("Unknown image type "+image.getClass().getSimpleName());
+		}
+	}
+
+	/**
+	 * Number of bytes used by the image's data arrays
+	 */
+	static long computeBytes( ImageBase image ) {
+		ImageType type = typeOf(image);
+		long elements;
+		if( image instanceof Planar ) {
+			Planar p = (Planar)image;
+			elements = 0;
+			for( int i = 0; i < p.getNumBands(); i++ ) {
+				elements += Array.getLength(p.getBand(i)._getData());
+			}
+		} else if( image instanceof ImageGray ) {
+			elements = Array.getLength(((ImageGray)image)._getData());
+		} else {
+			elements = Array.getLength(((ImageInterleaved)image)._getData());
+		}
+		return elements*type.getDataType().getNumBits()/8;
+	}
+
+	/**
+	 * Array length at the upper bound of a size-class.  Four size-classes for each power of two, starting at 4.
+	 */
+	static int sizeClassLength( int sizeClass ) {
+		return (4 + (sizeClass & 0x03)) << (sizeClass >> 2);
+	}
+
+	/**
+	 * Smallest size-class with a length which is &ge; the specified length
+	 */
+	static int sizeClassAtLeast( int length ) {
+		if( length <= 4 )
+			return 0;
+		int shift = 29 - Integer.numberOfLeadingZeros(length);
+		int mantissa = (length + (1 << shift) - 1) >> shift;
+		return 4*shift + mantissa - 4;
+	}
+
+	/**
+	 * Largest size-class with a length which is &le; the specified length.  -1 if there is none.
+	 */
+	static int sizeClassAtMost( int length ) {
+		if( length < 4 )
+			return -1;
+		int shift = 29 - Integer.numberOfLeadingZeros(length);
+		return 4*shift + (length >> shift) - 4;
+	}
+}
@@ -167,6 +167,21 @@ public class ImageType<T extends ImageBase> implements Serializable {
 		throw new RuntimeException("Support this image type thing");
 	}
 
+	@Override
+	public boolean equals(Object o) {
+		if( this == o )
+			return true;
+		if( !(o instanceof ImageType) )
+			return false;
+		ImageType<?> t = (ImageType<?>)o;
+		return family == t.family && dataType == t.dataType && numBands == t.numBands;
+	}
+
+	@Override
+	public int hashCode() {
+		return (family.hashCode()*31 + dataType.hashCode())*31 + numBands;
+	}
+
 	@Override
 	public String toString() {
 		return "ImageType( "+family+" "+dataType+" "+numBands+" )";
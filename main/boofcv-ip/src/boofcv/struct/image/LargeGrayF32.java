@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.struct.image;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.FloatBuffer;
+
+/**
+ * Large image with 32-bit floating point pixels.  Regions are read into and written from {@link GrayF32}.
+ *
+ * @see LargeImageGray
+ *
+ * @author Peter Abeles
+ */
+public class LargeGrayF32 extends LargeImageGray<GrayF32> {
+
+	/**
+	 * Creates an image which is stored in direct buffers outside of the heap.  Pixels are initialized to zero.
+	 *
+	 * @param width Image width
+	 * @param height Image height
+	 */
+	public LargeGrayF32( int width , int height ) {
+		this(width,height,MAX_BLOCK_BYTES);
+	}
+
+	LargeGrayF32( int width , int height , int maxBlockBytes ) {
+		super(ImageType.single(GrayF32.class), width, height, maxBlockBytes);
+	}
+
+	LargeGrayF32( File file , int width , int height , int maxBlockBytes ) throws IOException {
+		super(ImageType.single(GrayF32.class), file, width, height, maxBlockBytes);
+	}
+
+	/**
+	 * Creates an image which is stored in a memory mapped file.  If the file doesn't exist it will be created.
+	 *
+	 * @param file File the image is stored in.  Pixels are stored in row-major order with no header.
+	 * @param width Image width
+	 * @param height Image height
+	 */
+	public static LargeGrayF32 map( File file , int width , int height ) throws IOException {
+		return new LargeGrayF32(file,width,height,MAX_BLOCK_BYTES);
+	}
+
+	/**
+	 * Returns the value of the specified pixel.
+	 *
+	 * @param x pixel coordinate.
+	 * @param y pixel coordinate.
+	 * @return Pixel intensity value.
+	 */
+	public float get( int x , int y ) {
+		if( !isInBounds(x,y) )
+			throw new ImageAccessException("Requested pixel is out of bounds: "+x+" "+y);
+		return unsafe_get(x,y);
+	}
+
+	public float unsafe_get( int x , int y ) {
+		return blocks[y/rowsPerBlock].getFloat(byteIndex(x,y));
+	}
+
+	/**
+	 * Sets the value of the specified pixel.
+	 *
+	 * @param x pixel coordinate.
+	 * @param y pixel coordinate.
+	 * @param value The pixel's new value.
+	 */
+	public void set( int x , int y , float value ) {
+		if( !isInBounds(x,y) )
+			throw new ImageAccessException("Requested pixel is out of bounds: "+x+" "+y);
+		unsafe_set(x,y,value);
+	}
+
+	public void unsafe_set( int x , int y , float value ) {
+		blocks[y/rowsPerBlock].putFloat(byteIndex(x,y),value);
+	}
+
+	@Override
+	protected void readRow(int y, int x0, int length, GrayF32 output, int index) {
+		FloatBuffer b = rowBuffer(y).asFloatBuffer();
+		b.position(x0);
+		b.get(output.data,index,length);
+	}
+
+	@Override
+	protected void writeRow(int y, int x0, int length, GrayF32 input, int index) {
+		FloatBuffer b = rowBuffer(y).asFloatBuffer();
+		b.position(x0);
+		b.put(input.data,index,length);
+	}
+}
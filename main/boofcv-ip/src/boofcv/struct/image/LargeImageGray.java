@@ -0,0 +1,265 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.struct.image;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * <p>
+ * Base class for single band images which are too large to be stored inside of a Java array or on the heap.
+ * Pixels are stored outside of the heap in a sequence of {@link ByteBuffer}s, each containing a block of rows.
+ * The buffers are either direct buffers or a memory mapped file.  When memory mapped only the parts of the
+ * image being accessed need to be in memory.
+ * </p>
+ *
+ * <p>
+ * Regular image processing operations can't be applied directly to a large image.  Instead a rectangular
+ * region is {@link #read read} into a regular image, processed, then {@link #write written} back.  The
+ * region is specified the same way as {@link ImageBase#subimage}.  Reading and writing regions can be done
+ * by multiple threads at the same time, as long as the regions being written don't overlap.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public abstract class LargeImageGray<T extends ImageGray<T>> implements Closeable {
+
+	/**
+	 * Largest number of bytes in a single buffer
+	 */
+	public static final int MAX_BLOCK_BYTES = 1 << 30;
+
+	// shape of the image
+	protected int width;
+	protected int height;
+
+	protected ImageType<T> imageType;
+
+	// number of bytes in a single pixel
+	protected int bytesPerPixel;
+	// number of rows of pixels in each block
+	protected int rowsPerBlock;
+	// storage for pixel data.  Each block is a set of rows
+	protected ByteBuffer[] blocks;
+
+	// if memory mapped, the channel to the file
+	protected FileChannel channel;
+
+	/**
+	 * Creates an image which is stored in direct buffers outside of the heap.  Pixels are initialized to zero.
+	 *
+	 * @param imageType Type of image stored in regular images read from this image
+	 * @param width Image width
+	 * @param height Image height
+	 * @param maxBlockBytes Largest number of bytes in a single buffer
+	 */
+	protected LargeImageGray( ImageType<T> imageType , int width , int height , int maxBlockBytes ) {
+		configure(imageType,width,height,maxBlockBytes);
+
+		for( int i = 0; i < blocks.length; i++ ) {
+			blocks[i] = ByteBuffer.allocateDirect(blockBytes(i)).order(ByteOrder.nativeOrder());
+		}
+	}
+
+	/**
+	 * Creates an image which is stored in a memory mapped file.  If the file is too small it will be expanded.
+	 * Pixels are stored in row-major order with {@link ByteOrder#nativeOrder() native} byte order and no header.
+	 *
+	 * @param imageType Type of image stored in regular images read from this image
+	 * @param file File the image is stored in
+	 * @param width Image width
+	 * @param height Image height
+	 * @param maxBlockBytes Largest number of bytes in a single buffer
+	 */
+	protected LargeImageGray( ImageType<T> imageType , File file , int width , int height , int maxBlockBytes )
+			throws IOException
+	{
+		configure(imageType,width,height,maxBlockBytes);
+
+		channel = FileChannel.open(file.toPath(),
+				StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		try {
+			long offset = 0;
+			for( int i = 0; i < blocks.length; i++ ) {
+				int length = blockBytes(i);
+				blocks[i] = channel.map(FileChannel.MapMode.READ_WRITE, offset, length).order(ByteOrder.nativeOrder());
+				offset += length;
+			}
+		} catch( IOException e ) {
+			channel.close();
+			throw e;
+		}
+	}
+
+	private void configure( ImageType<T> imageType , int width , int height , int maxBlockBytes ) {
+		if( width <= 0 || height <= 0 )
+			throw new IllegalArgumentException("Width and height must be positive");
+
+		this.imageType = imageType;
+		this.width = width;
+		this.height = height;
+		this.bytesPerPixel = imageType.getDataType().getNumBits()/8;
+
+		long rowBytes = (long)width*bytesPerPixel;
+		if( rowBytes > maxBlockBytes )
+			throw new IllegalArgumentException("A single row is larger than the maximum block size");
+		this.rowsPerBlock = (int)Math.min(height, maxBlockBytes/rowBytes);
+		this.blocks = new ByteBuffer[ (height + rowsPerBlock - 1)/rowsPerBlock ];
+	}
+
+	private int blockBytes( int block ) {
+		int rows = Math.min(rowsPerBlock, height - block*rowsPerBlock);
+		return rows*width*bytesPerPixel;
+	}
+
+	/**
+	 * Copies a rectangular region into a regular image.  The region is specified the same way as a sub-image.
+	 *
+	 * @param x0 x-coordinate of top-left corner of the region, inclusive.
+	 * @param y0 y-coordinate of top-left corner of the region, inclusive.
+	 * @param x1 x-coordinate of bottom-right corner of the region, exclusive.
+	 * @param y1 y-coordinate of bottom-right corner of the region, exclusive.
+	 * @param output (Optional) Storage for the region.  Is reshaped.  Can't be a sub-image.
+	 * @return The region
+	 */
+	public T read( int x0 , int y0 , int x1 , int y1 , T output ) {
+		checkRegion(x0, y0, x1, y1);
+		if( output == null )
+			output = imageType.createImage(x1-x0,y1-y0);
+		else
+			output.reshape(x1-x0,y1-y0);
+
+		for( int y = y0; y < y1; y++ ) {
+			readRow(y, x0, x1-x0, output, output.startIndex + (y-y0)*output.stride);
+		}
+		return output;
+	}
+
+	/**
+	 * Copies a regular image into this image.
+	 *
+	 * @param x0 x-coordinate the top-left corner of the image is written to
+	 * @param y0 y-coordinate the top-left corner of the image is written to
+	 * @param input The image being written.  Can be a sub-image.
+	 */
+	public void write( int x0 , int y0 , T input ) {
+		checkRegion(x0, y0, x0+input.width, y0+input.height);
+
+		for( int y = 0; y < input.height; y++ ) {
+			writeRow(y0+y, x0, input.width, input, input.startIndex + y*input.stride);
+		}
+	}
+
+	private void checkRegion( int x0 , int y0 , int x1 , int y1 ) {
+		if( x0 < 0 || y0 < 0 || x1 > width || y1 > height )
+			throw new IllegalArgumentException("Region is outside of the image");
+		if( x1 < x0 || y1 < y0 )
+			throw new IllegalArgumentException("x1 or y1 is less than x0 or y0");
+	}
+
+	/**
+	 * Copies part of a row into the image's data array
+	 */
+	protected abstract void readRow( int y , int x0 , int length , T output , int index );
+
+	/**
+	 * Copies part of the image's data array into a row
+	 */
+	protected abstract void writeRow( int y , int x0 , int length , T input , int index );
+
+	/**
+	 * Returns a buffer which can be used to access a row without modifying the state of the shared buffer.
+	 * The buffer's position is set to the start of the row.
+	 */
+	protected ByteBuffer rowBuffer( int y ) {
+		// duplicate() does not preserve the byte order
+		ByteBuffer b = blocks[y/rowsPerBlock].duplicate().order(ByteOrder.nativeOrder());
+		b.position((y%rowsPerBlock)*width*bytesPerPixel);
+		return b;
+	}
+
+	/**
+	 * Returns the index of the pixel in the block's buffer, in bytes.
+	 */
+	protected final int byteIndex( int x , int y ) {
+		return ((y%rowsPerBlock)*width + x)*bytesPerPixel;
+	}
+
+	/**
+	 * Writes changes to a memory mapped image to the storage device.  Does nothing if not memory mapped.
+	 */
+	public void flush() {
+		if( channel == null )
+			return;
+		for( int i = 0; i < blocks.length; i++ ) {
+			((MappedByteBuffer)blocks[i]).force();
+		}
+	}
+
+	/**
+	 * Writes changes to the storage device and closes the file.  The image should not be used after this.
+	 */
+	@Override
+	public void close() throws IOException {
+		if( channel == null )
+			return;
+		flush();
+		channel.close();
+		channel = null;
+	}
+
+	public final boolean isInBounds( int x , int y ) {
+		return x >= 0 && x < width && y >= 0 && y < height;
+	}
+
+	/**
+	 * Total number of pixels in the image
+	 */
+	public long getNumberOfPixels() {
+		return (long)width*height;
+	}
+
+	/**
+	 * True if the image is stored in a memory mapped file
+	 */
+	public boolean isMapped() {
+		return channel != null;
+	}
+
+	public int getWidth() {
+		return width;
+	}
+
+	public int getHeight() {
+		return height;
+	}
+
+	/**
+	 * Type of regular image which regions are read into
+	 */
+	public ImageType<T> getImageType() {
+		return imageType;
+	}
+}
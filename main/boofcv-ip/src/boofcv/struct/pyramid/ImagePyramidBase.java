@@ -19,6 +19,7 @@
 package boofcv.struct.pyramid;
 
 import boofcv.struct.image.ImageBase;
+import boofcv.struct.image.ImagePool;
 import boofcv.struct.image.ImageType;
 
 /**
@@ -34,6 +35,11 @@ import boofcv.struct.image.ImageType;
  * to true.
  * </p>
  *
+ * <p>
+ * If an {@link ImagePool} is specified then layers are drawn from it and returned to it when the input image
+ * changes shape.  This avoids declaring new memory when the shape of input images change often.
+ * </p>
+ *
  * @author Peter Abeles
  */
 @SuppressWarnings({"unchecked"})
@@ -52,6 +58,9 @@ public abstract class ImagePyramidBase<T extends ImageBase<T>>
 
 	ImageType<T> imageType;
 
+	// (Optional) source of layer images
+	protected ImagePool pool;
+
 	/**
 	 * Specifies input image size and behavior of top most layer.
 	 *
@@ -75,6 +84,8 @@ public abstract class ImagePyramidBase<T extends ImageBase<T>>
 		if( bottomWidth == width && bottomHeight == height )
 			return;
 
+		releaseLayers();
+
 		this.bottomWidth = width;
 		this.bottomHeight = height;
 		layers = imageType.createArray(getNumLayers());
@@ -82,15 +93,35 @@ public abstract class ImagePyramidBase<T extends ImageBase<T>>
 
 		if (scaleFactor == 1) {
 			if (!saveOriginalReference) {
-				layers[0] = imageType.createImage(bottomWidth, bottomHeight);
+				layers[0] = createLayer(bottomWidth, bottomHeight);
 			}
 		} else {
-			layers[0] = imageType.createImage((int)Math.ceil(bottomWidth / scaleFactor), (int)Math.ceil(bottomHeight / scaleFactor));
+			layers[0] = createLayer((int)Math.ceil(bottomWidth / scaleFactor), (int)Math.ceil(bottomHeight / scaleFactor));
 		}
 
 		for (int i = 1; i < layers.length; i++) {
 			scaleFactor = getScale(i);
-			layers[i] = imageType.createImage((int)Math.ceil(bottomWidth / scaleFactor), (int)Math.ceil(bottomHeight / scaleFactor));
+			layers[i] = createLayer((int)Math.ceil(bottomWidth / scaleFactor), (int)Math.ceil(bottomHeight / scaleFactor));
+		}
+	}
+
+	private T createLayer( int width , int height ) {
+		if( pool == null )
+			return imageType.createImage(width, height);
+		return pool.acquire(imageType, width, height);
+	}
+
+	/**
+	 * Returns the layers to the pool.  A reference to the original image is never released.
+	 */
+	private void releaseLayers() {
+		if( pool == null || layers == null )
+			return;
+
+		int start = saveOriginalReference && getScale(0) == 1 ? 1 : 0;
+		for (int i = start; i < layers.length; i++) {
+			pool.release(layers[i]);
+			layers[i] = null;
 		}
 	}
 
@@ -156,6 +187,20 @@ public abstract class ImagePyramidBase<T extends ImageBase<T>>
 		return bottomHeight;
 	}
 
+	public ImagePool getImagePool() {
+		return pool;
+	}
+
+	/**
+	 * Specifies the pool which layers are drawn from.  The pool will be used the next time the pyramid
+	 * is initialized to a new shape.
+	 *
+	 * @param pool Pool of images.  If null then layers are declared directly.
+	 */
+	public void setImagePool(ImagePool pool) {
+		this.pool = pool;
+	}
+
 	public boolean isSaveOriginalReference() {
 		return saveOriginalReference;
 	}
@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.abst.filter;
+
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.factory.filter.binary.FactoryBinaryImageOps;
+import boofcv.factory.filter.binary.FactoryThresholdBinary;
+import boofcv.factory.filter.blur.FactoryBlurFilter;
+import boofcv.struct.image.*;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestTiledImageProcessor {
+
+	Random rand = new Random(234);
+
+	int width = 123, height = 97;
+
+	/**
+	 * Processing the image in tiles should produce the same results as processing the whole image at once
+	 */
+	@Test
+	public void compareToWholeImage() {
+		GrayF32 image = new GrayF32(width,height);
+		ImageMiscOps.fillUniform(image,rand,0,200);
+
+		// expected results from processing the whole image
+		GrayF32 blurred = new GrayF32(width,height);
+		GrayU8 binary = new GrayU8(width,height);
+		GrayU8 expected = new GrayU8(width,height);
+		createBlur().newInstance().process(image,blurred);
+		createThreshold().newInstance().process(blurred,binary);
+		createErode().newInstance().process(binary,expected);
+
+		final LargeGrayF32 input = new LargeGrayF32(width,height);
+		input.write(0,0,image);
+
+		// try different tile shapes, including ones which don't evenly divide the image
+		int shapes[][] = new int[][]{{20,20},{50,13},{200,200}};
+		for( final int[] shape : shapes ) {
+			for( final boolean concurrent : new boolean[]{false,true}) {
+				final LargeGrayU8 output = new LargeGrayU8(width,height);
+				final TiledImageProcessor<GrayF32,GrayU8> alg = createProcessor(shape[0],shape[1]);
+				alg.setConcurrent(concurrent);
+
+				BoofConcurrency.invoke(new ForkJoinPool(4), new Runnable() {
+					@Override
+					public void run() {
+						alg.process(input,output);
+					}
+				});
+
+				BoofTesting.assertEquals(expected, output.read(0,0,width,height,null), 0);
+			}
+		}
+	}
+
+	@Test
+	public void peakTileBytes() {
+		TiledImageProcessor<GrayF32,GrayU8> alg = createProcessor(20,30);
+		alg.setConcurrent(false);
+		assertEquals(4,alg.getBorder());
+
+		alg.process(new LargeGrayF32(width,height),new LargeGrayU8(width,height));
+
+		// input and blur are floats. threshold and erode are bytes
+		int N = (20+8)*(30+8);
+		assertEquals(N*(4+4+1+1),alg.getPeakTileBytes());
+	}
+
+	@Test
+	public void add_typeMismatch() {
+		TiledImageProcessor<GrayF32,GrayU8> alg = new TiledImageProcessor<>(ImageType.single(GrayF32.class),20,20);
+
+		try {
+			alg.add(1, createErode());
+			fail("Exception should have been thrown");
+		} catch( IllegalArgumentException ignore ){}
+	}
+
+	private TiledImageProcessor<GrayF32,GrayU8> createProcessor( int tileWidth , int tileHeight ) {
+		TiledImageProcessor<GrayF32,GrayU8> alg =
+				new TiledImageProcessor<>(ImageType.single(GrayF32.class),tileWidth,tileHeight);
+		alg.add(3, createBlur());
+		alg.add(0, createThreshold());
+		alg.add(1, createErode());
+		return alg;
+	}
+
+	private static TiledImageProcessor.FilterFactory createBlur() {
+		return new TiledImageProcessor.FilterFactory() {
+			@Override
+			public FilterImageInterface newInstance() {
+				return FactoryBlurFilter.gaussian(GrayF32.class,-1,3);
+			}
+		};
+	}
+
+	private static TiledImageProcessor.FilterFactory createThreshold() {
+		return new TiledImageProcessor.FilterFactory() {
+			@Override
+			public FilterImageInterface newInstance() {
+				return FactoryThresholdBinary.globalFixed(100,true,GrayF32.class);
+			}
+		};
+	}
+
+	private static TiledImageProcessor.FilterFactory createErode() {
+		return new TiledImageProcessor.FilterFactory() {
+			@Override
+			public FilterImageInterface newInstance() {
+				return FactoryBinaryImageOps.erode8();
+			}
+		};
+	}
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.distort;
+
+import boofcv.alg.interpolate.InterpolationType;
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.core.image.border.BorderType;
+import boofcv.factory.distort.FactoryDistort;
+import boofcv.factory.interpolate.FactoryInterpolation;
+import boofcv.struct.image.*;
+import boofcv.testing.BoofTesting;
+import georegression.struct.affine.Affine2D_F32;
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestImageDistortMap {
+
+	Random rand = new Random(234);
+
+	ImageType[] types = new ImageType[]{
+			ImageType.single(GrayF32.class), ImageType.single(GrayU8.class),
+			ImageType.single(GrayS16.class), ImageType.single(GrayS32.class),
+			ImageType.pl(2, GrayF32.class), ImageType.il(3, InterleavedF32.class),
+			ImageType.il(3, InterleavedU8.class)};
+
+	PixelTransformAffine_F32 tran = new PixelTransformAffine_F32(new Affine2D_F32(0.9f,0.15f,-0.1f,1.1f,-4,6));
+
+	/**
+	 * Output should be identical to the distortion which recomputes the model at each pixel
+	 */
+	@Test
+	public void compareToBasic() {
+		for( ImageType type : types ) {
+			for( boolean renderAll : new boolean[]{true,false}) {
+				compareToBasic(type, InterpolationType.BILINEAR, renderAll, false);
+				compareToBasic(type, InterpolationType.NEAREST_NEIGHBOR, renderAll, false);
+			}
+		}
+	}
+
+	@Test
+	public void compareToBasic_concurrent() {
+		BoofConcurrency.invoke(new ForkJoinPool(4), new Runnable() {
+			@Override
+			public void run() {
+				for( ImageType type : types ) {
+					for( boolean renderAll : new boolean[]{true,false}) {
+						compareToBasic(type, InterpolationType.BILINEAR, renderAll, true);
+						compareToBasic(type, InterpolationType.NEAREST_NEIGHBOR, renderAll, true);
+					}
+				}
+			}
+		});
+	}
+
+	private void compareToBasic( ImageType type , InterpolationType interpType,
+								 boolean renderAll , boolean concurrent ) {
+		ImageBase src = type.createImage(60,45);
+		ImageBase expected = type.createImage(55,70);
+		ImageBase found = type.createImage(55,70);
+		GImageMiscOps.fillUniform(src, rand, 0, 200);
+		GImageMiscOps.fillUniform(expected, rand, 0, 200);
+		found.setTo(expected);
+
+		ImageDistort basic = FactoryDistort.distort(false, interpType, BorderType.EXTENDED, type, type);
+		ImageDistort alg = FactoryDistort.distortMap(interpType, BorderType.EXTENDED, type, type);
+		setConcurrent(alg, concurrent);
+
+		basic.setRenderAll(renderAll);
+		alg.setRenderAll(renderAll);
+		basic.setModel(tran);
+		alg.setModel(tran);
+
+		basic.apply(src, expected);
+		alg.apply(src, found);
+		BoofTesting.assertEquals(expected, found, 0);
+
+		// crop the region and the output being a sub-image
+		found = BoofTesting.createSubImageOf(found);
+		found.setTo(expected);
+		basic.apply(src, expected, 5, 8, 40, 61);
+		alg.apply(src, found, 5, 8, 40, 61);
+		BoofTesting.assertEquals(expected, found, 0);
+	}
+
+	/**
+	 * Changing the model or the image shape must cause the remap table to be recomputed
+	 */
+	@Test
+	public void recomputeMap() {
+		GrayF32 src = new GrayF32(30,40);
+		GImageMiscOps.fillUniform(src, rand, 0, 200);
+
+		ImageDistort<GrayF32,GrayF32> basic = FactoryDistort.distortSB(false,
+				FactoryInterpolation.bilinearPixelS(GrayF32.class, BorderType.EXTENDED), GrayF32.class);
+		ImageDistort<GrayF32,GrayF32> alg = FactoryDistort.distortSB(true,
+				FactoryInterpolation.bilinearPixelS(GrayF32.class, BorderType.EXTENDED), GrayF32.class);
+
+		basic.setModel(tran);
+		alg.setModel(tran);
+		GrayF32 expected = new GrayF32(30,40);
+		GrayF32 found = new GrayF32(30,40);
+		basic.apply(src,expected);
+		alg.apply(src,found);
+		BoofTesting.assertEquals(expected, found, 0);
+
+		// new shape
+		expected.reshape(20,25);
+		found.reshape(20,25);
+		basic.apply(src,expected);
+		alg.apply(src,found);
+		BoofTesting.assertEquals(expected, found, 0);
+
+		// new model
+		PixelTransformAffine_F32 tran2 = new PixelTransformAffine_F32(new Affine2D_F32(1,0,0,1,2.5f,-1.5f));
+		basic.setModel(tran2);
+		alg.setModel(tran2);
+		basic.apply(src,expected);
+		alg.apply(src,found);
+		BoofTesting.assertEquals(expected, found, 0);
+	}
+
+	@Test
+	public void factory_cached() {
+		ImageType<InterleavedU8> type = ImageType.il(3, InterleavedU8.class);
+		ImageDistort alg = FactoryDistort.distort(true, InterpolationType.BILINEAR, BorderType.EXTENDED, type, type);
+		assertEquals(true, alg instanceof ImageDistortMap);
+	}
+
+	private static void setConcurrent( ImageDistort alg , boolean concurrent ) {
+		if( alg instanceof ImageDistortMap ) {
+			ImageDistortMap map = (ImageDistortMap)alg;
+			map.setConcurrent(concurrent);
+			map.setMinimumBandRows(3);
+		}
+	}
+}
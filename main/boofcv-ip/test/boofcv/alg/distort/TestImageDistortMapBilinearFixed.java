@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.distort;
+
+import boofcv.alg.distort.impl.ImplImageDistortMapBilinearFixed_IL_U8;
+import boofcv.alg.distort.impl.ImplImageDistortMapBilinearFixed_U8;
+import boofcv.alg.interpolate.InterpolationType;
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.core.image.border.BorderType;
+import boofcv.factory.distort.FactoryDistort;
+import boofcv.factory.interpolate.FactoryInterpolation;
+import boofcv.struct.image.*;
+import boofcv.testing.BoofTesting;
+import georegression.struct.affine.Affine2D_F32;
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestImageDistortMapBilinearFixed {
+
+	Random rand = new Random(234);
+
+	ImageType[] types = new ImageType[]{ImageType.single(GrayU8.class),
+			ImageType.pl(2, GrayU8.class), ImageType.il(3, InterleavedU8.class)};
+
+	PixelTransformAffine_F32 tran = new PixelTransformAffine_F32(new Affine2D_F32(0.9f,0.15f,-0.1f,1.1f,-4,6));
+
+	/**
+	 * Should produce the same output as the fixed point interpolation applied to every pixel
+	 */
+	@Test
+	public void compareToInterpolation() {
+		for( ImageType type : types ) {
+			for( boolean renderAll : new boolean[]{true,false}) {
+				compareToInterpolation(type, renderAll, false);
+			}
+		}
+	}
+
+	@Test
+	public void compareToInterpolation_concurrent() {
+		BoofConcurrency.invoke(new ForkJoinPool(4), new Runnable() {
+			@Override
+			public void run() {
+				for( ImageType type : types ) {
+					for( boolean renderAll : new boolean[]{true,false}) {
+						compareToInterpolation(type, renderAll, true);
+					}
+				}
+			}
+		});
+	}
+
+	private void compareToInterpolation( ImageType type , boolean renderAll , boolean concurrent ) {
+		ImageBase src = type.createImage(60,45);
+		ImageBase expected = type.createImage(55,70);
+		ImageBase found = type.createImage(55,70);
+		GImageMiscOps.fillUniform(src, rand, 0, 256);
+		GImageMiscOps.fillUniform(expected, rand, 0, 256);
+		found.setTo(expected);
+
+		ImageDistort basic = FactoryDistort.distort(false,
+				InterpolationType.BILINEAR_FIXED, BorderType.EXTENDED, type, type);
+		ImageDistort alg = FactoryDistort.distortMap(InterpolationType.BILINEAR_FIXED, BorderType.EXTENDED, type, type);
+		if( alg instanceof ImageDistortMap ) {
+			assertTrue(alg instanceof ImageDistortMapBilinearFixed);
+			((ImageDistortMap)alg).setConcurrent(concurrent);
+			((ImageDistortMap)alg).setMinimumBandRows(3);
+		}
+
+		basic.setRenderAll(renderAll);
+		alg.setRenderAll(renderAll);
+		basic.setModel(tran);
+		alg.setModel(tran);
+
+		basic.apply(src, expected);
+		alg.apply(src, found);
+		BoofTesting.assertEquals(expected, found, 0);
+
+		// crop the region and the output being a sub-image
+		found = BoofTesting.createSubImageOf(found);
+		found.setTo(expected);
+		basic.apply(src, expected, 5, 8, 40, 61);
+		alg.apply(src, found, 5, 8, 40, 61);
+		BoofTesting.assertEquals(expected, found, 0);
+	}
+
+	/**
+	 * Sample points which lie exactly on the last row and column are inside the image
+	 */
+	@Test
+	public void applyOnlyInside_edge() {
+		GrayU8 src = new GrayU8(10,8);
+		GImageMiscOps.fillUniform(src, rand, 0, 256);
+		GrayU8 expected = new GrayU8(12,10);
+		GrayU8 found = new GrayU8(12,10);
+
+		PixelTransformAffine_F32 identity = new PixelTransformAffine_F32(new Affine2D_F32(1,0,0,1,0,0));
+		ImageDistort<GrayU8,GrayU8> basic = FactoryDistort.distort(false,
+				InterpolationType.BILINEAR_FIXED, BorderType.EXTENDED,
+				ImageType.single(GrayU8.class), ImageType.single(GrayU8.class));
+		ImageDistort<GrayU8,GrayU8> alg = FactoryDistort.distort(true,
+				InterpolationType.BILINEAR_FIXED, BorderType.EXTENDED,
+				ImageType.single(GrayU8.class), ImageType.single(GrayU8.class));
+		assertTrue(alg instanceof ImplImageDistortMapBilinearFixed_U8);
+
+		basic.setRenderAll(false);
+		alg.setRenderAll(false);
+		basic.setModel(identity);
+		alg.setModel(identity);
+		basic.apply(src, expected);
+		alg.apply(src, found);
+		BoofTesting.assertEquals(expected, found, 0);
+	}
+
+	@Test
+	public void factory_interpolationInstance() {
+		ImageType<InterleavedU8> type = ImageType.il(2, InterleavedU8.class);
+		ImageDistort alg = FactoryDistort.distort(true, FactoryInterpolation.bilinearFixedPixelMB(type, BorderType.EXTENDED), type);
+		assertTrue(alg instanceof ImplImageDistortMapBilinearFixed_IL_U8);
+	}
+}
@@ -0,0 +1,215 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.binary;
+
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.struct.ConnectRule;
+import boofcv.struct.image.GrayS32;
+import boofcv.struct.image.GrayU8;
+import boofcv.testing.BoofTesting;
+import georegression.struct.point.Point2D_I32;
+import org.ddogleg.struct.FastQueue;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestLinearContourLabelChang2004_MT {
+
+	Random rand = new Random(234);
+
+	/**
+	 * Labels and contours must be identical to the single threaded algorithm
+	 */
+	@Test
+	public void compareToSequential() {
+		BoofConcurrency.invoke(new ForkJoinPool(4), new Runnable() {
+			@Override
+			public void run() {
+				for( ConnectRule rule : new ConnectRule[]{ConnectRule.FOUR,ConnectRule.EIGHT} ) {
+					for( double fill : new double[]{0.2,0.5,0.8} ) {
+						compareToSequential(rule, 60, 45, fill, 3);
+						compareToSequential(rule, 31, 70, fill, 1);
+					}
+				}
+			}
+		});
+	}
+
+	/**
+	 * Test images from the single threaded algorithm
+	 */
+	@Test
+	public void compareToSequential_standard() {
+		BoofConcurrency.invoke(new ForkJoinPool(4), new Runnable() {
+			@Override
+			public void run() {
+				byte[][] images = new byte[][]{TestLinearContourLabelChang2004.TEST1,
+						TestLinearContourLabelChang2004.TEST2};
+				for( ConnectRule rule : new ConnectRule[]{ConnectRule.FOUR,ConnectRule.EIGHT} ) {
+					for( byte[] data : images ) {
+						GrayU8 input = new GrayU8(13,8);
+						input.data = data.clone();
+						compareToSequential(rule, input, 2);
+					}
+					GrayU8 input = new GrayU8(7,8);
+					input.data = TestLinearContourLabelChang2004.TEST4.clone();
+					compareToSequential(rule, input, 2);
+				}
+			}
+		});
+	}
+
+	/**
+	 * Input image is a sub-image and the output image isn't initially zero
+	 */
+	@Test
+	public void subimage() {
+		GrayU8 input = randomBinary(40, 35, 0.6);
+		GrayU8 sub = BoofTesting.createSubImageOf(input);
+
+		GrayS32 expected = new GrayS32(40, 35);
+		LinearContourLabelChang2004 seq = new LinearContourLabelChang2004(ConnectRule.EIGHT);
+		seq.process(input, expected);
+
+		GrayS32 found = BoofTesting.createSubImageOf(new GrayS32(40, 35));
+		found.data[found.startIndex] = 12;
+		LinearContourLabelChang2004_MT alg = new LinearContourLabelChang2004_MT(ConnectRule.EIGHT);
+		alg.process(sub, found);
+
+		BoofTesting.assertEquals(expected, found, 0);
+		checkContours(seq.getContours(), alg.getContours());
+	}
+
+	@Test
+	public void blobStatistics() {
+		GrayU8 input = randomBinary(50, 40, 0.5);
+
+		GrayS32 labeled = new GrayS32(50, 40);
+		LinearContourLabelChang2004_MT alg = new LinearContourLabelChang2004_MT(ConnectRule.FOUR);
+		alg.setMinimumStripRows(4);
+		alg.process(input, labeled);
+
+		FastQueue<BlobStatistics> blobs = alg.getBlobs();
+		assertEquals(alg.getContours().size, blobs.size);
+
+		for( int i = 0; i < blobs.size; i++ ) {
+			BlobStatistics b = blobs.get(i);
+			assertEquals(i+1, b.id);
+
+			int area = 0;
+			int x0 = Integer.MAX_VALUE, y0 = Integer.MAX_VALUE, x1 = -1, y1 = -1;
+			double sumX = 0, sumY = 0;
+			for( int y = 0; y < labeled.height; y++ ) {
+				for( int x = 0; x < labeled.width; x++ ) {
+					if( labeled.get(x, y) != b.id )
+						continue;
+					area++;
+					x0 = Math.min(x0, x); x1 = Math.max(x1, x + 1);
+					y0 = Math.min(y0, y); y1 = Math.max(y1, y + 1);
+					sumX += x; sumY += y;
+				}
+			}
+
+			assertEquals(area, b.area);
+			assertEquals(x0, b.bounds.x0);
+			assertEquals(y0, b.bounds.y0);
+			assertEquals(x1, b.bounds.x1);
+			assertEquals(y1, b.bounds.y1);
+			assertEquals(sumX/area, b.centroid.x, 1e-8);
+			assertEquals(sumY/area, b.centroid.y, 1e-8);
+		}
+	}
+
+	/**
+	 * Process images with different shapes using the same instance
+	 */
+	@Test
+	public void multipleCalls() {
+		LinearContourLabelChang2004_MT alg = new LinearContourLabelChang2004_MT(ConnectRule.EIGHT);
+		for( int i = 0; i < 3; i++ ) {
+			GrayU8 input = randomBinary(20 + i*7, 30 - i*5, 0.5);
+			GrayS32 expected = new GrayS32(input.width, input.height);
+			LinearContourLabelChang2004 seq = new LinearContourLabelChang2004(ConnectRule.EIGHT);
+			seq.process(input, expected);
+
+			GrayS32 found = new GrayS32(input.width, input.height);
+			alg.process(input, found);
+
+			BoofTesting.assertEquals(expected, found, 0);
+			checkContours(seq.getContours(), alg.getContours());
+		}
+	}
+
+	private void compareToSequential( ConnectRule rule , int width , int height , double fill , int stripRows ) {
+		compareToSequential(rule, randomBinary(width, height, fill), stripRows);
+	}
+
+	private void compareToSequential( ConnectRule rule , GrayU8 input , int stripRows ) {
+		GrayS32 expected = new GrayS32(input.width, input.height);
+		LinearContourLabelChang2004 seq = new LinearContourLabelChang2004(rule);
+		seq.process(input, expected);
+
+		GrayS32 found = new GrayS32(input.width, input.height);
+		LinearContourLabelChang2004_MT alg = new LinearContourLabelChang2004_MT(rule);
+		alg.setMinimumStripRows(stripRows);
+		alg.process(input, found);
+
+		BoofTesting.assertEquals(expected, found, 0);
+		checkContours(seq.getContours(), alg.getContours());
+	}
+
+	private void checkContours( FastQueue<Contour> expected , FastQueue<Contour> found ) {
+		assertEquals(expected.size, found.size);
+
+		for( int i = 0; i < expected.size; i++ ) {
+			Contour e = expected.get(i);
+			Contour f = found.get(i);
+
+			assertEquals(e.id, f.id);
+			checkPoints(e.external, f.external);
+			assertEquals(e.internal.size(), f.internal.size());
+			for( int j = 0; j < e.internal.size(); j++ ) {
+				checkPoints(e.internal.get(j), f.internal.get(j));
+			}
+		}
+	}
+
+	private void checkPoints( List<Point2D_I32> expected , List<Point2D_I32> found ) {
+		assertEquals(expected.size(), found.size());
+		for( int i = 0; i < expected.size(); i++ ) {
+			assertEquals(expected.get(i).x, found.get(i).x);
+			assertEquals(expected.get(i).y, found.get(i).y);
+		}
+	}
+
+	private GrayU8 randomBinary( int width , int height , double probOne ) {
+		GrayU8 image = new GrayU8(width, height);
+		for( int i = 0; i < image.data.length; i++ ) {
+			image.data[i] = (byte)(rand.nextDouble() < probOne ? 1 : 0);
+		}
+		return image;
+	}
+}
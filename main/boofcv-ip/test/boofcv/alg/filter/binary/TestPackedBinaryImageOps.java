@@ -0,0 +1,221 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.binary;
+
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.alg.misc.ImageStatistics;
+import boofcv.struct.image.GrayBinary;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.GrayU8;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Compares the packed operations against {@link BinaryImageOps}
+ *
+ * @author Peter Abeles
+ */
+public class TestPackedBinaryImageOps {
+
+	Random rand = new Random(234);
+
+	// includes shapes smaller than a word, exactly a word, and not a multiple of a word
+	int shapes[][] = new int[][]{{2,2},{5,3},{64,7},{65,9},{130,11},{200,1},{1,20}};
+
+	@Test
+	public void pack_unpack() {
+		for( int[] shape : shapes ) {
+			GrayU8 input = randomBinary(shape[0], shape[1]);
+
+			GrayBinary packed = PackedBinaryImageOps.pack(input, null);
+			GrayU8 found = PackedBinaryImageOps.unpack(packed, null);
+
+			BoofTesting.assertEquals(input, found, 0);
+			assertEquals(ImageStatistics.sum(input), packed.countOnes());
+		}
+	}
+
+	@Test
+	public void pack_subimage() {
+		GrayU8 input = randomBinary(100, 30);
+		GrayU8 sub = input.subimage(10, 5, 90, 25, null);
+
+		GrayBinary packed = PackedBinaryImageOps.pack(sub, null);
+		GrayU8 found = BoofTesting.createSubImageOf(new GrayU8(80, 20));
+		PackedBinaryImageOps.unpack(packed, found);
+
+		BoofTesting.assertEquals(sub, found, 0);
+	}
+
+	@Test
+	public void threshold_F32() {
+		GrayF32 input = new GrayF32(130, 12);
+		ImageMiscOps.fillUniform(input, rand, 0, 100);
+
+		for( boolean down : new boolean[]{true,false} ) {
+			GrayU8 expected = ThresholdImageOps.threshold(input, null, 45.5f, down);
+			GrayBinary found = PackedBinaryImageOps.threshold(input, null, 45.5f, down);
+			BoofTesting.assertEquals(expected, PackedBinaryImageOps.unpack(found, null), 0);
+		}
+	}
+
+	@Test
+	public void threshold_U8() {
+		GrayU8 input = new GrayU8(130, 12);
+		ImageMiscOps.fillUniform(input, rand, 0, 256);
+
+		for( boolean down : new boolean[]{true,false} ) {
+			GrayU8 expected = ThresholdImageOps.threshold(input, null, 140, down);
+			GrayBinary found = PackedBinaryImageOps.threshold(input, null, 140, down);
+			BoofTesting.assertEquals(expected, PackedBinaryImageOps.unpack(found, null), 0);
+		}
+	}
+
+	@Test
+	public void logic() {
+		for( int[] shape : shapes ) {
+			GrayU8 a = randomBinary(shape[0], shape[1]);
+			GrayU8 b = randomBinary(shape[0], shape[1]);
+			GrayBinary pa = PackedBinaryImageOps.pack(a, null);
+			GrayBinary pb = PackedBinaryImageOps.pack(b, null);
+
+			check(BinaryImageOps.logicAnd(a, b, null), PackedBinaryImageOps.logicAnd(pa, pb, null));
+			check(BinaryImageOps.logicOr(a, b, null), PackedBinaryImageOps.logicOr(pa, pb, null));
+			check(BinaryImageOps.logicXor(a, b, null), PackedBinaryImageOps.logicXor(pa, pb, null));
+			check(BinaryImageOps.invert(a, null), PackedBinaryImageOps.invert(pa, null));
+		}
+	}
+
+	@Test
+	public void erode4() {
+		for( int[] shape : shapes ) {
+			if( shape[0] < 2 || shape[1] < 2 )
+				continue;
+			for( int numTimes = 1; numTimes <= 3; numTimes++ ) {
+				// erosion removes everything if there are too many zeros
+				GrayU8 input = randomBinary(shape[0], shape[1], 0.9);
+				GrayBinary packed = PackedBinaryImageOps.pack(input, null);
+
+				check(BinaryImageOps.erode4(input, numTimes, null), PackedBinaryImageOps.erode4(packed, numTimes, null));
+			}
+		}
+	}
+
+	@Test
+	public void erode8() {
+		for( int[] shape : shapes ) {
+			for( int numTimes = 1; numTimes <= 3; numTimes++ ) {
+				GrayU8 input = randomBinary(shape[0], shape[1], 0.9);
+				GrayBinary packed = PackedBinaryImageOps.pack(input, null);
+
+				check(BinaryImageOps.erode8(input, numTimes, null), PackedBinaryImageOps.erode8(packed, numTimes, null));
+			}
+		}
+	}
+
+	@Test
+	public void dilate4() {
+		for( int[] shape : shapes ) {
+			for( int numTimes = 1; numTimes <= 3; numTimes++ ) {
+				GrayU8 input = randomBinary(shape[0], shape[1], 0.1);
+				GrayBinary packed = PackedBinaryImageOps.pack(input, null);
+
+				check(BinaryImageOps.dilate4(input, numTimes, null), PackedBinaryImageOps.dilate4(packed, numTimes, null));
+			}
+		}
+	}
+
+	@Test
+	public void dilate8() {
+		for( int[] shape : shapes ) {
+			for( int numTimes = 1; numTimes <= 3; numTimes++ ) {
+				GrayU8 input = randomBinary(shape[0], shape[1], 0.1);
+				GrayBinary packed = PackedBinaryImageOps.pack(input, null);
+
+				check(BinaryImageOps.dilate8(input, numTimes, null), PackedBinaryImageOps.dilate8(packed, numTimes, null));
+			}
+		}
+	}
+
+	@Test
+	public void edge4() {
+		for( int[] shape : shapes ) {
+			if( shape[0] < 2 || shape[1] < 2 )
+				continue;
+			GrayU8 input = randomBinary(shape[0], shape[1], 0.7);
+			GrayBinary packed = PackedBinaryImageOps.pack(input, null);
+
+			check(BinaryImageOps.edge4(input, null), PackedBinaryImageOps.edge4(packed, null));
+		}
+	}
+
+	@Test
+	public void edge8() {
+		for( int[] shape : shapes ) {
+			if( shape[0] < 2 || shape[1] < 2 )
+				continue;
+			GrayU8 input = randomBinary(shape[0], shape[1], 0.7);
+			GrayBinary packed = PackedBinaryImageOps.pack(input, null);
+
+			check(BinaryImageOps.edge8(input, null), PackedBinaryImageOps.edge8(packed, null));
+		}
+	}
+
+	/**
+	 * Output being the same image as the input should produce the same results
+	 */
+	@Test
+	public void inPlace() {
+		GrayU8 input = randomBinary(130, 15, 0.7);
+		GrayBinary packed = PackedBinaryImageOps.pack(input, null);
+
+		PackedBinaryImageOps.erode8(packed, 2, packed);
+		check(BinaryImageOps.erode8(input, 2, null), packed);
+
+		packed = PackedBinaryImageOps.pack(input, null);
+		PackedBinaryImageOps.edge4(packed, packed);
+		check(BinaryImageOps.edge4(input, null), packed);
+	}
+
+	private void check( GrayU8 expected , GrayBinary found ) {
+		BoofTesting.assertEquals(expected, PackedBinaryImageOps.unpack(found, null), 0);
+
+		// bits past the end of each row must be zero
+		long mask = ~found.lastWordMask();
+		for( int y = 0; y < found.height; y++ ) {
+			assertEquals(0, found.data[y*found.stride + found.stride - 1] & mask);
+		}
+	}
+
+	private GrayU8 randomBinary( int width , int height ) {
+		return randomBinary(width, height, 0.5);
+	}
+
+	private GrayU8 randomBinary( int width , int height , double probOne ) {
+		GrayU8 image = new GrayU8(width, height);
+		for( int i = 0; i < image.data.length; i++ ) {
+			image.data[i] = (byte)(rand.nextDouble() < probOne ? 1 : 0);
+		}
+		return image;
+	}
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.binary.impl;
+
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.GrayU8;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestThresholdLocalMeanIntegral {
+
+	Random rand = new Random(234);
+
+	@Test
+	public void bruteForce_U8() {
+		for( boolean down : new boolean[]{true,false} ) {
+			checkBruteForce_U8(30, 25, 3, 0.95, down);
+			checkBruteForce_U8(30, 25, 1, 1.0, down);
+			// region is larger than the image
+			checkBruteForce_U8(12, 15, 20, 0.9, down);
+		}
+	}
+
+	@Test
+	public void bruteForce_F32() {
+		for( boolean down : new boolean[]{true,false} ) {
+			checkBruteForce_F32(30, 25, 3, 0.95, down);
+			checkBruteForce_F32(12, 15, 20, 0.9, down);
+		}
+	}
+
+	@Test
+	public void subimage() {
+		GrayU8 input = new GrayU8(30, 25);
+		ImageMiscOps.fillUniform(input, rand, 0, 256);
+
+		ThresholdLocalMeanIntegral alg = new ThresholdLocalMeanIntegral(4, 0.95, true);
+		GrayU8 expected = new GrayU8(30, 25);
+		alg.process(input, expected);
+
+		GrayU8 found = BoofTesting.createSubImageOf(new GrayU8(30, 25));
+		alg.process(BoofTesting.createSubImageOf(input), found);
+
+		BoofTesting.assertEquals(expected, found, 0);
+	}
+
+	@Test
+	public void compareConcurrent() {
+		final GrayU8 input = new GrayU8(200, 150);
+		ImageMiscOps.fillUniform(input, rand, 0, 256);
+		final GrayF32 inputF = new GrayF32(200, 150);
+		ImageMiscOps.fillUniform(inputF, rand, 0, 256);
+
+		final ThresholdLocalMeanIntegral alg = new ThresholdLocalMeanIntegral(15, 0.95, true);
+		alg.setConcurrent(false);
+		final GrayU8 expected = new GrayU8(200, 150);
+		final GrayU8 expectedF = new GrayU8(200, 150);
+		alg.process(input, expected);
+		alg.process(inputF, expectedF);
+
+		final GrayU8 found = new GrayU8(200, 150);
+		final GrayU8 foundF = new GrayU8(200, 150);
+		BoofConcurrency.invoke(new ForkJoinPool(4), new Runnable() {
+			@Override
+			public void run() {
+				alg.setConcurrent(true);
+				alg.process(input, found);
+				alg.process(inputF, foundF);
+			}
+		});
+
+		BoofTesting.assertEquals(expected, found, 0);
+		BoofTesting.assertEquals(expectedF, foundF, 0);
+	}
+
+	private void checkBruteForce_U8( int w , int h , int radius , double scale , boolean down ) {
+		GrayU8 input = new GrayU8(w,h);
+		ImageMiscOps.fillUniform(input, rand, 0, 256);
+
+		GrayU8 found = new GrayU8(w,h);
+		ThresholdLocalMeanIntegral alg = new ThresholdLocalMeanIntegral(radius, scale, down);
+		alg.process(input, found);
+
+		for( int y = 0; y < h; y++ ) {
+			for( int x = 0; x < w; x++ ) {
+				int sum = 0, N = 0;
+				for( int i = Math.max(0,y-radius); i < Math.min(h,y+radius+1); i++ ) {
+					for( int j = Math.max(0,x-radius); j < Math.min(w,x+radius+1); j++ ) {
+						sum += input.get(j,i);
+						N++;
+					}
+				}
+				double mean = sum/(double)N;
+				int value = input.get(x,y);
+				int expected;
+				if( down )
+					expected = value <= mean*scale ? 1 : 0;
+				else
+					expected = value*scale > mean ? 1 : 0;
+				assertEquals(expected, found.get(x,y));
+			}
+		}
+	}
+
+	private void checkBruteForce_F32( int w , int h , int radius , double scale , boolean down ) {
+		GrayF32 input = new GrayF32(w,h);
+		ImageMiscOps.fillUniform(input, rand, 0, 200);
+
+		GrayU8 found = new GrayU8(w,h);
+		ThresholdLocalMeanIntegral alg = new ThresholdLocalMeanIntegral(radius, scale, down);
+		alg.process(input, found);
+
+		for( int y = 0; y < h; y++ ) {
+			for( int x = 0; x < w; x++ ) {
+				double sum = 0;
+				int N = 0;
+				for( int i = Math.max(0,y-radius); i < Math.min(h,y+radius+1); i++ ) {
+					for( int j = Math.max(0,x-radius); j < Math.min(w,x+radius+1); j++ ) {
+						sum += input.get(j,i);
+						N++;
+					}
+				}
+				double mean = sum/N;
+				double value = input.get(x,y);
+				int expected;
+				if( down )
+					expected = value <= mean*scale ? 1 : 0;
+				else
+					expected = value*scale > mean ? 1 : 0;
+				assertEquals(expected, found.get(x,y));
+			}
+		}
+	}
+}
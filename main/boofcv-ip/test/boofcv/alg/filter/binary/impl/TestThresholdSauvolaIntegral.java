@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.binary.impl;
+
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.GrayU8;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestThresholdSauvolaIntegral {
+
+	Random rand = new Random(234);
+
+	@Test
+	public void bruteForce() {
+		for( boolean down : new boolean[]{true,false} ) {
+			checkBruteForce(10, 12, 2, 0.5f, down);
+			checkBruteForce(30, 25, 4, 0.3f, down);
+			checkBruteForce(12, 15, 20, 0.3f, down);
+		}
+	}
+
+	/**
+	 * Should produce the same results as the implementation which uses mean filters
+	 */
+	@Test
+	public void compareToThresholdSauvola() {
+		GrayF32 input = new GrayF32(40, 35);
+		ImageMiscOps.fillUniform(input, rand, 0, 255);
+
+		for( boolean down : new boolean[]{true,false} ) {
+			GrayU8 expected = new GrayU8(40, 35);
+			GrayU8 found = new GrayU8(40, 35);
+
+			new ThresholdSauvola(5, 0.3f, down).process(input, expected);
+			new ThresholdSauvolaIntegral(5, 0.3f, down).process(input, found);
+
+			// the two implementations round differently so pixels very close to the threshold can differ
+			int different = 0;
+			for( int i = 0; i < expected.data.length; i++ ) {
+				if( expected.data[i] != found.data[i] )
+					different++;
+			}
+			assertTrue(different <= 2);
+		}
+	}
+
+	@Test
+	public void process_U8() {
+		GrayU8 input = new GrayU8(30, 25);
+		ImageMiscOps.fillUniform(input, rand, 0, 256);
+		GrayF32 inputF = new GrayF32(30, 25);
+		for( int i = 0; i < input.data.length; i++ ) {
+			inputF.data[i] = input.data[i] & 0xFF;
+		}
+
+		ThresholdSauvolaIntegral alg = new ThresholdSauvolaIntegral(3, 0.3f, true);
+		GrayU8 expected = new GrayU8(30, 25);
+		GrayU8 found = new GrayU8(30, 25);
+		alg.process(inputF, expected);
+		alg.process(input, found);
+
+		BoofTesting.assertEquals(expected, found, 0);
+	}
+
+	/**
+	 * Flat images have a standard deviation of zero
+	 */
+	@Test
+	public void flatImage() {
+		GrayU8 input = new GrayU8(20, 15);
+		ImageMiscOps.fill(input, 100);
+
+		GrayU8 found = new GrayU8(20, 15);
+		new ThresholdSauvolaIntegral(3, 0.3f, true).process(input, found);
+		for( int i = 0; i < found.data.length; i++ ) {
+			assertEquals(0, found.data[i]);
+		}
+	}
+
+	@Test
+	public void compareConcurrent() {
+		final GrayU8 input = new GrayU8(200, 150);
+		ImageMiscOps.fillUniform(input, rand, 0, 256);
+
+		final ThresholdSauvolaIntegral alg = new ThresholdSauvolaIntegral(20, 0.3f, true);
+		alg.setConcurrent(false);
+		final GrayU8 expected = new GrayU8(200, 150);
+		alg.process(input, expected);
+
+		final GrayU8 found = new GrayU8(200, 150);
+		BoofConcurrency.invoke(new ForkJoinPool(4), new Runnable() {
+			@Override
+			public void run() {
+				alg.setConcurrent(true);
+				alg.process(input, found);
+			}
+		});
+
+		BoofTesting.assertEquals(expected, found, 0);
+	}
+
+	private void checkBruteForce( int w , int h , int radius , float k , boolean down ) {
+		GrayF32 input = new GrayF32(w,h);
+		ImageMiscOps.fillUniform(input, rand, 0, 200);
+
+		double mean[] = new double[w*h];
+		double stdev[] = new double[w*h];
+		double R = 0;
+		for( int y = 0; y < h; y++ ) {
+			for( int x = 0; x < w; x++ ) {
+				double sum = 0, sumSq = 0;
+				int N = 0;
+				for( int i = Math.max(0,y-radius); i < Math.min(h,y+radius+1); i++ ) {
+					for( int j = Math.max(0,x-radius); j < Math.min(w,x+radius+1); j++ ) {
+						double v = input.get(j,i);
+						sum += v;
+						sumSq += v*v;
+						N++;
+					}
+				}
+				mean[y*w+x] = sum/N;
+				stdev[y*w+x] = Math.sqrt(Math.max(0,sumSq/N - mean[y*w+x]*mean[y*w+x]));
+				R = Math.max(R, stdev[y*w+x]);
+			}
+		}
+
+		GrayU8 found = new GrayU8(w,h);
+		new ThresholdSauvolaIntegral(radius, k, down).process(input, found);
+
+		for( int y = 0; y < h; y++ ) {
+			for( int x = 0; x < w; x++ ) {
+				double threshold = mean[y*w+x]*(1.0 + k*(stdev[y*w+x]/R - 1.0));
+				double value = input.get(x,y);
+				// skip pixels where round off error could change the answer
+				if( Math.abs(value-threshold) < 1e-4 )
+					continue;
+				int expected = down ? (value <= threshold ? 1 : 0) : (value >= threshold ? 1 : 0);
+				assertEquals(expected, found.get(x,y));
+			}
+		}
+	}
+}
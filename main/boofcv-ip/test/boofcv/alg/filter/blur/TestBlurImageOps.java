@@ -18,19 +18,25 @@
 
 package boofcv.alg.filter.blur;
 
+import boofcv.alg.filter.blur.impl.ImplMedianHistogramInner_MT;
 import boofcv.alg.filter.blur.impl.ImplMedianSortNaive;
 import boofcv.alg.filter.convolve.GConvolveImageOps;
 import boofcv.alg.misc.GImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.factory.filter.kernel.FactoryKernel;
 import boofcv.factory.filter.kernel.FactoryKernelGaussian;
 import boofcv.struct.convolve.Kernel2D;
 import boofcv.struct.image.*;
 import boofcv.testing.BoofTesting;
+import org.ddogleg.struct.FastQueue;
 import org.junit.Test;
 
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertSame;
 
 /**
  * @author Peter Abeles
@@ -140,4 +146,98 @@ public class TestBlurImageOps {
 			}
 		}
 	}
+
+	/**
+	 * Results in concurrent mode should be identical to the single threaded results
+	 */
+	@Test
+	public void concurrent() {
+		ForkJoinPool pool = new ForkJoinPool(4);
+
+		for( ImageType type : imageTypes ) {
+			final ImageBase input = type.createImage(30, 35);
+			final ImageBase found = type.createImage(30, 35);
+			final ImageBase expected = type.createImage(30, 35);
+
+			GImageMiscOps.fillUniform(input, rand, 0, 100);
+
+			Class storage = type.getFamily() == ImageType.Family.PLANAR ? ImageGray.class : input.getClass();
+
+			try {
+				final Method mean = BlurImageOps.class.getMethod(
+						"mean",input.getClass(), found.getClass(), int.class, storage);
+				final Method gaussian = BlurImageOps.class.getMethod(
+						"gaussian",input.getClass(), found.getClass(), double.class , int.class, storage);
+				final Method median = BlurImageOps.class.getMethod(
+						"median",input.getClass(), found.getClass(), int.class);
+
+				for( final int radius : new int[]{1,3,20} ) {
+					mean.invoke(null, input, expected, radius, null);
+					invokeConcurrent(pool, mean, input, found, radius, null);
+					BoofTesting.assertEquals(expected, found, 0);
+
+					gaussian.invoke(null, input, expected, -1, radius, null);
+					invokeConcurrent(pool, gaussian, input, found, -1, radius, null);
+					BoofTesting.assertEquals(expected, found, 0);
+
+					median.invoke(null, input, expected, radius);
+					invokeConcurrent(pool, median, input, found, radius);
+					BoofTesting.assertEquals(expected, found, 0);
+				}
+			} catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
+				throw new RuntimeException(e);
+			}
+		}
+	}
+
+	/**
+	 * The work buffers passed in should be used and recycled between bands and calls
+	 */
+	@Test
+	public void median_workspace() {
+		final Planar<GrayU8> input = new Planar<>(GrayU8.class, 40, 45, 3);
+		final Planar<GrayU8> expected = input.createSameShape();
+		final Planar<GrayU8> found = input.createSameShape();
+		GImageMiscOps.fillUniform(input, rand, 0, 100);
+
+		BlurImageOps.median(input, expected, 2);
+
+		final FastQueue<ImplMedianHistogramInner_MT.Work> workspace = ImplMedianHistogramInner_MT.createWorkspace();
+		BoofConcurrency.setUseConcurrent(true);
+		try {
+			BoofConcurrency.invoke(new ForkJoinPool(4), new Runnable() {
+				@Override
+				public void run() {
+					BlurImageOps.median(input, found, 2, workspace);
+					BoofTesting.assertEquals(expected, found, 0);
+
+					ImplMedianHistogramInner_MT.Work first = workspace.get(0);
+					GImageMiscOps.fill(found, 0);
+					BlurImageOps.median(input, found, 2, workspace);
+					BoofTesting.assertEquals(expected, found, 0);
+					assertSame(first, workspace.get(0));
+				}
+			});
+		} finally {
+			BoofConcurrency.setUseConcurrent(false);
+		}
+	}
+
+	private static void invokeConcurrent( ForkJoinPool pool , final Method m , final Object... args ) {
+		BoofConcurrency.setUseConcurrent(true);
+		try {
+			BoofConcurrency.invoke(pool, new Runnable() {
+				@Override
+				public void run() {
+					try {
+						m.invoke(null, args);
+					} catch (IllegalAccessException | InvocationTargetException e) {
+						throw new RuntimeException(e);
+					}
+				}
+			});
+		} finally {
+			BoofConcurrency.setUseConcurrent(false);
+		}
+	}
 }
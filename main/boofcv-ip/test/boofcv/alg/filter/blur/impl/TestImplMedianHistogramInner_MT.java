@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.blur.impl;
+
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.struct.image.GrayU8;
+import boofcv.testing.BoofTesting;
+import org.ddogleg.struct.FastQueue;
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestImplMedianHistogramInner_MT {
+
+	ForkJoinPool pool = new ForkJoinPool(4);
+
+	@Test
+	public void compareToSingleThread() {
+		GrayU8 image = new GrayU8(20,30);
+		ImageMiscOps.fillUniform(image,new Random(234), 0, 100);
+
+		GrayU8 found = new GrayU8( image.width , image.height );
+		GrayU8 expected = new GrayU8( image.width , image.height );
+
+		BoofTesting.checkSubImage(this, "compareToSingleThread", true, image, found, expected);
+	}
+
+	public void compareToSingleThread(final GrayU8 image, final GrayU8 found, GrayU8 expected) {
+		// the same workspace should be reusable with different sized regions
+		final FastQueue<ImplMedianHistogramInner_MT.Work> workspace = ImplMedianHistogramInner_MT.createWorkspace();
+
+		for( final int radius : new int[]{1,3,2} ) {
+			BoofConcurrency.invoke(pool, new Runnable() {
+				@Override
+				public void run() {
+					ImplMedianHistogramInner_MT.process(image, found, radius, workspace);
+				}
+			});
+			ImplMedianHistogramInner.process(image,expected,radius,null,null);
+
+			BoofTesting.assertEquals(expected,found,0);
+		}
+	}
+}
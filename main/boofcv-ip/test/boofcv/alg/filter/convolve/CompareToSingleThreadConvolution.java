@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.convolve;
+
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.struct.image.ImageBase;
+import boofcv.testing.BoofTesting;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Checks to see if a concurrent convolution class produces results which are identical to its single
+ * threaded equivalent.  Tests are run inside of a pool with multiple threads so that the image is split up
+ * even on a single core machine.
+ *
+ * @author Peter Abeles
+ */
+public class CompareToSingleThreadConvolution extends CompareToStandardConvolution {
+
+	ForkJoinPool pool = new ForkJoinPool(4);
+
+	public CompareToSingleThreadConvolution( Class<?> targetClass , Class<?> singleThreadClass ) {
+		super(targetClass, singleThreadClass);
+		height = 41;
+	}
+
+	public void setImageShape( int width , int height ) {
+		this.width = width;
+		this.height = height;
+	}
+
+	@Override
+	public void performTests( final int numMethods ) {
+		BoofConcurrency.invoke(pool, new Runnable() {
+			@Override
+			public void run() {
+				CompareToSingleThreadConvolution.super.performTests(numMethods);
+			}
+		});
+	}
+
+	@Override
+	protected void compareResults(Object targetResult, Object[] targetParam,
+								  Object validationResult, Object[] validationParam) {
+		for( int i = 0; i < targetParam.length; i++ ) {
+			if( !ImageBase.class.isAssignableFrom(targetParam[i].getClass()) )
+				continue;
+
+			BoofTesting.assertEquals((ImageBase)validationParam[i], (ImageBase)targetParam[i], 0);
+		}
+	}
+}
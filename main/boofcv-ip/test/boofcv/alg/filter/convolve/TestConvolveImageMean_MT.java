@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.convolve;
+
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.core.image.GeneralizedImageOps;
+import boofcv.struct.image.ImageGray;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestConvolveImageMean_MT {
+
+	Random rand = new Random(234);
+	ForkJoinPool pool = new ForkJoinPool(4);
+
+	/**
+	 * The concurrent version should produce results which are identical to the single threaded version
+	 */
+	@Test
+	public void compareToSingleThread() {
+		BoofConcurrency.invoke(pool, new Runnable() {
+			@Override
+			public void run() {
+				int total = 0;
+				for( Method m : ConvolveImageMean_MT.class.getMethods() ) {
+					if( m.getDeclaringClass() != ConvolveImageMean_MT.class )
+						continue;
+					try {
+						Method s = ConvolveImageMean.class.getMethod(m.getName(),m.getParameterTypes());
+						compare(m, s, 35, 40, 3);
+						compare(m, s, 6, 7, 4);
+						total++;
+					} catch (NoSuchMethodException e) {
+						throw new RuntimeException(e);
+					}
+				}
+				assertEquals(8,total);
+			}
+		});
+	}
+
+	private void compare( Method target , Method single , int width , int height , int radius ) {
+		Class params[] = target.getParameterTypes();
+
+		ImageGray input = GeneralizedImageOps.createSingleBand(params[0], width, height);
+		ImageGray found = GeneralizedImageOps.createSingleBand(params[1], width, height);
+		ImageGray expected = GeneralizedImageOps.createSingleBand(params[1], width, height);
+
+		GImageMiscOps.fillUniform(input, rand, 0, 100);
+
+		try {
+			target.invoke(null, input, found, radius);
+			single.invoke(null, input, expected, radius);
+		} catch (IllegalAccessException | InvocationTargetException e) {
+			throw new RuntimeException(e);
+		}
+
+		BoofTesting.assertEquals(expected, found, 0);
+	}
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.convolve;
+
+import org.junit.Test;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestConvolveImageNoBorder_MT {
+
+	@Test
+	public void compareToSingleThread_symmetric() {
+		compare(5,2);
+	}
+
+	@Test
+	public void compareToSingleThread_UNsymmetric() {
+		compare(5,1);
+	}
+
+	@Test
+	public void compareToSingleThread_even() {
+		compare(4,3);
+	}
+
+	/**
+	 * The concurrent version should produce results which are identical to the single threaded version
+	 */
+	private void compare( int kernelWidth , int offset ) {
+		CompareToSingleThreadConvolution a =
+				new CompareToSingleThreadConvolution(ConvolveImageNoBorder_MT.class, ConvolveImageNoBorder.class);
+		a.setKernelWidth(kernelWidth);
+		a.setOffset(offset);
+		a.performTests(58);
+	}
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.convolve;
+
+import boofcv.alg.filter.convolve.normalized.CompareToStandardConvolutionNormalized;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.struct.image.ImageBase;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestConvolveNormalized_MT {
+
+	/**
+	 * The concurrent version should produce results which are identical to the single threaded version
+	 */
+	@Test
+	public void compareToSingleThread() {
+		final int numFunctions = 30;
+		final CompareToSingleThread test = new CompareToSingleThread();
+
+		BoofConcurrency.invoke(new ForkJoinPool(4), new Runnable() {
+			@Override
+			public void run() {
+				test.setImageDimension(25,41);
+				test.setKernelRadius(2,2);
+				test.performTests(numFunctions);
+
+				// non-symmetric
+				test.setKernelRadius(3,1);
+				test.performTests(numFunctions);
+
+				// kernel is larger than the image
+				test.setImageDimension(15,20);
+				test.setKernelRadius(8,8);
+				test.performTests(numFunctions);
+			}
+		});
+	}
+
+	private static class CompareToSingleThread extends CompareToStandardConvolutionNormalized {
+		public CompareToSingleThread() {
+			super(ConvolveNormalized_MT.class, ConvolveNormalized.class);
+		}
+
+		@Override
+		protected void compareResults(Object targetResult, Object[] targetParam,
+									  Object validationResult, Object[] validationParam) {
+			for( int i = 0; i < targetParam.length; i++ ) {
+				if( !ImageBase.class.isAssignableFrom(targetParam[i].getClass()) )
+					continue;
+
+				BoofTesting.assertEquals((ImageBase)validationParam[i], (ImageBase)targetParam[i], 0);
+			}
+		}
+	}
+}
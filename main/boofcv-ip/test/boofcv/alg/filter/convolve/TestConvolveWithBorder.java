@@ -47,7 +47,11 @@ public class TestConvolveWithBorder extends CompareImageBorder {
 	private int kernelOffset;
 
 	public TestConvolveWithBorder() {
-		super(ConvolveWithBorder.class);
+		this(ConvolveWithBorder.class);
+	}
+
+	protected TestConvolveWithBorder( Class<?> testClass ) {
+		super(testClass);
 	}
 
 	@Override
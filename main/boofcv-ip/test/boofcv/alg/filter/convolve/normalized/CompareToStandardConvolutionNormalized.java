@@ -46,6 +46,10 @@ public class CompareToStandardConvolutionNormalized extends CompareIdenticalFunc
 		super(targetClass, ConvolveNormalizedNaive_SB.class, ConvolveNormalizedNaive_IL.class);
 	}
 
+	protected CompareToStandardConvolutionNormalized( Class<?> targetClass , Class<?>... validationClass ) {
+		super(targetClass, validationClass);
+	}
+
 	public void setImageDimension( int width , int height ) {
 		this.width = width;
 		this.height = height;
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.derivative;
+
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.core.image.GeneralizedImageOps;
+import boofcv.core.image.border.BorderIndex1D_Extend;
+import boofcv.core.image.border.ImageBorder1D_F32;
+import boofcv.core.image.border.ImageBorder1D_S32;
+import boofcv.core.image.border.ImageBorder_F32;
+import boofcv.struct.image.ImageGray;
+import boofcv.testing.BoofTesting;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Compares every public function in a concurrent derivative class against the function with the same signature
+ * in the single threaded class.  The results must be identical.  Functions are invoked inside of a pool with
+ * multiple threads so that the image is split up even on a single core machine.
+ *
+ * @author Peter Abeles
+ */
+public class CompareDerivativeToSingleThread {
+	Random rand = new Random(234);
+	ForkJoinPool pool = new ForkJoinPool(4);
+
+	public void compare( final Class<?> concurrent , final Class<?> single , final int expectedFunctions ) {
+		BoofConcurrency.invoke(pool, new Runnable() {
+			@Override
+			public void run() {
+				int total = 0;
+				for( Method m : concurrent.getDeclaredMethods() ) {
+					if( !Modifier.isPublic(m.getModifiers()))
+						continue;
+					try {
+						Method s = single.getMethod(m.getName(), m.getParameterTypes());
+						compare(m, s, 30, 41, true);
+						compare(m, s, 30, 41, false);
+						compare(m, s, 7, 6, true);
+						total++;
+					} catch (NoSuchMethodException e) {
+						throw new RuntimeException(e);
+					}
+				}
+				assertEquals(expectedFunctions, total);
+			}
+		});
+	}
+
+	private void compare( Method concurrent , Method single , int width , int height , boolean border ) {
+		Class<?> params[] = concurrent.getParameterTypes();
+
+		Object[] argsMT = new Object[params.length];
+		Object[] argsST = new Object[params.length];
+
+		for( int i = 0; i < params.length; i++ ) {
+			if( ImageGray.class.isAssignableFrom(params[i])) {
+				ImageGray image = GeneralizedImageOps.createSingleBand((Class)params[i], width, height);
+				GImageMiscOps.fillUniform(image, rand, 0, 100);
+				argsMT[i] = image;
+				argsST[i] = image.clone();
+			} else if( !border ) {
+				argsMT[i] = argsST[i] = null;
+			} else if( params[i] == ImageBorder_F32.class ) {
+				argsMT[i] = new ImageBorder1D_F32(BorderIndex1D_Extend.class);
+				argsST[i] = new ImageBorder1D_F32(BorderIndex1D_Extend.class);
+			} else {
+				argsMT[i] = new ImageBorder1D_S32(BorderIndex1D_Extend.class);
+				argsST[i] = new ImageBorder1D_S32(BorderIndex1D_Extend.class);
+			}
+		}
+
+		try {
+			concurrent.invoke(null, argsMT);
+			single.invoke(null, argsST);
+		} catch (IllegalAccessException | InvocationTargetException e) {
+			throw new RuntimeException(e);
+		}
+
+		for( int i = 0; i < params.length; i++ ) {
+			if( argsMT[i] instanceof ImageGray )
+				BoofTesting.assertEquals((ImageGray)argsST[i], (ImageGray)argsMT[i], 0);
+		}
+	}
+}
@@ -18,9 +18,22 @@
 
 package boofcv.alg.filter.derivative;
 
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.core.image.GeneralizedImageOps;
+import boofcv.core.image.border.BorderType;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.GrayS16;
+import boofcv.struct.image.GrayU8;
+import boofcv.struct.image.ImageGray;
+import boofcv.testing.BoofTesting;
 import org.junit.Test;
 
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 /**
  * @author Peter Abeles
@@ -44,4 +57,88 @@ public class TestGImageDerivativeOps {
 		assertTrue(GradientTwo1.kernelDeriv_I32==GImageDerivativeOps.lookupKernelX(DerivativeType.TWO_1,true));
 		assertTrue(GradientTwo1.kernelDeriv_F32==GImageDerivativeOps.lookupKernelX(DerivativeType.TWO_1,false));
 	}
+
+	/**
+	 * Compares the gradient and hessian computed together against computing them independently.  Both with
+	 * and without concurrency turned on
+	 */
+	@Test
+	public void gradientHessian() {
+		DerivativeType types[] = new DerivativeType[]{DerivativeType.PREWITT,DerivativeType.SOBEL,DerivativeType.THREE};
+
+		for( DerivativeType type : types ) {
+			for( BorderType border : new BorderType[]{BorderType.EXTENDED,BorderType.SKIP}) {
+				gradientHessian(type, new GrayF32(30, 35), GrayF32.class, border);
+				gradientHessian(type, new GrayU8(30, 35), GrayS16.class, border);
+				// no fused implementation, concurrent mode should fall back to gradient then hessian
+				gradientHessian(type, new GrayS16(30, 35), GrayS16.class, border);
+			}
+		}
+	}
+
+	/**
+	 * Turning on concurrency should not change which derivative types are accepted
+	 */
+	@Test
+	public void gradientHessian_unsupportedType() {
+		final GrayF32 input = new GrayF32(30,35);
+		final GrayF32 d[] = new GrayF32[5];
+		for( int i = 0; i < 5; i++ )
+			d[i] = new GrayF32(30,35);
+
+		for( final boolean concurrent : new boolean[]{false,true}) {
+			BoofConcurrency.setUseConcurrent(concurrent);
+			try {
+				BoofConcurrency.invoke(new ForkJoinPool(4), new Runnable() {
+					@Override
+					public void run() {
+						try {
+							GImageDerivativeOps.gradientHessian(DerivativeType.TWO_0, input,
+									d[0], d[1], d[2], d[3], d[4], BorderType.EXTENDED);
+							fail("Hessian isn't supported for this type");
+						} catch( IllegalArgumentException ignore ) {}
+					}
+				});
+			} finally {
+				BoofConcurrency.setUseConcurrent(false);
+			}
+		}
+	}
+
+	private <I extends ImageGray<I>, D extends ImageGray<D>>
+	void gradientHessian( final DerivativeType type , final I input , Class<D> derivType , final BorderType border ) {
+		Random rand = new Random(234);
+		GImageMiscOps.fillUniform(input, rand, 0, 100);
+
+		final D found[] = (D[])new ImageGray[5];
+		D expected[] = (D[])new ImageGray[5];
+		for( int i = 0; i < 5; i++ ) {
+			found[i] = GeneralizedImageOps.createSingleBand(derivType, input.width, input.height);
+			expected[i] = GeneralizedImageOps.createSingleBand(derivType, input.width, input.height);
+		}
+
+		GImageDerivativeOps.gradient(type, input, expected[0], expected[1], border);
+		GImageDerivativeOps.hessian(type, expected[0], expected[1], expected[2], expected[3], expected[4], border);
+
+		GImageDerivativeOps.gradientHessian(type, input, found[0], found[1], found[2], found[3], found[4], border);
+		for( int i = 0; i < 5; i++ ) {
+			BoofTesting.assertEquals(expected[i], found[i], 0);
+			GImageMiscOps.fill(found[i],0);
+		}
+
+		BoofConcurrency.setUseConcurrent(true);
+		try {
+			BoofConcurrency.invoke(new ForkJoinPool(4), new Runnable() {
+				@Override
+				public void run() {
+					GImageDerivativeOps.gradientHessian(type, input, found[0], found[1], found[2], found[3], found[4], border);
+				}
+			});
+		} finally {
+			BoofConcurrency.setUseConcurrent(false);
+		}
+		for( int i = 0; i < 5; i++ ) {
+			BoofTesting.assertEquals(expected[i], found[i], 0);
+		}
+	}
 }
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.derivative;
+
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.core.image.GeneralizedImageOps;
+import boofcv.core.image.border.BorderIndex1D_Extend;
+import boofcv.core.image.border.ImageBorder1D_F32;
+import boofcv.core.image.border.ImageBorder1D_S32;
+import boofcv.core.image.border.ImageBorder_F32;
+import boofcv.struct.image.ImageGray;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestGradientHessianFused_MT {
+	Random rand = new Random(234);
+
+	/**
+	 * Should produce identical results to computing the gradient then the hessian from the gradient
+	 */
+	@Test
+	public void compareToGradientThenHessian() {
+		BoofConcurrency.invoke(new ForkJoinPool(4), new Runnable() {
+			@Override
+			public void run() {
+				int total = 0;
+				for( Method m : GradientHessianFused_MT.class.getDeclaredMethods() ) {
+					if( !Modifier.isPublic(m.getModifiers()))
+						continue;
+
+					compare(m, 30, 41, true);
+					compare(m, 30, 41, false);
+					compare(m, 7, 6, true);
+					total++;
+				}
+				assertEquals(6, total);
+			}
+		});
+	}
+
+	private void compare( Method fused , int width , int height , boolean useBorder ) {
+		Class<?> params[] = fused.getParameterTypes();
+		String name = Character.toUpperCase(fused.getName().charAt(0))+fused.getName().substring(1);
+
+		ImageGray input = GeneralizedImageOps.createSingleBand((Class)params[0], width, height);
+		GImageMiscOps.fillUniform(input, rand, 0, 100);
+
+		ImageGray found[] = new ImageGray[5];
+		ImageGray expected[] = new ImageGray[5];
+		for( int i = 0; i < 5; i++ ) {
+			found[i] = GeneralizedImageOps.createSingleBand((Class)params[1], width, height);
+			GImageMiscOps.fillUniform(found[i], rand, 0, 100);
+			expected[i] = (ImageGray)found[i].clone();
+		}
+
+		try {
+			Method gradient = Class.forName("boofcv.alg.filter.derivative.Gradient"+name).
+					getMethod("process", params[0], params[1], params[1], params[6]);
+			Method hessian = HessianFromGradient.class.getMethod("hessian"+name,
+					params[1], params[1], params[1], params[1], params[1], params[6]);
+
+			fused.invoke(null, input, found[0], found[1], found[2], found[3], found[4], createBorder(params[6], useBorder));
+			gradient.invoke(null, input, expected[0], expected[1], createBorder(params[6], useBorder));
+			hessian.invoke(null, expected[0], expected[1], expected[2], expected[3], expected[4],
+					createBorder(params[6], useBorder));
+		} catch (NoSuchMethodException | ClassNotFoundException | IllegalAccessException | InvocationTargetException e) {
+			throw new RuntimeException(e);
+		}
+
+		for( int i = 0; i < 5; i++ ) {
+			BoofTesting.assertEquals(expected[i], found[i], 0);
+		}
+	}
+
+	private static Object createBorder( Class<?> type , boolean useBorder ) {
+		if( !useBorder )
+			return null;
+		else if( type == ImageBorder_F32.class )
+			return new ImageBorder1D_F32(BorderIndex1D_Extend.class);
+		else
+			return new ImageBorder1D_S32(BorderIndex1D_Extend.class);
+	}
+}
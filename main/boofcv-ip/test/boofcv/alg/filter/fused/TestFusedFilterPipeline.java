@@ -0,0 +1,238 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.fused;
+
+import boofcv.alg.filter.blur.BlurImageOps;
+import boofcv.alg.filter.convolve.ConvolveNormalized;
+import boofcv.alg.filter.derivative.GradientSobel;
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.alg.misc.PixelMath;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.core.image.ConvertImage;
+import boofcv.core.image.border.BorderType;
+import boofcv.core.image.border.FactoryImageBorder;
+import boofcv.core.image.border.ImageBorder_F32;
+import boofcv.factory.filter.kernel.FactoryKernel;
+import boofcv.struct.convolve.Kernel1D_F32;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.GrayS16;
+import boofcv.struct.image.GrayU8;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestFusedFilterPipeline {
+
+	Random rand = new Random(234);
+
+	int width = 83, height = 71;
+
+	/**
+	 * Without any stages it should just convert the image
+	 */
+	@Test
+	public void noStages() {
+		GrayU8 input = new GrayU8(width,height);
+		ImageMiscOps.fillUniform(input,rand,0,255);
+
+		GrayF32 expected = ConvertImage.convert(input,(GrayF32)null);
+		GrayF32 found = new GrayF32(width,height);
+
+		FusedFilterPipeline<GrayU8> alg = new FusedFilterPipeline<>(GrayU8.class);
+		alg.setConcurrent(false);
+		alg.process(input,found);
+
+		BoofTesting.assertEquals(expected,found,0);
+	}
+
+	/**
+	 * Compare a pipeline against applying each operation one at a time
+	 */
+	@Test
+	public void process_compareToSequential() {
+		// include shapes which are smaller than the kernel
+		int shapes[][] = new int[][]{{width,height},{3,40},{40,2},{1,1}};
+		for( int[] shape : shapes ) {
+			GrayU8 input = new GrayU8(shape[0],shape[1]);
+			ImageMiscOps.fillUniform(input,rand,0,255);
+
+			GrayF32 expected = ConvertImage.convert(input,(GrayF32)null);
+			PixelMath.multiply(expected,0.5f,expected);
+			GrayF32 blurred = BlurImageOps.gaussian(expected,null,-1,3,null);
+			PixelMath.plus(blurred,-40f,blurred);
+			PixelMath.abs(blurred,blurred);
+			Kernel1D_F32 kernel = FactoryKernel.table1D_F32(2,true);
+			expected = blurred.createSameShape();
+			GrayF32 storage = blurred.createSameShape();
+			ConvolveNormalized.horizontal(kernel,blurred,storage);
+			ConvolveNormalized.vertical(kernel,storage,expected);
+			PixelMath.boundImage(expected,10,50);
+
+			FusedFilterPipeline<GrayU8> alg = new FusedFilterPipeline<>(GrayU8.class).
+					multiply(0.5f).gaussian(-1,3).plus(-40f).abs().convolve(kernel,kernel).bound(10,50);
+			alg.setConcurrent(false);
+
+			// make sure sub-images are handled correctly
+			GrayU8 subInput = BoofTesting.createSubImageOf(input);
+			GrayF32 found = BoofTesting.createSubImageOf(new GrayF32(shape[0],shape[1]));
+			alg.process(subInput,found);
+
+			BoofTesting.assertEquals(expected,found,1e-3);
+		}
+	}
+
+	/**
+	 * Input image types without a specialized implementation
+	 */
+	@Test
+	public void process_genericInput() {
+		GrayS16 input = new GrayS16(width,height);
+		GImageMiscOps.fillUniform(input,rand,-200,200);
+
+		GrayF32 converted = ConvertImage.convert(input,(GrayF32)null);
+		GrayF32 expected = BlurImageOps.gaussian(converted,null,-1,2,null);
+		GrayF32 found = new GrayF32(width,height);
+
+		FusedFilterPipeline<GrayS16> alg = new FusedFilterPipeline<>(GrayS16.class).gaussian(-1,2);
+		alg.setConcurrent(false);
+		alg.process(input,found);
+
+		BoofTesting.assertEquals(expected,found,1e-3);
+	}
+
+	@Test
+	public void processGradient_compareToSequential() {
+		int shapes[][] = new int[][]{{width,height},{2,30},{30,1}};
+		for( int[] shape : shapes ) {
+			GrayU8 input = new GrayU8(shape[0],shape[1]);
+			ImageMiscOps.fillUniform(input,rand,0,255);
+
+			GrayF32 blurred = BlurImageOps.gaussian(ConvertImage.convert(input,(GrayF32)null),null,-1,2,null);
+			GrayF32 expectedX = blurred.createSameShape();
+			GrayF32 expectedY = blurred.createSameShape();
+			GradientSobel.process(blurred,expectedX,expectedY,
+					(ImageBorder_F32)FactoryImageBorder.wrap(BorderType.EXTENDED,blurred));
+
+			FusedFilterPipeline<GrayU8> alg = new FusedFilterPipeline<>(GrayU8.class).gaussian(-1,2);
+			alg.setConcurrent(false);
+
+			GrayF32 foundX = BoofTesting.createSubImageOf(blurred.createSameShape());
+			GrayF32 foundY = BoofTesting.createSubImageOf(blurred.createSameShape());
+			alg.processGradient(input,foundX,foundY);
+
+			BoofTesting.assertEquals(expectedX,foundX,1e-3);
+			BoofTesting.assertEquals(expectedY,foundY,1e-3);
+		}
+	}
+
+	@Test
+	public void processEdgeIntensity() {
+		GrayU8 input = new GrayU8(width,height);
+		ImageMiscOps.fillUniform(input,rand,0,255);
+		// flat regions have a gradient of zero along x
+		ImageMiscOps.fillRectangle(input,100,10,10,20,20);
+
+		FusedFilterPipeline<GrayU8> alg = new FusedFilterPipeline<>(GrayU8.class).gaussian(-1,1);
+		alg.setConcurrent(false);
+
+		GrayF32 derivX = new GrayF32(width,height);
+		GrayF32 derivY = new GrayF32(width,height);
+		alg.processGradient(input,derivX,derivY);
+
+		GrayF32 intensity = new GrayF32(width,height);
+		GrayF32 direction = new GrayF32(width,height);
+		alg.processEdgeIntensity(input,intensity,direction);
+
+		for( int y = 0; y < height; y++ ) {
+			for( int x = 0; x < width; x++ ) {
+				float dx = derivX.get(x,y);
+				float dy = derivY.get(x,y);
+				assertEquals((float)Math.sqrt(dx*dx+dy*dy),intensity.get(x,y),1e-4f);
+				float angle = Math.abs(dx) < 1e-10f ? (float)(Math.PI/2.0) : (float)Math.atan(dy/dx);
+				assertEquals(angle,direction.get(x,y),1e-4f);
+			}
+		}
+
+		// direction is optional
+		GrayF32 found = new GrayF32(width,height);
+		alg.processEdgeIntensity(input,found,null);
+		BoofTesting.assertEquals(intensity,found,0);
+	}
+
+	/**
+	 * Processing strips of rows in parallel should produce identical results
+	 */
+	@Test
+	public void compareConcurrent() {
+		GrayU8 input = new GrayU8(width,height);
+		ImageMiscOps.fillUniform(input,rand,0,255);
+
+		final FusedFilterPipeline<GrayU8> alg = new FusedFilterPipeline<>(GrayU8.class).gaussian(-1,3).abs();
+		alg.setConcurrent(false);
+
+		GrayF32 expectedX = new GrayF32(width,height);
+		GrayF32 expectedY = new GrayF32(width,height);
+		alg.processGradient(input,expectedX,expectedY);
+
+		alg.setConcurrent(true);
+		alg.setMinimumStripRows(5);
+		final GrayU8 _input = input;
+		final GrayF32 foundX = new GrayF32(width,height);
+		final GrayF32 foundY = new GrayF32(width,height);
+		BoofConcurrency.invoke(new ForkJoinPool(4), new Runnable() {
+			@Override
+			public void run() {
+				alg.processGradient(_input,foundX,foundY);
+			}
+		});
+
+		BoofTesting.assertEquals(expectedX,foundX,0);
+		BoofTesting.assertEquals(expectedY,foundY,0);
+	}
+
+	@Test
+	public void getRadiusY() {
+		FusedFilterPipeline<GrayU8> alg = new FusedFilterPipeline<>(GrayU8.class);
+		assertEquals(0,alg.getRadiusY());
+		alg.gaussian(-1,3).abs().gaussian(-1,2);
+		assertEquals(5,alg.getRadiusY());
+	}
+
+	/**
+	 * Storage should only depend on the width and be much less than the intermediate images
+	 */
+	@Test
+	public void getStorageFloats() {
+		FusedFilterPipeline<GrayU8> alg = new FusedFilterPipeline<>(GrayU8.class).gaussian(-1,2);
+
+		int found = alg.getStorageFloats(1000);
+		// source row, 5 ring rows + output for the blur, 3 rows for sobel, 2 gradient rows
+		assertEquals(1000*(1+6+3+2),found);
+		assertTrue(found < 1000*1000);
+	}
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.interpolate.impl;
+
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.core.image.border.BorderType;
+import boofcv.core.image.border.FactoryImageBorder;
+import boofcv.struct.image.InterleavedU8;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestImplBilinearPixelFixed_IL_U8 {
+
+	Random rand = new Random(234);
+
+	/**
+	 * Compares against floating point bilinear interpolation inside and outside the image.  The difference
+	 * should be within the documented precision.
+	 */
+	@Test
+	public void compareToFloat() {
+		InterleavedU8 image = new InterleavedU8(30,25,3);
+		GImageMiscOps.fillUniform(image, rand, 0, 256);
+
+		ImplBilinearPixel_IL_U8 expected = new ImplBilinearPixel_IL_U8(3);
+		ImplBilinearPixelFixed_IL_U8 found = new ImplBilinearPixelFixed_IL_U8(3);
+		expected.setBorder(FactoryImageBorder.interleaved(InterleavedU8.class, BorderType.EXTENDED));
+		found.setBorder(FactoryImageBorder.interleaved(InterleavedU8.class, BorderType.EXTENDED));
+
+		BoofTesting.checkSubImage(this, "compareToFloat", false, image, expected, found);
+	}
+
+	public void compareToFloat( InterleavedU8 image , ImplBilinearPixel_IL_U8 expected ,
+								ImplBilinearPixelFixed_IL_U8 found ) {
+		expected.setImage(image);
+		found.setImage(image);
+
+		float valueExpected[] = new float[3];
+		float valueFound[] = new float[3];
+		double tol = 0.5 + 255.0/ImplBilinearPixelFixed_U8.ONE;
+		for( int i = 0; i < 2000; i++ ) {
+			float x = rand.nextFloat()*(image.width+4)-2;
+			float y = rand.nextFloat()*(image.height+4)-2;
+
+			expected.get(x,y,valueExpected);
+			found.get(x,y,valueFound);
+			for( int band = 0; band < 3; band++ ) {
+				assertEquals(Math.round(valueFound[band]), valueFound[band], 0);
+				assertEquals(valueExpected[band], valueFound[band], tol);
+			}
+		}
+	}
+
+	/**
+	 * The functions which write directly into an 8-bit array should produce the same results
+	 */
+	@Test
+	public void integerFunctions() {
+		InterleavedU8 image = new InterleavedU8(30,25,2);
+		GImageMiscOps.fillUniform(image, rand, 0, 256);
+
+		ImplBilinearPixelFixed_IL_U8 alg = new ImplBilinearPixelFixed_IL_U8(2);
+		alg.setBorder(FactoryImageBorder.interleaved(InterleavedU8.class, BorderType.EXTENDED));
+		alg.setImage(image);
+
+		float expected[] = new float[2];
+		byte found[] = new byte[4];
+		for( int i = 0; i < 200; i++ ) {
+			int xt = rand.nextInt(image.width-1);
+			int yt = rand.nextInt(image.height-1);
+			int ax = rand.nextInt(ImplBilinearPixelFixed_U8.ONE);
+			int ay = rand.nextInt(ImplBilinearPixelFixed_U8.ONE);
+
+			alg.get(xt + ax/(float)ImplBilinearPixelFixed_U8.ONE, yt + ay/(float)ImplBilinearPixelFixed_U8.ONE, expected);
+			alg.get_fast(image.getIndex(xt,yt), ax, ay, found, 0);
+			alg.get_border(xt, yt, ax, ay, found, 2);
+
+			for( int band = 0; band < 2; band++ ) {
+				assertEquals(expected[band], found[band] & 0xFF, 0);
+				assertEquals(expected[band], found[band+2] & 0xFF, 0);
+			}
+		}
+	}
+}
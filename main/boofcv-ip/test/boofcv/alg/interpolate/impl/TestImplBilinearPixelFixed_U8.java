@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.interpolate.impl;
+
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.core.image.border.BorderType;
+import boofcv.core.image.border.FactoryImageBorder;
+import boofcv.struct.image.GrayU8;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestImplBilinearPixelFixed_U8 {
+
+	Random rand = new Random(234);
+
+	/**
+	 * Compares against floating point bilinear interpolation inside and outside the image.  The difference
+	 * should be within the documented precision.
+	 */
+	@Test
+	public void compareToFloat() {
+		GrayU8 image = new GrayU8(30,25);
+		ImageMiscOps.fillUniform(image, rand, 0, 256);
+
+		ImplBilinearPixel_U8 expected = new ImplBilinearPixel_U8();
+		ImplBilinearPixelFixed_U8 found = new ImplBilinearPixelFixed_U8();
+		expected.setBorder(FactoryImageBorder.single(GrayU8.class, BorderType.EXTENDED));
+		found.setBorder(FactoryImageBorder.single(GrayU8.class, BorderType.EXTENDED));
+
+		BoofTesting.checkSubImage(this, "compareToFloat", false, image, expected, found);
+	}
+
+	public void compareToFloat( GrayU8 image , ImplBilinearPixel_U8 expected , ImplBilinearPixelFixed_U8 found ) {
+		expected.setImage(image);
+		found.setImage(image);
+
+		double tol = 0.5 + 255.0/ImplBilinearPixelFixed_U8.ONE;
+		for( int i = 0; i < 2000; i++ ) {
+			float x = rand.nextFloat()*(image.width+4)-2;
+			float y = rand.nextFloat()*(image.height+4)-2;
+
+			float value = found.get(x,y);
+			assertEquals(Math.round(value), value, 0);
+			assertEquals(expected.get(x,y), value, tol);
+		}
+	}
+
+	/**
+	 * At integer coordinates the pixel value should be returned exactly
+	 */
+	@Test
+	public void integerCoordinates() {
+		GrayU8 image = new GrayU8(15,20);
+		ImageMiscOps.fillUniform(image, rand, 0, 256);
+
+		ImplBilinearPixelFixed_U8 alg = new ImplBilinearPixelFixed_U8(image);
+		alg.setBorder(FactoryImageBorder.single(GrayU8.class, BorderType.EXTENDED));
+		alg.setImage(image);
+
+		for( int y = 0; y < image.height; y++ ) {
+			for( int x = 0; x < image.width; x++ ) {
+				assertEquals(image.get(x,y), alg.get(x,y), 0);
+			}
+		}
+	}
+
+	@Test
+	public void get_fast() {
+		GrayU8 image = new GrayU8(15,20);
+		ImageMiscOps.fillUniform(image, rand, 0, 256);
+
+		ImplBilinearPixelFixed_U8 alg = new ImplBilinearPixelFixed_U8();
+		alg.setBorder(FactoryImageBorder.single(GrayU8.class, BorderType.EXTENDED));
+		alg.setImage(image);
+
+		for( int i = 0; i < 200; i++ ) {
+			float x = rand.nextFloat()*(image.width-2);
+			float y = rand.nextFloat()*(image.height-2);
+
+			assertTrue(alg.isInFastBounds(x,y));
+			assertEquals(alg.get_border(x,y), alg.get_fast(x,y), 0);
+		}
+	}
+}
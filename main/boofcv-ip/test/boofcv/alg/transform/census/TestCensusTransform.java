@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.transform.census;
+
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.core.image.GeneralizedImageOps;
+import boofcv.core.image.border.BorderType;
+import boofcv.core.image.border.FactoryImageBorder;
+import boofcv.core.image.border.ImageBorder;
+import boofcv.core.image.border.ImageBorder_F32;
+import boofcv.core.image.border.ImageBorder_S32;
+import boofcv.struct.image.*;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestCensusTransform {
+	Random rand = new Random(234);
+	int width = 25, height = 21;
+
+	@Test
+	public void region3x3() {
+		for( Class type : new Class[]{GrayU8.class,GrayF32.class}) {
+			compareToNaive(type, 1, new GrayU8(width,height));
+		}
+	}
+
+	@Test
+	public void region5x5() {
+		for( Class type : new Class[]{GrayU8.class,GrayF32.class}) {
+			compareToNaive(type, 2, new GrayS32(width,height));
+		}
+	}
+
+	@Test
+	public void region7x7() {
+		for( Class type : new Class[]{GrayU8.class,GrayF32.class}) {
+			compareToNaive(type, 3, new GrayS64(width,height));
+		}
+	}
+
+	@Test
+	public void checkSubImage() {
+		GrayU8 input = new GrayU8(width,height);
+		GImageMiscOps.fillUniform(input, rand, 0, 255);
+
+		BoofTesting.checkSubImage(this, "checkSubImage", true, input, new GrayU8(width,height));
+		BoofTesting.checkSubImage(this, "checkSubImage", true, input, new GrayS32(width,height));
+		BoofTesting.checkSubImage(this, "checkSubImage", true, input, new GrayS64(width,height));
+	}
+
+	public void checkSubImage( GrayU8 input , GrayU8 output ) {
+		GCensusTransform.region3x3(input, output, border(input));
+	}
+
+	public void checkSubImage( GrayU8 input , GrayS32 output ) {
+		GCensusTransform.region5x5(input, output, border(input));
+	}
+
+	public void checkSubImage( GrayU8 input , GrayS64 output ) {
+		GCensusTransform.region7x7(input, output, border(input));
+	}
+
+	private <T extends ImageGray<T>> void compareToNaive( Class<T> type , int radius , ImageGray output ) {
+		T input = GeneralizedImageOps.createSingleBand(type, width, height);
+		GImageMiscOps.fillUniform(input, rand, 0, 255);
+
+		ImageBorder<T> border = border(input);
+		ImageGray found = (ImageGray)output.createSameShape();
+
+		// the inner image should be the same when the border is skipped
+		transform(radius, input, found, null);
+		for( int y = radius; y < height-radius; y++ ) {
+			for( int x = radius; x < width-radius; x++ ) {
+				assertEquals(naive(border,radius,x,y), get(found,x,y));
+			}
+		}
+
+		transform(radius, input, found, border);
+		for( int y = 0; y < height; y++ ) {
+			for( int x = 0; x < width; x++ ) {
+				assertEquals(naive(border,radius,x,y), get(found,x,y));
+			}
+		}
+	}
+
+	private static <T extends ImageGray<T>> ImageBorder<T> border( T input ) {
+		return FactoryImageBorder.wrap(BorderType.EXTENDED, input);
+	}
+
+	private static <T extends ImageGray<T>> void transform( int radius , T input , ImageGray output , ImageBorder<T> border ) {
+		switch( radius ) {
+			case 1: GCensusTransform.region3x3(input, (GrayU8)output, border); break;
+			case 2: GCensusTransform.region5x5(input, (GrayS32)output, border); break;
+			case 3: GCensusTransform.region7x7(input, (GrayS64)output, border); break;
+		}
+	}
+
+	private static long get( ImageGray image , int x , int y ) {
+		if( image instanceof GrayS64 )
+			return ((GrayS64)image).get(x,y);
+		return ((GrayI)image).get(x,y);
+	}
+
+	private static long naive( ImageBorder border , int radius , int cx , int cy ) {
+		double center = value(border,cx,cy);
+		long census = 0;
+		int bit = 0;
+		for( int y = -radius; y <= radius; y++ ) {
+			for( int x = -radius; x <= radius; x++ ) {
+				if( x == 0 && y == 0 )
+					continue;
+				if( value(border,cx+x,cy+y) > center )
+					census |= 1L << bit;
+				bit++;
+			}
+		}
+		return census;
+	}
+
+	private static double value( ImageBorder border , int x , int y ) {
+		if( border instanceof ImageBorder_F32 )
+			return ((ImageBorder_F32)border).get(x,y);
+		return ((ImageBorder_S32)border).get(x,y);
+	}
+}
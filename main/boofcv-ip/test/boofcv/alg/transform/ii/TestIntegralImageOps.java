@@ -18,8 +18,11 @@
 
 package boofcv.alg.transform.ii;
 
+import boofcv.alg.misc.ImageMiscOps;
 import boofcv.alg.transform.ii.impl.ImplIntegralImageOps;
 import boofcv.struct.ImageRectangle;
+import boofcv.struct.image.GrayS32;
+import boofcv.struct.image.GrayU8;
 import org.junit.Test;
 
 import java.lang.reflect.Method;
@@ -41,6 +44,31 @@ public class TestIntegralImageOps {
 		assertEquals(expected, found);
 	}
 
+	@Test
+	public void isSafeS32() {
+		assertTrue(IntegralImageOps.isSafeS32(2000,4000));
+		// 8421504*255 = Integer.MAX_VALUE - 127
+		assertTrue(IntegralImageOps.isSafeS32(8421504,1));
+		assertFalse(IntegralImageOps.isSafeS32(8421505,1));
+		assertFalse(IntegralImageOps.isSafeS32(6000,4000));
+	}
+
+	/**
+	 * The GrayS32 integral image overflows but block sums should still be correct
+	 */
+	@Test
+	public void transform_U8_S32_overflow() {
+		int width = 3000, height = 3000;
+		assertFalse(IntegralImageOps.isSafeS32(width,height));
+
+		GrayU8 input = new GrayU8(width,height);
+		ImageMiscOps.fill(input,255);
+		GrayS32 integral = IntegralImageOps.transform(input,(GrayS32)null);
+
+		assertEquals(10*20*255, IntegralImageOps.block_unsafe(integral,width-11,height-21,width-1,height-1));
+		assertEquals(10*20*255, IntegralImageOps.block_zero(integral,-1,-1,9,19));
+	}
+
 	@Test
 	public void convolve() {
 		int expected = countName("convolve",IntegralImageOps.class);
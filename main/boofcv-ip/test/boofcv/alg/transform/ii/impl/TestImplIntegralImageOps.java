@@ -56,7 +56,7 @@ public class TestImplIntegralImageOps {
 	@Test
 	public void transform() {
 		int numFound = BoofTesting.findMethodThenCall(this,"transform",ImplIntegralImageOps.class,"transform");
-		Assert.assertEquals(5, numFound);
+		Assert.assertEquals(6, numFound);
 	}
 
 	public void transform( Method m ) {
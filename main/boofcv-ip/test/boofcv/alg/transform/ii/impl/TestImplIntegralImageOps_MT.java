@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.transform.ii.impl;
+
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.core.image.GeneralizedImageOps;
+import boofcv.struct.image.ImageGray;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestImplIntegralImageOps_MT {
+
+	Random rand = new Random(234);
+	// width is large enough to be split into several strips
+	int width = 300;
+	int height = 40;
+
+	ForkJoinPool pool = new ForkJoinPool(4);
+
+	@Test
+	public void transform() {
+		int numFound = BoofTesting.findMethodThenCall(this,"transform",ImplIntegralImageOps_MT.class,"transform");
+		assertEquals(6, numFound);
+	}
+
+	public void transform( Method m ) {
+		Class paramType[] = m.getParameterTypes();
+		Class inputType = paramType[0];
+		Class outputType = paramType[1];
+
+		ImageGray input = GeneralizedImageOps.createSingleBand(inputType, width, height);
+		ImageGray found = GeneralizedImageOps.createSingleBand(outputType, width, height);
+		ImageGray expected = GeneralizedImageOps.createSingleBand(outputType, width, height);
+
+		GImageMiscOps.fillUniform(input, rand, 0, 100);
+
+		BoofTesting.checkSubImage(this,"compareToSingleThread",true,m,input,found,expected);
+	}
+
+	public void compareToSingleThread(final Method m , final ImageGray input, final ImageGray found,
+									  ImageGray expected)
+			throws InvocationTargetException, IllegalAccessException, NoSuchMethodException
+	{
+		BoofConcurrency.invoke(pool, new Runnable() {
+			@Override
+			public void run() {
+				try {
+					m.invoke(null, input, found);
+				} catch (IllegalAccessException | InvocationTargetException e) {
+					throw new RuntimeException(e);
+				}
+			}
+		});
+
+		Method single = ImplIntegralImageOps.class.getMethod("transform", m.getParameterTypes());
+		single.invoke(null, input, expected);
+
+		// floating point results must be identical too
+		BoofTesting.assertEquals(expected, found, 0);
+	}
+}
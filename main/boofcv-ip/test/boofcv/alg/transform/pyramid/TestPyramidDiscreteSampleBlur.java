@@ -19,6 +19,8 @@
 package boofcv.alg.transform.pyramid;
 
 import boofcv.alg.filter.convolve.ConvolveNormalized;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.factory.filter.kernel.FactoryKernelGaussian;
 import boofcv.struct.convolve.Kernel1D_F32;
 import boofcv.struct.image.GrayF32;
@@ -27,6 +29,8 @@ import boofcv.struct.pyramid.ImagePyramid;
 import boofcv.testing.BoofTesting;
 import org.junit.Test;
 
+import java.util.concurrent.ForkJoinPool;
+
 import static org.junit.Assert.assertEquals;
 
 /**
@@ -90,6 +94,41 @@ public class TestPyramidDiscreteSampleBlur extends GenericPyramidTests<GrayF32>
 		}
 	}
 
+	/**
+	 * Splitting each layer into bands should produce identical results
+	 */
+	@Test
+	public void compareConcurrent() {
+		final GrayF32 input = new GrayF32(width,height);
+		ImageMiscOps.fillUniform(input,rand,0,100);
+
+		Kernel1D_F32 kernel = FactoryKernelGaussian.gaussian(Kernel1D_F32.class,-1,3);
+
+		PyramidDiscreteSampleBlur<GrayF32> expected =
+				new PyramidDiscreteSampleBlur<>(kernel,3, ImageType.single(GrayF32.class),false,new int[]{2,4,8});
+		expected.setConcurrent(false);
+		expected.process(input);
+
+		final PyramidDiscreteSampleBlur<GrayF32> alg =
+				new PyramidDiscreteSampleBlur<>(kernel,3, ImageType.single(GrayF32.class),false,new int[]{2,4,8});
+		alg.setConcurrent(true);
+		alg.setMinimumBand(2);
+
+		// process it twice to make sure storage is correctly reused
+		for( int trial = 0; trial < 2; trial++ ) {
+			BoofConcurrency.invoke(new ForkJoinPool(4), new Runnable() {
+				@Override
+				public void run() {
+					alg.process(input);
+				}
+			});
+
+			for( int i = 0; i < expected.getNumLayers(); i++ ) {
+				BoofTesting.assertEquals(expected.getLayer(i), alg.getLayer(i), 0);
+			}
+		}
+	}
+
 	/**
 	 * Makes sure the amount of Gaussian blur in each level is correctly computed
 	 */
@@ -21,9 +21,12 @@ package boofcv.alg.transform.pyramid;
 import boofcv.abst.distort.FDistort;
 import boofcv.abst.filter.blur.BlurFilter;
 import boofcv.alg.interpolate.InterpolatePixelS;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.core.image.border.BorderType;
 import boofcv.factory.filter.blur.FactoryBlurFilter;
 import boofcv.factory.interpolate.FactoryInterpolation;
+import boofcv.factory.transform.pyramid.FactoryPyramid;
 import boofcv.misc.BoofMiscOps;
 import boofcv.struct.image.GrayF32;
 import boofcv.struct.image.ImageType;
@@ -31,6 +34,8 @@ import boofcv.struct.pyramid.ImagePyramid;
 import boofcv.testing.BoofTesting;
 import org.junit.Test;
 
+import java.util.concurrent.ForkJoinPool;
+
 import static org.junit.Assert.assertEquals;
 
 
@@ -86,6 +91,38 @@ public class TestPyramidFloatGaussianScale extends GenericPyramidTests<GrayF32>
 		BoofTesting.assertEquals(expected,found, 1e-4);
 	}
 
+	/**
+	 * Resampling layers using multiple threads should produce identical results
+	 */
+	@Test
+	public void compareConcurrent() {
+		final GrayF32 input = new GrayF32(width,height);
+		ImageMiscOps.fillUniform(input,rand,0,100);
+
+		PyramidFloatGaussianScale<GrayF32> expected =
+				(PyramidFloatGaussianScale<GrayF32>)FactoryPyramid.floatGaussian(scales,sigmas,GrayF32.class);
+		expected.setConcurrent(false);
+		expected.process(input);
+
+		final PyramidFloatGaussianScale<GrayF32> alg =
+				(PyramidFloatGaussianScale<GrayF32>)FactoryPyramid.floatGaussian(scales,sigmas,GrayF32.class);
+		alg.setConcurrent(true);
+
+		// process it twice to make sure storage is correctly reused
+		for( int trial = 0; trial < 2; trial++ ) {
+			BoofConcurrency.invoke(new ForkJoinPool(4), new Runnable() {
+				@Override
+				public void run() {
+					alg.process(input);
+				}
+			});
+
+			for( int i = 0; i < expected.getNumLayers(); i++ ) {
+				BoofTesting.assertEquals(expected.getLayer(i), alg.getLayer(i), 0);
+			}
+		}
+	}
+
 	@Override
 	protected ImagePyramid<GrayF32> createPyramid(int... scales) {
 		double a[] = BoofMiscOps.convertTo_F64(scales);
@@ -0,0 +1,236 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.concurrency;
+
+import org.junit.Test;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestBoofConcurrency {
+
+	ForkJoinPool pool = new ForkJoinPool(4);
+
+	/**
+	 * Every index should be processed exactly once
+	 */
+	@Test
+	public void loopBlocks() {
+		for( final int length : new int[]{1,3,4,7,100}) {
+			final int counts[] = new int[length+5];
+
+			BoofConcurrency.invoke(pool, new Runnable() {
+				@Override
+				public void run() {
+					BoofConcurrency.loopBlocks(5, 5 + length, new IntRangeTask() {
+						@Override
+						public void process(int idx0, int idx1) {
+							for (int i = idx0; i < idx1; i++) {
+								counts[i]++;
+							}
+						}
+					});
+				}
+			});
+
+			for( int i = 0; i < counts.length; i++ ) {
+				assertEquals(i < 5 ? 0 : 1, counts[i]);
+			}
+		}
+	}
+
+	/**
+	 * If the block size is too large then it should be processed in a single block
+	 */
+	@Test
+	public void loopBlocks_minBlock() {
+		final int calls[] = new int[1];
+		BoofConcurrency.invoke(pool, new Runnable() {
+			@Override
+			public void run() {
+				BoofConcurrency.loopBlocks(0, 20, 11, new IntRangeTask() {
+					@Override
+					public void process(int idx0, int idx1) {
+						assertEquals(0,idx0);
+						assertEquals(20,idx1);
+						calls[0]++;
+					}
+				});
+			}
+		});
+		assertEquals(1,calls[0]);
+	}
+
+	/**
+	 * Every index should be processed exactly once
+	 */
+	@Test
+	public void loopEach() {
+		for( final int length : new int[]{1,3,4,7,100}) {
+			final int counts[] = new int[length+5];
+
+			BoofConcurrency.invoke(pool, new Runnable() {
+				@Override
+				public void run() {
+					BoofConcurrency.loopEach(5, 5 + length, new IntTask() {
+						@Override
+						public void process(int index) {
+							synchronized (counts) {
+								counts[index]++;
+							}
+						}
+					});
+				}
+			});
+
+			for( int i = 0; i < counts.length; i++ ) {
+				assertEquals(i < 5 ? 0 : 1, counts[i]);
+			}
+		}
+	}
+
+	/**
+	 * Work should be done inside the pool which invoked it
+	 */
+	@Test
+	public void invoke() {
+		BoofConcurrency.invoke(pool, new Runnable() {
+			@Override
+			public void run() {
+				BoofConcurrency.loopBlocks(0, 100, new IntRangeTask() {
+					@Override
+					public void process(int idx0, int idx1) {
+						assertSame(pool, ForkJoinTask.getPool());
+					}
+				});
+			}
+		});
+	}
+
+	/**
+	 * The number of blocks should never exceed the max threads
+	 */
+	@Test
+	public void setMaxThreads() {
+		final int calls[] = new int[1];
+		BoofConcurrency.setMaxThreads(2);
+		try {
+			BoofConcurrency.invoke(pool, new Runnable() {
+				@Override
+				public void run() {
+					BoofConcurrency.loopBlocks(0, 100, new IntRangeTask() {
+						@Override
+						public synchronized void process(int idx0, int idx1) {
+							calls[0]++;
+						}
+					});
+				}
+			});
+		} finally {
+			BoofConcurrency.setMaxThreads(Integer.MAX_VALUE);
+		}
+		assertEquals(2,calls[0]);
+	}
+
+	/**
+	 * In sequential mode everything is processed as a single block in the calling thread
+	 */
+	@Test
+	public void setSequential() {
+		final Thread caller = Thread.currentThread();
+		final int calls[] = new int[1];
+		BoofConcurrency.setSequential(true);
+		try {
+			BoofConcurrency.loopBlocks(0, 100, new IntRangeTask() {
+				@Override
+				public void process(int idx0, int idx1) {
+					assertSame(caller, Thread.currentThread());
+					assertEquals(0,idx0);
+					assertEquals(100,idx1);
+					calls[0]++;
+				}
+			});
+		} finally {
+			BoofConcurrency.setSequential(false);
+		}
+		assertEquals(1,calls[0]);
+	}
+
+	/**
+	 * Called from outside of a pool every index should still be processed exactly once
+	 */
+	@Test
+	public void loopBlocks_outsidePool() {
+		final ForkJoinPool original = BoofConcurrency.getThreadPool();
+		final int counts[] = new int[50];
+		BoofConcurrency.setThreadPool(pool);
+		try {
+			BoofConcurrency.loopBlocks(0, counts.length, new IntRangeTask() {
+				@Override
+				public void process(int idx0, int idx1) {
+					for (int i = idx0; i < idx1; i++) {
+						counts[i]++;
+					}
+				}
+			});
+		} finally {
+			BoofConcurrency.setThreadPool(original);
+		}
+		for( int i = 0; i < counts.length; i++ ) {
+			assertEquals(1, counts[i]);
+		}
+	}
+
+	/**
+	 * If the block processed by the calling thread fails, the other blocks must have finished before the
+	 * exception is passed to the caller
+	 */
+	@Test
+	public void loopBlocks_outsidePool_exception() {
+		final ForkJoinPool original = BoofConcurrency.getThreadPool();
+		final AtomicInteger finished = new AtomicInteger();
+		BoofConcurrency.setThreadPool(pool);
+		try {
+			BoofConcurrency.loopBlocks(0, 4, 1, new IntRangeTask() {
+				@Override
+				public void process(int idx0, int idx1) {
+					if( idx0 == 0 )
+						throw new IllegalArgumentException("Failed");
+					try {
+						Thread.sleep(50);
+					} catch (InterruptedException ignore) {}
+					finished.incrementAndGet();
+				}
+			});
+			fail("Exception should have been thrown");
+		} catch( IllegalArgumentException ignore ) {
+		} finally {
+			BoofConcurrency.setThreadPool(original);
+		}
+		assertEquals(3, finished.get());
+	}
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.struct.image;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestGrayBinary {
+
+	@Test
+	public void reshape() {
+		GrayBinary img = new GrayBinary(70, 5);
+		assertEquals(2, img.stride);
+		img.set(69, 4, 1);
+
+		img.reshape(10, 3);
+		assertEquals(1, img.stride);
+		assertEquals(10, img.width);
+		assertEquals(3, img.height);
+		assertEquals(0, img.countOnes());
+
+		img.reshape(128, 3);
+		assertEquals(2, img.stride);
+	}
+
+	@Test
+	public void get_set() {
+		GrayBinary img = new GrayBinary(130, 4);
+
+		img.set(0, 0, 1);
+		img.set(63, 1, 1);
+		img.set(64, 2, 5);
+		img.set(129, 3, 1);
+
+		assertEquals(1, img.get(0, 0));
+		assertEquals(1, img.get(63, 1));
+		assertEquals(1, img.get(64, 2));
+		assertEquals(1, img.get(129, 3));
+		assertEquals(0, img.get(1, 0));
+		assertEquals(0, img.get(64, 1));
+		assertEquals(4, img.countOnes());
+
+		img.set(64, 2, 0);
+		assertEquals(0, img.get(64, 2));
+		assertEquals(3, img.countOnes());
+	}
+
+	@Test(expected = ImageAccessException.class)
+	public void get_outOfBounds() {
+		GrayBinary img = new GrayBinary(10, 4);
+		img.get(10, 0);
+	}
+
+	@Test
+	public void fill() {
+		GrayBinary img = new GrayBinary(70, 3);
+		img.fill(1);
+		assertEquals(70*3, img.countOnes());
+		// padding bits must stay zero
+		assertEquals(0, img.data[1] & ~img.lastWordMask());
+		img.fill(0);
+		assertEquals(0, img.countOnes());
+	}
+
+	@Test
+	public void setTo() {
+		GrayBinary a = new GrayBinary(70, 3);
+		a.set(65, 2, 1);
+		GrayBinary b = new GrayBinary(5, 5);
+		b.setTo(a);
+
+		assertEquals(70, b.width);
+		assertEquals(3, b.height);
+		assertEquals(1, b.get(65, 2));
+		assertEquals(1, b.countOnes());
+	}
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.struct.image;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestImagePool {
+
+	@Test
+	public void acquire_release_gray() {
+		ImagePool alg = new ImagePool();
+
+		GrayF32 a = alg.acquireGray(GrayF32.class,30,20);
+		assertEquals(30,a.width);
+		assertEquals(20,a.height);
+		assertEquals(30,a.stride);
+		assertTrue(a.data.length >= 600);
+		assertEquals(1,alg.getMisses());
+		assertEquals(0,alg.getHits());
+
+		alg.release(a);
+		assertEquals(1,alg.getImagesRetained());
+		assertEquals(a.data.length*4,alg.getBytesRetained());
+
+		// the same shape should return the same image
+		GrayF32 b = alg.acquireGray(GrayF32.class,30,20);
+		assertSame(a,b);
+		assertEquals(1,alg.getHits());
+		assertEquals(0,alg.getImagesRetained());
+		assertEquals(0,alg.getBytesRetained());
+
+		// a different type should not be returned
+		alg.release(b);
+		GrayU8 c = alg.acquireGray(GrayU8.class,30,20);
+		assertEquals(2,alg.getMisses());
+		assertEquals(1,alg.getImagesRetained());
+
+		// a slightly different shape in the same size class can reuse the image without declaring a new array
+		float[] data = b.data;
+		GrayF32 d = alg.acquireGray(GrayF32.class,20,30);
+		assertSame(b,d);
+		assertSame(data,d.data);
+		assertEquals(20,d.width);
+		assertEquals(30,d.height);
+		assertEquals(0.5,alg.getHitRate(),1e-8);
+	}
+
+	@Test
+	public void acquire_release_multiband() {
+		ImagePool alg = new ImagePool();
+
+		Planar<GrayU8> a = alg.acquirePlanar(GrayU8.class,30,20,3);
+		assertEquals(3,a.getNumBands());
+		assertEquals(30,a.getBand(2).width);
+		assertEquals(20,a.getBand(2).height);
+
+		InterleavedS16 b = alg.acquireInterleaved(InterleavedS16.class,30,20,2);
+		assertEquals(2,b.numBands);
+		assertEquals(60,b.stride);
+
+		alg.release(a,b);
+		assertEquals(2,alg.getImagesRetained());
+
+		// different number of bands
+		assertNotSame(a,alg.acquirePlanar(GrayU8.class,30,20,2));
+		assertSame(a,alg.acquirePlanar(GrayU8.class,30,20,3));
+		assertSame(b,alg.acquireInterleaved(InterleavedS16.class,30,20,2));
+	}
+
+	/**
+	 * Once in a steady state no new images should be declared
+	 */
+	@Test
+	public void steadyState() {
+		ImagePool alg = new ImagePool();
+
+		int shapes[][] = new int[][]{{640,480},{320,240},{1024,768},{20,15}};
+
+		for (int trial = 0; trial < 5; trial++) {
+			GrayF32 images[] = new GrayF32[shapes.length];
+			for (int i = 0; i < shapes.length; i++) {
+				images[i] = alg.acquireGray(GrayF32.class,shapes[i][0],shapes[i][1]);
+			}
+			alg.release(images);
+		}
+
+		assertEquals(shapes.length,alg.getMisses());
+		assertEquals(shapes.length*4,alg.getHits());
+	}
+
+	@Test
+	public void release_discard() {
+		ImagePool alg = new ImagePool(1000);
+
+		// sub-images are not retained
+		GrayU8 a = new GrayU8(20,30);
+		alg.release(a.subimage(0,0,10,10));
+		assertEquals(0,alg.getImagesRetained());
+		assertEquals(1,alg.getDiscarded());
+
+		alg.release(a);
+		assertEquals(1,alg.getImagesRetained());
+
+		// too large
+		alg.release(new GrayU8(20,30));
+		assertEquals(1,alg.getImagesRetained());
+		assertEquals(2,alg.getDiscarded());
+		assertEquals(600,alg.getBytesRetained());
+
+		// can't release the same image twice
+		try {
+			alg.release(a);
+			fail("Exception should have been thrown");
+		} catch( IllegalArgumentException ignore ){}
+
+		alg.clear();
+		assertEquals(0,alg.getImagesRetained());
+		assertEquals(0,alg.getBytesRetained());
+	}
+
+	@Test
+	public void sizeClass() {
+		for (int length = 4; length < 5000; length++) {
+			int c = ImagePool.sizeClassAtLeast(length);
+			assertTrue(ImagePool.sizeClassLength(c) >= length);
+			assertTrue(c == 0 || ImagePool.sizeClassLength(c-1) < length);
+
+			c = ImagePool.sizeClassAtMost(length);
+			assertTrue(ImagePool.sizeClassLength(c) <= length);
+			assertTrue(ImagePool.sizeClassLength(c+1) > length);
+		}
+		assertEquals(0,ImagePool.sizeClassAtLeast(1));
+		assertEquals(-1,ImagePool.sizeClassAtMost(3));
+
+		// no more than 25% extra memory
+		for (int c = 0; c < 100; c++) {
+			assertTrue(ImagePool.sizeClassLength(c+1) <= ImagePool.sizeClassLength(c)*1.25);
+		}
+	}
+}
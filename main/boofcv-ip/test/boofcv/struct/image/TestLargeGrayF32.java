@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.struct.image;
+
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestLargeGrayF32 {
+
+	Random rand = new Random(234);
+
+	int width = 45, height = 37;
+
+	/**
+	 * Each buffer is small so that rows are split across several of them
+	 */
+	@Test
+	public void read_write() {
+		LargeGrayF32 alg = new LargeGrayF32(width,height,width*4*5);
+		assertEquals(8,alg.blocks.length);
+
+		GrayF32 image = new GrayF32(width,height);
+		ImageMiscOps.fillUniform(image,rand,-100,100);
+		alg.write(0,0,image);
+
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++) {
+				assertEquals(image.get(x,y), alg.get(x,y), 0);
+			}
+		}
+
+		// read a region which crosses multiple blocks
+		GrayF32 region = alg.read(5,3,30,24,null);
+		BoofTesting.assertEquals(image.subimage(5,3,30,24),region,0);
+
+		// write a sub-image into the middle
+		GrayF32 patch = new GrayF32(20,30);
+		ImageMiscOps.fillUniform(patch,rand,-100,100);
+		alg.write(10,4,patch.subimage(2,3,12,20));
+		alg.read(10,4,20,21,region);
+		BoofTesting.assertEquals(patch.subimage(2,3,12,20),region,0);
+
+		// pixels outside of the patch should not be modified
+		assertEquals(image.get(9,4), alg.get(9,4), 0);
+		assertEquals(image.get(20,4), alg.get(20,4), 0);
+		assertEquals(image.get(10,3), alg.get(10,3), 0);
+		assertEquals(image.get(10,21), alg.get(10,21), 0);
+	}
+
+	@Test
+	public void get_set() {
+		LargeGrayF32 alg = new LargeGrayF32(width,height,width*4*5);
+
+		alg.set(4,30,-2.5f);
+		assertEquals(-2.5f,alg.get(4,30),0);
+		assertEquals(0,alg.get(5,30),0);
+	}
+
+	@Test
+	public void memoryMapped() throws IOException {
+		File file = File.createTempFile("boofcv","large");
+		try {
+			LargeGrayF32 alg = new LargeGrayF32(file,width,height,width*4*5);
+
+			GrayF32 image = new GrayF32(width,height);
+			ImageMiscOps.fillUniform(image,rand,-100,100);
+			alg.write(0,0,image);
+			alg.close();
+
+			assertEquals(width*height*4,file.length());
+
+			// open it again and see if the pixels were saved
+			alg = LargeGrayF32.map(file,width,height);
+			BoofTesting.assertEquals(image,alg.read(0,0,width,height,null),0);
+			alg.close();
+		} finally {
+			// on some platforms the file can not be deleted until the mapping has been garbage collected
+			file.delete();
+		}
+	}
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.struct.image;
+
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestLargeGrayU8 {
+
+	Random rand = new Random(234);
+
+	int width = 45, height = 37;
+
+	/**
+	 * Each buffer is small so that rows are split across several of them
+	 */
+	@Test
+	public void read_write() {
+		LargeGrayU8 alg = new LargeGrayU8(width,height,width*5);
+		assertEquals(8,alg.blocks.length);
+
+		GrayU8 image = new GrayU8(width,height);
+		ImageMiscOps.fillUniform(image,rand,0,256);
+		alg.write(0,0,image);
+
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++) {
+				assertEquals(image.get(x,y), alg.get(x,y));
+			}
+		}
+
+		// read a region which crosses multiple blocks
+		GrayU8 region = alg.read(5,3,30,24,null);
+		BoofTesting.assertEquals(image.subimage(5,3,30,24),region,0);
+
+		// write a sub-image into the middle
+		GrayU8 patch = new GrayU8(20,30);
+		ImageMiscOps.fillUniform(patch,rand,0,256);
+		alg.write(10,4,patch.subimage(2,3,12,20));
+		alg.read(10,4,20,21,region);
+		BoofTesting.assertEquals(patch.subimage(2,3,12,20),region,0);
+
+		// pixels outside of the patch should not be modified
+		assertEquals(image.get(9,4), alg.get(9,4));
+		assertEquals(image.get(20,4), alg.get(20,4));
+		assertEquals(image.get(10,3), alg.get(10,3));
+		assertEquals(image.get(10,21), alg.get(10,21));
+	}
+
+	@Test
+	public void get_set() {
+		LargeGrayU8 alg = new LargeGrayU8(width,height,width*5);
+
+		alg.set(4,30,200);
+		assertEquals(200,alg.get(4,30));
+		assertEquals(0,alg.get(5,30));
+
+		try {
+			alg.get(width,0);
+			fail("Exception should have been thrown");
+		} catch( ImageAccessException ignore ){}
+	}
+
+	@Test
+	public void outOfBounds() {
+		LargeGrayU8 alg = new LargeGrayU8(width,height,width*5);
+
+		try {
+			alg.read(0,0,width+1,height,null);
+			fail("Exception should have been thrown");
+		} catch( IllegalArgumentException ignore ){}
+
+		try {
+			alg.write(1,0,new GrayU8(width,height));
+			fail("Exception should have been thrown");
+		} catch( IllegalArgumentException ignore ){}
+	}
+
+	@Test
+	public void memoryMapped() throws IOException {
+		File file = File.createTempFile("boofcv","large");
+		try {
+			LargeGrayU8 alg = new LargeGrayU8(file,width,height,width*5);
+			assertTrue(alg.isMapped());
+
+			GrayU8 image = new GrayU8(width,height);
+			ImageMiscOps.fillUniform(image,rand,0,256);
+			alg.write(0,0,image);
+			alg.close();
+
+			assertEquals(width*height,file.length());
+
+			// open it again and see if the pixels were saved
+			alg = LargeGrayU8.map(file,width,height);
+			BoofTesting.assertEquals(image,alg.read(0,0,width,height,null),0);
+			alg.close();
+		} finally {
+			// on some platforms the file can not be deleted until the mapping has been garbage collected
+			file.delete();
+		}
+	}
+}
@@ -21,6 +21,7 @@ package boofcv.struct.pyramid;
 import boofcv.alg.misc.GImageMiscOps;
 import boofcv.struct.image.GrayU8;
 import boofcv.struct.image.ImageBase;
+import boofcv.struct.image.ImagePool;
 import boofcv.struct.image.ImageType;
 import boofcv.testing.BoofTesting;
 import org.junit.Test;
@@ -104,6 +105,40 @@ public class TestImagePyramidBase {
 		assertTrue(pyramid.layers[0] != null);
 	}
 
+	/**
+	 * Layers should be drawn from the pool and returned to it when the shape changes
+	 */
+	@Test
+	public void imagePool() {
+		ImagePool pool = new ImagePool();
+		Dummy pyramid = new Dummy(GrayU8.class,true);
+		pyramid.setImagePool(pool);
+		pyramid.setScaleFactors(1,2,4);
+		pyramid.initialize(100,120);
+
+		assertEquals(2,pool.getMisses());
+		assertEquals(0,pool.getImagesRetained());
+		assertEquals(50,pyramid.getWidth(1));
+		assertEquals(60,pyramid.getHeight(1));
+
+		// layer 0 is a reference to the input image and should not be given to the pool
+		// layer 1 of the old shape can be used as layer 2 in the new shape
+		GrayU8 input = new GrayU8(200,240);
+		pyramid.setFirstLayer(input);
+		pyramid.initialize(200,240);
+		assertEquals(1,pool.getImagesRetained());
+		assertEquals(3,pool.getMisses());
+		assertEquals(1,pool.getHits());
+
+		// going back to the original shape should not declare new images
+		pyramid.initialize(100,120);
+		assertEquals(3,pool.getMisses());
+		assertEquals(3,pool.getHits());
+		assertEquals(1,pool.getImagesRetained());
+		assertEquals(25,pyramid.getWidth(2));
+		assertEquals(30,pyramid.getHeight(2));
+	}
+
 	@Test
 	public void getWidth_Height() {
 		Dummy pyramid = new Dummy(GrayU8.class,false);